@@ -239,6 +239,9 @@ public class DMLScript
 			
 			if(dmlOptions.fedWorker) {
 				loadConfiguration(fnameOptConfig);
+				//lineage-based reuse of federated requests (e.g., -lineage reuse_full)
+				LineageCacheConfig.setConfig(LINEAGE_REUSE);
+				LineageCacheConfig.setCachePolicy(LINEAGE_POLICY);
 				try {
 					new FederatedWorker(dmlOptions.fedWorkerPort).run();
 				}
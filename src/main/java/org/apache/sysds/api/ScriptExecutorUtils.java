@@ -28,6 +28,7 @@ import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.codegen.SpoofCompiler;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.cp.Data;
@@ -73,6 +74,7 @@ public class ScriptExecutorUtils {
 	 */
 	public static void executeRuntimeProgram(Program rtprog, ExecutionContext ec, DMLConfig dmlconf, int statisticsMaxHeavyHitters, Set<String> outputVariables) {
 		Statistics.startRunTimer();
+		boolean failed = false;
 		try {
 			// run execute (w/ exception handling to ensure proper shutdown)
 			if (DMLScript.USE_ACCELERATOR && ec != null) {
@@ -86,8 +88,18 @@ public class ScriptExecutorUtils {
 			}
 			rtprog.execute(ec);
 		} catch (Throwable e) {
+			failed = true;
 			throw e;
 		} finally { // ensure cleanup/shutdown
+			//complete pending asynchronous writes (also on errors, where
+			//write errors are only raised if the program itself succeeded)
+			DMLRuntimeException writeErr = null;
+			try {
+				AsyncWriteBuffer.awaitAll();
+			}
+			catch(DMLRuntimeException ex) {
+				writeErr = ex;
+			}
 			if (DMLScript.USE_ACCELERATOR && !ec.getGPUContexts().isEmpty()) {
 				// -----------------------------------------------------------------
 				// The below code pulls the output variables on the GPU to the host. This is required especially when:
@@ -120,6 +132,8 @@ public class ScriptExecutorUtils {
 			Statistics.stopRunTimer();
 			System.out.println(Statistics.display(statisticsMaxHeavyHitters > 0 ?
 					statisticsMaxHeavyHitters : DMLScript.STATISTICS_COUNT));
+			if( writeErr != null && !failed )
+				throw writeErr;
 		}
 	}
 
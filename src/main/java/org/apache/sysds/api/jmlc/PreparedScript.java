@@ -37,6 +37,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.FunctionProgramBlock;
 import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -442,7 +443,22 @@ public class PreparedScript implements ConfigurableAPI
 		ExecutionContext ec = ExecutionContextFactory.createContext(_vars, _prog);
 		
 		//core execute runtime program
-		_prog.execute(ec);
+		boolean failed = true;
+		try {
+			_prog.execute(ec);
+			failed = false;
+		}
+		finally {
+			//complete pending asynchronous writes (write errors
+			//are only raised if the program itself succeeded)
+			try {
+				AsyncWriteBuffer.awaitAll();
+			}
+			catch(DMLRuntimeException ex) {
+				if( !failed )
+					throw ex;
+			}
+		}
 		
 		//cleanup unnecessary outputs
 		_vars.removeAllNotIn(_outVarnames);
@@ -494,14 +494,15 @@ public class Types
 		JSONL,  // text nested JSON (Line) representation
 		BINARY, // binary block representation (dense/sparse/ultra-sparse)
 		FEDERATED, // A federated matrix
-		PROTO;  // protocol buffer representation
+		PROTO,  // protocol buffer representation
+		PARQUET; // binary columnar parquet representation
 		
 		public boolean isIJVFormat() {
 			return this == TEXT || this == MM;
 		}
 		
 		public boolean isTextFormat() {
-			return this != BINARY;
+			return this != BINARY && this != PARQUET;
 		}
 		
 		public static boolean isTextFormat(String fmt) {
@@ -174,6 +174,15 @@ public class ConfigurationManager
 		return getCompilerConfigFlag(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR);
 	}
 	
+	public static boolean isAsyncWrite() {
+		return getDMLConfig().getBooleanValue(DMLConfig.IO_ASYNC_WRITE);
+	}
+	
+	public static boolean isVirtualThreads() {
+		DMLConfig conf = getDMLConfig();
+		return conf != null && conf.getBooleanValue(DMLConfig.CP_VIRTUAL_THREADS);
+	}
+	
 	public static boolean isCodegenEnabled() {
 		return (getDMLConfig().getBooleanValue(DMLConfig.CODEGEN)
 			|| getCompilerConfigFlag(ConfigType.CODEGEN_ENABLED));
@@ -67,6 +67,13 @@ public class DMLConfig
 	public static final String DEFAULT_BLOCK_SIZE   = "sysds.defaultblocksize";
 	public static final String CP_PARALLEL_OPS      = "sysds.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysds.cp.parallel.io";
+	public static final String IO_COMPRESSION_CODEC = "sysds.io.compression.codec"; //none, lz4, snappy
+	public static final String IO_ASYNC_WRITE       = "sysds.io.async.write";
+	public static final String CP_VIRTUAL_THREADS   = "sysds.cp.virtual.threads"; //boolean, blocking tasks on virtual threads (JDK 21+)
+	public static final String LINEAGE_PERSIST_DIR  = "sysds.lineage.persist.dir"; //directory of the persistent lineage cache, none to disable
+	public static final String LINEAGE_PERSIST_SIZE = "sysds.lineage.persist.size"; //max size of the persistent lineage cache in MB
+	public static final String LINEAGE_SPILL_ASYNC  = "sysds.lineage.spill.async"; //true: spill lineage cache entries in the background
+	public static final String LINEAGE_SPILL_COMPRESS = "sysds.lineage.spill.compress"; //true: compress spilled lineage cache entries
 	public static final String COMPRESSED_LINALG    = "sysds.compressed.linalg"; //auto, cost, true, false
 	public static final String COMPRESSED_LOSSY     = "sysds.compressed.lossy";
 	public static final String COMPRESSED_VALID_COMPRESSIONS = "sysds.compressed.valid.compressions";
@@ -118,6 +125,13 @@ public class DMLConfig
 		_defaultVals.put(DEFAULT_BLOCK_SIZE,     String.valueOf(OptimizerUtils.DEFAULT_BLOCKSIZE) );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(IO_COMPRESSION_CODEC,   "none" );
+		_defaultVals.put(IO_ASYNC_WRITE,         "false" );
+		_defaultVals.put(CP_VIRTUAL_THREADS,     "false" );
+		_defaultVals.put(LINEAGE_PERSIST_DIR,    "none" );
+		_defaultVals.put(LINEAGE_PERSIST_SIZE,   "10240" );
+		_defaultVals.put(LINEAGE_SPILL_ASYNC,    "false" );
+		_defaultVals.put(LINEAGE_SPILL_COMPRESS, "false" );
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.AUTO.name() );
 		_defaultVals.put(COMPRESSED_LOSSY,       "false" );
 		_defaultVals.put(COMPRESSED_VALID_COMPRESSIONS, "DDC,OLE,RLE");
@@ -384,8 +398,8 @@ public class DMLConfig
 	public String getConfigInfo()  {
 		String[] tmpConfig = new String[] { 
 			LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL, DEFAULT_BLOCK_SIZE,
-			CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
-			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS,
+			CP_PARALLEL_OPS, CP_PARALLEL_IO, IO_COMPRESSION_CODEC, IO_ASYNC_WRITE, CP_VIRTUAL_THREADS, NATIVE_BLAS, NATIVE_BLAS_DIR,
+			LINEAGE_PERSIST_DIR, LINEAGE_PERSIST_SIZE, LINEAGE_SPILL_ASYNC, LINEAGE_SPILL_COMPRESS, COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
 			STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO,
 			AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, 
@@ -443,8 +443,9 @@ public class DataOp extends Hop {
 		{
 			checkAndSetForcedPlatform();
 
-			//additional check for write only
-			if( getDataType()==DataType.SCALAR )
+			//additional check for write only (parquet files are only
+			//written in CP because there is no hadoop output format)
+			if( getDataType()==DataType.SCALAR || _inFormat == FileFormat.PARQUET )
 				_etypeForced = ExecType.CP;
 			
 			if( _etypeForced != null )
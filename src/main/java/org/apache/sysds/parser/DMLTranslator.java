@@ -1047,6 +1047,7 @@ public class DMLTranslator
 					case MM:
 					case CSV:
 					case LIBSVM:
+					case PARQUET:
 						// write output in textcell format
 						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1);
 						break;
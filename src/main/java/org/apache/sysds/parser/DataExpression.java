@@ -94,6 +94,7 @@ public class DataExpression extends DataIdentifier
 	public static final String FED_TYPE = "type";
 	
 	public static final String FORMAT_TYPE = "format";
+	public static final String COMPRESSIONPARAM = "compression";
 	
 	public static final String ROWBLOCKCOUNTPARAM = "rows_in_block";
 	public static final String COLUMNBLOCKCOUNTPARAM = "cols_in_block";
@@ -135,7 +136,7 @@ public class DataExpression extends DataIdentifier
 	/** Valid parameter names in metadata file */
 	public static final Set<String> READ_VALID_MTD_PARAM_NAMES =new HashSet<>(
 		Arrays.asList(IO_FILENAME, READROWPARAM, READCOLPARAM, READNNZPARAM,
-			FORMAT_TYPE, ROWBLOCKCOUNTPARAM, COLUMNBLOCKCOUNTPARAM, DATATYPEPARAM,
+			FORMAT_TYPE, COMPRESSIONPARAM, ROWBLOCKCOUNTPARAM, COLUMNBLOCKCOUNTPARAM, DATATYPEPARAM,
 			VALUETYPEPARAM, SCHEMAPARAM, DESCRIPTIONPARAM, AUTHORPARAM, CREATEDPARAM,
 			// Parameters related to delimited/csv files.
 			DELIM_FILL_VALUE, DELIM_DELIMITER, DELIM_FILL, DELIM_HAS_HEADER_ROW, DELIM_NA_STRINGS,
@@ -1254,7 +1255,8 @@ public class DataExpression extends DataIdentifier
 			}*/
 			
 			//validate read filename
-			if (getVarParam(FORMAT_TYPE) == null || FileFormat.isTextFormat(getVarParam(FORMAT_TYPE).toString()))
+			if (getVarParam(FORMAT_TYPE) == null || FileFormat.isTextFormat(getVarParam(FORMAT_TYPE).toString())
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.PARQUET.toString()))
 				getOutput().setBlocksize(-1);
 			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.BINARY.toString()))
 				getOutput().setBlocksize(ConfigurationManager.getBlocksize());
@@ -2078,7 +2080,8 @@ public class DataExpression extends DataIdentifier
 				if (getVarParam(key.toString()) == null){
 					if (( !key.toString().equalsIgnoreCase(DESCRIPTIONPARAM) ) &&
 							( !key.toString().equalsIgnoreCase(AUTHORPARAM) ) &&
-							( !key.toString().equalsIgnoreCase(CREATEDPARAM) ) )
+							( !key.toString().equalsIgnoreCase(CREATEDPARAM) ) &&
+							( !key.toString().equalsIgnoreCase(COMPRESSIONPARAM) ) )
 					{
 						StringIdentifier strId = new StringIdentifier(val.toString(), this);
 						
@@ -19,6 +19,8 @@
 
 package org.apache.sysds.parser;
 
+import java.util.Arrays;
+
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.misc.Interval;
 import org.apache.commons.logging.Log;
@@ -70,6 +72,14 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_AGGREGATION_FUN = "agg";
 	public static final String PS_MODE = "mode";
 	public static final String PS_GRADIENTS = "gradients";
+	// native aggregation functions, usable as 'agg' instead of DML functions
+	public enum PSAggregationType {
+		SGD, SGD_MOMENTUM, SGD_NESTEROV, ADAM;
+		public static boolean isNative(String aggFunc) {
+			return aggFunc != null && Arrays.stream(values())
+				.anyMatch(t -> t.name().equals(aggFunc));
+		}
+	}
 	public enum PSModeType {
 		FEDERATED, LOCAL, REMOTE_SPARK
 	}
@@ -82,7 +92,11 @@ public abstract class Statement implements ParseInfo
 		public boolean isASP() {
 			return this == ASP;
 		}
+		public boolean isSSP() {
+			return this == SSP;
+		}
 	}
+	public static final String PS_STALENESS = "staleness";
 	public static final String PS_FREQUENCY = "freq";
 	public enum PSFrequency {
 		BATCH, EPOCH
@@ -98,6 +112,18 @@ public abstract class Statement implements ParseInfo
 		KEEP_DATA_ON_WORKER, SHUFFLE
 	}
 	public static final String PS_HYPER_PARAMS = "hyperparams";
+	public static final String PS_COMPRESSION = "compression";
+	public enum PSCompression {
+		NONE, TOPK, INT8, TOPK_INT8;
+		public boolean isTopK() {
+			return this == TOPK || this == TOPK_INT8;
+		}
+		public boolean isQuantized() {
+			return this == INT8 || this == TOPK_INT8;
+		}
+	}
+	public static final String PS_TOPK_RATIO = "topk";
+	public static final String PS_PREFETCH = "prefetch";
 	public static final String PS_CHECKPOINTING = "checkpointing";
 	public enum PSCheckpointing {
 		NONE, EPOCH, EPOCH10
@@ -113,6 +139,9 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_FED_AGGREGATION_FNAME = "1701-NCC-aggregation_fname";
 	public static final String PS_FED_BATCHCOUNTER_VARID = "1701-NCC-batchcounter_varid";
 	public static final String PS_FED_MODEL_VARID = "1701-NCC-model_varid";
+	public static final String PS_FED_COMPRESSION = "1701-NCC-compression";
+	public static final String PS_FED_TOPK_RATIO = "1701-NCC-topk_ratio";
+	public static final String PS_FED_RESIDUALS = "1701-NCC-residuals";
 
 
 	public abstract boolean controlStatement();
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
@@ -44,7 +45,7 @@ public class LocalVariableMap implements Cloneable
 	private static final IDSequence _seq = new IDSequence();
 	
 	//variable map data and id
-	private final HashMap<String, Data> localMap;
+	private final Map<String, Data> localMap;
 	private final long localID;
 	
 	//optional set of registered outputs
@@ -55,6 +56,18 @@ public class LocalVariableMap implements Cloneable
 		localID = _seq.getNextID();
 	}
 	
+	/**
+	 * Creates an empty variable map, which optionally allows concurrent
+	 * access and modification (e.g., for symbol tables shared by concurrently
+	 * executing requests at federated workers).
+	 * 
+	 * @param concurrent true if thread-safe map required
+	 */
+	public LocalVariableMap(boolean concurrent) {
+		localMap = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+		localID = _seq.getNextID();
+	}
+	
 	public LocalVariableMap(LocalVariableMap vars) {
 		localMap = new HashMap<>(vars.localMap);
 		localID = _seq.getNextID();
@@ -75,7 +88,8 @@ public class LocalVariableMap implements Cloneable
 	 * @return the direct reference to the data object
 	 */
 	public Data get( String name ) {
-		return localMap.get( name );
+		//note: concurrent maps do not support null keys
+		return (name != null) ? localMap.get( name ) : null;
 	}
 	
 	/**
@@ -86,7 +100,11 @@ public class LocalVariableMap implements Cloneable
 	 * @param val the data value object (such as envelope)
 	 */
 	public void put(String name, Data val) {
-		localMap.put( name, val );
+		//note: concurrent maps do not support null values
+		if( val == null && localMap instanceof ConcurrentHashMap )
+			localMap.remove( name );
+		else
+			localMap.put( name, val );
 	}
 	
 	public void putAll(Map<String, Data> vals) {
@@ -98,7 +116,7 @@ public class LocalVariableMap implements Cloneable
 	}
 
 	public Data remove( String name ) {
-		return localMap.remove( name );
+		return (name != null) ? localMap.remove( name ) : null;
 	}
 
 	public void removeAll() {
@@ -45,6 +45,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
 import org.apache.sysds.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteDPParForSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteParForJobReturn;
@@ -62,11 +63,13 @@ import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysds.runtime.controlprogram.parfor.WriteRanges;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptTreeConverter;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizationWrapper;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.ProgramRecompiler;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Stat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.StatisticMonitor;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -84,6 +87,7 @@ import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.util.CollectionUtils;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.Statistics;
@@ -131,6 +135,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,  //work-stealing task queue (local only, otherwise factoring), uses tasksize
 		UNSPECIFIED
 	}
 	
@@ -278,16 +283,19 @@ public class ParForProgramBlock extends ForProgramBlock
 		RULEBASED,       //rule-based rewritings with memory constraints 
 		CONSTRAINED,     //same as rule-based but with given params as constraints
 		HEURISTIC,       //same as rule-based but with time-based cost estimates
+		ADAPTIVE,        //same as rule-based but with runtime re-planning from observed iteration costs
 	}
 	
 	// internal parameters
 	public static final boolean OPTIMIZE                    = true; // run all automatic optimizations on top-level parfor
 	public static final boolean USE_PB_CACHE                = false; // reuse copied program blocks whenever possible, not there can be issues related to recompile
 	public static final boolean USE_RANGE_TASKS_IF_USEFUL   = true; // use range tasks whenever size>3, false, otherwise wrong split order in remote 
+	public static final int     ADAPTIVE_PROBE_FRACTION     = 10; // max fraction of iterations (1/x) executed as probe for adaptive re-planning
 	public static final boolean USE_STREAMING_TASK_CREATION = true; // start working while still creating tasks, prevents blocking due to too small task queue
 	public static final boolean ALLOW_NESTED_PARALLELISM    = true; // if not, transparently change parfor to for on program conversions (local,remote)
 	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
+	public static final boolean USE_RESULT_WRITE_RANGES     = true; // track written index ranges of result vars in local workers to restrict result merge
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
 	public static       boolean ALLOW_REUSE_PARTITION_VARS  = true; //reuse partition input matrices, applied only if read-only in surrounding loops
@@ -324,6 +332,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	
 	//specifics used for optimization
 	protected long _numIterations = -1;
+	protected IterationStatistics _iterStats = null;
 	
 	//specifics used for data partitioning
 	protected LocalVariableMap _variablesDPOriginal = null;
@@ -624,7 +633,10 @@ public class ParForProgramBlock extends ForProgramBlock
 			switch( _execMode )
 			{
 				case LOCAL: //create parworkers as local threads
-					executeLocalParFor(ec, iterVar, from, to, incr);
+					if( _optMode == POptMode.ADAPTIVE )
+						executeAdaptiveParFor(ec, iterVar, from, to, incr);
+					else
+						executeLocalParFor(ec, iterVar, from, to, incr);
 					break;
 				
 				case REMOTE_SPARK: // create parworkers as Spark tasks (one job per parfor)
@@ -686,6 +698,67 @@ public class ParForProgramBlock extends ForProgramBlock
 	}
 
 
+	/**
+	 * Executes the parfor with runtime re-planning, i.e., the first iterations are executed
+	 * locally as a probe with monitored iteration costs (single-iteration tasks), and the
+	 * remaining iterations are executed with the plan re-optimized for the observed costs.
+	 * 
+	 * @param ec execution context
+	 * @param itervar iteration variable
+	 * @param from from value
+	 * @param to to value
+	 * @param incr increment value
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	private void executeAdaptiveParFor( ExecutionContext ec, IntObject itervar, IntObject from, IntObject to, IntObject incr ) 
+		throws InterruptedException
+	{
+		//fallback to default execution for small loops (probe would dominate)
+		long numProbe = Math.min(_numIterations / ADAPTIVE_PROBE_FRACTION, 2L * _numThreads);
+		if( numProbe < _numThreads ) {
+			executeLocalParFor(ec, itervar, from, to, incr);
+			return;
+		}
+		
+		//execute probe iterations with fine-grained tasks
+		PTaskPartitioner tp = _taskPartitioner;
+		long ts = _taskSize;
+		IntObject probeTo = new IntObject(from.getLongValue() + (numProbe-1) * incr.getLongValue());
+		try {
+			_taskPartitioner = PTaskPartitioner.FIXED;
+			_taskSize = 1;
+			_iterStats = new IterationStatistics(ec.getVariables());
+			executeLocalParFor(ec, itervar, from, probeTo, incr);
+		}
+		finally {
+			_taskPartitioner = tp;
+			_taskSize = ts;
+		}
+		
+		//re-plan and execute the remaining iterations
+		IterationStatistics stats = _iterStats;
+		_iterStats = null;
+		IntObject rfrom = new IntObject(probeTo.getLongValue() + incr.getLongValue());
+		OptimizationWrapper.reoptimize(this, stats, _numIterations - numProbe);
+		
+		//pin merged probe results (created after the initial pinning)
+		ArrayList<String> varList = ec.getVarList();
+		boolean[] varState = ec.pinVariables(varList);
+		try {
+			if( _execMode == PExecMode.REMOTE_SPARK ) {
+				boolean flagForced = checkMRAndRecompileToCP(0);
+				executeRemoteSparkParFor(ec, itervar, rfrom, to, incr);
+				if( flagForced )
+					releaseForcedRecompile(0);
+			}
+			else
+				executeLocalParFor(ec, itervar, rfrom, to, incr);
+		}
+		finally {
+			ec.unpinVariables(varList, varState);
+		}
+	}
+
 	/**
 	 * Executes the parfor locally, i.e., the parfor is realized with numThreads local threads that drive execution.
 	 * This execution mode allows for arbitrary nested local parallelism and nested invocations of MR jobs. See
@@ -723,12 +796,19 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			if( USE_RESULT_WRITE_RANGES )
+				setResultWriteRanges(ec, true);
+			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
+			long numIterations = partitioner.getNumIterations();
+			boolean workStealing = _taskPartitioner == PTaskPartitioner.WORK_STEALING
+				&& LocalTaskQueueWorkStealing.isApplicable(numIterations);
+			LocalTaskQueue<Task> queue = workStealing ? new LocalTaskQueueWorkStealing(
+				_taskSize, _numThreads, _iterPredVar, from, to, incr) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i);
-				threads[i] = new Thread( workers[i] );
+				threads[i] = CommonThreadPool.newThread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY);
 			});
 			
@@ -744,10 +824,12 @@ public class ParForProgramBlock extends ForProgramBlock
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, tinit);
 			
 			// Step 2) create tasks 
-			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
-			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
-			if( USE_STREAMING_TASK_CREATION )
+			if( workStealing )
+			{
+				//tasks are created on demand by the workers
+			}
+			else if( USE_STREAMING_TASK_CREATION )
 			{
 				//put tasks into queue (parworker start work on first tasks while creating tasks) 
 				numCreatedTasks = partitioner.createTasks(queue);
@@ -770,6 +852,8 @@ public class ParForProgramBlock extends ForProgramBlock
 			// Step 3) join all threads (wait for finished work)
 			for( Thread thread : threads )
 				thread.join();
+			if( workStealing )
+				numCreatedTasks = ((LocalTaskQueueWorkStealing)queue).getNumCreatedTasks();
 			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
@@ -818,6 +902,8 @@ public class ParForProgramBlock extends ForProgramBlock
 			//remove thread-local memory budget (reset to original budget)
 			//(in finally to prevent error side effects for multiple scripts in one jvm)
 			resetMemoryBudget();
+			if( USE_RESULT_WRITE_RANGES )
+				setResultWriteRanges(ec, false);
 		
 			if( _monitor ) {
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_RESULTS_T, time.stop());
@@ -1055,6 +1141,23 @@ public class ParForProgramBlock extends ForProgramBlock
 			.forEach(m -> ec.cleanupCacheableData(m));
 	}
 	
+	/**
+	 * Enables (or resets) the tracking of index ranges written into the
+	 * matrix result variables by left indexing of local parfor workers.
+	 * 
+	 * @param ec execution context
+	 * @param enable true to enable, false to reset tracking
+	 */
+	private void setResultWriteRanges(ExecutionContext ec, boolean enable) {
+		for( ResultVar var : _resultVars ) {
+			Data dat = ec.getVariable(var._name);
+			if( dat instanceof MatrixObject ) {
+				MatrixObject mo = (MatrixObject) dat;
+				mo.setWriteRanges(enable ? new WriteRanges(mo.getUniqueID()) : null);
+			}
+		}
+	}
+	
 	/**
 	 * Create empty matrix objects and scalars for all unscoped vars 
 	 * (created within the parfor).
@@ -1200,6 +1303,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			ParForBody body = new ParForBody( cpChildBlocks, _resultVars, cpEc );
 			pw = new LocalParWorker( pwID, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
 			pw.setFunctionNames(fnNames);
+			pw.setIterationStatistics(_iterStats);
 		}
 		catch(Exception ex) {
 			throw new RuntimeException(ex);
@@ -1234,6 +1338,7 @@ public class ParForProgramBlock extends ForProgramBlock
 					_taskSize, _numThreads, _iterPredVar, from, to, incr);
 				break;
 			case FACTORING:
+			case WORK_STEALING: //local execution w/o task partitioner
 				tp = new TaskPartitionerFactoring(
 					_taskSize,_numThreads, _iterPredVar, from, to, incr);
 				break;
@@ -313,6 +313,7 @@ public abstract class ProgramBlock implements ParseInfo
 					ec.cleanupCacheableData(mo);
 				moNew.release(); //after old removal to avoid unnecessary evictions
 				moNew.setUpdateType(UpdateType.INPLACE);
+				moNew.setWriteRanges(mo.getWriteRanges()); //deep copy
 				ec.setVariable(varname, moNew);
 			}
 		}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+
+/**
+ * Buffer of pending asynchronous exports (write-behind) of cacheable data
+ * objects, keyed by target file name. The actual writes are executed by a
+ * small pool of daemon threads, while the pinned objects remain readable by
+ * the control program. Conflicting accesses to the same file name, and the
+ * end of the runtime program await the pending writes.
+ */
+public class AsyncWriteBuffer 
+{
+	//number of concurrent background writers (each write may use multiple threads)
+	private static final int NUM_WRITERS = 2;
+	
+	//pending exports of <filename, object> pairs
+	private static final ConcurrentHashMap<String, CacheableData<?>> _pending = new ConcurrentHashMap<>();
+	
+	//lazily created background writers
+	private static ExecutorService _pool = null;
+	
+	public static Future<?> submit(String fname, CacheableData<?> cd, Callable<Void> task) {
+		//obtain thread-local configurations of the calling thread
+		DMLConfig dconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		_pending.put(fname, cd);
+		return getPool().submit(() -> {
+			ConfigurationManager.setLocalConfig(dconf);
+			ConfigurationManager.setLocalConfig(cconf);
+			try {
+				return task.call();
+			}
+			finally {
+				ConfigurationManager.clearLocalConfigs();
+			}
+		});
+	}
+	
+	/**
+	 * Waits for the completion of a pending export to the given file name.
+	 * 
+	 * @param fname file name
+	 */
+	public static void awaitFile(String fname) {
+		CacheableData<?> cd = (fname != null) ? _pending.get(fname) : null;
+		if( cd != null )
+			cd.awaitAsyncExport();
+	}
+	
+	/**
+	 * Waits for the completion of all pending exports, which unpins
+	 * the exported objects and re-throws errors of failed writes.
+	 */
+	public static void awaitAll() {
+		DMLRuntimeException err = null;
+		while( !_pending.isEmpty() ) {
+			for( Entry<String, CacheableData<?>> e : _pending.entrySet() ) {
+				try {
+					e.getValue().awaitAsyncExport();
+				}
+				catch(DMLRuntimeException ex) {
+					err = (err == null) ? ex : err;
+				}
+				finally {
+					_pending.remove(e.getKey(), e.getValue());
+				}
+			}
+		}
+		if( err != null )
+			throw err;
+	}
+	
+	public static int getNumPending() {
+		return _pending.size();
+	}
+	
+	protected static void remove(String fname, CacheableData<?> cd) {
+		if( fname != null )
+			_pending.remove(fname, cd);
+	}
+	
+	private static synchronized ExecutorService getPool() {
+		if( _pool == null ) {
+			_pool = Executors.newFixedThreadPool(NUM_WRITERS, r -> {
+				Thread t = new Thread(r, "AsyncWriteBuffer");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return _pool;
+	}
+}
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
@@ -206,6 +207,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
+	private volatile Future<?> _asyncExport = null; //pending async export (pinned)
+	private String  _asyncExportFile = null; //file name of pending async export
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -527,6 +530,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 					if( _hdfsFileName == null )
 						throw new DMLRuntimeException("Cannot read matrix for empty filename.");
 					
+					//complete pending async export to the same file
+					AsyncWriteBuffer.awaitFile(_hdfsFileName);
+					
 					//read cacheable data from hdfs
 					_data = readBlobFromHDFS( _hdfsFileName );
 					
@@ -573,6 +579,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public T acquireModify(T newData) {
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
+		//complete pending async export (outside critical section)
+		awaitAsyncExport();
+		
 		//core internal acquire (synchronized per object)
 		T ret = acquireModifyIntern(newData);
 		
@@ -699,6 +708,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		// check if cleanup enabled and possible 
 		if( !isCleanupEnabled() ) 
 			return; // do nothing
+		// complete pending async export (unpin)
+		awaitAsyncExport();
 		if( !isAvailableToModify() )
 			throw new DMLRuntimeException("CacheableData (" + getDebugName() + ") not available to "
 					+ "modify. Status = " + _cacheStatus.name() + ".");
@@ -783,6 +794,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Export data "+hashCode()+" "+fName);
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		//complete pending async exports of this object or to the same file
+		awaitAsyncExport();
+		AsyncWriteBuffer.awaitFile(fName);
 		//prevent concurrent modifications
 		if ( !isAvailableToRead() )
 			throw new DMLRuntimeException("MatrixObject not available to read.");
@@ -909,6 +923,78 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		}
 	}
 	
+	/**
+	 * Asynchronously writes the cache block data to HDFS (write-behind). The
+	 * data is pinned read-only, handed to a background writer, and unpinned once
+	 * the write completed and a conflicting access (modify, clear, export, read
+	 * of the same file) or the end of the program awaits its completion.
+	 * Objects that are not dirty, federated, or on the GPU, as well as transient
+	 * writes fall back to a synchronous {@link #exportData}.
+	 * 
+	 * @param fName file name
+	 * @param outputFormat format
+	 * @param formatProperties file format properties
+	 */
+	public void exportDataAsync(String fName, String outputFormat, FileFormatProperties formatProperties) {
+		//complete pending async exports of this object or to the same file
+		awaitAsyncExport();
+		AsyncWriteBuffer.awaitFile(fName);
+		
+		synchronized( this ) {
+			if( !isDirty() || isFederated() || _gpuObjects != null
+				|| fName.equals(_hdfsFileName) || !isAvailableToRead() ) {
+				exportData(fName, outputFormat, -1, formatProperties);
+				return;
+			}
+			
+			//pin the data (w/o thread-local pinned status because the
+			//calling thread does not use the data), incl restore if evicted
+			acquireReadIntern();
+			
+			//submit the actual write to the background writers
+			_asyncExportFile = fName;
+			_asyncExport = AsyncWriteBuffer.submit(fName, this, () -> {
+				long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+				writeMetaData(fName, outputFormat, formatProperties);
+				writeBlobToHDFS(fName, outputFormat, -1, formatProperties);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementExportTime(System.nanoTime()-t0);
+				return null;
+			});
+		}
+	}
+	
+	/**
+	 * Waits for the completion of a pending asynchronous export (if any)
+	 * and unpins the data. Errors of the asynchronous write are re-thrown.
+	 */
+	public void awaitAsyncExport() {
+		Future<?> export = _asyncExport;
+		if( export == null )
+			return;
+		try {
+			export.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Asynchronous export of "
+				+ hashCode() + " to " + _asyncExportFile + " failed.", ex);
+		}
+		finally {
+			synchronized( this ) {
+				if( _asyncExport == export ) {
+					AsyncWriteBuffer.remove(_asyncExportFile, this);
+					_asyncExport = null;
+					_asyncExportFile = null;
+					releaseIntern();
+				}
+			}
+		}
+	}
+	
+	public boolean hasPendingAsyncExport() {
+		return _asyncExport != null;
+	}
+	
 	// --------- ABSTRACT LOW-LEVEL CACHE I/O OPERATIONS ----------
 
 	/**
@@ -24,11 +24,11 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 public class LazyWriteBuffer 
@@ -323,7 +323,7 @@ public class LazyWriteBuffer
 		public MaintenanceService() {
 			//create new threadpool for async cleanup
 			if( isAsync() )
-				_pool = Executors.newCachedThreadPool();
+				_pool = CommonThreadPool.newCachedThreadPool();
 		}
 		
 		public void deleteFile(String fname) {
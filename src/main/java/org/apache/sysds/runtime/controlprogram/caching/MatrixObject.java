@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRange;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
 import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
+import org.apache.sysds.runtime.controlprogram.parfor.WriteRanges;
 import org.apache.sysds.runtime.instructions.fed.InitFEDInstruction;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
@@ -82,6 +83,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	private UpdateType _updateType = UpdateType.COPY; 
 	private boolean _diag = false;
 	private boolean _markForLinCache = false;
+	private transient WriteRanges _writeRanges = null; //parfor result vars
 
 	//information relevant to partitioned matrices.
 	private boolean _partitioned = false; //indicates if obj partitioned
@@ -152,6 +154,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		_partitionSize = mo._partitionSize;
 		_partitionCacheName = mo._partitionCacheName;
 		_markForLinCache = mo._markForLinCache;
+		_writeRanges = mo._writeRanges;
 	}
 	
 	public void setUpdateType(UpdateType flag) {
@@ -162,6 +165,28 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _updateType;
 	}
 	
+	public void setWriteRanges(WriteRanges ranges) {
+		_writeRanges = ranges;
+	}
+	
+	/**
+	 * Obtains the tracked index ranges written into a parfor result
+	 * variable, which is reset on any acquire modify.
+	 * 
+	 * @return write ranges or null if unknown
+	 */
+	public WriteRanges getWriteRanges() {
+		return _writeRanges;
+	}
+	
+	@Override
+	public MatrixBlock acquireModify(MatrixBlock newData) {
+		//any modification invalidates the write ranges
+		//(left indexing sets them after the modification)
+		_writeRanges = null;
+		return super.acquireModify(newData);
+	}
+	
 	public boolean isDiag() {
 		return _diag;
 	}
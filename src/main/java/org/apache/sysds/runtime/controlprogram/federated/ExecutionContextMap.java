@@ -21,18 +21,27 @@ package org.apache.sysds.runtime.controlprogram.federated;
 
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.lineage.Lineage;
 
 public class ExecutionContextMap {
 	private final ExecutionContext _main;
 	private final Map<Long, ExecutionContext> _parEc;
+	//tails of per-context task queues (w/o results to avoid pinning responses)
+	private final Map<Long, CompletableFuture<Void>> _tasks;
 	
 	public ExecutionContextMap() {
 		_main = createExecutionContext();
 		_parEc = new ConcurrentHashMap<>();
+		_tasks = new ConcurrentHashMap<>();
 	}
 	
 	public ExecutionContext get(long tid) {
@@ -45,6 +54,28 @@ public class ExecutionContextMap {
 			k -> deriveExecutionContext(_main));
 	}
 	
+	/**
+	 * Submits the given task for asynchronous execution. Tasks of the same
+	 * execution context (tid) are executed in order of submission, while
+	 * tasks of different execution contexts are executed concurrently.
+	 * 
+	 * @param tid thread id of execution context
+	 * @param task task to execute
+	 * @param exec executor of the tasks
+	 * @param <T> result type of the task
+	 * @return future of the task result
+	 */
+	public <T> CompletableFuture<T> submit(long tid, Supplier<T> task, Executor exec) {
+		@SuppressWarnings("unchecked")
+		CompletableFuture<T>[] ret = new CompletableFuture[1];
+		_tasks.compute(Math.max(tid, 0), (k, prev) -> {
+			ret[0] = (prev == null) ? CompletableFuture.supplyAsync(task, exec) :
+				prev.thenApplyAsync(v -> task.get(), exec);
+			return ret[0].handle((r, ex) -> null); //continue on errors
+		});
+		return ret[0];
+	}
+	
 	public void clear() {
 		//handle main symbol table (w/ tmp list for concurrent modification)
 		for( String varName : new ArrayList<>(_main.getVariables().keySet()) )
@@ -55,11 +86,23 @@ public class ExecutionContextMap {
 			for( String varName : ec.getVariables().keySet() )
 				_main.cleanupDataObject(ec.removeVariable(varName));
 		_parEc.clear();
+		
+		//drop the tails of completed task queues, while queues with pending
+		//tasks (incl the clear request itself) are kept to retain their order
+		_tasks.values().removeIf(CompletableFuture::isDone);
+		
+		//handle lineage of worker-local variables (the lineage
+		//cache is retained for reuse across coordinator sessions)
+		if( _main.getLineage() != null )
+			_main.getLineage().clearLineageMap();
 	}
 	
 	private static ExecutionContext createExecutionContext() {
 		ExecutionContext ec = ExecutionContextFactory.createContext();
+		ec.setVariables(new LocalVariableMap(true)); //shared by concurrent requests
 		ec.setAutoCreateVars(true); //w/o createvar inst
+		if( DMLScript.LINEAGE )
+			ec.setLineage(new Lineage(true)); //shared by concurrent requests
 		return ec;
 	}
 	
@@ -69,6 +112,7 @@ public class ExecutionContextMap {
 		ExecutionContext ec2 = ExecutionContextFactory
 			.createContext(ec.getVariables(), ec.getProgram());
 		ec2.setAutoCreateVars(true); //w/o createvar inst
+		ec2.setLineage(ec.getLineage()); //lineage of shared variables
 		return ec2;
 	}
 }
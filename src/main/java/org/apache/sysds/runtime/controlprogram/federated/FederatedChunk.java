@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+
+/**
+ * Row-block chunk of a large matrix or frame block, which is transferred as
+ * a separate message in order to avoid serializing the entire block into a
+ * single frame (which requires the whole serialized payload in memory on both
+ * ends, and fails beyond 2GB). All but the last chunk are written ahead of the
+ * request or response, while the last chunk replaces the block inside the
+ * request or response itself. The receiver assembles the chunks directly into
+ * a preallocated destination block.
+ */
+public class FederatedChunk implements Serializable {
+	private static final long serialVersionUID = -4383591342316487310L;
+	
+	//in-memory size of chunks, and threshold for chunked transfer
+	public static long CHUNK_SIZE = 64L * 1024 * 1024;
+	
+	private final long _rid;    //request ID of the enclosing batch
+	private final int _pos;     //position of the request in the batch
+	private final int _rlen;    //number of rows of the entire block
+	private final long _nnz;    //number of non-zeros of the entire block (matrix)
+	private final int _rl;      //first row of this chunk, 0-based
+	private final CacheBlock _block;
+	
+	private FederatedChunk(long rid, int pos, int rlen, long nnz, int rl, CacheBlock block) {
+		_rid = rid;
+		_pos = pos;
+		_rlen = rlen;
+		_nnz = nnz;
+		_rl = rl;
+		_block = block;
+	}
+	
+	public boolean isLast() {
+		return _rl + _block.getNumRows() == _rlen;
+	}
+	
+	/**
+	 * Indicates if the given object is a matrix or frame block that exceeds the chunk
+	 * size and thus, should be sent in chunks. Since chunked writes block for
+	 * back-pressure, chunking is only used outside the channel's event loop.
+	 * 
+	 * @param data data object of a request or response
+	 * @param channel channel used for sending the data object
+	 * @return true if the data object should be sent in chunks
+	 */
+	public static boolean isChunkable(Object data, Channel channel) {
+		if( !(data instanceof MatrixBlock || data instanceof FrameBlock)
+			|| data instanceof CompressedMatrixBlock )
+			return false;
+		CacheBlock cb = (CacheBlock) data;
+		return cb.getNumRows() > 1 && cb.getInMemorySize() > CHUNK_SIZE
+			&& !channel.eventLoop().inEventLoop();
+	}
+	
+	/**
+	 * Writes all but the last row-block chunk of the given block to the channel, where
+	 * we wait for the write of the previous chunk before slicing the next chunk, which
+	 * bounds the memory to two chunks in flight.
+	 * 
+	 * @param channel channel used for sending the chunks
+	 * @param rid request ID of the enclosing batch
+	 * @param pos position of the request in the batch
+	 * @param data matrix or frame block
+	 * @return the last chunk, to be sent in place of the given block
+	 */
+	public static FederatedChunk writeChunks(Channel channel, long rid, int pos, CacheBlock data) {
+		int rlen = data.getNumRows();
+		int clen = data.getNumColumns();
+		long nnz = (data instanceof MatrixBlock) ? ((MatrixBlock) data).getNonZeros() : -1;
+		int blen = (int) Math.max(1, Math.min(rlen, rlen * CHUNK_SIZE / data.getInMemorySize()));
+		ChannelFuture prev = null;
+		for( int rl = 0; rl < rlen; rl += blen ) {
+			int ru = Math.min(rl + blen, rlen) - 1;
+			FederatedChunk chunk = new FederatedChunk(rid, pos, rlen, nnz, rl,
+				data.slice(rl, ru, 0, clen - 1, null));
+			if( chunk.isLast() ) {
+				waitFor(prev);
+				return chunk;
+			}
+			ChannelFuture f = channel.writeAndFlush(chunk);
+			waitFor(prev);
+			prev = f;
+		}
+		throw new DMLRuntimeException("Chunked transfer of empty block.");
+	}
+	
+	private static void waitFor(ChannelFuture f) {
+		if( f == null )
+			return;
+		f.awaitUninterruptibly();
+		if( !f.isSuccess() )
+			throw new DMLRuntimeException("Failed to write federated chunk: "+f.cause().getMessage());
+	}
+	
+	/**
+	 * Assembler of received chunks per channel, which is only accessed by the
+	 * channel's event loop and thus, requires no synchronization.
+	 */
+	public static class Assembler {
+		private final Map<Pair<Long,Integer>, CacheBlock> _partial = new HashMap<>();
+		
+		/**
+		 * Copies the given chunk into the destination block, which is allocated
+		 * on the first chunk. On errors, the partially assembled block is dropped.
+		 * 
+		 * @param chunk received chunk
+		 * @return the assembled block if the chunk was the last chunk, otherwise null
+		 */
+		public CacheBlock add(FederatedChunk chunk) {
+			Pair<Long,Integer> key = new ImmutablePair<>(chunk._rid, chunk._pos);
+			try {
+				CacheBlock dest = _partial.get(key);
+				if( dest == null )
+					_partial.put(key, dest = allocate(chunk));
+				int ru = chunk._rl + chunk._block.getNumRows() - 1;
+				int cu = chunk._block.getNumColumns() - 1;
+				if( dest instanceof MatrixBlock )
+					((MatrixBlock) dest).copy(chunk._rl, ru, 0, cu, (MatrixBlock) chunk._block, true);
+				else
+					((FrameBlock) dest).copy(chunk._rl, ru, 0, cu, (FrameBlock) chunk._block);
+				if( !chunk.isLast() )
+					return null;
+				_partial.remove(key);
+				return dest;
+			}
+			catch(RuntimeException ex) {
+				_partial.remove(key);
+				throw ex;
+			}
+		}
+		
+		public int size() {
+			return _partial.size();
+		}
+		
+		public void clear() {
+			_partial.clear();
+		}
+		
+		private static CacheBlock allocate(FederatedChunk chunk) {
+			int clen = chunk._block.getNumColumns();
+			if( chunk._block instanceof MatrixBlock ) {
+				MatrixBlock ret = new MatrixBlock(chunk._rlen, clen,
+					MatrixBlock.evalSparseFormatInMemory(chunk._rlen, clen, chunk._nnz));
+				return ret.allocateBlock();
+			}
+			FrameBlock fb = (FrameBlock) chunk._block;
+			FrameBlock ret = new FrameBlock(fb.getSchema(), fb.getColumnNames(false));
+			ret.ensureAllocatedColumns(chunk._rlen);
+			ret.setColumnMetadata(fb.getColumnMetadata());
+			return ret;
+		}
+	}
+}
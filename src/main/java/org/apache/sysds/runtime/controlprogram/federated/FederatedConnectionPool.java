@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLException;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import io.netty.handler.codec.serialization.ObjectDecoder;
+import io.netty.handler.codec.serialization.ObjectEncoder;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Pool of persistent connections from the coordinator to federated workers.
+ * 
+ * Per federated site, we keep a small number of long-lived channels, which
+ * share a single event loop group. Each channel multiplexes concurrent in-flight
+ * request batches, whose responses are correlated via unique request IDs.
+ * Coordinator threads are assigned to channels by thread ID, which preserves
+ * the order of requests issued by a single thread. Closed channels are detected
+ * on access and transparently re-established, while pending requests of closed
+ * channels fail with an exception. Large matrix and frame blocks of PUT_VAR
+ * requests and GET_VAR responses are streamed as row-block chunks.
+ */
+public class FederatedConnectionPool {
+	private static final Log LOG = LogFactory.getLog(FederatedConnectionPool.class.getName());
+	
+	//number of persistent channels per federated site
+	public static final int CHANNELS_PER_SITE = 2;
+	
+	private static final AtomicLong _seqRID = new AtomicLong(0);
+	private static final Map<Pair<InetSocketAddress,Boolean>, Site> _sites = new ConcurrentHashMap<>();
+	private static EventLoopGroup _group = null;
+	private static SslContext _sslCtx = null;
+	
+	static {
+		//close all persistent connections on shutdown via exit or interrupt
+		Runtime.getRuntime().addShutdownHook(new Thread(FederatedConnectionPool::close));
+	}
+	
+	/**
+	 * Sends the given batch of requests to the federated worker at the given
+	 * address, via a persistent (and potentially shared) connection.
+	 * 
+	 * @param address socket address (incl host and port)
+	 * @param request batch of requests
+	 * @return future of the response
+	 * @throws SSLException if the ssl context construction fails
+	 */
+	public static Future<FederatedResponse> execute(InetSocketAddress address, FederatedRequest... request)
+		throws SSLException
+	{
+		boolean ssl = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION);
+		Site site = _sites.computeIfAbsent(new ImmutablePair<>(address, ssl), k -> new Site(address, ssl));
+		Channel channel = site.getChannel();
+		
+		//register promise before sending the request
+		long rid = _seqRID.incrementAndGet();
+		ResponseHandler handler = channel.pipeline().get(ResponseHandler.class);
+		Promise<FederatedResponse> promise = channel.eventLoop().newPromise();
+		handler.register(rid, promise);
+		FederatedRequest[] requests = request;
+		try {
+			//stream large matrix/frame blocks of PUT_VAR as row-block chunks
+			for( int i=0; i<request.length; i++ ) {
+				if( request[i].getType() != RequestType.PUT_VAR || request[i].getNumParams() == 0
+					|| !FederatedChunk.isChunkable(request[i].getParam(0), channel) )
+					continue;
+				if( requests == request ) //copy on write (shared across sites)
+					requests = request.clone();
+				requests[i] = request[i].replaceParam(0, FederatedChunk
+					.writeChunks(channel, rid, i, (CacheBlock) request[i].getParam(0)));
+			}
+		}
+		catch(DMLRuntimeException ex) {
+			handler.fail(rid, ex);
+			return promise;
+		}
+		channel.writeAndFlush(new FederatedRequest.Batch(rid, requests)).addListener(f -> {
+			if( !f.isSuccess() )
+				handler.fail(rid, f.cause());
+		});
+		return promise;
+	}
+	
+	/**
+	 * Closes all persistent connections, which fails pending requests.
+	 * Since the pool is shared by all scripts of this JVM, this is only
+	 * intended for shutdown; scripts release their sites via
+	 * {@link #close(Collection)}.
+	 */
+	public static void close() {
+		for( Site site : _sites.values() )
+			site.close();
+		_sites.clear();
+	}
+	
+	/**
+	 * Closes the persistent connections to the given federated sites
+	 * (with and without ssl), while connections to other sites remain open.
+	 * 
+	 * @param addresses socket addresses of the sites to release
+	 */
+	public static void close(Collection<InetSocketAddress> addresses) {
+		for( Map.Entry<Pair<InetSocketAddress,Boolean>, Site> e : _sites.entrySet() )
+			if( addresses.contains(e.getKey().getLeft()) && _sites.remove(e.getKey(), e.getValue()) )
+				e.getValue().close();
+	}
+	
+	public static int getNumOpenChannels() {
+		return _sites.values().stream().mapToInt(s -> s.getNumOpenChannels()).sum();
+	}
+	
+	private static synchronized EventLoopGroup getEventLoopGroup() {
+		//shared event loop group of daemon threads (no explicit shutdown)
+		if( _group == null )
+			_group = new NioEventLoopGroup(InfrastructureAnalyzer.getLocalParallelism(),
+				new DefaultThreadFactory("federated-client", true));
+		return _group;
+	}
+	
+	private static synchronized SslContext getSslContext() throws SSLException {
+		if( _sslCtx == null )
+			_sslCtx = SslContextBuilder.forClient()
+				.trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+		return _sslCtx;
+	}
+	
+	private static class Site {
+		private final InetSocketAddress _address;
+		private final boolean _ssl;
+		private final Channel[] _channels = new Channel[CHANNELS_PER_SITE];
+		
+		public Site(InetSocketAddress address, boolean ssl) {
+			_address = address;
+			_ssl = ssl;
+		}
+		
+		public synchronized Channel getChannel() throws SSLException {
+			int ix = (int) (Thread.currentThread().getId() % CHANNELS_PER_SITE);
+			//health check and reconnect on closed channels
+			if( _channels[ix] == null || !_channels[ix].isActive() ) {
+				if( _channels[ix] != null )
+					LOG.debug("Reconnect closed federated channel to "+_address+".");
+				_channels[ix] = connect();
+			}
+			return _channels[ix];
+		}
+		
+		public synchronized int getNumOpenChannels() {
+			int ret = 0;
+			for( Channel ch : _channels )
+				ret += (ch != null && ch.isActive()) ? 1 : 0;
+			return ret;
+		}
+		
+		public synchronized void close() {
+			for( int i=0; i<_channels.length; i++ ) {
+				if( _channels[i] != null )
+					_channels[i].close();
+				_channels[i] = null;
+			}
+		}
+		
+		private Channel connect() throws SSLException {
+			final SslContext sslCtx = _ssl ? getSslContext() : null;
+			Bootstrap b = new Bootstrap();
+			b.group(getEventLoopGroup()).channel(NioSocketChannel.class)
+				.option(ChannelOption.SO_KEEPALIVE, true)
+				.option(ChannelOption.TCP_NODELAY, true)
+				.handler(new ChannelInitializer<SocketChannel>() {
+				@Override
+				protected void initChannel(SocketChannel ch) throws Exception {
+					ChannelPipeline cp = ch.pipeline();
+					if( sslCtx != null ) {
+						cp.addLast(sslCtx.newHandler(ch.alloc(),
+							_address.getAddress().getHostAddress(), _address.getPort()));
+					}
+					cp.addLast("ObjectDecoder",
+						new ObjectDecoder(Integer.MAX_VALUE,
+							ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
+					cp.addLast("FederatedResponseHandler", new ResponseHandler());
+					cp.addLast("ObjectEncoder", new ObjectEncoder());
+				}
+			});
+			try {
+				return b.connect(_address).sync().channel();
+			}
+			catch(InterruptedException e) {
+				throw new DMLRuntimeException("Could not connect to federated worker "+_address+".");
+			}
+		}
+	}
+	
+	private static class ResponseHandler extends ChannelInboundHandlerAdapter {
+		private final Map<Long, Promise<FederatedResponse>> _pending = new ConcurrentHashMap<>();
+		private final FederatedChunk.Assembler _chunks = new FederatedChunk.Assembler();
+		
+		public void register(long rid, Promise<FederatedResponse> promise) {
+			_pending.put(rid, promise);
+		}
+		
+		public void fail(long rid, Throwable cause) {
+			Promise<FederatedResponse> promise = _pending.remove(rid);
+			if( promise != null )
+				promise.tryFailure(cause);
+		}
+		
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			if( msg instanceof FederatedChunk ) {
+				_chunks.add((FederatedChunk) msg);
+				return;
+			}
+			FederatedResponse response = (FederatedResponse) msg;
+			Object[] data = response.getRawData();
+			if( data != null && data.length > 0 && data[0] instanceof FederatedChunk )
+				data[0] = _chunks.add((FederatedChunk) data[0]);
+			Promise<FederatedResponse> promise = _pending.remove(response.getRequestID());
+			if( promise != null )
+				promise.trySuccess(response);
+			else
+				LOG.warn("Received federated response for unknown request "+response.getRequestID()+".");
+		}
+		
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+			failAll(new DMLRuntimeException("Federated connection to "+ctx.channel().remoteAddress()+" closed."));
+			super.channelInactive(ctx);
+		}
+		
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			failAll(cause);
+			ctx.close();
+		}
+		
+		private void failAll(Throwable cause) {
+			_chunks.clear();
+			for( Long rid : _pending.keySet() )
+				fail(rid, cause);
+		}
+	}
+}
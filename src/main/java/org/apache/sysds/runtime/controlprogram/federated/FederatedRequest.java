@@ -67,6 +67,14 @@ public class FederatedRequest implements Serializable {
 		setCheckPrivacy();
 	}
 	
+	private FederatedRequest(FederatedRequest that, List<Object> data) {
+		_method = that._method;
+		_id = that._id;
+		_tid = that._tid;
+		_data = data;
+		_checkPrivacy = that._checkPrivacy;
+	}
+	
 	public RequestType getType() {
 		return _method;
 	}
@@ -104,6 +112,20 @@ public class FederatedRequest implements Serializable {
 	public FederatedRequest deepClone() {
 		return new FederatedRequest(_method, _id, new ArrayList<>(_data));
 	}
+	
+	/**
+	 * Creates a shallow copy of this request (w/o statistics maintenance),
+	 * where the i-th parameter is replaced by the given object.
+	 * 
+	 * @param i parameter position
+	 * @param obj new parameter
+	 * @return copy of the request
+	 */
+	public FederatedRequest replaceParam(int i, Object obj) {
+		List<Object> data = new ArrayList<>(_data);
+		data.set(i, obj);
+		return new FederatedRequest(this, data);
+	}
 
 	public void setCheckPrivacy(boolean checkPrivacy){
 		this._checkPrivacy = checkPrivacy;
@@ -117,6 +139,30 @@ public class FederatedRequest implements Serializable {
 		return _checkPrivacy;
 	}
 	
+	/**
+	 * Batch of federated requests with a unique request ID, used for correlating
+	 * responses of multiplexed requests over persistent connections.
+	 */
+	public static class Batch implements Serializable {
+		private static final long serialVersionUID = -2491512744306917581L;
+		
+		private final long _rid;
+		private final FederatedRequest[] _requests;
+		
+		public Batch(long rid, FederatedRequest[] requests) {
+			_rid = rid;
+			_requests = requests;
+		}
+		
+		public long getRequestID() {
+			return _rid;
+		}
+		
+		public FederatedRequest[] getRequests() {
+			return _requests;
+		}
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder("FederatedRequest[");
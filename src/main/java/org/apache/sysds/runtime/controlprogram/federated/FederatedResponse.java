@@ -41,6 +41,7 @@ public class FederatedResponse implements Serializable {
 	private ResponseType _status;
 	private Object[] _data;
 	private Map<PrivacyLevel,LongAdder> checkedConstraints;
+	private long _rid = -1; //request ID for persistent connections
 	
 	public FederatedResponse(ResponseType status) {
 		this(status, null);
@@ -60,6 +61,24 @@ public class FederatedResponse implements Serializable {
 			_status = ResponseType.SUCCESS_EMPTY;
 	}
 	
+	public long getRequestID() {
+		return _rid;
+	}
+	
+	public void setRequestID(long rid) {
+		_rid = rid;
+	}
+	
+	/**
+	 * Gets the data objects w/o error and privacy handling,
+	 * which is used for in-place updates on chunked transfer.
+	 * 
+	 * @return data objects (potentially null)
+	 */
+	protected Object[] getRawData() {
+		return _data;
+	}
+	
 	public boolean isSuccessful() {
 		return _status != ResponseType.ERROR;
 	}
@@ -20,6 +20,8 @@
 package org.apache.sysds.runtime.controlprogram.federated;
 
 import java.security.cert.CertificateException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.net.ssl.SSLException;
 
@@ -48,9 +50,13 @@ public class FederatedWorker {
 
 	private int _port;
 	private final ExecutionContextMap _ecm;
+	private final ExecutorService _exec;
 
 	public FederatedWorker(int port) {
 		_ecm = new ExecutionContextMap();
+		//compute threads separate from network I/O threads, where the concurrency
+		//is bounded by the number of active execution contexts (coordinator threads)
+		_exec = Executors.newCachedThreadPool();
 		_port = (port == -1) ? DMLConfig.DEFAULT_FEDERATED_PORT : port;
 	}
 
@@ -78,7 +84,7 @@ public class FederatedWorker {
 							new ObjectDecoder(Integer.MAX_VALUE,
 								ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
 						cp.addLast("ObjectEncoder", new ObjectEncoder());
-						cp.addLast("FederatedWorkerHandler", new FederatedWorkerHandler(_ecm));
+						cp.addLast("FederatedWorkerHandler", new FederatedWorkerHandler(_ecm, _exec));
 					}
 				}).option(ChannelOption.SO_BACKLOG, 128).childOption(ChannelOption.SO_KEEPALIVE, true);
 			log.info("Starting Federated Worker server at port: " + _port);
@@ -93,6 +99,7 @@ public class FederatedWorker {
 			log.info("Federated Worker Shutting down.");
 			workerGroup.shutdownGracefully();
 			bossGroup.shutdownGracefully();
+			_exec.shutdownNow();
 		}
 	}
 }
@@ -22,6 +22,10 @@ package org.apache.sysds.runtime.controlprogram.federated;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -43,11 +47,15 @@ import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.Reques
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.InstructionParser;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig;
+import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.privacy.DMLPrivacyException;
@@ -66,17 +74,101 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 	protected static Logger log = Logger.getLogger(FederatedWorkerHandler.class);
 
 	private final ExecutionContextMap _ecm;
+	private final Executor _exec;
+	private final FederatedChunk.Assembler _chunks = new FederatedChunk.Assembler();
 	
 	public FederatedWorkerHandler(ExecutionContextMap ecm) {
+		this(ecm, null);
+	}
+	
+	public FederatedWorkerHandler(ExecutionContextMap ecm, Executor exec) {
 		//Note: federated worker handler created for every command;
 		//and concurrent parfor threads at coordinator need separate
 		//execution contexts at the federated sites too
 		_ecm = ecm;
+		_exec = exec;
 	}
 
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msg) {
-		ctx.writeAndFlush(createResponse(msg)).addListener(new CloseListener());
+		if( msg instanceof FederatedChunk ) {
+			//chunks of large PUT_VAR blocks, sent ahead of the batch
+			_chunks.add((FederatedChunk) msg);
+		}
+		else if( msg instanceof FederatedRequest.Batch ) {
+			//persistent connection with multiplexed requests (keep open)
+			FederatedRequest.Batch batch = (FederatedRequest.Batch) msg;
+			try {
+				assembleChunks(batch.getRequests());
+			}
+			catch(Exception ex) {
+				FederatedResponse response = new FederatedResponse(ResponseType.ERROR, ex);
+				response.setRequestID(batch.getRequestID());
+				ctx.writeAndFlush(response).addListener(new KeepAliveListener());
+				return;
+			}
+			execute(batch.getRequests(), () -> {
+				FederatedResponse response = null;
+				try {
+					response = createResponse(batch.getRequests());
+					if( response == null ) //empty batch
+						response = new FederatedResponse(ResponseType.SUCCESS_EMPTY);
+				}
+				catch(Exception ex) {
+					response = new FederatedResponse(ResponseType.ERROR, ex);
+				}
+				response.setRequestID(batch.getRequestID());
+				//stream large matrix/frame blocks of GET_VAR as row-block chunks
+				Object[] data = response.getRawData();
+				if( response.isSuccessful() && data != null && data.length > 0
+					&& FederatedChunk.isChunkable(data[0], ctx.channel()) )
+					data[0] = FederatedChunk.writeChunks(ctx.channel(),
+						batch.getRequestID(), 0, (CacheBlock) data[0]);
+				ctx.writeAndFlush(response).addListener(new KeepAliveListener());
+			});
+		}
+		else {
+			execute(msg, () -> ctx.writeAndFlush(createResponse(msg))
+				.addListener(new CloseListener()));
+		}
+	}
+	
+	private void assembleChunks(FederatedRequest[] requests) {
+		//replace the last chunk of large PUT_VAR blocks with the assembled block
+		for( int i=0; i<requests.length; i++ )
+			if( requests[i].getNumParams() > 0 && requests[i].getParam(0) instanceof FederatedChunk )
+				requests[i] = requests[i].replaceParam(0, _chunks.add((FederatedChunk) requests[i].getParam(0)));
+	}
+	
+	private void execute(Object msg, Runnable task) {
+		if( _exec == null ) {
+			runAndClear(task);
+			return;
+		}
+		//execute off the I/O thread, ordered per execution context
+		//but concurrently across execution contexts (i.e., tids)
+		long tid = (msg instanceof FederatedRequest[] && ((FederatedRequest[])msg).length > 0) ?
+			((FederatedRequest[])msg)[0].getTID() : 0;
+		_ecm.submit(tid, () -> {
+			try {
+				runAndClear(task);
+			}
+			catch(Exception ex) {
+				log.error("Failed to process federated request.", ex);
+			}
+			return null;
+		}, _exec);
+	}
+	
+	private static void runAndClear(Runnable task) {
+		try {
+			task.run();
+		}
+		finally {
+			//clear thread-local privacy state of the executing thread
+			//(not in write listeners, which run on the I/O thread)
+			PrivacyMonitor.clearCheckedConstraints();
+		}
 	}
 
 	public FederatedResponse createResponse(Object msg) {
@@ -191,6 +283,7 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		// read metadata
 		FileFormat fmt = null;
 		boolean header = false;
+		long mtime = -1;
 		try {
 			String mtdname = DataExpression.getMTDFileName(filename);
 			Path path = new Path(mtdname);
@@ -209,6 +302,9 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				cd = (CacheableData<?>) PrivacyPropagator.parseAndSetPrivacyConstraint(cd, mtd);
 				fmt = FileFormat.safeValueOf(mtd.getString(DataExpression.FORMAT_TYPE));
 			}
+			Path dpath = new Path(filename);
+			if( fs.exists(dpath) )
+				mtime = fs.getFileStatus(dpath).getModificationTime();
 		}
 		catch (Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -221,7 +317,12 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		cd.setFileFormatProperties(new FileFormatPropertiesCSV(header, DataExpression.DEFAULT_DELIM_DELIMITER,
 			DataExpression.DEFAULT_DELIM_SPARSE));
 		cd.enableCleanup(false); //guard against deletion
-		_ecm.get(tid).setVariable(String.valueOf(id), cd);
+		ExecutionContext ec = _ecm.get(tid);
+		//file name and modification time identify the data across sessions
+		setLineage(ec, String.valueOf(id), (mtime < 0) ? createUniqueLineageItem(RequestType.READ_VAR) :
+			new LineageItem(InstructionUtils.concatOperandParts(filename, dataType.name(),
+			String.valueOf(mtime)), RequestType.READ_VAR.name()));
+		ec.setVariable(String.valueOf(id), cd);
 		
 		if (dataType == Types.DataType.FRAME) {
 			FrameObject frameObject = (FrameObject) cd;
@@ -255,6 +356,9 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 			throw new DMLRuntimeException("FederatedWorkerHandler: Unsupported object type, has to be of type CacheBlock or ScalarObject");
 		
 		//set variable and construct empty response
+		setLineage(ec, varname, (data instanceof ScalarObject) ?
+			new LineageItem(new CPOperand((ScalarObject) data).getLineageLiteral()) :
+			createUniqueLineageItem(RequestType.PUT_VAR));
 		ec.setVariable(varname, data);
 		return new FederatedResponse(ResponseType.SUCCESS_EMPTY);
 	}
@@ -314,6 +418,24 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 			.toArray(Data[]::new);
 		
 		//execute user-defined function
+		if( ec.getLineage() == null ) {
+			try {
+				return udf.execute(ec, inputs);
+			}
+			catch(Exception ex) {
+				return new FederatedResponse(ResponseType.ERROR, new FederatedWorkerHandlerException(
+					"Exception of type " + ex.getClass() + " thrown when processing EXEC_UDF request", ex));
+			}
+		}
+		
+		//UDFs write variables w/o maintaining their lineage, which might then
+		//refer to the previous values (e.g., overwritten paramserv models), so
+		//reuse is suspended during the UDF and all new or overwritten outputs
+		//are marked as unique to exclude them from reuse
+		Map<String, Data> vars = new HashMap<>();
+		for( String varName : ec.getVariables().keySet() )
+			vars.put(varName, ec.getVariable(varName));
+		LineageCacheConfig.setReuseSuspended(true);
 		try {
 			return udf.execute(ec, inputs);
 		}
@@ -321,6 +443,12 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 			return new FederatedResponse(ResponseType.ERROR, new FederatedWorkerHandlerException(
 				"Exception of type " + ex.getClass() + " thrown when processing EXEC_UDF request", ex));
 		}
+		finally {
+			LineageCacheConfig.setReuseSuspended(false);
+			for( String varName : ec.getVariables().keySet() )
+				if( vars.get(varName) != ec.getVariable(varName) )
+					setLineage(ec, varName, createUniqueLineageItem(RequestType.EXEC_UDF));
+		}
 	}
 
 	private FederatedResponse execClear() {
@@ -334,6 +462,17 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		return new FederatedResponse(ResponseType.SUCCESS_EMPTY);
 	}
 	
+	private static void setLineage(ExecutionContext ec, String varName, LineageItem li) {
+		//variables w/o lineage would be traced by name, which is
+		//not unique across coordinator sessions (invalid reuse)
+		if( ec.getLineage() != null )
+			ec.getLineage().set(varName, li);
+	}
+	
+	private static LineageItem createUniqueLineageItem(RequestType type) {
+		return new LineageItem(UUID.randomUUID().toString(), type.name());
+	}
+	
 	private static void checkNumParams(int actual, int... expected) {
 		if (Arrays.stream(expected).anyMatch(x -> x == actual))
 			return;
@@ -341,12 +480,31 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 			+ Arrays.toString(expected) + ", actual=" + actual);
 	}
 
+	@Override
+	public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+		//drop partially received blocks of the closed connection
+		_chunks.clear();
+		super.channelInactive(ctx);
+	}
+
 	@Override
 	public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
 		cause.printStackTrace();
+		_chunks.clear();
 		ctx.close();
 	}
 
+	private static class KeepAliveListener implements ChannelFutureListener {
+		@Override
+		public void operationComplete(ChannelFuture channelFuture) {
+			if (!channelFuture.isSuccess()) {
+				//close connection, which fails all pending requests at the coordinator
+				log.error("Federated Worker Write failed", channelFuture.cause());
+				channelFuture.channel().close();
+			}
+		}
+	}
+	
 	private static class CloseListener implements ChannelFutureListener {
 		@Override
 		public void operationComplete(ChannelFuture channelFuture) throws InterruptedException {
@@ -360,7 +518,6 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 					.channel().close().sync();
 			}
 			else {
-				PrivacyMonitor.clearCheckedConstraints();
 				channelFuture.channel().close().sync();
 			}
 		}
@@ -331,7 +331,7 @@ public class FederationMap {
 	 * @param forEachFunction function to execute for each pair
 	 */
 	public void forEachParallel(BiFunction<FederatedRange, FederatedData, Void> forEachFunction) {
-		ExecutorService pool = CommonThreadPool.get(_fedMap.size());
+		ExecutorService pool = CommonThreadPool.getBlocking(_fedMap.size());
 
 		ArrayList<MappingTask> mappingTasks = new ArrayList<>();
 		for(Map.Entry<FederatedRange, FederatedData> fedMap : _fedMap.entrySet())
@@ -350,7 +350,7 @@ public class FederationMap {
 	 * @return the new <code>FederationMap</code>
 	 */
 	public FederationMap mapParallel(long newVarID, BiFunction<FederatedRange, FederatedData, Void> mappingFunction) {
-		ExecutorService pool = CommonThreadPool.get(_fedMap.size());
+		ExecutorService pool = CommonThreadPool.getBlocking(_fedMap.size());
 
 		FederationMap fedMapCopy = copyWithNewID(_ID);
 		ArrayList<MappingTask> mappingTasks = new ArrayList<>();
@@ -36,6 +36,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
 import org.apache.sysds.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.IntObject;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
@@ -94,6 +95,12 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		gradientProgramBlock.setInstructions(new ArrayList<>(Arrays.asList(_inst)));
 		programBlocks.add(gradientProgramBlock);
 
+		// native aggregation (w/o DML function) only on the ps
+		boolean nativeAgg = _ps.getAggInst() == null;
+		if(nativeAgg && _freq == Statement.PSFrequency.EPOCH)
+			throw new DMLRuntimeException("FederatedLocalPSThread: native aggregation "
+				+ "does not support local model updates with update frequency EPOCH");
+
 		if(_freq == Statement.PSFrequency.EPOCH) {
 			BasicProgramBlock aggProgramBlock = new BasicProgramBlock(_ec.getProgram());
 			aggProgramBlock.setInstructions(new ArrayList<>(Arrays.asList(_ps.getAggInst())));
@@ -120,10 +127,12 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 						programSerialized,
 						_inst.getNamespace(),
 						_inst.getFunctionName(),
-						_ps.getAggInst().getFunctionName(),
+						nativeAgg ? "" : _ps.getAggInst().getFunctionName(),
 						_ec.getListObject("hyperparams"),
 						_batchCounterVarID,
-						_modelVarID
+						_modelVarID,
+						_compression,
+						_topkRatio
 				)
 		));
 
@@ -152,8 +161,10 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		ListObject _hyperParams;
 		long _batchCounterVarID;
 		long _modelVarID;
+		Statement.PSCompression _compression;
+		double _topkRatio;
 
-		protected setupFederatedWorker(long batchSize, long dataSize, long numBatches, String programString, String namespace, String gradientsFunctionName, String aggregationFunctionName, ListObject hyperParams, long batchCounterVarID, long modelVarID) {
+		protected setupFederatedWorker(long batchSize, long dataSize, long numBatches, String programString, String namespace, String gradientsFunctionName, String aggregationFunctionName, ListObject hyperParams, long batchCounterVarID, long modelVarID, Statement.PSCompression compression, double topkRatio) {
 			super(new long[]{});
 			_batchSize = batchSize;
 			_dataSize = dataSize;
@@ -165,6 +176,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			_hyperParams = hyperParams;
 			_batchCounterVarID = batchCounterVarID;
 			_modelVarID = modelVarID;
+			_compression = compression;
+			_topkRatio = topkRatio;
 		}
 
 		@Override
@@ -182,6 +195,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.setVariable(Statement.PS_HYPER_PARAMS, _hyperParams);
 			ec.setVariable(Statement.PS_FED_BATCHCOUNTER_VARID, new IntObject(_batchCounterVarID));
 			ec.setVariable(Statement.PS_FED_MODEL_VARID, new IntObject(_modelVarID));
+			ec.setVariable(Statement.PS_FED_COMPRESSION, new StringObject(_compression.name()));
+			ec.setVariable(Statement.PS_FED_TOPK_RATIO, new DoubleObject(_topkRatio));
 
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
 		}
@@ -228,6 +243,9 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.removeVariable(Statement.PS_FED_AGGREGATION_FNAME);
 			ec.removeVariable(Statement.PS_FED_BATCHCOUNTER_VARID);
 			ec.removeVariable(Statement.PS_FED_MODEL_VARID);
+			ec.removeVariable(Statement.PS_FED_COMPRESSION);
+			ec.removeVariable(Statement.PS_FED_TOPK_RATIO);
+			ec.removeVariable(Statement.PS_FED_RESIDUALS);
 			ParamservUtils.cleanupListObject(ec, Statement.PS_HYPER_PARAMS);
 			ParamservUtils.cleanupListObject(ec, Statement.PS_GRADIENTS);
 			
@@ -256,6 +274,9 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			// Notify ps that no further gradients are pushed
+			_ps.finish(_workerID);
 		}
 		teardown();
 		return null;
@@ -319,7 +340,7 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 
 		try {
 			Object[] responseData = udfResponse.get().getData();
-			return (ListObject) responseData[0];
+			return decompressGradients(responseData[0]);
 		}
 		catch(Exception e) {
 			throw new DMLRuntimeException("FederatedLocalPSThread: failed to execute UDF" + e.getMessage());
@@ -388,7 +409,7 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ParamservUtils.cleanupListObject(ec, Statement.PS_MODEL);
 
 			// return
-			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS, gradients);
+			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS, compressGradients(ec, gradients));
 		}
 	}
 
@@ -433,7 +454,7 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 
 		try {
 			Object[] responseData = udfResponse.get().getData();
-			return (ListObject) responseData[0];
+			return decompressGradients(responseData[0]);
 		}
 		catch(Exception e) {
 			throw new DMLRuntimeException("FederatedLocalPSThread: failed to execute UDF" + e.getMessage());
@@ -536,10 +557,36 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ParamservUtils.cleanupListObject(ec, ec.getVariable(Statement.PS_FED_MODEL_VARID).toString());
 			ParamservUtils.cleanupListObject(ec, Statement.PS_MODEL);
 
-			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS, accGradients);
+			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS, compressGradients(ec, accGradients));
 		}
 	}
 
+	/**
+	 * Compresses the gradients on the federated worker (if configured), where the
+	 * residuals of the error feedback are kept in the worker's execution context
+	 *
+	 * @param ec execution context of the federated worker
+	 * @param gradients the computed gradients
+	 * @return the gradients or their compressed binary representation
+	 */
+	private static Object compressGradients(ExecutionContext ec, ListObject gradients) {
+		Statement.PSCompression type = !ec.containsVariable(Statement.PS_FED_COMPRESSION) ? Statement.PSCompression.NONE :
+			Statement.PSCompression.valueOf(((StringObject) ec.getVariable(Statement.PS_FED_COMPRESSION)).getStringValue());
+		if(type == Statement.PSCompression.NONE)
+			return gradients;
+		double ratio = ((DoubleObject) ec.getVariable(Statement.PS_FED_TOPK_RATIO)).getDoubleValue();
+		PSCompressor compressor = new PSCompressor(type, ratio, true);
+		compressor.setResiduals((ListObject) ec.getVariable(Statement.PS_FED_RESIDUALS));
+		ListObject sent = compressor.compress(gradients);
+		ec.setVariable(Statement.PS_FED_RESIDUALS, compressor.getResiduals());
+		return PSCompressor.serialize(sent, type.isQuantized());
+	}
+
+	private static ListObject decompressGradients(Object data) {
+		return (data instanceof byte[]) ?
+			PSCompressor.deserialize((byte[]) data) : (ListObject) data;
+	}
+
 	// Statistics methods
 	@Override
 	public String getWorkerName() {
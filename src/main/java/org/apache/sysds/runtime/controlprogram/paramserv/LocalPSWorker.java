@@ -37,6 +37,8 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 	protected static final Log LOG = LogFactory.getLog(LocalPSWorker.class.getName());
 	private static final long serialVersionUID = 5195390748495357295L;
 
+	private transient PSBatchPrefetcher _prefetcher;
+
 	protected LocalPSWorker() {}
 
 	public LocalPSWorker(int workerID, String updFunc, Statement.PSFrequency freq, int epochs, long batchSize, ExecutionContext ec, ParamServer ps) {
@@ -54,6 +56,8 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 		try {
 			long dataSize = _features.getNumRows();
 			int batchIter = (int) Math.ceil((double) dataSize / _batchSize);
+			if (_prefetch > 0)
+				_prefetcher = new PSBatchPrefetcher(_features, _labels, _batchSize, _epochs, _prefetch);
 
 			switch (_freq) {
 				case BATCH:
@@ -71,6 +75,13 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 			}
 		} catch (Exception e) {
 			throw new DMLRuntimeException(String.format("%s failed", getWorkerName()), e);
+		} finally {
+			if (_prefetcher != null) {
+				_prefetcher.close();
+				_prefetcher = null;
+			}
+			// Notify ps that no further gradients are pushed
+			_ps.finish(_workerID);
 		}
 		return null;
 	}
@@ -153,6 +164,13 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 	}
 
 	private void pushGradients(ListObject gradients) {
+		// Compress the gradients (w/ error feedback)
+		if (_compressor != null) {
+			ListObject tmp = _compressor.compress(gradients);
+			ParamservUtils.cleanupListObject(_ec, gradients);
+			gradients = tmp;
+		}
+
 		// Push the gradients to ps
 		_ps.push(_workerID, gradients);
 		if (LOG.isDebugEnabled()) {
@@ -168,8 +186,10 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 
 		// Get batch features and labels
 		Timing tSlic = DMLScript.STATISTICS ? new Timing(true) : null;
-		MatrixObject bFeatures = ParamservUtils.sliceMatrix(_features, begin, end);
-		MatrixObject bLabels = ParamservUtils.sliceMatrix(_labels, begin, end);
+		MatrixObject[] batch = (_prefetcher != null) ? _prefetcher.next() : new MatrixObject[] {
+			ParamservUtils.sliceMatrix(_features, begin, end), ParamservUtils.sliceMatrix(_labels, begin, end)};
+		MatrixObject bFeatures = batch[0];
+		MatrixObject bLabels = batch[1];
 		accBatchIndexingTime(tSlic);
 
 		_ec.setVariable(Statement.PS_FEATURES, bFeatures);
@@ -31,11 +31,15 @@ public class LocalParamServer extends ParamServer {
 	}
 
 	public static LocalParamServer create(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
-		return new LocalParamServer(model, aggFunc, updateType, ec, workerNum);
+		return create(model, aggFunc, updateType, 0, ec, workerNum);
 	}
 
-	private LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
-		super(model, aggFunc, updateType, ec, workerNum);
+	public static LocalParamServer create(ListObject model, String aggFunc, Statement.PSUpdateType updateType, int staleness, ExecutionContext ec, int workerNum) {
+		return new LocalParamServer(model, aggFunc, updateType, staleness, ec, workerNum);
+	}
+
+	private LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, int staleness, ExecutionContext ec, int workerNum) {
+		super(model, aggFunc, updateType, staleness, ec, workerNum);
 	}
 
 	@Override
@@ -43,6 +47,11 @@ public class LocalParamServer extends ParamServer {
 		updateGlobalModel(workerID, gradients);
 	}
 
+	@Override
+	public void finish(int workerID) {
+		setWorkerFinished(workerID);
+	}
+
 	@Override
 	public ListObject pull(int workerID) {
 		ListObject model;
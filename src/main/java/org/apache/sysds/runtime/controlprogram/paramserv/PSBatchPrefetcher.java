@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Bounded prefetching of the mini-batches of a paramserv worker. A helper
+ * thread prepares (slices and densifies if beneficial) up to a given number
+ * of next batches in order, while the worker computes the current batch.
+ */
+public class PSBatchPrefetcher implements AutoCloseable {
+
+	private final MatrixObject _features;
+	private final MatrixObject _labels;
+	private final long _batchSize;
+	private final long _dataSize;
+	private final int _batchIter;
+	private final long _numBatches;
+	private final ExecutorService _pool;
+	private final ArrayDeque<Future<MatrixObject[]>> _queue;
+	private final DMLConfig _dconf;
+	private final CompilerConfig _cconf;
+	private long _nextBatch = 0; // next batch to submit
+
+	/**
+	 * Creates a prefetcher for the batches of all epochs.
+	 *
+	 * @param features features of the worker
+	 * @param labels labels of the worker
+	 * @param batchSize batch size
+	 * @param epochs number of epochs
+	 * @param depth number of prefetched batches
+	 */
+	public PSBatchPrefetcher(MatrixObject features, MatrixObject labels, long batchSize, int epochs, int depth) {
+		_features = features;
+		_labels = labels;
+		_batchSize = batchSize;
+		_dataSize = features.getNumRows();
+		_batchIter = (int) Math.ceil((double) _dataSize / batchSize);
+		_numBatches = (long) _batchIter * epochs;
+		_queue = new ArrayDeque<>(depth);
+		//obtain thread-local configurations of the calling worker
+		_dconf = ConfigurationManager.getDMLConfig();
+		_cconf = ConfigurationManager.getCompilerConfig();
+		_pool = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "PSBatchPrefetcher");
+			t.setDaemon(true);
+			return t;
+		});
+		for( int i=0; i<depth; i++ )
+			submitNext();
+	}
+
+	/**
+	 * Obtains the next batch and triggers the preparation of a further batch.
+	 *
+	 * @return array of batch features and labels
+	 */
+	public MatrixObject[] next() {
+		Future<MatrixObject[]> batch = _queue.poll();
+		if( batch == null )
+			throw new DMLRuntimeException("PSBatchPrefetcher: no remaining batch.");
+		submitNext();
+		try {
+			return batch.get();
+		}
+		catch(InterruptedException | ExecutionException e) {
+			throw new DMLRuntimeException("PSBatchPrefetcher: failed to prepare batch.", e);
+		}
+	}
+
+	@Override
+	public void close() {
+		_pool.shutdownNow();
+		for( Future<MatrixObject[]> batch : _queue ) {
+			try {
+				if( !batch.isCancelled() && batch.isDone() )
+					for( MatrixObject mo : batch.get() )
+						ParamservUtils.cleanupData(ExecutionContextFactory.createContext(), mo);
+			}
+			catch(Exception ex) {
+				// ignore failed preparations of unused batches
+			}
+		}
+		_queue.clear();
+	}
+
+	private void submitNext() {
+		if( _nextBatch >= _numBatches )
+			return;
+		int j = (int) (_nextBatch++ % _batchIter);
+		long begin = j * _batchSize + 1;
+		long end = Math.min((j + 1) * _batchSize, _dataSize);
+		_queue.add(_pool.submit(() -> {
+			ConfigurationManager.setLocalConfig(_dconf);
+			ConfigurationManager.setLocalConfig(_cconf);
+			try {
+				return new MatrixObject[] {slice(_features, begin, end), slice(_labels, begin, end)};
+			}
+			finally {
+				ConfigurationManager.clearLocalConfigs();
+			}
+		}));
+	}
+
+	private static MatrixObject slice(MatrixObject mo, long rl, long rh) {
+		MatrixBlock mb = ParamservUtils.sliceMatrixBlock(mo.acquireReadAndRelease(), rl, rh);
+		mb.examSparsity(); // densify if beneficial
+		return ParamservUtils.newMatrixObject(mb, false);
+	}
+}
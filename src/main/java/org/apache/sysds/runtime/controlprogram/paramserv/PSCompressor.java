@@ -0,0 +1,406 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.parser.Statement.PSCompression;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Compression of gradients and model deltas exchanged between paramserv
+ * workers and the parameter server. Top-k sparsification keeps the given
+ * ratio of largest absolute values per list entry (layer), and 8-bit
+ * quantization maps the values linearly to [-127, 127] per list entry. With
+ * error feedback, the compression error is accumulated in local residuals,
+ * which are added to the next input. Besides, this class provides a compact
+ * binary encoding of (compressed) list objects, which writes sparse entries
+ * as indexes and values, and quantized values as single bytes.
+ */
+public class PSCompressor implements Serializable
+{
+	private static final long serialVersionUID = 4366367285435532217L;
+
+	public static final double DEFAULT_TOPK_RATIO = 0.01;
+
+	//encodings of matrices in the compact binary format
+	private static final byte ENC_DENSE = 0;
+	private static final byte ENC_SPARSE = 1;
+	private static final byte ENC_DENSE_INT8 = 2;
+	private static final byte ENC_SPARSE_INT8 = 3;
+
+	private final PSCompression _type;
+	private final double _ratio;
+	private final boolean _errorFeedback;
+	private MatrixBlock[] _residuals;
+
+	public PSCompressor(PSCompression type, double ratio, boolean errorFeedback) {
+		if( ratio <= 0 || ratio > 1 )
+			throw new DMLRuntimeException("Invalid top-k ratio for paramserv compression: " + ratio);
+		_type = type;
+		_ratio = ratio;
+		_errorFeedback = errorFeedback;
+	}
+
+	public PSCompression getType() {
+		return _type;
+	}
+
+	/**
+	 * Compresses the given list of matrices, and if error feedback is enabled,
+	 * adds the residuals of previous calls and updates them.
+	 *
+	 * @param lo list object of matrices (e.g., gradients)
+	 * @return new list object of compressed matrices
+	 */
+	public ListObject compress(ListObject lo) {
+		if( _errorFeedback && _residuals == null )
+			_residuals = new MatrixBlock[lo.getLength()];
+		List<Data> data = new ArrayList<>();
+		for( int i=0; i<lo.getLength(); i++ ) {
+			MatrixBlock mb = ((MatrixObject) lo.getData(i)).acquireReadAndRelease();
+			data.add(ParamservUtils.newMatrixObject(compress(i, mb), false));
+		}
+		return new ListObject(data, lo.getNames());
+	}
+
+	private MatrixBlock compress(int ix, MatrixBlock mb) {
+		int rows = mb.getNumRows(), cols = mb.getNumColumns();
+		double[] vals = getDenseValues(mb, _errorFeedback);
+		double[] res = null;
+		if( _errorFeedback ) {
+			if( _residuals[ix] == null ) {
+				_residuals[ix] = new MatrixBlock(rows, cols, false);
+				_residuals[ix].allocateDenseBlock();
+			}
+			res = _residuals[ix].getDenseBlockValues();
+			for( int j=0; j<vals.length; j++ )
+				vals[j] += res[j];
+		}
+
+		//top-k sparsification (threshold of k-th largest absolute value)
+		double thresh = _type.isTopK() ? getTopKThreshold(vals, _ratio) : 0;
+		int maxNnz = _type.isTopK() ? getK(vals.length, _ratio) : vals.length;
+
+		//8-bit quantization (scale of max absolute value)
+		double maxAbs = 0;
+		if( _type.isQuantized() )
+			for( double v : vals )
+				maxAbs = Math.max(maxAbs, (Math.abs(v) >= thresh) ? Math.abs(v) : 0);
+		double scale = maxAbs / 127;
+
+		MatrixBlock ret = new MatrixBlock(rows, cols, _type.isTopK());
+		double[] out = null;
+		if( !_type.isTopK() ) {
+			ret.allocateDenseBlock();
+			out = ret.getDenseBlockValues();
+		}
+		int nnz = 0;
+		for( int j=0; j<vals.length; j++ ) {
+			double v = vals[j];
+			double c = 0;
+			if( v != 0 && Math.abs(v) >= thresh && nnz < maxNnz ) {
+				c = !_type.isQuantized() ? v : (scale == 0) ? 0 : Math.round(v / scale) * scale;
+				if( c != 0 ) {
+					if( out != null )
+						out[j] = c;
+					else
+						ret.appendValue(j / cols, j % cols, c);
+					nnz++;
+				}
+			}
+			if( res != null )
+				res[j] = v - c;
+		}
+		if( out != null )
+			ret.setNonZeros(nnz);
+		ret.examSparsity();
+		return ret;
+	}
+
+	public ListObject getResiduals() {
+		if( _residuals == null )
+			return null;
+		List<Data> data = new ArrayList<>();
+		for( MatrixBlock mb : _residuals )
+			data.add(ParamservUtils.newMatrixObject(mb, false));
+		return new ListObject(data);
+	}
+
+	public void setResiduals(ListObject residuals) {
+		if( residuals == null )
+			return;
+		_residuals = new MatrixBlock[residuals.getLength()];
+		for( int i=0; i<_residuals.length; i++ )
+			_residuals[i] = ((MatrixObject) residuals.getData(i)).acquireReadAndRelease();
+	}
+
+	/**
+	 * Computes the element-wise difference of two lists of matrices.
+	 *
+	 * @param lo1 list object (e.g., current model)
+	 * @param lo2 list object (e.g., previously sent model)
+	 * @return new list object lo1 - lo2
+	 */
+	public static ListObject minus(ListObject lo1, ListObject lo2) {
+		return combine(lo1, lo2, -1);
+	}
+
+	/**
+	 * Computes the element-wise sum of two lists of matrices.
+	 *
+	 * @param lo1 list object (e.g., previously sent model)
+	 * @param lo2 list object (e.g., model delta)
+	 * @return new list object lo1 + lo2
+	 */
+	public static ListObject plus(ListObject lo1, ListObject lo2) {
+		return combine(lo1, lo2, 1);
+	}
+
+	private static ListObject combine(ListObject lo1, ListObject lo2, double sign) {
+		List<Data> data = new ArrayList<>();
+		for( int i=0; i<lo1.getLength(); i++ ) {
+			MatrixBlock mb1 = ((MatrixObject) lo1.getData(i)).acquireReadAndRelease();
+			MatrixBlock mb2 = ((MatrixObject) lo2.getData(i)).acquireReadAndRelease();
+			double[] a = getDenseValues(mb1, true);
+			double[] b = getDenseValues(mb2, false);
+			for( int j=0; j<a.length; j++ )
+				a[j] += sign * b[j];
+			MatrixBlock ret = new MatrixBlock(mb1.getNumRows(), mb1.getNumColumns(), false);
+			ret.init(a, mb1.getNumRows(), mb1.getNumColumns());
+			ret.examSparsity();
+			data.add(ParamservUtils.newMatrixObject(ret, false));
+		}
+		return new ListObject(data, lo1.getNames());
+	}
+
+	/**
+	 * Writes the given list of matrices in a compact binary format,
+	 * where sparse matrices are written as indexes and values.
+	 *
+	 * @param lo list object of matrices
+	 * @param quantized write values as 8-bit quantized values
+	 * @param out data output
+	 * @throws IOException if IOException occurs
+	 */
+	public static void write(ListObject lo, boolean quantized, DataOutput out) throws IOException {
+		out.writeInt(lo.getLength());
+		out.writeBoolean(lo.isNamedList());
+		for( int i=0; i<lo.getLength(); i++ ) {
+			if( lo.isNamedList() )
+				out.writeUTF(lo.getName(i));
+			write(((MatrixObject) lo.getData(i)).acquireReadAndRelease(), quantized, out);
+		}
+	}
+
+	private static void write(MatrixBlock mb, boolean quantized, DataOutput out) throws IOException {
+		int rows = mb.getNumRows(), cols = mb.getNumColumns();
+		double[] vals = getDenseValues(mb, false);
+		int nnz = 0;
+		double maxAbs = 0;
+		for( double v : vals ) {
+			nnz += (v != 0) ? 1 : 0;
+			maxAbs = Math.max(maxAbs, Math.abs(v));
+		}
+		byte enc = getEncoding(vals.length, nnz, quantized);
+		double scale = maxAbs / 127;
+		out.writeInt(rows);
+		out.writeInt(cols);
+		out.writeByte(enc);
+		if( enc == ENC_DENSE_INT8 || enc == ENC_SPARSE_INT8 )
+			out.writeDouble(scale);
+		if( enc == ENC_SPARSE || enc == ENC_SPARSE_INT8 ) {
+			out.writeInt(nnz);
+			for( int j=0; j<vals.length; j++ )
+				if( vals[j] != 0 )
+					out.writeInt(j);
+		}
+		for( double v : vals ) {
+			if( (enc == ENC_SPARSE || enc == ENC_SPARSE_INT8) && v == 0 )
+				continue;
+			if( enc == ENC_DENSE_INT8 || enc == ENC_SPARSE_INT8 )
+				out.writeByte((scale == 0) ? 0 : (int) Math.round(v / scale));
+			else
+				out.writeDouble(v);
+		}
+	}
+
+	/**
+	 * Reads a list of matrices in the compact binary format.
+	 *
+	 * @param in data input
+	 * @return list object of matrices
+	 * @throws IOException if IOException occurs
+	 */
+	public static ListObject read(DataInput in) throws IOException {
+		int len = in.readInt();
+		List<String> names = in.readBoolean() ? new ArrayList<>() : null;
+		List<Data> data = new ArrayList<>();
+		for( int i=0; i<len; i++ ) {
+			if( names != null )
+				names.add(in.readUTF());
+			data.add(ParamservUtils.newMatrixObject(readMatrix(in), false));
+		}
+		return new ListObject(data, names);
+	}
+
+	private static MatrixBlock readMatrix(DataInput in) throws IOException {
+		int rows = in.readInt(), cols = in.readInt();
+		byte enc = in.readByte();
+		double scale = (enc == ENC_DENSE_INT8 || enc == ENC_SPARSE_INT8) ? in.readDouble() : 0;
+		if( enc == ENC_SPARSE || enc == ENC_SPARSE_INT8 ) {
+			int nnz = in.readInt();
+			int[] ix = new int[nnz];
+			for( int j=0; j<nnz; j++ )
+				ix[j] = in.readInt();
+			MatrixBlock ret = new MatrixBlock(rows, cols, true, nnz);
+			for( int j=0; j<nnz; j++ ) {
+				double v = (enc == ENC_SPARSE_INT8) ? in.readByte() * scale : in.readDouble();
+				ret.appendValue(ix[j] / cols, ix[j] % cols, v);
+			}
+			ret.examSparsity();
+			return ret;
+		}
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		ret.allocateDenseBlock();
+		double[] vals = ret.getDenseBlockValues();
+		for( int j=0; j<vals.length; j++ )
+			vals[j] = (enc == ENC_DENSE_INT8) ? in.readByte() * scale : in.readDouble();
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Obtains the exact size of the list object in the compact binary format.
+	 *
+	 * @param lo list object of matrices
+	 * @param quantized write values as 8-bit quantized values
+	 * @return size in bytes
+	 */
+	public static long getExactSerializedSize(ListObject lo, boolean quantized) {
+		long size = 4 + 1;
+		for( int i=0; i<lo.getLength(); i++ ) {
+			if( lo.isNamedList() )
+				size += IOUtilFunctions.getUTFSize(lo.getName(i));
+			MatrixBlock mb = ((MatrixObject) lo.getData(i)).acquireReadAndRelease();
+			long len = (long) mb.getNumRows() * mb.getNumColumns();
+			long nnz = mb.recomputeNonZeros();
+			byte enc = getEncoding(len, nnz, quantized);
+			size += 4 + 4 + 1;
+			switch( enc ) {
+				case ENC_DENSE: size += 8 * len; break;
+				case ENC_SPARSE: size += 4 + 12 * nnz; break;
+				case ENC_DENSE_INT8: size += 8 + len; break;
+				case ENC_SPARSE_INT8: size += 8 + 4 + 5 * nnz; break;
+			}
+		}
+		return size;
+	}
+
+	public static byte[] serialize(ListObject lo, boolean quantized) {
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(
+				(int) Math.min(getExactSerializedSize(lo, quantized), Integer.MAX_VALUE));
+			DataOutputStream dos = new DataOutputStream(bos);
+			write(lo, quantized, dos);
+			dos.flush();
+			return bos.toByteArray();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	public static ListObject deserialize(byte[] data) {
+		try {
+			return read(new DataInputStream(new ByteArrayInputStream(data)));
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static byte getEncoding(long len, long nnz, boolean quantized) {
+		int vsize = quantized ? 1 : 8;
+		boolean sparse = nnz * (4 + vsize) + 4 < len * vsize;
+		return quantized ? (sparse ? ENC_SPARSE_INT8 : ENC_DENSE_INT8) :
+			(sparse ? ENC_SPARSE : ENC_DENSE);
+	}
+
+	private static int getK(int len, double ratio) {
+		return (int) Math.max(1, Math.min(len, Math.ceil(ratio * len)));
+	}
+
+	private static double getTopKThreshold(double[] vals, double ratio) {
+		int k = getK(vals.length, ratio);
+		if( k >= vals.length )
+			return 0;
+		double[] tmp = new double[vals.length];
+		for( int j=0; j<vals.length; j++ )
+			tmp[j] = Math.abs(vals[j]);
+		//select k-th largest value (quickselect)
+		int lo = 0, hi = tmp.length - 1, pos = tmp.length - k;
+		while( lo < hi ) {
+			double pivot = tmp[(lo + hi) >>> 1];
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( tmp[i] < pivot ) i++;
+				while( tmp[j] > pivot ) j--;
+				if( i <= j ) {
+					double t = tmp[i]; tmp[i] = tmp[j]; tmp[j] = t;
+					i++; j--;
+				}
+			}
+			if( pos <= j ) hi = j;
+			else if( pos >= i ) lo = i;
+			else break;
+		}
+		return tmp[pos];
+	}
+
+	private static double[] getDenseValues(MatrixBlock mb, boolean copy) {
+		long len = (long) mb.getNumRows() * mb.getNumColumns();
+		if( len > Integer.MAX_VALUE )
+			throw new DMLRuntimeException("Paramserv compression: unsupported matrix with " + len + " cells.");
+		if( mb.isEmptyBlock(false) )
+			return new double[(int) len];
+		if( !mb.isInSparseFormat() && !copy )
+			return mb.getDenseBlockValues();
+		MatrixBlock tmp = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		tmp.copy(mb, false);
+		return tmp.getDenseBlockValues();
+	}
+}
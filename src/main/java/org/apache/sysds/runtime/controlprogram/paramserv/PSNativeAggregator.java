@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSAggregationType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Native aggregation service of the parameter server for common optimizers
+ * (SGD, SGD w/ momentum, SGD w/ Nesterov momentum, Adam), which avoids the
+ * overhead of DML aggregation function calls. The model is sharded by list
+ * entry (layer), and concurrent updates only synchronize on individual shards.
+ * Updates are performed out-of-place such that broadcasted models remain
+ * immutable snapshots, while optimizer state (e.g., velocities, moments) is
+ * maintained by the server and updated in-place.
+ */
+public class PSNativeAggregator {
+	private final PSAggregationType _type;
+	private final double _lr;
+	private final double _mu;
+	private final double _beta1;
+	private final double _beta2;
+	private final double _eps;
+
+	private List<String> _names;
+	private Shard[] _shards;
+
+	public PSNativeAggregator(PSAggregationType type, ExecutionContext ec) {
+		_type = type;
+		ListObject params = ec.containsVariable(Statement.PS_HYPER_PARAMS) ?
+			ec.getListObject(Statement.PS_HYPER_PARAMS) : null;
+		_lr = getHyperParam(params, "lr", type == PSAggregationType.ADAM ? 0.001 : 0.01);
+		_mu = getHyperParam(params, "mu", 0.9);
+		_beta1 = getHyperParam(params, "beta1", 0.9);
+		_beta2 = getHyperParam(params, "beta2", 0.999);
+		_eps = getHyperParam(params, "epsilon", 1e-8);
+	}
+
+	/**
+	 * Initializes the model shards from the given model.
+	 *
+	 * @param model initial model
+	 */
+	public void init(ListObject model) {
+		_names = model.getNames();
+		_shards = new Shard[model.getLength()];
+		for (int i = 0; i < _shards.length; i++) {
+			Data dat = model.getData(i);
+			if (!(dat instanceof MatrixObject))
+				throw new DMLRuntimeException("Native paramserv aggregation "
+					+ "only supports models of matrices: " + dat.getDebugName());
+			_shards[i] = new Shard(((MatrixObject) dat).acquireReadAndRelease());
+		}
+	}
+
+	/**
+	 * Updates the global model with the given gradients. Concurrent calls
+	 * only synchronize on the individual shards.
+	 *
+	 * @param gradients list of gradients
+	 * @param par parallel update of the shards
+	 */
+	public void update(ListObject gradients, boolean par) {
+		checkGradients(gradients, _shards.length);
+		IntStream range = IntStream.range(0, _shards.length);
+		(par ? range.parallel() : range).forEach(i -> {
+			MatrixBlock grad = ((MatrixObject) gradients.getData(i)).acquireReadAndRelease();
+			_shards[i].update(grad);
+		});
+	}
+
+	/**
+	 * Obtains a snapshot of the current global model, with each
+	 * list entry being a consistent version of its shard.
+	 *
+	 * @return model list object
+	 */
+	public ListObject getModel() {
+		List<Data> data = IntStream.range(0, _shards.length)
+			.mapToObj(i -> ParamservUtils.newMatrixObject(_shards[i]._model, false))
+			.collect(Collectors.toList());
+		return new ListObject(data, _names);
+	}
+
+	/**
+	 * Updates a worker-local model with the given gradients. Local model
+	 * updates do not have access to the server-side optimizer state and
+	 * hence, are only supported for stateless SGD. Broadcast model entries
+	 * are copied on the first local update, while worker-owned entries of
+	 * previous local updates are updated in-place.
+	 *
+	 * @param model local model
+	 * @param gradients list of gradients
+	 * @return new local model
+	 */
+	public ListObject updateLocal(ListObject model, ListObject gradients) {
+		if (_type != PSAggregationType.SGD)
+			throw new DMLRuntimeException("Native paramserv aggregation " + _type.name()
+				+ " does not support worker-local model updates (freq=EPOCH), because the optimizer "
+				+ "state is maintained by the server. Use freq=BATCH or a DML aggregation function.");
+		checkGradients(gradients, model.getLength());
+		List<Data> data = IntStream.range(0, model.getLength()).mapToObj(i -> {
+			MatrixObject mo = (MatrixObject) model.getData(i);
+			MatrixBlock mb = mo.acquireReadAndRelease();
+			MatrixBlock grad = ((MatrixObject) gradients.getData(i)).acquireReadAndRelease();
+			//broadcast snapshots (w/o cleanup) are shared with the server and other workers
+			boolean inplace = mo.isCleanupEnabled() && !mb.isInSparseFormat() && mb.isAllocated();
+			MatrixBlock ret = inplace ? mb : allocateCopy(mb);
+			double[] x = ret.getDenseBlockValues();
+			double[] g = getDenseValues(grad);
+			for (int j = 0; j < x.length; j++)
+				x[j] -= _lr * g[j];
+			ret.recomputeNonZeros();
+			if (!inplace)
+				return ParamservUtils.newMatrixObject(ret, true);
+			mo.acquireModify(ret);
+			mo.release();
+			return mo;
+		}).collect(Collectors.toList());
+		return new ListObject(data, model.getNames());
+	}
+
+	private class Shard {
+		private volatile MatrixBlock _model;
+		private double[] _s1; //velocity or 1st moment
+		private double[] _s2; //2nd moment
+		private int _t;       //timestep
+
+		private Shard(MatrixBlock model) {
+			_model = model;
+		}
+
+		private synchronized void update(MatrixBlock grad) {
+			MatrixBlock mb = _model;
+			if (mb.getNumRows() != grad.getNumRows() || mb.getNumColumns() != grad.getNumColumns())
+				throw new DMLRuntimeException("Native paramserv aggregation: gradients of size "
+					+ grad.getNumRows() + "x" + grad.getNumColumns() + " do not match the model of size "
+					+ mb.getNumRows() + "x" + mb.getNumColumns() + ".");
+			MatrixBlock ret = allocateCopy(mb);
+			double[] x = ret.getDenseBlockValues();
+			double[] g = getDenseValues(grad);
+			if (_s1 == null && _type != PSAggregationType.SGD) {
+				_s1 = new double[x.length];
+				_s2 = (_type == PSAggregationType.ADAM) ? new double[x.length] : null;
+			}
+			switch (_type) {
+				case SGD:
+					for (int j = 0; j < x.length; j++)
+						x[j] -= _lr * g[j];
+					break;
+				case SGD_MOMENTUM:
+					for (int j = 0; j < x.length; j++) {
+						_s1[j] = _mu * _s1[j] - _lr * g[j];
+						x[j] += _s1[j];
+					}
+					break;
+				case SGD_NESTEROV:
+					for (int j = 0; j < x.length; j++) {
+						double vprev = _s1[j];
+						_s1[j] = _mu * _s1[j] - _lr * g[j];
+						x[j] += -_mu * vprev + (1 + _mu) * _s1[j];
+					}
+					break;
+				case ADAM: {
+					_t++;
+					double lr = _lr * Math.sqrt(1 - Math.pow(_beta2, _t)) / (1 - Math.pow(_beta1, _t));
+					for (int j = 0; j < x.length; j++) {
+						_s1[j] = _beta1 * _s1[j] + (1 - _beta1) * g[j];
+						_s2[j] = _beta2 * _s2[j] + (1 - _beta2) * g[j] * g[j];
+						x[j] -= lr * _s1[j] / (Math.sqrt(_s2[j]) + _eps);
+					}
+					break;
+				}
+				default:
+					throw new DMLRuntimeException("Unsupported native aggregation: " + _type.name());
+			}
+			//publish new immutable version of the shard
+			_model = finalizeBlock(ret);
+		}
+	}
+
+	private static void checkGradients(ListObject gradients, int len) {
+		if (gradients.getLength() != len)
+			throw new DMLRuntimeException("Native paramserv aggregation: number of gradients ("
+				+ gradients.getLength() + ") does not match the number of model entries (" + len + ").");
+	}
+
+	private static double[] getDenseValues(MatrixBlock mb) {
+		long len = (long) mb.getNumRows() * mb.getNumColumns();
+		if (len > Integer.MAX_VALUE)
+			throw new DMLRuntimeException("Native paramserv aggregation: "
+				+ "unsupported model entry with " + len + " cells.");
+		if (mb.isEmptyBlock(false))
+			return new double[(int) len];
+		if (!mb.isInSparseFormat())
+			return mb.getDenseBlockValues(); //read-only
+		MatrixBlock tmp = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		tmp.copy(mb, false);
+		return tmp.getDenseBlockValues();
+	}
+
+	private static MatrixBlock allocateCopy(MatrixBlock mb) {
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		ret.allocateDenseBlock();
+		double[] src = getDenseValues(mb);
+		System.arraycopy(src, 0, ret.getDenseBlockValues(), 0, src.length);
+		return ret;
+	}
+
+	private static MatrixBlock finalizeBlock(MatrixBlock ret) {
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static double getHyperParam(ListObject params, String name, double defaultVal) {
+		if (params == null || params.getNames() == null || !params.getNames().contains(name))
+			return defaultVal;
+		Data dat = params.slice(name);
+		if (dat instanceof StringObject) //e.g., hyper-parameters of paramserv calls in functions
+			return Double.parseDouble(((StringObject) dat).getStringValue());
+		if (dat instanceof ScalarObject)
+			return ((ScalarObject) dat).getDoubleValue();
+		if (dat instanceof MatrixObject)
+			return ((MatrixObject) dat).acquireReadAndRelease().quickGetValue(0, 0);
+		throw new DMLRuntimeException("Native paramserv aggregation: invalid hyper-parameter '" + name + "'.");
+	}
+}
@@ -51,6 +51,10 @@ public abstract class PSWorker implements Serializable
 	protected MatrixObject _labels;
 	protected String _updFunc;
 	protected Statement.PSFrequency _freq;
+	protected Statement.PSCompression _compression = Statement.PSCompression.NONE;
+	protected double _topkRatio = PSCompressor.DEFAULT_TOPK_RATIO;
+	protected PSCompressor _compressor; // Gradient compression w/ error feedback
+	protected int _prefetch = 0; // Number of prefetched batches
 
 	protected PSWorker() {}
 
@@ -109,6 +113,23 @@ public abstract class PSWorker implements Serializable
 		}
 	}
 
+	/**
+	 * Enables the compression of pushed gradients (with error feedback).
+	 *
+	 * @param compression compression type
+	 * @param topkRatio ratio of kept values for top-k sparsification
+	 */
+	public void setCompression(Statement.PSCompression compression, double topkRatio) {
+		_compression = compression;
+		_topkRatio = topkRatio;
+		_compressor = (compression != Statement.PSCompression.NONE) ?
+			new PSCompressor(compression, topkRatio, true) : null;
+	}
+
+	public void setPrefetch(int prefetch) {
+		_prefetch = prefetch;
+	}
+
 	public void setFeatures(MatrixObject features) {
 		_features = features;
 	}
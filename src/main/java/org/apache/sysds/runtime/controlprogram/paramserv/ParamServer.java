@@ -36,6 +36,7 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.parser.DMLProgram;
 import org.apache.sysds.parser.DataIdentifier;
 import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSAggregationType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.FunctionProgramBlock;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -60,12 +61,23 @@ public abstract class ParamServer
 
 	private FunctionCallCPInstruction _inst;
 	private String _outputName;
+	private PSNativeAggregator _nativeAgg; // Native sharded aggregation (optional)
 	private boolean[] _finishedStates;  // Workers' finished states
 	private ListObject _accGradients = null;
 
+	//stale-synchronous parallel (SSP) state
+	private int _staleness;            // Max clock difference to slowest worker
+	private int[] _clocks;             // Workers' clocks (number of pushes)
+	private boolean[] _pendingModels;  // Workers waiting for a model broadcast
+	private boolean[] _finishedWorkers; // Workers without further pushes
+
 	protected ParamServer() {}
 
 	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
+		this(model, aggFunc, updateType, 0, ec, workerNum);
+	}
+
+	protected ParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, int staleness, ExecutionContext ec, int workerNum) {
 		// init worker queues and global model
 		_modelMap = new HashMap<>(workerNum);
 		IntStream.range(0, workerNum).forEach(i -> {
@@ -78,13 +90,25 @@ public abstract class ParamServer
 		_ec = ec;
 		_updateType = updateType;
 		_finishedStates = new boolean[workerNum];
+		_staleness = staleness;
+		_clocks = new int[workerNum];
+		_pendingModels = new boolean[workerNum];
+		_finishedWorkers = new boolean[workerNum];
 		setupAggFunc(_ec, aggFunc);
+		if (_nativeAgg != null)
+			_nativeAgg.init(model);
 		
 		// broadcast initial model
 		broadcastModel(true);
 	}
 
 	protected void setupAggFunc(ExecutionContext ec, String aggFunc) {
+		// Use native aggregation for common optimizers (w/o DML function)
+		if (PSAggregationType.isNative(aggFunc)) {
+			_nativeAgg = new PSNativeAggregator(PSAggregationType.valueOf(aggFunc), ec);
+			return;
+		}
+
 		String[] cfn = DMLProgram.splitFunctionKey(aggFunc);
 		String ns = cfn[0];
 		String fname = cfn[1];
@@ -114,13 +138,40 @@ public abstract class ParamServer
 
 	public abstract ListObject pull(int workerID);
 
+	/**
+	 * Notifies the server that the given worker will not push any
+	 * further gradients, which unblocks workers waiting for it under SSP.
+	 *
+	 * @param workerID worker id
+	 */
+	public abstract void finish(int workerID);
+
 	public ListObject getResult() {
 		// All the model updating work has terminated,
 		// so we could return directly the result model
-		return _model;
+		return (_nativeAgg != null) ? _nativeAgg.getModel() : _model;
+	}
+	
+	protected void updateGlobalModel(int workerID, ListObject gradients) {
+		// Native ASP/SSP updates w/o global lock, where concurrent
+		// pushes only synchronize on individual model shards (layers)
+		if (_nativeAgg == null || _updateType.isBSP()) {
+			updateGlobalModelSync(workerID, gradients);
+			return;
+		}
+		try {
+			updateGlobalModel(gradients);
+			if (_updateType.isASP())
+				broadcastModel(workerID);
+			else
+				advanceClock(workerID);
+		}
+		catch (Exception e) {
+			throw new DMLRuntimeException("Aggregation service failed: ", e);
+		}
 	}
 	
-	protected synchronized void updateGlobalModel(int workerID, ListObject gradients) {
+	private synchronized void updateGlobalModelSync(int workerID, ListObject gradients) {
 		try {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug(String.format("Successfully pulled the gradients [size:%d kb] of worker_%d.",
@@ -157,6 +208,12 @@ public abstract class ParamServer
 					broadcastModel(workerID);
 					break;
 				}
+				case SSP: {
+					// Update the global model and advance the worker's clock
+					updateGlobalModel(gradients);
+					advanceClock(workerID);
+					break;
+				}
 				default:
 					throw new DMLRuntimeException("Unsupported update: " + _updateType.name());
 			}
@@ -166,9 +223,58 @@ public abstract class ParamServer
 		}
 	}
 
+	private synchronized void advanceClock(int workerID) throws InterruptedException {
+		_clocks[workerID]++;
+		_pendingModels[workerID] = true;
+
+		// Broadcast the model to all waiting workers within the
+		// staleness bound, i.e., block only workers too far ahead
+		broadcastModelSSP();
+	}
+
+	protected synchronized void setWorkerFinished(int workerID) {
+		_finishedWorkers[workerID] = true;
+		if( _updateType.isSSP() ) {
+			try {
+				broadcastModelSSP();
+			}
+			catch (Exception e) {
+				throw new DMLRuntimeException("Aggregation service failed: ", e);
+			}
+		}
+	}
+
+	private void broadcastModelSSP() throws InterruptedException {
+		// Determine the clock of the slowest active worker
+		int minClock = Integer.MAX_VALUE;
+		for (int i = 0; i < _clocks.length; i++)
+			if (!_finishedWorkers[i])
+				minClock = Math.min(minClock, _clocks[i]);
+
+		for (int i = 0; i < _clocks.length; i++) {
+			if (!_pendingModels[i])
+				continue;
+			if (_finishedWorkers[i])
+				_pendingModels[i] = false;
+			else if (_clocks[i] - minClock <= _staleness) {
+				_pendingModels[i] = false;
+				broadcastModel(i);
+			}
+			else if (LOG.isDebugEnabled()) {
+				LOG.debug(String.format("Blocked worker_%d with clock %d (min clock %d, staleness %d).",
+					i, _clocks[i], minClock, _staleness));
+			}
+		}
+	}
+
 	private void updateGlobalModel(ListObject gradients) {
 		Timing tAgg = DMLScript.STATISTICS ? new Timing(true) : null;
-		_model = updateLocalModel(_ec, gradients, _model);
+		if (_nativeAgg != null) {
+			_nativeAgg.update(gradients, _updateType.isBSP());
+			ParamservUtils.cleanupListObject(gradients);
+		}
+		else
+			_model = updateLocalModel(_ec, gradients, _model);
 		if (DMLScript.STATISTICS)
 			Statistics.accPSAggregationTime((long) tAgg.stop());
 	}
@@ -182,6 +288,12 @@ public abstract class ParamServer
 	 * @return new model
 	 */
 	protected ListObject updateLocalModel(ExecutionContext ec, ListObject gradients, ListObject model) {
+		if (_nativeAgg != null) {
+			ListObject newModel = _nativeAgg.updateLocal(model, gradients);
+			ParamservUtils.cleanupListObject(ec, gradients);
+			return newModel;
+		}
+
 		// Populate the variables table with the gradients and model
 		ec.setVariable(Statement.PS_GRADIENTS, gradients);
 		ec.setVariable(Statement.PS_MODEL, model);
@@ -228,7 +340,8 @@ public abstract class ParamServer
 		Timing tBroad = DMLScript.STATISTICS ? new Timing(true) : null;
 
 		//broadcast copy of model to specific worker, cleaned up by worker
-		_modelMap.get(workerID).put(ParamservUtils.copyList(_model, false));
+		_modelMap.get(workerID).put((_nativeAgg != null) ?
+			_nativeAgg.getModel() : ParamservUtils.copyList(_model, false));
 
 		if (DMLScript.STATISTICS)
 			Statistics.accPSModelBroadcastTime((long) tBroad.stop());
@@ -19,15 +19,17 @@
 
 package org.apache.sysds.runtime.controlprogram.paramserv;
 
+import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcObject.FINISH;
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcObject.PULL;
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcObject.PUSH;
 
 import java.io.IOException;
 
-import org.apache.spark.network.client.TransportClient;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSNettyClient;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcResponse;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -35,19 +37,27 @@ import org.apache.sysds.runtime.instructions.cp.ListObject;
 
 public class SparkPSProxy extends ParamServer {
 
-	private final TransportClient _client;
+	private final PSNettyClient _client;
 	private final long _rpcTimeout;
 	private final LongAccumulator _aRPC;
+	private PSCompression _compression = PSCompression.NONE;
+	private double _topkRatio = PSCompressor.DEFAULT_TOPK_RATIO;
+	private ListObject _base; // Last pulled model (for compressed model deltas)
 
-	public SparkPSProxy(TransportClient client, long rpcTimeout, LongAccumulator aRPC) {
+	public SparkPSProxy(PSNettyClient client, long rpcTimeout, LongAccumulator aRPC) {
 		super();
 		_client = client;
 		_rpcTimeout = rpcTimeout;
 		_aRPC = aRPC;
 	}
 
+	public void setCompression(PSCompression compression, double topkRatio) {
+		_compression = compression;
+		_topkRatio = topkRatio;
+	}
+
 	private void accRpcRequestTime(Timing tRpc) {
-		if (DMLScript.STATISTICS)
+		if (DMLScript.STATISTICS && _aRPC != null)
 			_aRPC.add((long) tRpc.stop());
 	}
 
@@ -56,7 +66,7 @@ public class SparkPSProxy extends ParamServer {
 		Timing tRpc = DMLScript.STATISTICS ? new Timing(true) : null;
 		PSRpcResponse response;
 		try {
-			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PUSH, workerID, value).serialize(), _rpcTimeout));
+			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PUSH, workerID, value, _compression, _topkRatio).serialize(), _rpcTimeout));
 		} catch (IOException e) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to push gradients.", workerID), e);
 		}
@@ -71,7 +81,7 @@ public class SparkPSProxy extends ParamServer {
 		Timing tRpc = DMLScript.STATISTICS ? new Timing(true) : null;
 		PSRpcResponse response;
 		try {
-			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PULL, workerID, null).serialize(), _rpcTimeout));
+			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PULL, workerID, null, _compression, _topkRatio).serialize(), _rpcTimeout));
 		} catch (IOException e) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to pull models.", workerID), e);
 		}
@@ -79,6 +89,33 @@ public class SparkPSProxy extends ParamServer {
 		if (!response.isSuccessful()) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to pull models. \n%s", workerID, response.getErrorMessage()));
 		}
-		return response.getResultModel();
+		ListObject model = response.getResultModel();
+		if (response.isDelta()) {
+			// Reconstruct the model from the last pulled model and the compressed delta
+			ListObject tmp = PSCompressor.plus(_base, model);
+			ParamservUtils.cleanupListObject(model);
+			model = tmp;
+		}
+		if (_compression != PSCompression.NONE) {
+			if (_base != null)
+				ParamservUtils.cleanupListObject(_base);
+			_base = ParamservUtils.copyList(model, false);
+		}
+		return model;
+	}
+
+	@Override
+	public void finish(int workerID) {
+		Timing tRpc = DMLScript.STATISTICS ? new Timing(true) : null;
+		PSRpcResponse response;
+		try {
+			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(FINISH, workerID, null).serialize(), _rpcTimeout));
+		} catch (IOException e) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to notify finish.", workerID), e);
+		}
+		accRpcRequestTime(tRpc);
+		if (!response.isSuccessful()) {
+			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to notify finish. \n%s", workerID, response.getErrorMessage()));
+		}
 	}
 }
@@ -40,7 +40,7 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 
 	private static final long serialVersionUID = -8674739573419648732L;
 
-	private final String _program;
+	private final byte[] _program; // binary program
 	private final HashMap<String, byte[]> _clsMap;
 	private final SparkConf _conf;
 	private final int _port; // rpc port
@@ -60,7 +60,7 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		_freq = freq;
 		_epochs = epochs;
 		_batchSize = batchSize;
-		_program = program;
+		_program = ProgramConverter.compressProgram(program);
 		_clsMap = clsMap;
 		_conf = conf;
 		_port = port;
@@ -97,7 +97,7 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		}
 
 		// Deserialize the body to initialize the execution context
-		SparkPSBody body = ProgramConverter.parseSparkPSBody(_program, _workerID);
+		SparkPSBody body = ProgramConverter.parseSparkPSBody(ProgramConverter.decompressProgram(_program), _workerID);
 		_ec = body.getEc();
 
 		// Initialize the buffer pool and register it in the jvm shutdown hook in order to be cleanuped at the end
@@ -105,6 +105,8 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 
 		// Create the ps proxy
 		_ps = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC);
+		((SparkPSProxy) _ps).setCompression(_compression, _topkRatio);
+		setCompression(_compression, _topkRatio);
 
 		// Initialize the update function
 		setupUpdateFunction(_updFunc, _ec);
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSNettyCodec.Message;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Netty client of a parameter server. Connections are reused by all workers
+ * of a process (e.g., the tasks of a spark executor), where concurrent
+ * requests over a shared connection are matched to responses by request id.
+ */
+public class PSNettyClient {
+
+	private static final Map<String, PSNettyClient> _clients = new HashMap<>();
+	private static EventLoopGroup _group;
+
+	private final String _key;
+	private final Channel _channel;
+	private final AtomicLong _ids = new AtomicLong(0);
+	private final Map<Long, CompletableFuture<ByteBuffer>> _pending = new ConcurrentHashMap<>();
+
+	private PSNettyClient(String host, int port) throws IOException {
+		_key = host + ":" + port;
+		try {
+			_channel = new Bootstrap().group(_group).channel(NioSocketChannel.class)
+				.option(ChannelOption.SO_KEEPALIVE, true)
+				.option(ChannelOption.TCP_NODELAY, true)
+				.handler(new ChannelInitializer<SocketChannel>() {
+					@Override
+					protected void initChannel(SocketChannel ch) {
+						ch.pipeline().addLast("PSNettyDecoder", new PSNettyCodec.Decoder());
+						ch.pipeline().addLast("PSNettyClientHandler", new ClientHandler());
+					}
+				}).connect(host, port).sync().channel();
+		}
+		catch(InterruptedException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	/**
+	 * Obtains a connected client for the given server, where
+	 * open connections of previous requests are reused.
+	 *
+	 * @param host hostname of the server
+	 * @param port port of the server
+	 * @return client
+	 * @throws IOException if the connection failed
+	 */
+	public static synchronized PSNettyClient getClient(String host, int port) throws IOException {
+		String key = host + ":" + port;
+		PSNettyClient client = _clients.get(key);
+		if( client == null || !client._channel.isActive() ) {
+			if( _group == null )
+				_group = new NioEventLoopGroup(0, new DefaultThreadFactory("ps-netty-client", true));
+			client = new PSNettyClient(host, port);
+			_clients.put(key, client);
+		}
+		return client;
+	}
+
+	/**
+	 * Sends the serialized rpc call and waits for the serialized response.
+	 *
+	 * @param message serialized rpc call
+	 * @param timeoutMs timeout in milliseconds
+	 * @return serialized rpc response
+	 * @throws IOException if the request failed or timed out
+	 */
+	public ByteBuffer sendRpcSync(ByteBuffer message, long timeoutMs) throws IOException {
+		long id = _ids.incrementAndGet();
+		CompletableFuture<ByteBuffer> ret = new CompletableFuture<>();
+		_pending.put(id, ret);
+		try {
+			PSNettyCodec.writeMessage(_channel, id, message);
+			return ret.get(timeoutMs, TimeUnit.MILLISECONDS);
+		}
+		catch(TimeoutException ex) {
+			throw new IOException("PSNettyClient: rpc request timed out after " + timeoutMs + "ms.", ex);
+		}
+		catch(Exception ex) {
+			throw new IOException("PSNettyClient: rpc request failed.", ex);
+		}
+		finally {
+			_pending.remove(id);
+		}
+	}
+
+	private class ClientHandler extends SimpleChannelInboundHandler<Message> {
+		@Override
+		protected void channelRead0(ChannelHandlerContext ctx, Message msg) {
+			CompletableFuture<ByteBuffer> ret = _pending.get(msg._id);
+			if( ret != null )
+				ret.complete(msg._data);
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+			synchronized( PSNettyClient.class ) {
+				_clients.remove(_key, PSNettyClient.this);
+			}
+			_pending.values().forEach(f -> f.completeExceptionally(
+				new IOException("PSNettyClient: connection closed.")));
+			super.channelInactive(ctx);
+		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			_pending.values().forEach(f -> f.completeExceptionally(cause));
+			ctx.close();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Framing of the parameter server rpc messages over netty. Messages are
+ * split into chunks (scheme: id|total length|offset|chunk length|data),
+ * where the chunks of a serialized message are written without copy and
+ * the receiver reads them directly into the buffer of the assembled message.
+ * Since every chunk is self-contained, the chunks of concurrent requests
+ * over a shared connection can be interleaved.
+ */
+public class PSNettyCodec {
+
+	protected static final int CHUNK_SIZE = 4 * 1024 * 1024;
+	private static final int HEADER_SIZE = 8 + 4 + 4 + 4;
+
+	protected static class Message {
+		protected final long _id;
+		protected final ByteBuffer _data;
+
+		protected Message(long id, ByteBuffer data) {
+			_id = id;
+			_data = data;
+		}
+	}
+
+	/**
+	 * Writes the given message in chunks to the channel.
+	 *
+	 * @param ch netty channel
+	 * @param id request id
+	 * @param data serialized message
+	 * @return future of the last written chunk
+	 */
+	protected static ChannelFuture writeMessage(Channel ch, long id, ByteBuffer data) {
+		int len = data.remaining();
+		ChannelFuture last = null;
+		for( int off = 0; off == 0 || off < len; off += CHUNK_SIZE ) {
+			int clen = Math.min(CHUNK_SIZE, len - off);
+			ByteBuf header = Unpooled.buffer(HEADER_SIZE)
+				.writeLong(id).writeInt(len).writeInt(off).writeInt(clen);
+			ByteBuffer chunk = data.duplicate();
+			chunk.position(data.position() + off).limit(data.position() + off + clen);
+			last = ch.write(Unpooled.wrappedBuffer(header, Unpooled.wrappedBuffer(chunk)));
+		}
+		ch.flush();
+		return last;
+	}
+
+	/**
+	 * Decoder that assembles the chunks of messages by request id.
+	 */
+	protected static class Decoder extends ByteToMessageDecoder {
+		private final Map<Long, byte[]> _partial = new HashMap<>();
+
+		@Override
+		protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+			while( in.readableBytes() >= HEADER_SIZE ) {
+				int clen = in.getInt(in.readerIndex() + HEADER_SIZE - 4);
+				if( in.readableBytes() < HEADER_SIZE + clen )
+					return; // wait for the remaining chunk
+				long id = in.readLong();
+				int len = in.readInt();
+				int off = in.readInt();
+				in.skipBytes(4);
+				byte[] buff = (off == 0) ? new byte[len] : _partial.get(id);
+				in.readBytes(buff, off, clen);
+				if( off + clen < len )
+					_partial.put(id, buff);
+				else {
+					_partial.remove(id);
+					out.add(new Message(id, ByteBuffer.wrap(buff)));
+				}
+			}
+		}
+	}
+}
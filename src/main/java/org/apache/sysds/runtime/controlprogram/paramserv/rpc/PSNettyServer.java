@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.log4j.Logger;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSNettyCodec.Message;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+/**
+ * Netty server of a parameter server, which is independent of spark's
+ * network stack. The rpc calls are processed by a separate thread pool
+ * because pulls block until the model is available (e.g., under BSP).
+ */
+public class PSNettyServer implements AutoCloseable {
+	protected static final Logger LOG = Logger.getLogger(PSNettyServer.class);
+
+	private final EventLoopGroup _bossGroup;
+	private final EventLoopGroup _workerGroup;
+	private final ExecutorService _pool;
+	private final Channel _channel;
+
+	/**
+	 * Create and start the server on an ephemeral port.
+	 *
+	 * @param ps LocalParamServer object
+	 * @param host hostname
+	 */
+	public PSNettyServer(LocalParamServer ps, String host) {
+		PSRpcHandler handler = new PSRpcHandler(ps);
+		_bossGroup = new NioEventLoopGroup(1);
+		_workerGroup = new NioEventLoopGroup();
+		_pool = Executors.newCachedThreadPool();
+		try {
+			_channel = new ServerBootstrap()
+				.group(_bossGroup, _workerGroup).channel(NioServerSocketChannel.class)
+				.childHandler(new ChannelInitializer<SocketChannel>() {
+					@Override
+					public void initChannel(SocketChannel ch) {
+						ch.pipeline().addLast("PSNettyDecoder", new PSNettyCodec.Decoder());
+						ch.pipeline().addLast("PSNettyServerHandler", new ServerHandler(handler, _pool));
+					}
+				})
+				.option(ChannelOption.SO_BACKLOG, 128)
+				.childOption(ChannelOption.SO_KEEPALIVE, true)
+				.childOption(ChannelOption.TCP_NODELAY, true)
+				.bind(host, 0).sync().channel();
+		}
+		catch(Exception ex) {
+			close();
+			throw new DMLRuntimeException("PSNettyServer: failed to start the server.", ex);
+		}
+	}
+
+	public int getPort() {
+		return ((InetSocketAddress) _channel.localAddress()).getPort();
+	}
+
+	@Override
+	public void close() {
+		if( _channel != null )
+			_channel.close().awaitUninterruptibly();
+		_pool.shutdownNow();
+		_workerGroup.shutdownGracefully();
+		_bossGroup.shutdownGracefully();
+	}
+
+	private static class ServerHandler extends SimpleChannelInboundHandler<Message> {
+		private final PSRpcHandler _handler;
+		private final ExecutorService _pool;
+
+		public ServerHandler(PSRpcHandler handler, ExecutorService pool) {
+			_handler = handler;
+			_pool = pool;
+		}
+
+		@Override
+		protected void channelRead0(ChannelHandlerContext ctx, Message msg) {
+			_pool.submit(() -> {
+				try {
+					PSNettyCodec.writeMessage(ctx.channel(), msg._id, _handler.process(msg._data));
+				}
+				catch(Exception ex) {
+					LOG.error("PSNettyServer: failed to process rpc call.", ex);
+					ctx.close();
+				}
+			});
+		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			LOG.error("PSNettyServer: connection failed.", cause);
+			ctx.close();
+		}
+	}
+}
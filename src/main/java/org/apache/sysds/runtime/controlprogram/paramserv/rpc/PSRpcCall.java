@@ -22,8 +22,11 @@ package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.controlprogram.paramserv.PSCompressor;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 import org.apache.sysds.runtime.util.ByteBufferDataInput;
 
@@ -32,6 +35,8 @@ public class PSRpcCall extends PSRpcObject {
 	private int _method;
 	private int _workerID;
 	private ListObject _data;
+	private PSCompression _compression = PSCompression.NONE;
+	private double _topkRatio = PSCompressor.DEFAULT_TOPK_RATIO;
 
 	public PSRpcCall(int method, int workerID, ListObject data) {
 		_method = method;
@@ -39,6 +44,12 @@ public class PSRpcCall extends PSRpcObject {
 		_data = data;
 	}
 
+	public PSRpcCall(int method, int workerID, ListObject data, PSCompression compression, double topkRatio) {
+		this(method, workerID, data);
+		_compression = compression;
+		_topkRatio = topkRatio;
+	}
+
 	public PSRpcCall(ByteBuffer buffer) throws IOException {
 		deserialize(buffer);
 	}
@@ -54,6 +65,14 @@ public class PSRpcCall extends PSRpcObject {
 	public ListObject getData() {
 		return _data;
 	}
+
+	public PSCompression getCompression() {
+		return _compression;
+	}
+
+	public double getTopKRatio() {
+		return _topkRatio;
+	}
 	
 	@Override
 	public void deserialize(ByteBuffer buffer) throws IOException {
@@ -61,17 +80,29 @@ public class PSRpcCall extends PSRpcObject {
 		_method = dis.readInt();
 		validateMethod(_method);
 		_workerID = dis.readInt();
+		_compression = PSCompression.values()[dis.readInt()];
+		_topkRatio = dis.readDouble();
 		if (dis.available() > 1)
-			_data = readAndDeserialize(dis);
+			_data = (_compression != PSCompression.NONE) ?
+				PSCompressor.read(dis) : readAndDeserialize(dis);
 	}
 
 	@Override
 	public ByteBuffer serialize() throws IOException {
-		int len = 8 + getExactSerializedSize(_data);
+		boolean compressed = _compression != PSCompression.NONE;
+		int len = 20 + (_data == null ? 0 : compressed ? (int)
+			PSCompressor.getExactSerializedSize(_data, _compression.isQuantized()) : getExactSerializedSize(_data));
 		CacheDataOutput dos = new CacheDataOutput(len);
 		dos.writeInt(_method);
 		dos.writeInt(_workerID);
-		if (_data != null)
+		dos.writeInt(_compression.ordinal());
+		dos.writeDouble(_topkRatio);
+		if (_data != null && compressed) {
+			// compact format of compressed gradients
+			PSCompressor.write(_data, _compression.isQuantized(), dos);
+			ParamservUtils.cleanupListObject(_data);
+		}
+		else if (_data != null)
 			serializeAndWriteListObject(_data, dos);
 		return ByteBuffer.wrap(dos.getBytes());
 	}
@@ -80,9 +111,10 @@ public class PSRpcCall extends PSRpcObject {
 		switch (method) {
 			case PUSH:
 			case PULL:
+			case FINISH:
 				break;
 			default:
-				throw new DMLRuntimeException("PSRpcCall: only support rpc method 'push' or 'pull'");
+				throw new DMLRuntimeException("PSRpcCall: only support rpc method 'push', 'pull', or 'finish'");
 		}
 	}
 }
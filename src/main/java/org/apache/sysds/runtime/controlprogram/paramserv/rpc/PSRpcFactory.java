@@ -20,37 +20,22 @@
 package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
 
 import java.io.IOException;
-import java.util.Collections;
 
 import org.apache.spark.SparkConf;
-import org.apache.spark.network.TransportContext;
-import org.apache.spark.network.netty.SparkTransportConf;
-import org.apache.spark.network.server.TransportServer;
-import org.apache.spark.network.util.TransportConf;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
 import org.apache.sysds.runtime.controlprogram.paramserv.SparkPSProxy;
 
 public class PSRpcFactory {
 
-	private static final String MODULE_NAME = "ps";
-
-	private static TransportContext createTransportContext(SparkConf conf, LocalParamServer ps) {
-		TransportConf tc = SparkTransportConf.fromSparkConf(conf, MODULE_NAME, 0);
-		PSRpcHandler handler = new PSRpcHandler(ps);
-		return new TransportContext(tc, handler);
-	}
-
 	/**
-	 * Create and start the server
-	 * @param conf spark config
+	 * Create and start the server, independent of a spark context
 	 * @param ps LocalParamServer object
 	 * @param host hostname
 	 * @return server
 	 */
-	public static TransportServer createServer(SparkConf conf, LocalParamServer ps, String host) {
-		TransportContext context = createTransportContext(conf, ps);
-		return context.createServer(host, 0, Collections.emptyList());	// bind rpc to an ephemeral port
+	public static PSNettyServer createServer(LocalParamServer ps, String host) {
+		return new PSNettyServer(ps, host); // bind rpc to an ephemeral port
 	}
 
 	public static SparkPSProxy createSparkPSProxy(SparkConf conf, int port, LongAccumulator aRPC) throws IOException {
@@ -58,7 +43,19 @@ public class PSRpcFactory {
 			conf.getTimeAsMs("spark.rpc.askTimeout") :
 			conf.getTimeAsMs("spark.network.timeout", "120s");
 		String host = conf.get("spark.driver.host");
-		TransportContext context = createTransportContext(conf, new LocalParamServer());
-		return new SparkPSProxy(context.createClientFactory().createClient(host, port), rpcTimeout, aRPC);
+		return createPSProxy(host, port, rpcTimeout, aRPC);
+	}
+
+	/**
+	 * Create a proxy of a remote parameter server, independent of a spark context
+	 * @param host hostname of the server
+	 * @param port port of the server
+	 * @param rpcTimeout rpc timeout in milliseconds
+	 * @param aRPC accumulator of rpc times (optional)
+	 * @return proxy
+	 * @throws IOException if the connection failed
+	 */
+	public static SparkPSProxy createPSProxy(String host, int port, long rpcTimeout, LongAccumulator aRPC) throws IOException {
+		return new SparkPSProxy(PSNettyClient.getClient(host, port), rpcTimeout, aRPC);
 	}
 }
@@ -19,77 +19,91 @@
 
 package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
 
+import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.FINISH;
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PULL;
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PUSH;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
-import org.apache.spark.network.client.RpcResponseCallback;
-import org.apache.spark.network.client.TransportClient;
-import org.apache.spark.network.server.OneForOneStreamManager;
-import org.apache.spark.network.server.RpcHandler;
-import org.apache.spark.network.server.StreamManager;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.PSCompressor;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcResponse.Type;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 
-public final class PSRpcHandler extends RpcHandler {
+public final class PSRpcHandler {
 
 	private LocalParamServer _server;
+	// Models last sent to the individual workers (for compressed model deltas)
+	private final Map<Integer, ListObject> _bases = new ConcurrentHashMap<>();
 
 	protected PSRpcHandler(LocalParamServer server) {
 		_server = server;
 	}
 
-	@Override
-	public void receive(TransportClient client, ByteBuffer buffer, RpcResponseCallback callback) {
+	/**
+	 * Processes a serialized rpc call and returns the serialized response.
+	 *
+	 * @param buffer serialized rpc call
+	 * @return serialized rpc response
+	 */
+	public ByteBuffer process(ByteBuffer buffer) {
 		PSRpcCall call;
 		try {
 			call = new PSRpcCall(buffer);
 		} catch (IOException e) {
 			throw new DMLRuntimeException("PSRpcHandler: some error occurred when deserializing the rpc call.", e);
 		}
-		PSRpcResponse response = null;
-		switch (call.getMethod()) {
-			case PUSH:
-				try {
+		PSRpcResponse response;
+		try {
+			switch (call.getMethod()) {
+				case PUSH:
 					_server.push(call.getWorkerID(), call.getData());
 					response = new PSRpcResponse(Type.SUCCESS_EMPTY);
-				} catch (DMLRuntimeException exception) {
-					response = new PSRpcResponse(Type.ERROR, ExceptionUtils.getFullStackTrace(exception));
-				} finally {
-					try {
-						callback.onSuccess(response.serialize());
-					} catch (IOException e) {
-						throw new DMLRuntimeException("PSRpcHandler: some error occrred when wrapping the rpc response.", e);
-					}
-				}
-				break;
-			case PULL:
-				ListObject data;
-				try {
-					data = _server.pull(call.getWorkerID());
-					response = new PSRpcResponse(Type.SUCCESS, data);
-				} catch (DMLRuntimeException exception) {
-					response = new PSRpcResponse(Type.ERROR, ExceptionUtils.getFullStackTrace(exception));
-				} finally {
-					try {
-						callback.onSuccess(response.serialize());
-					} catch (IOException e) {
-						throw new DMLRuntimeException("PSRpcHandler: some error occrred when wrapping the rpc response.", e);
-					}
-				}
-				break;
-			default:
-				throw new DMLRuntimeException(String.format("Does not support the rpc call for method %s", call.getMethod()));
+					break;
+				case PULL:
+					ListObject data = _server.pull(call.getWorkerID());
+					response = (call.getCompression() != PSCompression.NONE) ?
+						createCompressedResponse(call, data) : new PSRpcResponse(Type.SUCCESS, data);
+					break;
+				case FINISH:
+					_server.finish(call.getWorkerID());
+					response = new PSRpcResponse(Type.SUCCESS_EMPTY);
+					break;
+				default:
+					throw new DMLRuntimeException(String.format("Does not support the rpc call for method %s", call.getMethod()));
+			}
+		} catch (DMLRuntimeException exception) {
+			response = new PSRpcResponse(Type.ERROR, ExceptionUtils.getFullStackTrace(exception));
+		}
+		try {
+			return response.serialize();
+		} catch (IOException e) {
+			throw new DMLRuntimeException("PSRpcHandler: some error occrred when wrapping the rpc response.", e);
 		}
 	}
 
-	@Override
-	public StreamManager getStreamManager() {
-		return new OneForOneStreamManager();
+	private PSRpcResponse createCompressedResponse(PSRpcCall call, ListObject model) {
+		ListObject base = _bases.get(call.getWorkerID());
+		if (base == null) {
+			// Send the full model on the first pull
+			_bases.put(call.getWorkerID(), ParamservUtils.copyList(model, false));
+			return new PSRpcResponse(Type.SUCCESS, model);
+		}
+		// Send the compressed difference to the model last sent to this worker,
+		// whose compression error is carried over to the next pull via the base
+		ListObject delta = PSCompressor.minus(model, base);
+		ListObject sent = new PSCompressor(call.getCompression(), call.getTopKRatio(), false).compress(delta);
+		_bases.put(call.getWorkerID(), PSCompressor.plus(base, sent));
+		ParamservUtils.cleanupListObject(delta);
+		ParamservUtils.cleanupListObject(base);
+		ParamservUtils.cleanupListObject(model);
+		return new PSRpcResponse(Type.SUCCESS_DELTA, sent, call.getCompression().isQuantized());
 	}
 }
@@ -38,6 +38,7 @@ public abstract class PSRpcObject {
 
 	public static final int PUSH = 1;
 	public static final int PULL = 2;
+	public static final int FINISH = 3;
 
 	public abstract void deserialize(ByteBuffer buffer) throws IOException;
 
@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 
 import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.controlprogram.paramserv.PSCompressor;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.util.ByteBufferDataInput;
@@ -32,10 +34,12 @@ public class PSRpcResponse extends PSRpcObject {
 		SUCCESS,
 		SUCCESS_EMPTY,
 		ERROR,
+		SUCCESS_DELTA, // compressed model delta
 	}
 	
 	private Type _status;
 	private Object _data; // Could be list object or exception
+	private boolean _quantized;
 
 	public PSRpcResponse(ByteBuffer buffer) throws IOException {
 		deserialize(buffer);
@@ -52,6 +56,11 @@ public class PSRpcResponse extends PSRpcObject {
 			_status = Type.SUCCESS_EMPTY;
 	}
 
+	public PSRpcResponse(Type status, ListObject data, boolean quantized) {
+		this(status, data);
+		_quantized = quantized;
+	}
+
 	public boolean isSuccessful() {
 		return _status != Type.ERROR;
 	}
@@ -64,6 +73,10 @@ public class PSRpcResponse extends PSRpcObject {
 		return (ListObject) _data;
 	}
 
+	public boolean isDelta() {
+		return _status == Type.SUCCESS_DELTA;
+	}
+
 	@Override
 	public void deserialize(ByteBuffer buffer) throws IOException {
 		ByteBufferDataInput dis = new ByteBufferDataInput(buffer);
@@ -77,12 +90,17 @@ public class PSRpcResponse extends PSRpcObject {
 			case ERROR:
 				_data = dis.readUTF();
 				break;
+			case SUCCESS_DELTA:
+				_quantized = dis.readBoolean();
+				_data = PSCompressor.read(dis);
+				break;
 		}
 	}
 
 	@Override
 	public ByteBuffer serialize() throws IOException {
 		int len = 4 + (_status==Type.SUCCESS ? getExactSerializedSize((ListObject)_data) :
+			_status==Type.SUCCESS_DELTA ? 1 + (int)PSCompressor.getExactSerializedSize((ListObject)_data, _quantized) :
 			_status==Type.SUCCESS_EMPTY ? 0 : IOUtilFunctions.getUTFSize((String)_data));
 		CacheDataOutput dos = new CacheDataOutput(len);
 		dos.writeInt(_status.ordinal());
@@ -95,6 +113,11 @@ public class PSRpcResponse extends PSRpcObject {
 			case ERROR:
 				dos.writeUTF(_data.toString());
 				break;
+			case SUCCESS_DELTA:
+				dos.writeBoolean(_quantized);
+				PSCompressor.write((ListObject) _data, _quantized, dos);
+				ParamservUtils.cleanupListObject((ListObject) _data);
+				break;
 		}
 		return ByteBuffer.wrap(dos.getBytes());
 	}
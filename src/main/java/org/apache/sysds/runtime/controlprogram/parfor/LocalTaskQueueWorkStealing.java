@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * Lock-free, work-stealing task queue for local parfor workers. Initially,
+ * the iterations are split into contiguous ranges of equal size, one per
+ * worker. Each worker takes tasks of the given task size from the front of
+ * its own range, and once this range is exhausted, steals the upper half of
+ * the remaining range of another worker. This provides good load balance
+ * for highly skewed iteration costs without fine-grained central scheduling.
+ * 
+ * The range of each worker is maintained as a single packed long of
+ * [lower, upper) iteration ordinals, which allows updates by both the owner
+ * and thieves via compare-and-swap. Workers are assigned to ranges by their
+ * first dequeue, and tasks are created on demand.
+ */
+public class LocalTaskQueueWorkStealing extends LocalTaskQueue<Task> 
+{
+	private final String _iterVarName;
+	private final long _fromVal;
+	private final long _incrVal;
+	private final long _taskSize;
+	private final int _numWorkers;
+	private final AtomicLongArray _ranges;
+	private final AtomicInteger _nextWorker = new AtomicInteger(0);
+	private final AtomicLong _numTasks = new AtomicLong(0);
+	private final ThreadLocal<Integer> _workerIx = new ThreadLocal<>();
+	
+	public LocalTaskQueueWorkStealing(long taskSize, int numWorkers, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal) {
+		//reuse the normalization of the loop predicate
+		TaskPartitioner tp = new TaskPartitionerFixedsize(taskSize, iterVarName, fromVal, toVal, incrVal);
+		long numIter = tp.getNumIterations();
+		if( !isApplicable(numIter) )
+			throw new DMLRuntimeException("Work-stealing task queue does not support "+numIter+" iterations.");
+		_iterVarName = iterVarName;
+		_fromVal = tp._fromVal.getLongValue();
+		_incrVal = tp._incrVal.getLongValue();
+		_taskSize = Math.max(taskSize, 1);
+		_numWorkers = numWorkers;
+		_ranges = new AtomicLongArray(numWorkers);
+		for( int i=0; i<numWorkers; i++ )
+			_ranges.set(i, pack(numIter * i / numWorkers, numIter * (i+1) / numWorkers));
+	}
+	
+	public static boolean isApplicable(long numIter) {
+		return numIter >= 0 && numIter <= Integer.MAX_VALUE;
+	}
+	
+	@Override
+	public void enqueueTask(Task t) {
+		throw new DMLRuntimeException("Work-stealing task queue does not support external tasks.");
+	}
+	
+	@Override
+	public Task dequeueTask() {
+		Integer ix = _workerIx.get();
+		if( ix == null ) {
+			ix = _nextWorker.getAndIncrement() % _numWorkers;
+			_workerIx.set(ix);
+		}
+		while( true ) {
+			//take a task from the front of the own range
+			long range = _ranges.get(ix);
+			long lo = lower(range), hi = upper(range);
+			if( lo < hi ) {
+				long end = Math.min(lo + _taskSize, hi);
+				if( _ranges.compareAndSet(ix, range, pack(end, hi)) )
+					return createTask(lo, end);
+				continue; //concurrent steal
+			}
+			//steal the upper half of another worker's range
+			if( !steal(ix) )
+				return (Task) NO_MORE_TASKS;
+		}
+	}
+	
+	@Override
+	public void closeInput() {
+		//do nothing (all tasks are created on demand)
+	}
+	
+	public long getNumCreatedTasks() {
+		return _numTasks.get();
+	}
+	
+	private boolean steal(int ix) {
+		for( int i=1; i<_numWorkers; i++ ) {
+			int victim = (ix + i) % _numWorkers;
+			while( true ) {
+				long range = _ranges.get(victim);
+				long lo = lower(range), hi = upper(range);
+				if( lo >= hi )
+					break; //empty range, try next victim
+				long mid = lo + (hi - lo) / 2;
+				if( _ranges.compareAndSet(victim, range, pack(lo, mid)) ) {
+					_ranges.set(ix, pack(mid, hi)); //own range is empty
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	private Task createTask(long lo, long end) {
+		Task task = new Task(_iterVarName, TaskType.RANGE);
+		task.addIteration(new IntObject(_fromVal + lo * _incrVal));
+		task.addIteration(new IntObject(_fromVal + (end - 1) * _incrVal));
+		task.addIteration(new IntObject(_incrVal));
+		_numTasks.incrementAndGet();
+		return task;
+	}
+	
+	private static long pack(long lo, long hi) {
+		return (lo << 32) | hi;
+	}
+	
+	private static long lower(long range) {
+		return range >>> 32;
+	}
+	
+	private static long upper(long range) {
+		return range & 0xFFFFFFFFL;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (workers=");
+		sb.append(_numWorkers);
+		sb.append(",tasks=");
+		sb.append(_numTasks.get());
+		sb.append(")\n");
+		for( int i=0; i<_numWorkers; i++ ) {
+			long range = _ranges.get(i);
+			sb.append("  WORKER #");
+			sb.append(i);
+			sb.append(": [");
+			sb.append(lower(range));
+			sb.append(",");
+			sb.append(upper(range));
+			sb.append(")\n");
+		}
+		return sb.toString();
+	}
+}
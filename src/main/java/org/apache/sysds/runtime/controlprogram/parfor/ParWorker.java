@@ -30,6 +30,7 @@ import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.ProgramBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Stat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.StatisticMonitor;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -59,6 +60,8 @@ public abstract class ParWorker
 
 	protected boolean                   _monitor     = false;
 	
+	protected IterationStatistics       _iterStats   = null;
+	
 	protected long                      _numTasks    = -1;
 	protected long                      _numIters    = -1;
 	
@@ -105,6 +108,16 @@ public abstract class ParWorker
 		return _numIters;
 	}
 
+	/**
+	 * Enables the collection of runtime statistics per iteration
+	 * (e.g., for the adaptive parfor optimizer).
+	 * 
+	 * @param stats iteration statistics (shared across workers)
+	 */
+	public void setIterationStatistics(IterationStatistics stats) {
+		_iterStats = stats;
+	}
+
 	protected void pinResultVariables() {
 		for( ResultVar var : _resultVars ) {
 			Data dat = _ec.getVariable(var._name);
@@ -150,8 +163,11 @@ public abstract class ParWorker
 			}
 			
 			// for each program block
+			long t0 = (_iterStats != null) ? System.nanoTime() : 0;
 			for (ProgramBlock pb : _childBlocks)
 				pb.execute(_ec);
+			if( _iterStats != null )
+				_iterStats.add((System.nanoTime()-t0)/1e6, _ec.getVariables());
 					
 			_numIters++;
 			
@@ -194,8 +210,11 @@ public abstract class ParWorker
 			}
 			
 			// for each program block
+			long t0 = (_iterStats != null) ? System.nanoTime() : 0;
 			for (ProgramBlock pb : _childBlocks)
 				pb.execute(_ec);
+			if( _iterStats != null )
+				_iterStats.add((System.nanoTime()-t0)/1e6, _ec.getVariables());
 			
 			_numIters++;
 			
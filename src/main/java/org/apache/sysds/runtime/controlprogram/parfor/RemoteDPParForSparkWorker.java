@@ -28,6 +28,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PartitionFormat;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
@@ -50,7 +51,7 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 {
 	private static final long serialVersionUID = 30223759283155139L;
 	
-	private final String  _prog;
+	private final byte[]  _prog; //binary program
 	private final HashMap<String, byte[]> _clsMap;
 	private final boolean _caching;
 	private final String _inputVar;
@@ -70,7 +71,7 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 		boolean cpCaching, DataCharacteristics mc, boolean tSparseCol, PartitionFormat dpf, FileFormat fmt,
 		LongAccumulator atasks, LongAccumulator aiters)
 	{
-		_prog = program;
+		_prog = ProgramConverter.compressProgram(program);
 		_clsMap = clsMap;
 		_caching = cpCaching;
 		_inputVar = inputVar;
@@ -125,6 +126,9 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 			_aIters.add( (int)(getExecutedIterations()-numIter) );
 		}
 		
+		//complete pending asynchronous writes of this worker
+		AsyncWriteBuffer.awaitAll();
+		
 		//write output if required (matrix indexed write)
 		return RemoteParForUtils.exportResultVariables(_workerID, _ec.getVariables(), _resultVars)
 			.stream().map(s -> new Tuple2<>(_workerID, s)).iterator();
@@ -140,7 +144,7 @@ public class RemoteDPParForSparkWorker extends ParWorker implements PairFlatMapF
 			CodegenUtils.getClassSync(e.getKey(), e.getValue());
 	
 		//parse and setup parfor body program
-		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID, true);
+		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID);
 		_childBlocks = body.getChildBlocks();
 		_ec          = body.getEc();
 		_resultVars  = body.getResultVariables();
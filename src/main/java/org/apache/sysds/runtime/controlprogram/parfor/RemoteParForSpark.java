@@ -94,7 +94,7 @@ public class RemoteParForSpark
 		}
 		
 		//prepare lineage
-		Map<String, String> serialLineage = DMLScript.LINEAGE ? ec.getLineage().serialize() : null;
+		byte[] serialLineage = DMLScript.LINEAGE ? ec.getLineage().serialize() : null;
 
 		//run remote_spark parfor job 
 		//(w/o lazy evaluation to fit existing parfor framework, e.g., result merge)
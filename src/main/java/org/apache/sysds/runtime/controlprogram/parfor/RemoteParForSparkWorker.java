@@ -35,6 +35,7 @@ import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -51,12 +52,12 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 	private static final CachedReuseVariables reuseVars = new CachedReuseVariables();
 	
 	private final long _jobid;
-	private final String _prog;
+	private final byte[] _prog; //binary program
 	private final HashMap<String, byte[]> _clsMap;
 	private boolean _initialized = false;
 	private boolean _caching = true;
 	private final boolean _cleanCache;
-	private final Map<String,String> _lineage;
+	private final byte[] _lineage; //binary lineage
 	
 	private final LongAccumulator _aTasks;
 	private final LongAccumulator _aIters;
@@ -65,10 +66,10 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 	
 	public RemoteParForSparkWorker(long jobid, String program, HashMap<String, byte[]> clsMap, boolean cpCaching,
 			LongAccumulator atasks, LongAccumulator aiters, Map<String, Broadcast<CacheBlock>> brInputs, 
-			boolean cleanCache, Map<String,String> lineage) 
+			boolean cleanCache, byte[] lineage) 
 	{
 		_jobid = jobid;
-		_prog = program;
+		_prog = ProgramConverter.compressProgram(program);
 		_clsMap = clsMap;
 		_initialized = false;
 		_caching = cpCaching;
@@ -108,6 +109,9 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 			RemoteParForUtils.exportLineageItems(_workerID, 
 				_ec.getVariables(), _resultVars, _ec.getLineage());
 		
+		//complete pending asynchronous writes of this worker
+		AsyncWriteBuffer.awaitAll();
+		
 		//write output if required (matrix indexed write), incl cleanup pinned vars
 		//note: this copy is necessary for environments without spark libraries
 		return RemoteParForUtils
@@ -125,7 +129,7 @@ public class RemoteParForSparkWorker extends ParWorker implements PairFlatMapFun
 			CodegenUtils.getClassSync(e.getKey(), e.getValue());
 	
 		//parse and setup parfor body program
-		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID, true);
+		ParForBody body = ProgramConverter.parseParForBody(_prog, (int)_workerID);
 		_childBlocks = body.getChildBlocks();
 		_ec          = body.getEc();
 		_resultVars  = body.getResultVariables();
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.controlprogram.parfor;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
@@ -48,10 +49,8 @@ import org.apache.sysds.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.lineage.Lineage;
 import org.apache.sysds.runtime.lineage.LineageItem;
-import org.apache.sysds.runtime.lineage.LineageParser;
-import static org.apache.sysds.utils.Explain.explain;
+import org.apache.sysds.runtime.lineage.LineageSerializer;
 
-import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.utils.Statistics;
@@ -207,7 +206,8 @@ public class RemoteParForUtils
 				MatrixObject mo = (MatrixObject) dat;
 				if( mo.isDirty() ) {
 					LineageItem item = lineage.get(rvar._name);
-					HDFSTool.writeStringToHDFS(explain(item), mo.getFileName()+".lin");
+					LineageSerializer.writeToHDFS(
+						Collections.singletonMap(rvar._name, item), mo.getFileName()+".lin");
 				}
 			}
 		}
@@ -252,9 +252,8 @@ public class RemoteParForUtils
 				ret[i] = new Lineage();
 				for( Entry<String,Data> e : vars.entrySet() ) { //for all result vars
 					MatrixObject mo = (MatrixObject) e.getValue();
-					String lineage = HDFSTool.readStringFromHDFSFile(mo.getFileName()+".lin");
-					ret[i].set(e.getKey(),
-						LineageParser.parseLineageTrace(lineage, e.getKey()));
+					ret[i].set(e.getKey(), LineageSerializer
+						.readFromHDFS(mo.getFileName()+".lin").get(e.getKey()));
 				}
 			}
 		}
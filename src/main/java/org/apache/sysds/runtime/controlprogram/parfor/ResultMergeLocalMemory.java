@@ -24,45 +24,91 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
-import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
  * serial or multi-threaded merge.
  * 
- * 
+ * Inputs are merged one at a time into the new output, where the merge of each
+ * input is row-partitioned over multiple threads. If the result contains existing
+ * data, the merge compares the inputs against the old output (without densifying
+ * sparse blocks), restricted to the index ranges written by the workers if known.
+ * If these written ranges are disjoint across workers, the written ranges are
+ * directly copied without any comparison.
  */
 public class ResultMergeLocalMemory extends ResultMerge
 {
 	private static final long serialVersionUID = -3543612508601511701L;
 	
-	//internal comparison matrix
-	private DenseBlock _compare = null;
+	//minimum number of cells for row-partitioned parallel merge
+	private static final long PAR_NUMCELL_THRESHOLD = 64 * 1024;
+	
+	//internal comparison matrix (old output)
+	private MatrixBlock _compare = null;
+	//use of written index ranges of all inputs
+	private boolean _ranges = false;
+	private boolean _disjoint = false;
 	
 	public ResultMergeLocalMemory( MatrixObject out, MatrixObject[] in, String outputFilename, boolean accum ) {
 		super( out, in, outputFilename, accum );
 	}
 	
 	@Override
-	public MatrixObject executeSerialMerge() 
-	{
-		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
-		
+	public MatrixObject executeSerialMerge() {
 		if( LOG.isTraceEnabled() )
 			LOG.trace("ResultMerge (local, in-memory): Execute serial merge for output "
 				+_output.hashCode()+" (fname="+_output.getFileName()+")");
+		return executeMerge(InfrastructureAnalyzer.getLocalParallelism(), false);
+	}
+	
+	@Override
+	public MatrixObject executeParallelMerge( int par ) {
+		if( LOG.isTraceEnabled() )
+			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") "
+				+ "merge for output "+_output.hashCode()+" (fname="+_output.getFileName()+")");
+		//ensure robustness for remote exec
+		return executeMerge(Math.min(par, InfrastructureAnalyzer.getLocalParallelism()), true);
+	}
+	
+	private MatrixObject executeMerge(int k, boolean parRead)
+	{
+		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 		
 		try
 		{
 			//get old output matrix from cache for compare
 			MatrixBlock outMB = _output.acquireRead();
+			List<MatrixObject> inMO = new ArrayList<>();
+			for( MatrixObject in : _inputs ) {
+				//check for empty inputs (no iterations executed)
+				if( in != null && in != _output )
+					inMO.add( in );
+			}
+			
+			//read all inputs in parallel into the buffer pool, which requires
+			//the size of the output matrix plus the size of all inputs
+			if( parRead && inMO.size() > 1 )
+				inMO.parallelStream().forEach(in -> {
+					in.acquireRead();
+					in.release();
+				});
 			
 			//create output matrices in correct format according to 
 			//the estimated number of non-zeros
@@ -72,39 +118,38 @@ public class ResultMergeLocalMemory extends ResultMerge
 			boolean appendOnly = outMBNew.isInSparseFormat();
 			
 			//create compare matrix if required (existing data in result)
-			_compare = getCompareMatrix(outMB);
+			_compare = !outMB.isEmptyBlock(false) ? outMB : null;
 			if( _compare != null )
 				outMBNew.copy(outMB);
+			_ranges = _compare != null && hasWriteRanges(inMO);
+			_disjoint = _ranges && WriteRanges.isDisjoint(inMO.stream()
+				.map(MatrixObject::getWriteRanges).collect(Collectors.toList()));
 			
-			//serial merge all inputs
+			//merge all inputs
 			boolean flagMerged = false;
-			for( MatrixObject in : _inputs )
+			for( MatrixObject in : inMO )
 			{
-				//check for empty inputs (no iterations executed)
-				if( in != null && in != _output ) 
-				{
-					if( LOG.isTraceEnabled() )
-						LOG.trace("ResultMerge (local, in-memory): Merge input "+in.hashCode()+" (fname="+in.getFileName()+")");
-					
-					//read/pin input_i
-					MatrixBlock inMB = in.acquireRead();
-					
-					//core merge 
-					merge( outMBNew, inMB, appendOnly );
-					
-					//unpin and clear in-memory input_i
-					in.release();
-					in.clearData();
-					flagMerged = true;
-					
-					//determine need for sparse2dense change during merge
-					boolean sparseToDense = appendOnly && !MatrixBlock.evalSparseFormatInMemory(
-						outMBNew.getNumRows(), outMBNew.getNumColumns(), outMBNew.getNonZeros()); 
-					if( sparseToDense ) {
-						outMBNew.sortSparseRows(); //sort sparse due to append-only
-						outMBNew.examSparsity(); //sparse-dense representation change
-						appendOnly = false; //change merge state for subsequent inputs
-					}
+				if( LOG.isTraceEnabled() )
+					LOG.trace("ResultMerge (local, in-memory): Merge input "+in.hashCode()+" (fname="+in.getFileName()+")");
+				
+				//read/pin input_i
+				MatrixBlock inMB = in.acquireRead();
+				
+				//core merge 
+				merge( outMBNew, inMB, appendOnly, _ranges ? in.getWriteRanges() : null, k );
+				
+				//unpin and clear in-memory input_i
+				in.release();
+				in.clearData();
+				flagMerged = true;
+				
+				//determine need for sparse2dense change during merge
+				boolean sparseToDense = appendOnly && !MatrixBlock.evalSparseFormatInMemory(
+					outMBNew.getNumRows(), outMBNew.getNumColumns(), outMBNew.getNonZeros()); 
+				if( sparseToDense ) {
+					outMBNew.sortSparseRows(); //sort sparse due to append-only
+					outMBNew.examSparsity(); //sparse-dense representation change
+					appendOnly = false; //change merge state for subsequent inputs
 				}
 			}
 		
@@ -127,101 +172,16 @@ public class ResultMergeLocalMemory extends ResultMerge
 			}
 			
 			//release old output, and all inputs
-			_output.release();
-		}
-		catch(Exception ex) {
-			throw new DMLRuntimeException(ex);
-		}
-
-		//LOG.trace("ResultMerge (local, in-memory): Executed serial merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-		
-		return moNew;
-	}
-	
-	@Override
-	public MatrixObject executeParallelMerge( int par ) 
-	{
-		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
-		
-		if( LOG.isTraceEnabled() )
-			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") "
-				+ "merge for output "+_output.hashCode()+" (fname="+_output.getFileName()+")");
-		
-		try
-		{
-			//get matrix blocks through caching 
-			MatrixBlock outMB = _output.acquireRead();
-			ArrayList<MatrixObject> inMO = new ArrayList<>();
-			for( MatrixObject in : _inputs ) {
-				//check for empty inputs (no iterations executed)
-				if( in !=null && in != _output ) 
-					inMO.add( in );
-			}
-			
-			if( !inMO.isEmpty() ) //if there exist something to merge
-			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
-				
-				//create compare matrix if required (existing data in result)
-				_compare = getCompareMatrix(outMB);
-				if( _compare != null )
-					outMBNew.copy(outMB);
-				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
-				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
-					}
-				}
-				
-				//create new output matrix 
-				//(e.g., to prevent potential export<->read file access conflict in specific cases of 
-				// local-remote nested parfor))
-				moNew = createNewMatrixObject( outMBNew );
-			}
-			else {
-				moNew = _output; //return old matrix, to prevent copy
-			}
-			
-			//release old output, and all inputs
+			_compare = null;
 			_output.release();
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;
 	}
 
-	private static DenseBlock getCompareMatrix( MatrixBlock output ) {
-		//create compare matrix only if required
-		if( !output.isEmptyBlock(false) )
-			return DataConverter.convertToDenseBlock(output, false);
-		return null;
-	}
-
 	private MatrixObject createNewMatrixObject( MatrixBlock data ) {
 		ValueType vt = _output.getValueType();
 		MetaDataFormat metadata = (MetaDataFormat) _output.getMetaData();
@@ -242,7 +202,25 @@ public class ResultMergeLocalMemory extends ResultMerge
 		
 		return moNew;
 	}
-
+	
+	/**
+	 * Indicates if all inputs carry the index ranges written by the
+	 * workers relative to the output matrix object. We do not use these
+	 * ranges for accumulation because a worker's ranges might overlap.
+	 * 
+	 * @param inputs list of inputs
+	 * @return true if all inputs have valid write ranges
+	 */
+	private boolean hasWriteRanges(List<MatrixObject> inputs) {
+		if( _isAccum || inputs.isEmpty() )
+			return false;
+		for( MatrixObject in : inputs ) {
+			WriteRanges ranges = in.getWriteRanges();
+			if( ranges == null || ranges.getBaseID() != _output.getUniqueID() )
+				return false;
+		}
+		return true;
+	}
 	
 	/**
 	 * Merges <code>in</code> into <code>out</code> by inserting all non-zeros of <code>in</code>
@@ -254,12 +232,196 @@ public class ResultMergeLocalMemory extends ResultMerge
 	 * @param out output matrix block
 	 * @param in input matrix block
 	 * @param appendOnly ?
+	 * @param ranges written index ranges of the input, or null if unknown
+	 * @param k degree of parallelism
 	 */
-	private void merge( MatrixBlock out, MatrixBlock in, boolean appendOnly ) {
+	private void merge( MatrixBlock out, MatrixBlock in, boolean appendOnly, WriteRanges ranges, int k ) {
 		if( _compare == null )
 			mergeWithoutComp(out, in, appendOnly, true);
-		else
-			mergeWithComp(out, in, _compare);
+		else if( !(_isAccum && in.isEmptyBlock(false)) )
+			mergeRegions(out, in, ranges, k);
+	}
+	
+	private void mergeRegions( MatrixBlock out, MatrixBlock in, WriteRanges ranges, int k ) {
+		final int m = out.getNumRows();
+		final int n = out.getNumColumns();
+		
+		//determine regions to merge (all cells if written ranges unknown)
+		IndexRange[] regions = new IndexRange[ranges != null ? ranges.getNumRanges() : 1];
+		for( int i=0; i<regions.length; i++ )
+			regions[i] = (ranges != null) ? ranges.getRange(i) : new IndexRange(0, m-1, 0, n-1);
+		long cells = 0;
+		for( IndexRange r : regions )
+			cells += (r.rowEnd-r.rowStart+1) * (r.colEnd-r.colStart+1);
+		if( cells == 0 )
+			return;
+		
+		//row-partitioned merge, where disjoint rows allow for unsynchronized
+		//updates of dense blocks and sparse blocks with thread-safe rows
+		if( out.isInSparseFormat() && out.getSparseBlock() == null )
+			out.allocateSparseRowsBlock(false);
+		boolean threadSafe = !out.isInSparseFormat() || out.getSparseBlock().isThreadSafe();
+		long delta = 0;
+		if( k <= 1 || m <= 1 || cells < PAR_NUMCELL_THRESHOLD || !threadSafe ) {
+			delta = mergeRows(out, in, regions, 0, m);
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<Callable<Long>> tasks = new ArrayList<>();
+				int blklen = (int)(Math.ceil((double)m/k/8));
+				for( int i=0; i<8*k & i*blklen<m; i++ ) {
+					final int rl = i*blklen, ru = Math.min((i+1)*blklen, m);
+					tasks.add(() -> mergeRows(out, in, regions, rl, ru));
+				}
+				List<Future<Long>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Long> task : taskret )
+					delta += task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		//maintain number of non-zeros
+		out.setNonZeros(out.getNonZeros() + delta);
+	}
+	
+	private long mergeRows( MatrixBlock out, MatrixBlock in, IndexRange[] regions, int rl, int ru ) {
+		final int n = out.getNumColumns();
+		double[] tin = new double[n];
+		double[] tcmp = _disjoint ? null : new double[n];
+		long delta = 0;
+		for( IndexRange r : regions ) {
+			int lo = Math.max(rl, (int)r.rowStart);
+			int hi = Math.min(ru-1, (int)r.rowEnd);
+			int cl = (int)r.colStart, cu = (int)r.colEnd;
+			for( int i=lo; i<=hi; i++ )
+				delta += _disjoint ? copyRow(out, in, i, cl, cu, tin) :
+					mergeRowWithComp(out, in, i, cl, cu, tin, tcmp);
+		}
+		return delta;
+	}
+	
+	/**
+	 * Copies the given row segment of <code>in</code> into <code>out</code>,
+	 * which is valid if no other input wrote into this segment.
+	 * 
+	 * @return delta of the number of non-zeros
+	 */
+	private static long copyRow( MatrixBlock out, MatrixBlock in, int i, int cl, int cu, double[] tin ) {
+		int len = cu - cl + 1;
+		getRow(in, i, cl, cu, tin);
+		long nnz = UtilFunctions.computeNnz(tin, 0, len);
+		if( out.isInSparseFormat() ) {
+			SparseBlock a = out.getSparseBlock();
+			long old = endPos(a, i, cu) - startPos(a, i, cl);
+			if( old > 0 || nnz > 0 )
+				a.setIndexRange(i, cl, cu+1, tin, 0, len);
+			return nnz - old;
+		}
+		else {
+			DenseBlock a = out.getDenseBlock();
+			double[] avals = a.values(i);
+			int aix = a.pos(i) + cl;
+			long old = UtilFunctions.computeNnz(avals, aix, len);
+			System.arraycopy(tin, 0, avals, aix, len);
+			return nnz - old;
+		}
+	}
+	
+	/**
+	 * Merges the given row segment of <code>in</code> into <code>out</code> by
+	 * comparing it with the old output. If both are sparse (or empty), this 
+	 * merge joins their non-zeros, otherwise it compares dense row segments.
+	 * 
+	 * @return delta of the number of non-zeros
+	 */
+	private long mergeRowWithComp( MatrixBlock out, MatrixBlock in, int i, int cl, int cu, double[] tin, double[] tcmp ) {
+		//Notes for result correctness (see ResultMerge.mergeWithComp):
+		// * Cells that are zero in both input and compare are unchanged, which
+		//   allows the sparse-sparse join (but not a scan of input non-zeros only)
+		// * Explicit NaN awareness, and out += (new-old) for accumulation
+		long delta = 0;
+		if( isSparseOrEmpty(in) && isSparseOrEmpty(_compare) ) {
+			SparseBlock b = in.getSparseBlock();
+			SparseBlock c = _compare.getSparseBlock();
+			int bp = startPos(b, i, cl), be = endPos(b, i, cu);
+			int cp = startPos(c, i, cl), ce = endPos(c, i, cu);
+			int[] bix = (bp < be) ? b.indexes(i) : null;
+			double[] bvals = (bp < be) ? b.values(i) : null;
+			int[] cix = (cp < ce) ? c.indexes(i) : null;
+			double[] cvals = (cp < ce) ? c.values(i) : null;
+			while( bp < be || cp < ce ) {
+				int bj = (bp < be) ? bix[bp] : Integer.MAX_VALUE;
+				int cj = (cp < ce) ? cix[cp] : Integer.MAX_VALUE;
+				int j = Math.min(bj, cj);
+				double valNew = (bj == j) ? bvals[bp++] : 0;
+				double valOld = (cj == j) ? cvals[cp++] : 0;
+				delta += mergeCell(out, i, j, valNew, valOld);
+			}
+		}
+		else {
+			getRow(in, i, cl, cu, tin);
+			getRow(_compare, i, cl, cu, tcmp);
+			for( int j=0; j<cu-cl+1; j++ )
+				delta += mergeCell(out, i, cl+j, tin[j], tcmp[j]);
+		}
+		return delta;
+	}
+	
+	private long mergeCell( MatrixBlock out, int i, int j, double valNew, double valOld ) {
+		if( (valNew != valOld && !Double.isNaN(valNew) )      //for changed values 
+			|| Double.isNaN(valNew) != Double.isNaN(valOld) ) //NaN awareness 
+		{
+			double old = out.quickGetValue(i, j);
+			double value = !_isAccum ? valNew : (old + (valNew - valOld));
+			if( out.isInSparseFormat() )
+				out.getSparseBlock().set(i, j, value);
+			else
+				out.getDenseBlock().set(i, j, value);
+			return (value != 0 ? 1 : 0) - (old != 0 ? 1 : 0);
+		}
+		return 0;
+	}
+	
+	private static boolean isSparseOrEmpty( MatrixBlock mb ) {
+		return mb.isEmptyBlock(false) || (mb.isInSparseFormat() && mb.getSparseBlock() != null);
+	}
+	
+	private static void getRow( MatrixBlock mb, int i, int cl, int cu, double[] buff ) {
+		int len = cu - cl + 1;
+		if( !mb.isInSparseFormat() && mb.getDenseBlock() != null ) {
+			DenseBlock b = mb.getDenseBlock();
+			System.arraycopy(b.values(i), b.pos(i)+cl, buff, 0, len);
+			return;
+		}
+		Arrays.fill(buff, 0, len, 0);
+		SparseBlock b = mb.isInSparseFormat() ? mb.getSparseBlock() : null;
+		int bp = startPos(b, i, cl), be = endPos(b, i, cu);
+		if( bp < be ) {
+			int[] bix = b.indexes(i);
+			double[] bvals = b.values(i);
+			for( int k=bp; k<be; k++ )
+				buff[bix[k]-cl] = bvals[k];
+		}
+	}
+	
+	private static int startPos( SparseBlock sb, int i, int cl ) {
+		if( sb == null || sb.isEmpty(i) )
+			return 0;
+		int pos = sb.pos(i);
+		int ix = Arrays.binarySearch(sb.indexes(i), pos, pos+sb.size(i), cl);
+		return (ix >= 0) ? ix : -ix-1;
+	}
+	
+	private static int endPos( SparseBlock sb, int i, int cu ) {
+		if( sb == null || sb.isEmpty(i) )
+			return 0;
+		int pos = sb.pos(i);
+		int ix = Arrays.binarySearch(sb.indexes(i), pos, pos+sb.size(i), cu);
+		return (ix >= 0) ? ix+1 : -ix-1;
 	}
 	
 	/**
@@ -279,40 +441,4 @@ public class ResultMergeLocalMemory extends ResultMerge
 		return Math.min(rlen * clen,
 			Math.max(nnzInputs, _output.getNnz()));
 	}
-	
-	
-	/**
-	 * NOTE: only used if matrix in dense
-	 */
-	private class ResultMergeWorker implements Runnable
-	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
-		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
-			_outMB = outMB;
-		}
-
-		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
-				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
-			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
-			}
-		}
-		
-	}
 }
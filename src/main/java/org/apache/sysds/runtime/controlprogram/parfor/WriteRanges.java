@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.sysds.runtime.util.IndexRange;
+
+/**
+ * Immutable set of index ranges (0-based, inclusive) written by left indexing
+ * into a parfor result variable, relative to the matrix object of this variable
+ * at parfor entry (the base). A matrix object carrying write ranges is equivalent
+ * to its base except for the cells within these ranges, which allows the result
+ * merge to restrict the comparison to these ranges, or to skip the comparison
+ * altogether if the ranges of all workers are disjoint.
+ * 
+ * Adjacent ranges (e.g., from row- or column-wise result indexing in consecutive
+ * iterations) are coalesced, and the ranges collapse into their bounding box if
+ * their number exceeds a small threshold.
+ */
+public class WriteRanges
+{
+	private static final int MAX_RANGES = 64;
+	
+	private final long _baseID;
+	private final IndexRange[] _ranges;
+	
+	public WriteRanges(long baseID) {
+		this(baseID, new IndexRange[0]);
+	}
+	
+	private WriteRanges(long baseID, IndexRange[] ranges) {
+		_baseID = baseID;
+		_ranges = ranges;
+	}
+	
+	public long getBaseID() {
+		return _baseID;
+	}
+	
+	public int getNumRanges() {
+		return _ranges.length;
+	}
+	
+	public IndexRange getRange(int pos) {
+		return _ranges[pos];
+	}
+	
+	public boolean isEmpty() {
+		return _ranges.length == 0;
+	}
+	
+	/**
+	 * Creates new write ranges that additionally include the given range.
+	 * 
+	 * @param ix index range (0-based, inclusive)
+	 * @return new write ranges
+	 */
+	public WriteRanges add(IndexRange ix) {
+		int len = _ranges.length;
+		IndexRange last = (len > 0) ? _ranges[len-1] : null;
+		if( last != null && contains(last, ix) )
+			return this;
+		if( last != null && isAdjacent(last, ix) ) {
+			IndexRange[] ranges = Arrays.copyOf(_ranges, len);
+			ranges[len-1] = union(last, ix);
+			return new WriteRanges(_baseID, ranges);
+		}
+		if( len >= MAX_RANGES ) {
+			IndexRange bbox = ix;
+			for( IndexRange r : _ranges )
+				bbox = union(bbox, r);
+			return new WriteRanges(_baseID, new IndexRange[] {bbox});
+		}
+		IndexRange[] ranges = Arrays.copyOf(_ranges, len+1);
+		ranges[len] = new IndexRange(ix.rowStart, ix.rowEnd, ix.colStart, ix.colEnd);
+		return new WriteRanges(_baseID, ranges);
+	}
+	
+	/**
+	 * Indicates if the write ranges of all given inputs are pairwise
+	 * disjoint, in which case each written cell has exactly one writer.
+	 * 
+	 * @param inputs list of write ranges
+	 * @return true if all ranges are disjoint
+	 */
+	public static boolean isDisjoint(List<WriteRanges> inputs) {
+		//collect all ranges, tagged with their input
+		List<Object[]> all = new ArrayList<>();
+		for( int i=0; i<inputs.size(); i++ )
+			for( IndexRange r : inputs.get(i)._ranges )
+				all.add(new Object[] {r, i});
+		all.sort(Comparator.comparingLong(o -> ((IndexRange)o[0]).rowStart));
+		
+		//sweep over ranges sorted by start row
+		for( int i=0; i<all.size(); i++ ) {
+			IndexRange ri = (IndexRange) all.get(i)[0];
+			for( int j=i+1; j<all.size(); j++ ) {
+				IndexRange rj = (IndexRange) all.get(j)[0];
+				if( rj.rowStart > ri.rowEnd )
+					break;
+				if( all.get(i)[1] != all.get(j)[1] && intersects(ri, rj) )
+					return false;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean contains(IndexRange a, IndexRange b) {
+		return a.rowStart <= b.rowStart && b.rowEnd <= a.rowEnd
+			&& a.colStart <= b.colStart && b.colEnd <= a.colEnd;
+	}
+	
+	private static boolean intersects(IndexRange a, IndexRange b) {
+		return a.rowStart <= b.rowEnd && b.rowStart <= a.rowEnd
+			&& a.colStart <= b.colEnd && b.colStart <= a.colEnd;
+	}
+	
+	private static boolean isAdjacent(IndexRange a, IndexRange b) {
+		//same columns and touching rows, or same rows and touching columns
+		return (a.colStart == b.colStart && a.colEnd == b.colEnd
+				&& b.rowStart <= a.rowEnd+1 && a.rowStart <= b.rowEnd+1)
+			|| (a.rowStart == b.rowStart && a.rowEnd == b.rowEnd
+				&& b.colStart <= a.colEnd+1 && a.colStart <= b.colEnd+1);
+	}
+	
+	private static IndexRange union(IndexRange a, IndexRange b) {
+		return new IndexRange(
+			Math.min(a.rowStart, b.rowStart), Math.max(a.rowEnd, b.rowEnd),
+			Math.min(a.colStart, b.colStart), Math.max(a.colEnd, b.colEnd));
+	}
+	
+	@Override
+	public String toString() {
+		return "WriteRanges(base="+_baseID+", "+Arrays.toString(_ranges)+")";
+	}
+}
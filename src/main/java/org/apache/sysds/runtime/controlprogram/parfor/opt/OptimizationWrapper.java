@@ -48,6 +48,7 @@ import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.POptMode;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.Optimizer.CostModelType;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Stat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.StatisticMonitor;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -110,6 +111,20 @@ public class OptimizationWrapper
 			StatisticMonitor.putPFStat( pb.getID() , Stat.OPT_T, timeVal);
 	}
 
+	/**
+	 * Runtime re-optimization of the given parfor program block for the remaining
+	 * iterations, based on the statistics of already executed iterations.
+	 * 
+	 * @param pb parfor program block
+	 * @param stats runtime iteration statistics
+	 * @param numIterations number of remaining iterations
+	 */
+	public static void reoptimize( ParForProgramBlock pb, IterationStatistics stats, long numIterations ) {
+		Timing time = new Timing(true);
+		OptimizerAdaptive.replan(pb, stats, numIterations);
+		LOG.debug("ParFOR Opt: Finished re-optimization for PARFOR("+pb.getID()+") in "+time.stop()+"ms.");
+	}
+
 	// public static void setLogLevel( Level optLogLevel ) {
 	// 	Logger.getLogger("org.apache.sysds.runtime.controlprogram.parfor.opt")
 	// 			.setLevel( optLogLevel );
@@ -260,6 +275,7 @@ public class OptimizationWrapper
 			case HEURISTIC:   return new OptimizerHeuristic();
 			case RULEBASED:   return new OptimizerRuleBased();
 			case CONSTRAINED: return new OptimizerConstrained();
+			case ADAPTIVE:    return new OptimizerAdaptive();
 			default:
 				throw new DMLRuntimeException("Undefined optimizer: '"+otype+"'.");
 		}
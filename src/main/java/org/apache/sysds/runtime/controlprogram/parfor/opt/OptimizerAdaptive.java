@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.parfor.opt;
+
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.IfProgramBlock;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PExecMode;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.POptMode;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PResultMerge;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysds.runtime.controlprogram.ProgramBlock;
+import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
+
+/**
+ * Adaptive ParFor Optimizer: initially, this optimizer applies the same
+ * rule-based rewrites as {@link OptimizerRuleBased}. For local parfor, the
+ * runtime then executes the first iterations as a probe with monitored
+ * iteration costs, and re-plans the remaining iterations based on the
+ * observed execution times and memory requirements:
+ * 
+ * - degree of parallelism w/ observed memory constraint (reduce to
+ *   prevent OOMs, or increase if compile-time estimates were too pessimistic)
+ * - task partitioning w/ observed skew (work-stealing for skewed iteration
+ *   costs, otherwise fixed-size tasks that amortize task overheads)
+ * - execution type (spark if local memory is insufficient, or the
+ *   remote parallelism pays off for the remaining work)
+ * 
+ */
+public class OptimizerAdaptive extends OptimizerRuleBased
+{
+	private static final Log LOG = LogFactory.getLog(OptimizerAdaptive.class.getName());
+	
+	//internal parameters
+	public static final double MEM_SAFETY_FACTOR = 2.0;   //observed memory excludes freed intermediates
+	public static final double MIN_TASK_TIME     = 10;    //min time per task in ms
+	public static final int    TASKS_PER_WORKER  = 4;     //min number of tasks per worker for load balance
+	public static final double SKEW_THRESHOLD    = 0.5;   //max coefficient of variation of iteration times
+	public static final double REMOTE_LATENCY    = 5000;  //spark job latency in ms
+	
+	@Override
+	public POptMode getOptMode() {
+		return POptMode.ADAPTIVE;
+	}
+	
+	/**
+	 * Re-plans the degree of parallelism, task partitioning, and execution
+	 * type of the given parfor program block for the remaining iterations.
+	 * 
+	 * @param pb parfor program block
+	 * @param stats runtime statistics of the probe iterations
+	 * @param numIterations number of remaining iterations
+	 */
+	public static void replan(ParForProgramBlock pb, IterationStatistics stats, long numIterations) {
+		int k = pb.getDegreeOfParallelism();
+		double time = stats.getMeanTime();
+		double cv = stats.getCoefficientOfVariation();
+		double mem = stats.getMaxMemory() * MEM_SAFETY_FACTOR;
+		
+		//1) degree of parallelism w/ memory constraint (increase
+		//only w/o nested parallelism to prevent oversubscription)
+		double lm = OptimizerUtils.getLocalMemBudget();
+		long kMem = (mem > 0) ? (long) Math.floor(lm / mem) : Long.MAX_VALUE;
+		int kMax = (pb.hasFunctions() || rHasParFor(pb.getChildBlocks())) ?
+			k : Math.max(k, InfrastructureAnalyzer.getLocalParallelism());
+		int newK = (int) Math.max(Math.min(Math.min(kMax, kMem), numIterations), 1);
+		
+		//2) execution type (spark if local memory insufficient or remote parallelism pays off)
+		PExecMode mode = PExecMode.LOCAL;
+		if( OptimizerUtils.isSparkExecutionMode() ) {
+			int rk = SparkExecutionContext.getDefaultParallelism(true);
+			int cores = Math.max(rk / SparkExecutionContext.getNumExecutors(), 1);
+			double rm = SparkExecutionContext.getBroadcastMemoryBudget() / cores;
+			double tLocal = numIterations * time / newK;
+			double tRemote = REMOTE_LATENCY + numIterations * time / rk;
+			if( mem <= rm && (kMem < 1 || 2 * tRemote < tLocal) ) {
+				mode = PExecMode.REMOTE_SPARK;
+				newK = (int) Math.min(rk, numIterations);
+			}
+		}
+		
+		//3) task partitioning (task size amortizes task overheads, but
+		//with sufficient tasks per worker for load balance)
+		long tsMax = Math.max(numIterations / ((long)newK * TASKS_PER_WORKER), 1);
+		long ts = Math.min((long) Math.ceil(MIN_TASK_TIME / Math.max(time, 1e-3)), tsMax);
+		PTaskPartitioner tp = PTaskPartitioner.FIXED;
+		if( cv > SKEW_THRESHOLD )
+			tp = (mode == PExecMode.LOCAL && LocalTaskQueueWorkStealing.isApplicable(numIterations)) ?
+				PTaskPartitioner.WORK_STEALING : PTaskPartitioner.FACTORING;
+		
+		//modify runtime plan
+		if( mode != pb.getExecMode() ) {
+			pb.setExecMode(mode);
+			pb.setResultMerge(PResultMerge.LOCAL_AUTOMATIC);
+		}
+		if( mode == PExecMode.LOCAL && newK != k )
+			pb.setRecompileMemoryBudget(lm / newK);
+		pb.setDegreeOfParallelism(newK);
+		pb.setTaskPartitioner(tp);
+		pb.setTaskSize(ts);
+		
+		LOG.debug(POptMode.ADAPTIVE+" OPT: re-plan for "+numIterations+" remaining iterations w/ "
+			+stats+" - result=(mode="+mode+", k="+newK+", tp="+tp+", tasksize="+ts+")");
+	}
+	
+	private static boolean rHasParFor(List<ProgramBlock> pbs) {
+		boolean ret = false;
+		for( ProgramBlock pb : pbs ) {
+			if( pb instanceof ParForProgramBlock )
+				return true;
+			if( pb instanceof IfProgramBlock )
+				ret |= rHasParFor(((IfProgramBlock) pb).getChildBlocksElseBody());
+			if( pb.getChildBlocks() != null )
+				ret |= rHasParFor(pb.getChildBlocks());
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.parfor.stat;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.instructions.cp.Data;
+
+/**
+ * Thread-safe runtime statistics of executed parfor iterations, used by
+ * the adaptive parfor optimizer. Per iteration, we record the execution time
+ * and the memory of worker-local variables (i.e., excluding shared inputs),
+ * which approximates the memory requirements per worker.
+ */
+public class IterationStatistics 
+{
+	private final Set<Data> _shared;
+	private long _count = 0;
+	private double _sum = 0;
+	private double _sumSq = 0;
+	private long _maxMem = 0;
+	
+	/**
+	 * Creates iteration statistics for workers of the given parent variables.
+	 * 
+	 * @param shared variables shared by all workers
+	 */
+	public IterationStatistics(LocalVariableMap shared) {
+		_shared = Collections.newSetFromMap(new IdentityHashMap<>());
+		if( shared != null )
+			for( String var : shared.keySet() )
+				_shared.add(shared.get(var));
+	}
+	
+	/**
+	 * Records a single executed iteration.
+	 * 
+	 * @param time execution time in ms
+	 * @param vars variables of the worker after the iteration
+	 */
+	public void add(double time, LocalVariableMap vars) {
+		long mem = 0;
+		for( String var : vars.keySet() ) {
+			Data dat = vars.get(var);
+			if( dat instanceof CacheableData && !_shared.contains(dat) )
+				mem += ((CacheableData<?>)dat).getDataSize();
+		}
+		add(time, mem);
+	}
+	
+	public synchronized void add(double time, long mem) {
+		_count++;
+		_sum += time;
+		_sumSq += time * time;
+		_maxMem = Math.max(_maxMem, mem);
+	}
+	
+	public synchronized long getCount() {
+		return _count;
+	}
+	
+	/**
+	 * @return mean execution time per iteration in ms
+	 */
+	public synchronized double getMeanTime() {
+		return (_count > 0) ? _sum / _count : 0;
+	}
+	
+	/**
+	 * @return coefficient of variation (stddev/mean) of iteration times
+	 */
+	public synchronized double getCoefficientOfVariation() {
+		if( _count < 2 || _sum <= 0 )
+			return 0;
+		double mean = _sum / _count;
+		double var = Math.max(_sumSq / _count - mean * mean, 0);
+		return Math.sqrt(var) / mean;
+	}
+	
+	/**
+	 * @return maximum memory of worker-local variables in bytes
+	 */
+	public synchronized long getMaxMemory() {
+		return _maxMem;
+	}
+	
+	@Override
+	public synchronized String toString() {
+		return "IterationStatistics(n="+_count+", mean="+getMeanTime()+"ms, cv="
+			+getCoefficientOfVariation()+", mem="+_maxMem+")";
+	}
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Builtins;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.conf.ConfigurationManager;
@@ -42,6 +43,7 @@ import org.apache.sysds.runtime.controlprogram.Program;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.util.DataConverter;
@@ -101,6 +103,9 @@ public class EvalNaryCPInstruction extends BuiltinNaryCPInstruction {
 				String varName = Dag.getNextUniqueVarname(in.getDataType());
 				ec.getVariables().put(varName, in);
 				boundInputs2[i] = new CPOperand(varName, in);
+				//propagate lineage of list items for function-level reuse
+				if( DMLScript.LINEAGE && lo.getLineageItem(i) != null )
+					ec.getLineage().set(varName, lo.getLineageItem(i));
 			}
 			boundInputs = boundInputs2;
 		}
@@ -129,8 +134,11 @@ public class EvalNaryCPInstruction extends BuiltinNaryCPInstruction {
 		
 		//7. cleanup of variable expanded from list
 		if( boundInputs2 != null ) {
-			for( CPOperand op : boundInputs2 )
+			for( CPOperand op : boundInputs2 ) {
 				VariableCPInstruction.processRmvarInstruction(ec, op.getName());
+				if( DMLScript.LINEAGE )
+					ec.getLineage().remove(op.getName());
+			}
 		}
 	}
 	
@@ -209,8 +217,12 @@ public class EvalNaryCPInstruction extends BuiltinNaryCPInstruction {
 	
 	private static ListObject reorderNamedListForFunctionCall(ListObject in, List<String> fArgNames) {
 		List<Data> sortedData = new ArrayList<>();
-		for( String name : fArgNames )
+		List<LineageItem> sortedLineage = (in.getLineageItems() != null) ? new ArrayList<>() : null;
+		for( String name : fArgNames ) {
 			sortedData.add(in.getData(name));
-		return new ListObject(sortedData, new ArrayList<>(fArgNames));
+			if( sortedLineage != null )
+				sortedLineage.add(in.getLineageItem(in.getNames().indexOf(name)));
+		}
+		return new ListObject(sortedData, new ArrayList<>(fArgNames), sortedLineage);
 	}
 }
@@ -126,7 +126,7 @@ public class FunctionCallCPInstruction extends CPInstruction {
 		
 		// check if function outputs can be reused from cache
 		LineageItem[] liInputs = DMLScript.LINEAGE && LineageCacheConfig.isMultiLevelReuse() ?
-			LineageItemUtils.getLineage(ec, _boundInputs) : null;
+			LineageItemUtils.getLineageItemInputstoFn(_boundInputs, ec) : null;
 		if (!fpb.isNondeterministic() && reuseFunctionOutputs(liInputs, fpb, ec))
 			return; //only if all the outputs are found in cache
 		
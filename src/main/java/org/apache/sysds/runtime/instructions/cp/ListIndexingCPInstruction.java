@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.instructions.cp;
 import org.apache.sysds.lops.LeftIndex;
 import org.apache.sysds.lops.RightIndex;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
@@ -64,6 +65,7 @@ public final class ListIndexingCPInstruction extends IndexingCPInstruction {
 		//left indexing
 		else if ( opcode.equalsIgnoreCase(LeftIndex.OPCODE)) {
 			ListObject lin = (ListObject) ec.getVariable(input1.getName());
+			LineageItem li = DMLScript.LINEAGE ? ec.getLineage().getOrCreate(input2) : null;
 			
 			//execute right indexing operation and set output
 			if( input2.getDataType().isList() ) { //LIST <- LIST
@@ -76,17 +78,17 @@ public final class ListIndexingCPInstruction extends IndexingCPInstruction {
 			else if( input2.getDataType().isScalar() ) { //LIST <- SCALAR
 				ScalarObject scalar = ec.getScalarInput(input2);
 				if( rl.getValueType()==ValueType.STRING )
-					ec.setVariable(output.getName(), lin.copy().set(rl.getStringValue(), scalar));
+					ec.setVariable(output.getName(), lin.copy().set(rl.getStringValue(), scalar, li));
 				else
-					ec.setVariable(output.getName(), lin.copy().set((int)rl.getLongValue()-1, scalar));
+					ec.setVariable(output.getName(), lin.copy().set((int)rl.getLongValue()-1, scalar, li));
 			}
 			else if( input2.getDataType().isMatrix() ) { //LIST <- MATRIX/FRAME
 				CacheableData<?> dat = ec.getCacheableData(input2);
 				dat.enableCleanup(false);
 				if( rl.getValueType()==ValueType.STRING )
-					ec.setVariable(output.getName(), lin.copy().set(rl.getStringValue(), dat));
+					ec.setVariable(output.getName(), lin.copy().set(rl.getStringValue(), dat, li));
 				else
-					ec.setVariable(output.getName(), lin.copy().set((int)rl.getLongValue()-1, dat));
+					ec.setVariable(output.getName(), lin.copy().set((int)rl.getLongValue()-1, dat, li));
 			}
 			else {
 				throw new DMLRuntimeException("Unsupported list "
@@ -190,7 +190,16 @@ public class ListObject extends Data implements Externalizable {
 	}
 	
 	public ListObject set(int ix, Data data) {
+		return set(ix, data, null);
+	}
+	
+	public ListObject set(int ix, Data data, LineageItem li) {
 		_data.set(ix, data);
+		//keep lineage aligned with the data, or drop it if unknown
+		if( _lineage != null && li != null )
+			_lineage.set(ix, li);
+		else
+			_lineage = null;
 		return this;
 	}
 	
@@ -208,11 +217,13 @@ public class ListObject extends Data implements Externalizable {
 			System.arraycopy(data.getStatus(), 0, _dataState, 0, range);
 			if( data.isNamedList() )
 				_names = new ArrayList<>(data.getNames());
+			_lineage = (data.getLineageItems() != null) ?
+				new ArrayList<>(data.getLineageItems()) : null;
 		}
 		else {
 			//overwrite entries of subrange in left hand side
 			for( int i=ix1; i<=ix2; i++ ) {
-				set(i, data.slice(i-ix1));
+				set(i, data.slice(i-ix1), data.getLineageItem(i-ix1));
 				_dataState[i] = data._dataState[i-ix1];
 				if( isNamedList() && data.isNamedList() )
 					_names.set(i, data.getName(i-ix1));
@@ -222,11 +233,15 @@ public class ListObject extends Data implements Externalizable {
 	}
 	
 	public Data set(String name, Data data) {
+		return set(name, data, null);
+	}
+	
+	public Data set(String name, Data data, LineageItem li) {
 		//lookup position by name, incl error handling
 		int pos = getPosForName(name);
 		
 		//set entry into position
-		return set(pos, data);
+		return set(pos, data, li);
 	}
 	
 	public ListObject set(String name1, String name2, ListObject data) {
@@ -249,11 +264,14 @@ public class ListObject extends Data implements Externalizable {
 		//otherwise append and ignore name
 		if( _names != null )
 			_names.add(name);
-		_data.add(dat);
-		if (_lineage == null && li!= null) 
+		//keep lineage aligned with the data, or drop it if unknown
+		if( _lineage == null && li != null && _data.isEmpty() )
 			_lineage = new ArrayList<>();
-		if (li != null)
+		else if( _lineage != null && li == null )
+			_lineage = null;
+		if( _lineage != null )
 			_lineage.add(li);
+		_data.add(dat);
 		return this;
 	}
 
@@ -29,6 +29,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.parfor.WriteRanges;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -115,7 +116,12 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction {
 			resultBlock.examSparsity();
 			
 			//unpin output
+			WriteRanges ranges = mo.getWriteRanges();
 			ec.setMatrixOutput(output.getName(), resultBlock, updateType);
+			
+			//maintain written index ranges of parfor result variables
+			if( ranges != null )
+				ec.getMatrixObject(output.getName()).setWriteRanges(ranges.add(ixrange));
 		}
 		else
 			throw new DMLRuntimeException("Invalid opcode (" + opcode +") encountered in MatrixIndexingCPInstruction.");
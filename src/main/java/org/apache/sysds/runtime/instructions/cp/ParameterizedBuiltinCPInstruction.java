@@ -30,6 +30,7 @@ import java.util.stream.IntStream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.lops.Lop;
@@ -367,8 +368,9 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 				ec.getVariable(d) : new StringObject(d)).collect(Collectors.toList());
 			List<String> names = new ArrayList<>(params.keySet());
 			
-			//create list object over all inputs
-			ListObject list = new ListObject(data, names);
+			//create list object over all inputs, incl lineage of list items
+			ListObject list = new ListObject(data, names, DMLScript.LINEAGE ?
+				new ArrayList<>(Arrays.asList(LineageItemUtils.getLineage(ec, getListItemOperands(ec)))) : null);
 			list.deriveAndSetStatusFromData();
 			
 			ec.setVariable(output.getName(), list);
@@ -452,6 +454,18 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			return Pair.of(output.getName(), new LineageItem(getOpcode(),
 				LineageItemUtils.getLineage(ec, target, meta, spec)));
 		}
+		else if (opcode.equalsIgnoreCase("nvlist")) {
+			//trace names and items to allow reuse of functions called with lists
+			CPOperand[] items = getListItemOperands(ec);
+			CPOperand[] operands = new CPOperand[2 * items.length];
+			int pos = 0;
+			for( String name : params.keySet() ) {
+				operands[2*pos] = new CPOperand(name, ValueType.STRING, DataType.SCALAR, true);
+				operands[2*pos+1] = items[pos++];
+			}
+			return Pair.of(output.getName(), new LineageItem(getOpcode(),
+				LineageItemUtils.getLineage(ec, operands)));
+		}
 		else {
 			//NOTE: for now, we cannot have a generic fall through path, because the 
 			//data and value types of parmeters are not compiled into the instruction
@@ -463,6 +477,13 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 		return ec.getCacheableData(params.get("target"));
 	}
 	
+	private CPOperand[] getListItemOperands(ExecutionContext ec) {
+		//list items are either variables or literals (see nvlist)
+		return params.values().stream().map(d -> ec.containsVariable(d) ?
+			new CPOperand(d, ec.getVariable(d)) : new CPOperand(d, ValueType.STRING, DataType.SCALAR, true))
+			.toArray(CPOperand[]::new);
+	}
+	
 	private CPOperand getTargetOperand() {
 		return new CPOperand(params.get("target"), ValueType.FP64, DataType.MATRIX);
 	}
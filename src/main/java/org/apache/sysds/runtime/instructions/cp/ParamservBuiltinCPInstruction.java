@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.instructions.cp;
 
 import static org.apache.sysds.parser.Statement.PS_AGGREGATION_FUN;
 import static org.apache.sysds.parser.Statement.PS_BATCH_SIZE;
+import static org.apache.sysds.parser.Statement.PS_COMPRESSION;
 import static org.apache.sysds.parser.Statement.PS_EPOCHS;
 import static org.apache.sysds.parser.Statement.PS_FEATURES;
 import static org.apache.sysds.parser.Statement.PS_FREQUENCY;
@@ -29,7 +30,10 @@ import static org.apache.sysds.parser.Statement.PS_LABELS;
 import static org.apache.sysds.parser.Statement.PS_MODE;
 import static org.apache.sysds.parser.Statement.PS_MODEL;
 import static org.apache.sysds.parser.Statement.PS_PARALLELISM;
+import static org.apache.sysds.parser.Statement.PS_PREFETCH;
 import static org.apache.sysds.parser.Statement.PS_SCHEME;
+import static org.apache.sysds.parser.Statement.PS_STALENESS;
+import static org.apache.sysds.parser.Statement.PS_TOPK_RATIO;
 import static org.apache.sysds.parser.Statement.PS_UPDATE_FUN;
 import static org.apache.sysds.parser.Statement.PS_UPDATE_TYPE;
 
@@ -47,12 +51,12 @@ import java.util.stream.IntStream;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.spark.network.server.TransportServer;
 import org.apache.spark.util.LongAccumulator;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.lops.LopProperties;
 import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.parser.Statement.PSFrequency;
 import org.apache.sysds.parser.Statement.PSModeType;
 import org.apache.sysds.parser.Statement.PSScheme;
@@ -65,6 +69,7 @@ import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.paramserv.FederatedPSControlThread;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalPSWorker;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.PSCompressor;
 import org.apache.sysds.runtime.controlprogram.paramserv.ParamServer;
 import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysds.runtime.controlprogram.paramserv.SparkPSBody;
@@ -73,6 +78,7 @@ import org.apache.sysds.runtime.controlprogram.paramserv.dp.DataPartitionFederat
 import org.apache.sysds.runtime.controlprogram.paramserv.dp.DataPartitionLocalScheme;
 import org.apache.sysds.runtime.controlprogram.paramserv.dp.FederatedDataPartitioner;
 import org.apache.sysds.runtime.controlprogram.paramserv.dp.LocalDataPartitioner;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSNettyServer;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcFactory;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -88,6 +94,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static final PSScheme DEFAULT_SCHEME = PSScheme.DISJOINT_CONTIGUOUS;
 	private static final PSModeType DEFAULT_MODE = PSModeType.LOCAL;
 	private static final PSUpdateType DEFAULT_TYPE = PSUpdateType.ASP;
+	private static final int DEFAULT_STALENESS = 3;
+	private static final int DEFAULT_PREFETCH = 0;
 
 	public ParamservBuiltinCPInstruction(Operator op, LinkedHashMap<String, String> paramsMap, CPOperand out, String opcode, String istr) {
 		super(op, paramsMap, out, opcode, istr);
@@ -164,6 +172,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		for (int i = 0; i < threads.size(); i++) {
 			threads.get(i).setFeatures(pFeatures.get(i));
 			threads.get(i).setLabels(pLabels.get(i));
+			threads.get(i).setCompression(getCompression(), getTopKRatio());
 			threads.get(i).setup();
 		}
 
@@ -204,7 +213,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		String host = sec.getSparkContext().getConf().get("spark.driver.host");
 
 		// Create the netty server for ps
-		TransportServer server = PSRpcFactory.createServer(sec.getSparkContext().getConf(),(LocalParamServer) ps, host); // Start the server
+		PSNettyServer server = PSRpcFactory.createServer((LocalParamServer) ps, host); // Start the server
 
 		// Force all the instructions to CP type
 		Recompiler.recompileProgramBlockHierarchy2Forced(
@@ -229,6 +238,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		SparkPSWorker worker = new SparkPSWorker(getParam(PS_UPDATE_FUN), getParam(PS_AGGREGATION_FUN),
 			getFrequency(), getEpochs(), getBatchSize(), program, clsMap, sec.getSparkContext().getConf(),
 			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch);
+		worker.setCompression(getCompression(), getTopKRatio());
+		worker.setPrefetch(getPrefetch());
 
 		if (DMLScript.STATISTICS)
 			Statistics.accPSSetupTime((long) tSetup.stop());
@@ -288,6 +299,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		List<LocalPSWorker> workers = IntStream.range(0, workerNum)
 			.mapToObj(i -> new LocalPSWorker(i, updFunc, freq, getEpochs(), getBatchSize(), workerECs.get(i), ps))
 			.collect(Collectors.toList());
+		workers.forEach(w -> w.setCompression(getCompression(), getTopKRatio()));
+		workers.forEach(w -> w.setPrefetch(getPrefetch()));
 
 		// Do data partition
 		PSScheme scheme = getScheme();
@@ -362,11 +375,57 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		} catch (IllegalArgumentException e) {
 			throw new DMLRuntimeException(String.format("Paramserv function: not support update type '%s'.", getParam(PS_UPDATE_TYPE)));
 		}
-		if (updType == PSUpdateType.SSP)
-			throw new DMLRuntimeException("Paramserv function: Not support update type SSP.");
 		return updType;
 	}
 
+	private int getStaleness() {
+		if (!getParameterMap().containsKey(PS_STALENESS)) {
+			return DEFAULT_STALENESS;
+		}
+		int staleness = Integer.valueOf(getParam(PS_STALENESS));
+		if (staleness < 0) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' could not be less than 0.", PS_STALENESS));
+		}
+		return staleness;
+	}
+
+	private int getPrefetch() {
+		if (!getParameterMap().containsKey(PS_PREFETCH)) {
+			return DEFAULT_PREFETCH;
+		}
+		int prefetch = Integer.valueOf(getParam(PS_PREFETCH));
+		if (prefetch < 0) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "The argument '%s' could not be less than 0.", PS_PREFETCH));
+		}
+		return prefetch;
+	}
+
+	private PSCompression getCompression() {
+		if (!getParameterMap().containsKey(PS_COMPRESSION)) {
+			return PSCompression.NONE;
+		}
+		try {
+			return PSCompression.valueOf(getParam(PS_COMPRESSION));
+		} catch (IllegalArgumentException e) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "not support '%s' compression.", getParam(PS_COMPRESSION)));
+		}
+	}
+
+	private double getTopKRatio() {
+		if (!getParameterMap().containsKey(PS_TOPK_RATIO)) {
+			return PSCompressor.DEFAULT_TOPK_RATIO;
+		}
+		double ratio = Double.parseDouble(getParam(PS_TOPK_RATIO));
+		if (ratio <= 0 || ratio > 1) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "the argument '%s' must be in (0, 1].", PS_TOPK_RATIO));
+		}
+		return ratio;
+	}
+
 	private PSFrequency getFrequency() {
 		if (!getParameterMap().containsKey(PS_FREQUENCY)) {
 			return DEFAULT_UPDATE_FREQUENCY;
@@ -407,12 +466,13 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	 *
 	 * @return parameter server
 	 */
-	private static ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType, int workerNum, ListObject model, ExecutionContext ec) {
+	private ParamServer createPS(PSModeType mode, String aggFunc, PSUpdateType updateType, int workerNum, ListObject model, ExecutionContext ec) {
 		switch (mode) {
 			case FEDERATED:
 			case LOCAL:
 			case REMOTE_SPARK:
-				return LocalParamServer.create(model, aggFunc, updateType, ec, workerNum);
+				return LocalParamServer.create(model, aggFunc, updateType,
+					updateType.isSSP() ? getStaleness() : 0, ec, workerNum);
 			default:
 				throw new DMLRuntimeException("Unsupported parameter server: "+mode.name());
 		}
@@ -30,6 +30,7 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.runtime.lineage.LineageTraceable;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 
@@ -98,8 +99,9 @@ public class ScalarBuiltinNaryCPInstruction extends BuiltinNaryCPInstruction imp
 			List<Data> data = (inputs== null) ? new ArrayList<>() :
 				Arrays.stream(inputs).map(in -> ec.getVariable(in)).collect(Collectors.toList());
 			
-			//create list object over all inputs
-			ListObject list = new ListObject(data);
+			//create list object over all inputs, incl lineage of list items
+			ListObject list = new ListObject(data, null, DMLScript.LINEAGE ?
+				new ArrayList<>(Arrays.asList(LineageItemUtils.getLineage(ec, inputs))) : null);
 			list.deriveAndSetStatusFromData();
 			
 			ec.setVariable(output.getName(), list);
@@ -112,6 +114,10 @@ public class ScalarBuiltinNaryCPInstruction extends BuiltinNaryCPInstruction imp
 	
 	@Override
 	public Pair<String, LineageItem> getLineageItem(ExecutionContext ec) {
+		//lists are traced over their items to allow reuse of functions called with lists
+		if( "list".equals(getOpcode()) )
+			return Pair.of(output.getName(), new LineageItem(getOpcode(),
+				LineageItemUtils.getLineage(ec, inputs)));
 		return Pair.of(output.getName(), new LineageItem(instString, getOpcode()));
 	}
 }
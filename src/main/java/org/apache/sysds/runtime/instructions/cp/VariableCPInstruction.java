@@ -947,14 +947,14 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 			else {
 				// Default behavior
 				MatrixObject mo = ec.getMatrixObject(getInput1().getName());
-				mo.exportData(fname, fmtStr, _formatProperties);
+				exportData(mo, fname, fmtStr);
 			}
 			// Set privacy constraint of write instruction to the same as that of the input
 			setPrivacyConstraint(ec.getMatrixObject(getInput1().getName()).getPrivacyConstraint());
 		}
 		else if( getInput1().getDataType() == DataType.FRAME ) {
 			FrameObject mo = ec.getFrameObject(getInput1().getName());
-			mo.exportData(fname, fmtStr, _formatProperties);
+			exportData(mo, fname, fmtStr);
 			setPrivacyConstraint(mo.getPrivacyConstraint());
 		}
 		else if( getInput1().getDataType() == DataType.TENSOR ) {
@@ -965,6 +965,25 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		}
 	}
 
+	/**
+	 * Helper function to export dirty matrices and frames, either synchronously
+	 * or via asynchronous write-behind if enabled. Matrices with in-place updates
+	 * are always written synchronously because subsequent left indexing would
+	 * modify the pinned block while it is written.
+	 *
+	 * @param cd matrix or frame object
+	 * @param fname file name
+	 * @param fmtStr output format
+	 */
+	private void exportData(CacheableData<?> cd, String fname, String fmtStr) {
+		boolean inplace = cd instanceof MatrixObject
+			&& ((MatrixObject)cd).getUpdateType().isInPlace();
+		if( ConfigurationManager.isAsyncWrite() && !inplace )
+			cd.exportDataAsync(fname, fmtStr, _formatProperties);
+		else
+			cd.exportData(fname, fmtStr, _formatProperties);
+	}
+
 	/**
 	 * Handler for SetFileName instruction
 	 * @param ec execution context
@@ -1008,7 +1027,7 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		if(mo.isDirty()) {
 			// there exist data computed in CP that is not backed up on HDFS
 			// i.e., it is either in-memory or in evicted space
-			mo.exportData(fname, outFmt, _formatProperties);
+			exportData(mo, fname, outFmt);
 		}
 		else {
 			try {
@@ -95,8 +95,9 @@ public class ReblockSPInstruction extends UnarySPInstruction {
 		if(iimd == null)
 			throw new DMLRuntimeException("Error: Metadata not found");
 
-		//check for in-memory reblock (w/ lazy spark context, potential for latency reduction)
-		if( Recompiler.checkCPReblock(sec, input1.getName()) ) {
+		//check for in-memory reblock (w/ lazy spark context, potential for latency reduction),
+		//which is always used for parquet because there is no hadoop input format
+		if( Recompiler.checkCPReblock(sec, input1.getName()) || iimd.getFileFormat() == FileFormat.PARQUET ) {
 			if( input1.getDataType() == DataType.MATRIX )
 				Recompiler.executeInMemoryMatrixReblock(sec, input1.getName(), output.getName());
 			else if( input1.getDataType() == DataType.FRAME )
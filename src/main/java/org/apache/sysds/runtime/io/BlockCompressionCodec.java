@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionInputStream;
+import org.apache.hadoop.io.compress.CompressionOutputStream;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.xerial.snappy.Snappy;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Block compression codecs for binary block sequence files. In contrast to
+ * Hadoop's Lz4Codec and SnappyCodec, these codecs do not require the native
+ * hadoop library but use the lz4 and snappy-java libraries (with their own
+ * native or pure-java implementations), which are available on the classpath
+ * anyway. The codec class is recorded in the sequence file header, which
+ * allows reading compressed and uncompressed files transparently.
+ *
+ * Each compressed stream is a sequence of chunks [raw length, compressed
+ * length, compressed bytes], where chunks are flushed on finish or when
+ * the chunk buffer is full.
+ */
+public abstract class BlockCompressionCodec implements CompressionCodec, Configurable
+{
+	public static final String NONE = "none";
+	public static final int CHUNK_SIZE = 256 * 1024;
+
+	private Configuration _conf;
+
+	/**
+	 * Obtains the codec for the given configuration value, or null
+	 * for disabled compression.
+	 *
+	 * @param name codec name (none, lz4, snappy)
+	 * @return codec or null
+	 */
+	public static BlockCompressionCodec get(String name) {
+		if( name == null || name.equalsIgnoreCase(NONE) )
+			return null;
+		switch( name.toLowerCase() ) {
+			case "lz4":    return new LZ4();
+			case "snappy": return new SnappyJava();
+			default:
+				throw new DMLRuntimeException("Unsupported io compression codec: "+name);
+		}
+	}
+
+	public abstract String getName();
+
+	protected abstract int maxCompressedLength(int len);
+
+	protected abstract int compress(byte[] src, int len, byte[] dest) throws IOException;
+
+	protected abstract void decompress(byte[] src, int len, byte[] dest, int rawLen) throws IOException;
+
+	@Override
+	public void setConf(Configuration conf) {
+		_conf = conf;
+	}
+
+	@Override
+	public Configuration getConf() {
+		return _conf;
+	}
+
+	@Override
+	public CompressionOutputStream createOutputStream(OutputStream out) {
+		return new BlockCompressionOutputStream(out, this);
+	}
+
+	@Override
+	public CompressionOutputStream createOutputStream(OutputStream out, Compressor compressor) {
+		return createOutputStream(out);
+	}
+
+	@Override
+	public Class<? extends Compressor> getCompressorType() {
+		return null;
+	}
+
+	@Override
+	public Compressor createCompressor() {
+		return null;
+	}
+
+	@Override
+	public CompressionInputStream createInputStream(InputStream in) throws IOException {
+		return new BlockCompressionInputStream(in, this);
+	}
+
+	@Override
+	public CompressionInputStream createInputStream(InputStream in, Decompressor decompressor) throws IOException {
+		return createInputStream(in);
+	}
+
+	@Override
+	public Class<? extends Decompressor> getDecompressorType() {
+		return null;
+	}
+
+	@Override
+	public Decompressor createDecompressor() {
+		return null;
+	}
+
+	@Override
+	public String getDefaultExtension() {
+		return "." + getName();
+	}
+
+	public static class LZ4 extends BlockCompressionCodec {
+		private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+		private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+		@Override
+		public String getName() {
+			return "lz4";
+		}
+
+		@Override
+		protected int maxCompressedLength(int len) {
+			return COMPRESSOR.maxCompressedLength(len);
+		}
+
+		@Override
+		protected int compress(byte[] src, int len, byte[] dest) {
+			return COMPRESSOR.compress(src, 0, len, dest, 0, dest.length);
+		}
+
+		@Override
+		protected void decompress(byte[] src, int len, byte[] dest, int rawLen) {
+			DECOMPRESSOR.decompress(src, 0, dest, 0, rawLen);
+		}
+	}
+
+	public static class SnappyJava extends BlockCompressionCodec {
+		@Override
+		public String getName() {
+			return "snappy";
+		}
+
+		@Override
+		protected int maxCompressedLength(int len) {
+			return Snappy.maxCompressedLength(len);
+		}
+
+		@Override
+		protected int compress(byte[] src, int len, byte[] dest) throws IOException {
+			return Snappy.compress(src, 0, len, dest, 0);
+		}
+
+		@Override
+		protected void decompress(byte[] src, int len, byte[] dest, int rawLen) throws IOException {
+			Snappy.uncompress(src, 0, len, dest, 0);
+		}
+	}
+
+	private static class BlockCompressionOutputStream extends CompressionOutputStream {
+		private final BlockCompressionCodec _codec;
+		private final byte[] _buff = new byte[CHUNK_SIZE];
+		private byte[] _cbuff = null;
+		private int _len = 0;
+
+		public BlockCompressionOutputStream(OutputStream out, BlockCompressionCodec codec) {
+			super(out);
+			_codec = codec;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if( _len == _buff.length )
+				writeChunk();
+			_buff[_len++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while( len > 0 ) {
+				if( _len == _buff.length )
+					writeChunk();
+				int n = Math.min(len, _buff.length - _len);
+				System.arraycopy(b, off, _buff, _len, n);
+				_len += n; off += n; len -= n;
+			}
+		}
+
+		@Override
+		public void finish() throws IOException {
+			if( _len > 0 )
+				writeChunk();
+		}
+
+		@Override
+		public void resetState() {
+			_len = 0;
+		}
+
+		private void writeChunk() throws IOException {
+			if( _cbuff == null )
+				_cbuff = new byte[_codec.maxCompressedLength(CHUNK_SIZE)];
+			int clen = _codec.compress(_buff, _len, _cbuff);
+			writeInt(_len);
+			writeInt(clen);
+			out.write(_cbuff, 0, clen);
+			_len = 0;
+		}
+
+		private void writeInt(int v) throws IOException {
+			out.write((v >>> 24) & 0xFF);
+			out.write((v >>> 16) & 0xFF);
+			out.write((v >>> 8) & 0xFF);
+			out.write(v & 0xFF);
+		}
+	}
+
+	private static class BlockCompressionInputStream extends CompressionInputStream {
+		private final BlockCompressionCodec _codec;
+		private final byte[] _buff = new byte[CHUNK_SIZE];
+		private byte[] _cbuff = null;
+		private int _pos = 0;
+		private int _len = 0;
+
+		public BlockCompressionInputStream(InputStream in, BlockCompressionCodec codec) throws IOException {
+			super(in);
+			_codec = codec;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if( _pos == _len && !readChunk() )
+				return -1;
+			return _buff[_pos++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if( len == 0 )
+				return 0;
+			if( _pos == _len && !readChunk() )
+				return -1;
+			int n = Math.min(len, _len - _pos);
+			System.arraycopy(_buff, _pos, b, off, n);
+			_pos += n;
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return _len - _pos;
+		}
+
+		@Override
+		public void resetState() {
+			_pos = _len = 0;
+		}
+
+		private boolean readChunk() throws IOException {
+			int b = in.read();
+			if( b < 0 )
+				return false;
+			int rawLen = (b << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+			int clen = readInt();
+			if( rawLen > CHUNK_SIZE || clen < 0 )
+				throw new IOException("Corrupted compressed chunk: "+rawLen+" "+clen);
+			if( _cbuff == null || _cbuff.length < clen )
+				_cbuff = new byte[Math.max(clen, _codec.maxCompressedLength(CHUNK_SIZE))];
+			for( int off = 0; off < clen; ) {
+				int n = in.read(_cbuff, off, clen - off);
+				if( n < 0 )
+					throw new EOFException("Unexpected end of compressed chunk.");
+				off += n;
+			}
+			_codec.decompress(_cbuff, clen, _buff, rawLen);
+			_pos = 0;
+			_len = rawLen;
+			return true;
+		}
+
+		private int readInt() throws IOException {
+			return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+		}
+
+		private int readByte() throws IOException {
+			int b = in.read();
+			if( b < 0 )
+				throw new EOFException("Unexpected end of compressed chunk header.");
+			return b;
+		}
+	}
+}
@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Byte-level tokenizer for delimited text lines, which operates directly
+ * on the UTF-8 encoded bytes of a line (e.g., the backing array of a hadoop
+ * {@link Text}) and only records the begin and end positions of all tokens.
+ * In contrast to {@link IOUtilFunctions#splitCSV(String, String)}, this
+ * avoids the conversion of the line into a string and the allocation of
+ * a string per token, and it allows parsing numeric values directly from
+ * the bytes. Token boundaries (including the handling of quotes) and the
+ * trimming of lines and tokens are consistent with splitCSV.
+ *
+ * NOTE: A tokenizer instance is stateful and hence not thread-safe;
+ * parallel readers are expected to use one tokenizer per task.
+ */
+public class CSVByteTokenizer
+{
+	private static final byte CSV_QUOTE_BYTE = '"';
+
+	//largest mantissa exactly representable as double
+	private static final long MAX_EXACT_MANT = 1L << 53;
+	//powers of ten exactly representable as doubles
+	private static final double[] POW10 = new double[23];
+	static {
+		POW10[0] = 1;
+		for( int i=1; i<POW10.length; i++ )
+			POW10[i] = POW10[i-1] * 10;
+	}
+
+	private final byte[] _delim;
+	private final byte[][] _naStrings;
+	private byte[] _buf = null;
+	private int _lbeg = 0;
+	private int _lend = 0;
+	private int[] _beg = new int[64];
+	private int[] _end = new int[64];
+	private int _num = 0;
+
+	public CSVByteTokenizer(String delim) {
+		this(delim, null);
+	}
+
+	public CSVByteTokenizer(String delim, Set<String> naStrings) {
+		_delim = delim.getBytes(StandardCharsets.UTF_8);
+		_naStrings = (naStrings != null && !naStrings.isEmpty()) ?
+			naStrings.stream().filter(s -> s != null)
+				.map(s -> s.getBytes(StandardCharsets.UTF_8))
+				.toArray(byte[][]::new) : null;
+	}
+
+	/**
+	 * Tokenizes the given line with the semantics of splitCSV applied
+	 * to the trimmed line, i.e., an empty line yields a single empty token.
+	 *
+	 * @param line text line
+	 * @return number of tokens
+	 */
+	public int tokenize(Text line) {
+		return tokenize(line.getBytes(), 0, line.getLength());
+	}
+
+	/**
+	 * Tokenizes the byte range [off, off+len) of the given buffer with the
+	 * semantics of splitCSV applied to the trimmed line.
+	 *
+	 * @param buf byte buffer
+	 * @param off offset of the line
+	 * @param len length of the line in bytes
+	 * @return number of tokens
+	 */
+	public int tokenize(byte[] buf, int off, int len) {
+		_buf = buf;
+		_num = 0;
+
+		//trim line (consistent with String.trim)
+		int from = off, end = off + len;
+		while( from < end && isWhitespace(buf[from]) )
+			from++;
+		while( end > from && isWhitespace(buf[end-1]) )
+			end--;
+		_lbeg = from;
+		_lend = end;
+
+		// check for empty input
+		if( from == end ) {
+			addToken(from, from);
+			return _num;
+		}
+
+		// scan bytes and record individual tokens
+		int dlen = _delim.length;
+		int to = 0;
+		while( from < end ) { // for all tokens
+			if( buf[from] == CSV_QUOTE_BYTE
+				&& indexOf(CSV_QUOTE_BYTE, from+1, end) > 0 ) {
+				to = indexOf(CSV_QUOTE_BYTE, from+1, end);
+				// handle escaped inner quotes, e.g. "aa""a"
+				while( to >= 0 && to+1 < end && buf[to+1]==CSV_QUOTE_BYTE )
+					to = indexOf(CSV_QUOTE_BYTE, to+2, end); // to + ""
+				to = (to >= 0) ? to + 1 : end; // last "
+				// handle remaining non-quoted characters "aa"a
+				if( to<end-1 && !isDelim(to, end) )
+					to = indexOfDelim(to+1, end);
+			}
+			else if( isDelim(from, end) ) {
+				to = from; // empty string
+			}
+			else { // default: unquoted non-empty
+				to = indexOfDelim(from+1, end);
+			}
+
+			// record token and advance position
+			to = (to >= 0) ? to : end;
+			addToken(from, to);
+			from = to + dlen;
+		}
+
+		// handle empty string at end
+		if( from == end )
+			addToken(end, end);
+
+		return _num;
+	}
+
+	public int getNumTokens() {
+		return _num;
+	}
+
+	/**
+	 * Indicates if the last tokenized line is empty after trimming.
+	 *
+	 * @return true if the trimmed line is empty
+	 */
+	public boolean isEmptyLine() {
+		return _lbeg >= _lend;
+	}
+
+	/**
+	 * Indicates if the given token is empty after trimming.
+	 *
+	 * @param pos token position
+	 * @return true if the trimmed token is empty
+	 */
+	public boolean isEmpty(int pos) {
+		return _beg[pos] >= _end[pos];
+	}
+
+	/**
+	 * Indicates if the given trimmed token matches any of the NA strings.
+	 *
+	 * @param pos token position
+	 * @return true if the token is an NA string
+	 */
+	public boolean isNAString(int pos) {
+		if( _naStrings == null )
+			return false;
+		int beg = _beg[pos], len = _end[pos] - beg;
+		for( byte[] na : _naStrings ) {
+			if( na.length != len )
+				continue;
+			boolean match = true;
+			for( int i=0; i<len & match; i++ )
+				match = (na[i] == _buf[beg+i]);
+			if( match )
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Indicates if the trimmed line starts with the given prefix.
+	 *
+	 * @param prefix prefix string (ASCII)
+	 * @return true if the line starts with the prefix
+	 */
+	public boolean lineStartsWith(String prefix) {
+		int len = prefix.length();
+		if( _lend - _lbeg < len )
+			return false;
+		for( int i=0; i<len; i++ )
+			if( _buf[_lbeg+i] != (byte)prefix.charAt(i) )
+				return false;
+		return true;
+	}
+
+	/**
+	 * Returns the trimmed token as a string, allocated on demand.
+	 *
+	 * @param pos token position
+	 * @return token string
+	 */
+	public String getString(int pos) {
+		return new String(_buf, _beg[pos], _end[pos]-_beg[pos], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the trimmed line as a string (e.g., for error messages).
+	 *
+	 * @return line string
+	 */
+	public String getLine() {
+		return new String(_buf, _lbeg, _lend-_lbeg, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses the given token as a double, where NA strings are mapped
+	 * to NaN, consistent with UtilFunctions.parseToDouble.
+	 *
+	 * @param pos token position
+	 * @return double value
+	 */
+	public double getDouble(int pos) {
+		return isNAString(pos) ? Double.NaN :
+			parseDouble(_buf, _beg[pos], _end[pos]);
+	}
+
+	/**
+	 * Parses the given token as a long, consistent with Long.parseLong.
+	 *
+	 * @param pos token position
+	 * @return long value
+	 */
+	public long getLong(int pos) {
+		return parseLong(_buf, _beg[pos], _end[pos]);
+	}
+
+	/**
+	 * Parses the given token into an object of the given value type,
+	 * consistent with UtilFunctions.stringToObject. Numeric types are
+	 * parsed directly from the bytes, all other types via a string.
+	 *
+	 * @param pos token position
+	 * @param vt value type
+	 * @return parsed object
+	 */
+	public Object getObject(int pos, ValueType vt) {
+		switch( vt ) {
+			case FP64:
+				return parseDouble(_buf, _beg[pos], _end[pos]);
+			case INT64:
+				return parseLong(_buf, _beg[pos], _end[pos]);
+			case INT32: {
+				long val = parseLong(_buf, _beg[pos], _end[pos]);
+				if( val < Integer.MIN_VALUE || val > Integer.MAX_VALUE )
+					return Integer.parseInt(getString(pos)); //error handling
+				return (int) val;
+			}
+			default:
+				return UtilFunctions.stringToObject(vt, getString(pos));
+		}
+	}
+
+	/**
+	 * Parses a double from the byte range [beg, end). Plain decimal numbers
+	 * with a mantissa of at most 2^53 and a decimal exponent within
+	 * [-22, 22] are computed directly, which yields the correctly rounded
+	 * result because both the mantissa and the power of ten are exactly
+	 * representable. All other inputs (e.g., long mantissas, large
+	 * exponents, Infinity, NaN, hex floats) fall back to Double.parseDouble.
+	 *
+	 * @param buf byte buffer
+	 * @param beg begin position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed double value
+	 */
+	public static double parseDouble(byte[] buf, int beg, int end) {
+		int pos = beg;
+		boolean neg = false;
+		if( pos < end && (buf[pos] == '-' || buf[pos] == '+') )
+			neg = (buf[pos++] == '-');
+
+		long mant = 0;
+		int ndigits = 0, nint = 0, scale = 0;
+		//integer part
+		for( ; pos < end && isDigit(buf[pos]); pos++, nint++ ) {
+			if( ndigits > 0 || buf[pos] != '0' ) {
+				mant = mant * 10 + (buf[pos] - '0');
+				ndigits++;
+			}
+		}
+		//fractional part
+		int nfrac = 0;
+		if( pos < end && buf[pos] == '.' ) {
+			for( pos++; pos < end && isDigit(buf[pos]); pos++, nfrac++ ) {
+				if( ndigits > 0 || buf[pos] != '0' ) {
+					mant = mant * 10 + (buf[pos] - '0');
+					ndigits++;
+				}
+				scale--;
+			}
+		}
+		//exponent
+		if( pos < end && (buf[pos] == 'e' || buf[pos] == 'E') && (nint+nfrac) > 0 ) {
+			pos++;
+			boolean eneg = false;
+			if( pos < end && (buf[pos] == '-' || buf[pos] == '+') )
+				eneg = (buf[pos++] == '-');
+			int exp = 0, nexp = 0;
+			for( ; pos < end && isDigit(buf[pos]) && nexp < 9; pos++, nexp++ )
+				exp = exp * 10 + (buf[pos] - '0');
+			if( nexp == 0 )
+				return parseDoubleFallback(buf, beg, end);
+			scale += eneg ? -exp : exp;
+		}
+
+		//fallback for unsupported or out-of-range inputs
+		if( pos != end || (nint+nfrac) == 0 || ndigits > 18 || mant > MAX_EXACT_MANT
+			|| (mant != 0 && (scale < -22 || scale > 22)) )
+			return parseDoubleFallback(buf, beg, end);
+
+		double ret = (double) mant;
+		if( scale < 0 )
+			ret /= POW10[-scale];
+		else if( scale > 0 )
+			ret *= POW10[scale];
+		return neg ? -ret : ret;
+	}
+
+	/**
+	 * Parses a long from the byte range [beg, end), with fallback
+	 * to Long.parseLong for overflows and invalid inputs.
+	 *
+	 * @param buf byte buffer
+	 * @param beg begin position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed long value
+	 */
+	public static long parseLong(byte[] buf, int beg, int end) {
+		int pos = beg;
+		boolean neg = false;
+		if( pos < end && (buf[pos] == '-' || buf[pos] == '+') )
+			neg = (buf[pos++] == '-');
+		if( pos == end || end - pos > 18 )
+			return Long.parseLong(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+		long ret = 0;
+		for( ; pos < end; pos++ ) {
+			if( !isDigit(buf[pos]) )
+				return Long.parseLong(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+			ret = ret * 10 + (buf[pos] - '0');
+		}
+		return neg ? -ret : ret;
+	}
+
+	private static double parseDoubleFallback(byte[] buf, int beg, int end) {
+		return Double.parseDouble(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+	}
+
+	private void addToken(int from, int to) {
+		if( _num == _beg.length ) {
+			int[] beg = new int[2*_num];
+			int[] end = new int[2*_num];
+			System.arraycopy(_beg, 0, beg, 0, _num);
+			System.arraycopy(_end, 0, end, 0, _num);
+			_beg = beg;
+			_end = end;
+		}
+		//trim token (consistent with String.trim)
+		while( from < to && isWhitespace(_buf[from]) )
+			from++;
+		while( to > from && isWhitespace(_buf[to-1]) )
+			to--;
+		_beg[_num] = from;
+		_end[_num] = to;
+		_num++;
+	}
+
+	private boolean isDelim(int pos, int end) {
+		int dlen = _delim.length;
+		if( pos + dlen > end )
+			return false;
+		for( int i=0; i<dlen; i++ )
+			if( _buf[pos+i] != _delim[i] )
+				return false;
+		return true;
+	}
+
+	private int indexOfDelim(int from, int end) {
+		byte first = _delim[0];
+		for( int i=from; i<end; i++ )
+			if( _buf[i] == first && isDelim(i, end) )
+				return i;
+		return -1;
+	}
+
+	private int indexOf(byte b, int from, int end) {
+		for( int i=from; i<end; i++ )
+			if( _buf[i] == b )
+				return i;
+		return -1;
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static boolean isWhitespace(byte b) {
+		//consistent with String.trim (all ASCII control chars and space)
+		return b >= 0 && b <= ' ';
+	}
+}
@@ -69,6 +69,13 @@ public class FrameReaderFactory {
 				reader = new FrameReaderProto();
 				break;
 
+			case PARQUET:
+				if(ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS))
+					reader = new FrameReaderParquetParallel();
+				else
+					reader = new FrameReaderParquet();
+				break;
+
 			default:
 				throw new DMLRuntimeException("Failed to create frame reader for unknown format: " + fmt.toString());
 		}
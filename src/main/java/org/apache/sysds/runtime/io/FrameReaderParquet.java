@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.ParquetIOUtils.RowGroup;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+
+/**
+ * Single-threaded parquet frame reader. If all given column names exist in
+ * the parquet schema, only these columns are read (column projection);
+ * otherwise, the first clen columns are read. For unknown number of columns,
+ * the value types and column names are obtained from the parquet schema.
+ */
+public class FrameReaderParquet extends FrameReader
+{
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//obtain row groups, dimensions, and column projection from footers
+		List<RowGroup> groups = ParquetIOUtils.getRowGroups(path, job, fs);
+		MessageType pschema = ParquetIOUtils.getSchema(path, job, fs, groups);
+		int[] cols = ParquetIOUtils.getProjection(pschema, names, clen);
+		String[] pnames = ParquetIOUtils.getColumnNames(pschema, cols);
+		long nrow = ParquetIOUtils.getNumRows(groups);
+		if( rlen >= 0 && rlen != nrow )
+			throw new IOException("Number of rows mismatch with metadata: "+nrow+" vs "+rlen+".");
+
+		//allocate output frame block
+		ValueType[] lschema = (clen < 0) ?
+			ParquetIOUtils.getValueTypes(pschema, cols) : createOutputSchema(schema, clen);
+		String[] lnames = (clen < 0) ? pnames : createOutputNames(names, clen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, nrow);
+
+		//core read (sequential/parallel)
+		readParquetFrameFromHDFS(job, groups, pnames, ret);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+		return ret;
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		throw new DMLRuntimeException("Parquet read from input streams not supported.");
+	}
+
+	protected void readParquetFrameFromHDFS(JobConf job, List<RowGroup> groups, String[] names, FrameBlock dest)
+		throws IOException
+	{
+		readParquetRowGroups(job, groups, names, dest);
+	}
+
+	protected static void readParquetRowGroups(JobConf job, List<RowGroup> groups, String[] names, FrameBlock dest)
+		throws IOException
+	{
+		ParquetIOUtils.readRowGroups(job, groups, names, (col, reader, maxDef, rl, nrow) -> {
+			for( int i=rl; i<rl+nrow; i++ ) {
+				Object val = ParquetIOUtils.readObject(reader, maxDef);
+				if( val != null )
+					dest.set(i, col, val);
+			}
+		});
+	}
+}
@@ -56,7 +56,7 @@ public class FrameReaderTextCSV extends FrameReader {
 	}
 
 	@Override
-	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
 		throws IOException, DMLRuntimeException {
 		LOG.debug("readFrameFromHDFS csv");
 		// prepare file access
@@ -129,7 +129,6 @@ public class FrameReaderTextCSV extends FrameReader {
 		LongWritable key = new LongWritable();
 		Text value = new Text();
 		int row = rl;
-		int col = -1;
 
 		// handle header if existing
 		if(first && hasHeader) {
@@ -137,44 +136,47 @@ public class FrameReaderTextCSV extends FrameReader {
 			dest.setColumnNames(value.toString().split(delim));
 		}
 
-		// Read the data
+		// Read the data (byte-level tokenization, strings only for string columns)
+		CSVByteTokenizer tok = new CSVByteTokenizer(delim, naValues);
 		boolean emptyValuesFound = false;
 		try {
 			while(reader.next(key, value)) // foreach line
 			{
-				String cellStr = value.toString().trim();
+				int ncol = tok.tokenize(value);
 				emptyValuesFound = false;
-				col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
 
 				// parse frame meta data (missing values / num distinct)
-				if(parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX)) {
-					if(parts[0].equals(TfUtils.TXMTD_MVPREFIX))
+				if(tok.lineStartsWith(TfUtils.TXMTD_MVPREFIX) || tok.lineStartsWith(TfUtils.TXMTD_NDPREFIX)) {
+					String prefix = tok.getString(0);
+					if(prefix.equals(TfUtils.TXMTD_MVPREFIX)) {
 						for(int j = 0; j < dest.getNumColumns(); j++)
-							dest.getColumnMetadata(j).setMvValue(parts[j + 1]);
-					else if(parts[0].equals(TfUtils.TXMTD_NDPREFIX))
+							dest.getColumnMetadata(j).setMvValue(tok.getString(j + 1));
+						continue;
+					}
+					else if(prefix.equals(TfUtils.TXMTD_NDPREFIX)) {
 						for(int j = 0; j < dest.getNumColumns(); j++)
-							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j + 1]));
-					continue;
+							dest.getColumnMetadata(j).setNumDistinct(tok.getLong(j + 1));
+						continue;
+					}
 				}
 
-				for(String part : parts) // foreach cell
+				// sanity check for number of columns
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", tok, ncol, clen);
+
+				for(int col = 0; col < ncol; col++) // foreach cell
 				{
-					part = part.trim();
-					if(part.isEmpty() || naValues.contains(part)) {
+					if(tok.isEmpty(col) || tok.isNAString(col)) {
 						if(isFill && dfillValue != 0)
 							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
 						emptyValuesFound = true;
 					}
 					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+						dest.set(row, col, tok.getObject(col, schema[col]));
 					}
-					col++;
 				}
 
-				// sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				// sanity checks for empty values
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(tok, isFill, emptyValuesFound);
 				row++;
 			}
 		}
@@ -30,15 +30,17 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
-import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 
@@ -53,70 +55,74 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 	}
 
 	@Override
-	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
-			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen) 
-		throws IOException
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
 	{
-		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
 		
+		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
-		InputSplit[] splits = informat.getSplits(job, numThreads); 
-		splits = IOUtilFunctions.sortInputSplits(splits);
-
-		try 
-		{
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(
+			informat.getSplits(job, numThreads));
+		
+		// compute row offsets per split, which also provide the number of rows
+		// if unknown (local state, reused by the read without a second count)
+		List<Long> offsets = computeRowOffsets(splits, informat, job, numThreads);
+		if( rlen <= 0 || clen <= 0 ) {
+			rlen = offsets.get(offsets.size()-1);
+			clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
+		}
+		
+		// allocate output frame block
+		ValueType[] lschema = createOutputSchema(schema, clen);
+		String[] lnames = createOutputNames(names, clen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+		
+		// read individual splits
+		try {
 			ExecutorService pool = CommonThreadPool.get(
 				Math.min(numThreads, splits.length));
-			
-			//compute num rows per split
-			ArrayList<CountRowsTask> tasks = new ArrayList<>();
-			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
-
-			//compute row offset per split via cumsum on row counts
-			long offset = 0;
-			List<Long> offsets = new ArrayList<>();
-			for( Future<Long> count : cret ) {
-				offsets.add(offset);
-				offset += count.get();
-			}
-			
-			//read individual splits
-			ArrayList<ReadRowsTask> tasks2 = new ArrayList<>();
+			ArrayList<ReadRowsTask> tasks = new ArrayList<>();
 			for( int i=0; i<splits.length; i++ )
-				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0));
-			CommonThreadPool.invokeAndShutdown(pool, tasks2);
+				tasks.add( new ReadRowsTask(splits[i], informat, job, ret, offsets.get(i).intValue(), i==0));
+			CommonThreadPool.invokeAndShutdown(pool, tasks);
 		} 
 		catch (Exception e) {
 			throw new IOException("Failed parallel read of text csv input.", e);
 		}
+		return ret;
 	}
-
-	@Override
-	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
-		throws IOException 
+	
+	private List<Long> computeRowOffsets(InputSplit[] splits, TextInputFormat informat, JobConf job, int numThreads)
+		throws IOException
 	{
-		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
-		
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-		InputSplit[] splits = informat.getSplits(job, numThreads);
-		
-		//compute number of columns
-		int ncol = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
-		
-		//compute number of rows
-		int nrow = 0;
-		ExecutorService pool = CommonThreadPool.get(numThreads);
+		ExecutorService pool = CommonThreadPool.get(
+			Math.min(numThreads, splits.length));
 		try {
+			//compute num rows per split
 			ArrayList<CountRowsTask> tasks = new ArrayList<>();
 			for( int i=0; i<splits.length; i++ )
 				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
 			List<Future<Long>> cret = pool.invokeAll(tasks);
-			for( Future<Long> count : cret ) 
-				nrow += count.get().intValue();
+			
+			//compute row offset per split via cumsum on row counts
+			//(with total number of rows as last entry)
+			long offset = 0;
+			List<Long> offsets = new ArrayList<>();
+			for( Future<Long> count : cret ) {
+				offsets.add(offset);
+				offset += count.get();
+			}
+			offsets.add(offset);
+			return offsets;
 		}
 		catch (Exception e) {
 			throw new IOException("Failed parallel read of text csv input.", e);
@@ -124,7 +130,6 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		finally {
 			pool.shutdown();
 		}
-		return new Pair<>(nrow, ncol);
 	}
 
 	private static class CountRowsTask implements Callable<Long> 
@@ -45,6 +45,7 @@ public class FrameWriterBinaryBlock extends FrameWriter
 	{
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		IOUtilFunctions.setBinaryBlockCodec(job);
 		Path path = new Path( fname );
 
 		//if the file already exists on HDFS, remove it.
@@ -84,13 +85,12 @@ public class FrameWriterBinaryBlock extends FrameWriter
 	 * @param ru upper row
 	 * @throws IOException if IOException occurs
 	 */
-	@SuppressWarnings("deprecation")
 	protected static void writeBinaryBlockFrameToSequenceFile( Path path, JobConf job, FileSystem fs, FrameBlock src, int blen, int rl, int ru ) 
 		throws IOException
 	{
-		//1) create sequence file writer 
-		SequenceFile.Writer writer = null;
-		writer = new SequenceFile.Writer(fs, job, path, LongWritable.class, FrameBlock.class);
+		//1) create sequence file writer (w/ configured block compression)
+		SequenceFile.Writer writer = IOUtilFunctions.createSequenceFileWriter(
+			job, fs, path, LongWritable.class, FrameBlock.class, -1);
 		
 		try
 		{
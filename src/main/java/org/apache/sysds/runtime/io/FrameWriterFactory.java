@@ -60,6 +60,10 @@ public class FrameWriterFactory
 				// TODO performance improvement: add parallel reader
 				writer = new FrameWriterProto();
 				break;
+
+			case PARQUET:
+				writer = new FrameWriterParquet();
+				break;
 			
 			default:
 				throw new DMLRuntimeException("Failed to create frame writer for unknown format: " + fmt.toString());
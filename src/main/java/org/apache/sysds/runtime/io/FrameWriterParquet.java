@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Single-threaded parquet frame writer, which writes a single snappy-compressed
+ * parquet file with a flat schema of optional columns (for null values), typed
+ * according to the frame schema.
+ */
+public class FrameWriterParquet extends FrameWriter
+{
+	@Override
+	public void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen)
+		throws IOException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+
+		//if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		//validity check frame dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Frame dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+
+		//core write
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		writeParquetFrameToFile(path, job, src, 0, (int)rlen);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected static void writeParquetFrameToFile(Path path, JobConf job, FrameBlock src, int rl, int ru)
+		throws IOException
+	{
+		MessageType schema = ParquetIOUtils.createSchema(src.getSchema(), src.getColumnNames());
+		ParquetWriter<Integer> writer = new ParquetWriter<>(path,
+			new ParquetIOUtils.FrameWriteSupport(src, schema), ParquetIOUtils.CODEC,
+			ParquetIOUtils.ROW_GROUP_SIZE, ParquetIOUtils.PAGE_SIZE, ParquetIOUtils.PAGE_SIZE,
+			true, false, WriterVersion.PARQUET_1_0, job);
+		try {
+			for( int i=rl; i<ru; i++ )
+				writer.write(i);
+		}
+		catch(IOException | RuntimeException ex) {
+			IOUtilFunctions.closeSilently(writer);
+			throw ex;
+		}
+		//close on success path, which writes the footer (errors propagate)
+		writer.close();
+	}
+}
@@ -46,7 +46,10 @@ import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathFilter;
 import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.InputSplit;
@@ -55,8 +58,10 @@ import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.transform.TfUtils;
+import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
@@ -126,6 +131,88 @@ public class IOUtilFunctions
 		return String.format("0-m-%05d", pos);
 	}
 	
+	/**
+	 * Obtains the configured block compression codec for binary block
+	 * files, or null if compression is disabled.
+	 * 
+	 * @return compression codec or null
+	 */
+	public static BlockCompressionCodec getBinaryBlockCodec() {
+		return BlockCompressionCodec.get(ConfigurationManager
+			.getDMLConfig().getTextValue(DMLConfig.IO_COMPRESSION_CODEC));
+	}
+	
+	/**
+	 * Obtains the name of the block compression codec the given binary
+	 * block file was actually written with, which is taken from the
+	 * header of its first sequence file.
+	 * 
+	 * @param fname file name
+	 * @return codec name or null if not compressed with a block compression codec
+	 * @throws IOException if the file header cannot be read
+	 */
+	public static String getBinaryBlockCodecName(String fname) throws IOException {
+		Path path = new Path(fname);
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = getFileSystem(path, job);
+		if( !fs.exists(path) )
+			return null;
+		Path[] files = getSequenceFilePaths(fs, path);
+		if( files.length == 0 || fs.getFileStatus(files[0]).getLen() == 0 )
+			return null;
+		try( SequenceFile.Reader reader = new SequenceFile.Reader(job, SequenceFile.Reader.file(files[0])) ) {
+			CompressionCodec codec = reader.isCompressed() ? reader.getCompressionCodec() : null;
+			return (codec instanceof BlockCompressionCodec) ?
+				((BlockCompressionCodec)codec).getName() : null;
+		}
+	}
+	
+	/**
+	 * Sets the configured block compression codec of the calling thread in
+	 * the given job configuration, which is then used by all (potentially
+	 * multi-threaded) sequence file writers created with this job.
+	 * 
+	 * @param job job configuration
+	 */
+	public static void setBinaryBlockCodec(JobConf job) {
+		job.set(DMLConfig.IO_COMPRESSION_CODEC, ConfigurationManager
+			.getDMLConfig().getTextValue(DMLConfig.IO_COMPRESSION_CODEC));
+	}
+	
+	/**
+	 * Creates a sequence file writer for binary block files, which applies
+	 * the configured block compression codec (if any).
+	 * 
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param path file path
+	 * @param keyClass key class
+	 * @param valueClass value class
+	 * @param replication replication factor, or -1 for the default replication
+	 * @return sequence file writer
+	 * @throws IOException if the writer cannot be created
+	 */
+	public static SequenceFile.Writer createSequenceFileWriter(JobConf job, FileSystem fs, Path path,
+		Class<?> keyClass, Class<?> valueClass, int replication) throws IOException
+	{
+		ArrayList<SequenceFile.Writer.Option> opts = new ArrayList<>();
+		opts.add(SequenceFile.Writer.file(path));
+		opts.add(SequenceFile.Writer.keyClass(keyClass));
+		opts.add(SequenceFile.Writer.valueClass(valueClass));
+		String cname = job.get(DMLConfig.IO_COMPRESSION_CODEC);
+		BlockCompressionCodec codec = (cname != null) ?
+			BlockCompressionCodec.get(cname) : getBinaryBlockCodec();
+		opts.add( (codec != null) ?
+			SequenceFile.Writer.compression(CompressionType.BLOCK, codec) :
+			SequenceFile.Writer.compression(CompressionType.NONE));
+		if( replication > 0 ) { //if replication specified (otherwise default)
+			opts.add(SequenceFile.Writer.bufferSize(job.getInt(HDFSTool.IO_FILE_BUFFER_SIZE, 4096)));
+			opts.add(SequenceFile.Writer.replication((short)replication));
+			opts.add(SequenceFile.Writer.blockSize(fs.getDefaultBlockSize(path)));
+		}
+		return SequenceFile.createWriter(job, opts.toArray(new SequenceFile.Writer.Option[0]));
+	}
+	
 	public static void closeSilently( Closeable io ) {
 		try {
 			if( io != null )
@@ -156,11 +243,31 @@ public class IOUtilFunctions
 		}
 	}
 
+	public static void checkAndRaiseErrorCSVEmptyField(CSVByteTokenizer tok, boolean fill, boolean emptyFound) 
+		throws IOException
+	{
+		//construct line string only on error
+		if ( !fill && emptyFound)
+			checkAndRaiseErrorCSVEmptyField(tok.getLine(), fill, emptyFound);
+	}
+
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, CSVByteTokenizer tok, int realncol, long ncol) 
+		throws IOException
+	{
+		//construct line string only on error
+		if( realncol != ncol )
+			checkAndRaiseErrorCSVNumColumns(fname, tok.getLine(), realncol, ncol);
+	}
+	
+	private static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
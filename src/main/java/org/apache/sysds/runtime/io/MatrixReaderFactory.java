@@ -62,6 +62,11 @@ public class MatrixReaderFactory {
 					new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
 				break;
 			
+			case PARQUET:
+				reader = (par & mcsr) ?
+					new ReaderParquetParallel() : new ReaderParquet();
+				break;
+			
 			default:
 				throw new DMLRuntimeException("Failed to create matrix reader for unknown format: " + fmt.toString());
 		}
@@ -106,6 +111,11 @@ public class MatrixReaderFactory {
 				reader = (par & mcsr) ?
 					new ReaderBinaryBlockParallel(props.localFS) : new ReaderBinaryBlock(props.localFS);
 				break;
+			
+			case PARQUET:
+				reader = (par & mcsr) ?
+					new ReaderParquetParallel() : new ReaderParquet();
+				break;
 		
 			default:
 				throw new DMLRuntimeException("Failed to create matrix reader for unknown format: " + fmt.toString());
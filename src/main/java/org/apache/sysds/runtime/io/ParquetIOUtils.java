@@ -0,0 +1,503 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.parquet.schema.Types;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Shared functionality of the parquet matrix and frame readers and writers.
+ * Reads operate on flat parquet schemas (no nested or repeated fields) and
+ * directly consume the column readers of individual row groups, which allows
+ * column projection and parallel reads of row groups into disjoint row ranges
+ * of the pre-allocated output (row offsets are known from the file footers).
+ */
+public class ParquetIOUtils
+{
+	//default row group and page size of parquet writers
+	public static final int ROW_GROUP_SIZE = ParquetWriter.DEFAULT_BLOCK_SIZE;
+	public static final int PAGE_SIZE = ParquetWriter.DEFAULT_PAGE_SIZE;
+	public static final CompressionCodecName CODEC = CompressionCodecName.SNAPPY;
+
+	private static final String CREATED_BY = "SystemDS";
+
+	/**
+	 * Row group of a parquet file with its global row offset.
+	 */
+	public static class RowGroup {
+		public final Path path;
+		public final ParquetMetadata footer;
+		public final BlockMetaData block;
+		public final long offset;
+
+		public RowGroup(Path path, ParquetMetadata footer, BlockMetaData block, long offset) {
+			this.path = path;
+			this.footer = footer;
+			this.block = block;
+			this.offset = offset;
+		}
+
+		public long getNumRows() {
+			return block.getRowCount();
+		}
+	}
+
+	/**
+	 * Obtains all row groups of a parquet file or directory of parquet
+	 * part files in order, including their global row offsets.
+	 *
+	 * @param path file or directory path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @return list of row groups
+	 * @throws IOException if footers cannot be read
+	 */
+	public static List<RowGroup> getRowGroups(Path path, Configuration job, FileSystem fs)
+		throws IOException
+	{
+		//prepare file paths in alphanumeric order
+		List<Path> files = new ArrayList<>();
+		if( fs.isDirectory(path) ) {
+			for( FileStatus stat : fs.listStatus(path, IOUtilFunctions.hiddenFileFilter) )
+				if( !stat.getPath().getName().endsWith(".mtd") )
+					files.add(stat.getPath());
+			files.sort(Comparator.comparing(Path::toString));
+		}
+		else
+			files.add(path);
+
+		//read footers and collect row groups
+		List<RowGroup> ret = new ArrayList<>();
+		long offset = 0;
+		for( Path file : files ) {
+			ParquetMetadata footer = ParquetFileReader.readFooter(job, file, ParquetMetadataConverter.NO_FILTER);
+			for( BlockMetaData block : footer.getBlocks() ) {
+				ret.add(new RowGroup(file, footer, block, offset));
+				offset += block.getRowCount();
+			}
+		}
+		if( files.isEmpty() )
+			throw new IOException("No parquet files found in "+path.toString()+".");
+		return ret;
+	}
+
+	public static MessageType getSchema(Path path, Configuration job, FileSystem fs, List<RowGroup> groups)
+		throws IOException
+	{
+		//use footer of first row group, or of the first file for empty inputs
+		return !groups.isEmpty() ? groups.get(0).footer.getFileMetaData().getSchema() :
+			ParquetFileReader.readFooter(job, path, ParquetMetadataConverter.NO_FILTER).getFileMetaData().getSchema();
+	}
+
+	public static long getNumRows(List<RowGroup> groups) {
+		return groups.isEmpty() ? 0 :
+			groups.get(groups.size()-1).offset + groups.get(groups.size()-1).getNumRows();
+	}
+
+	/**
+	 * Obtains the column projection, i.e., the positions of the requested
+	 * column names in the parquet schema, or the first ncol columns if not
+	 * all names are present in the parquet schema.
+	 *
+	 * @param schema parquet schema
+	 * @param names requested column names (optional)
+	 * @param ncol number of columns, or -1 for all columns
+	 * @return positions of the projected columns
+	 * @throws IOException if the parquet schema has fewer columns
+	 */
+	public static int[] getProjection(MessageType schema, String[] names, long ncol)
+		throws IOException
+	{
+		int n = (ncol < 0) ? schema.getFieldCount() : (int) ncol;
+		if( n > schema.getFieldCount() )
+			throw new IOException("Invalid number of columns ("+n+") for parquet input with "
+				+schema.getFieldCount()+" columns.");
+
+		//projection by column names if all names exist
+		HashMap<String, Integer> pos = new HashMap<>();
+		for( int i=0; i<schema.getFieldCount(); i++ )
+			pos.put(schema.getFieldName(i), i);
+		int[] ret = new int[n];
+		boolean byName = names != null && names.length == n;
+		for( int i=0; i<n & byName; i++ ) {
+			Integer p = pos.get(names[i]);
+			byName = (p != null);
+			ret[i] = byName ? p : -1;
+		}
+
+		//projection by position otherwise
+		if( !byName )
+			for( int i=0; i<n; i++ )
+				ret[i] = i;
+
+		//check for flat schema of projected columns
+		for( int i=0; i<n; i++ ) {
+			Type type = schema.getType(ret[i]);
+			if( !type.isPrimitive() || type.isRepetition(Repetition.REPEATED) )
+				throw new IOException("Unsupported nested or repeated parquet column: "+type.getName());
+		}
+		return ret;
+	}
+
+	public static ValueType[] getValueTypes(MessageType schema, int[] cols) {
+		ValueType[] ret = new ValueType[cols.length];
+		for( int i=0; i<cols.length; i++ )
+			ret[i] = getValueType(schema.getType(cols[i]));
+		return ret;
+	}
+
+	public static String[] getColumnNames(MessageType schema, int[] cols) {
+		String[] ret = new String[cols.length];
+		for( int i=0; i<cols.length; i++ )
+			ret[i] = schema.getFieldName(cols[i]);
+		return ret;
+	}
+
+	public static ValueType getValueType(Type type) {
+		switch( type.asPrimitiveType().getPrimitiveTypeName() ) {
+			case BOOLEAN: return ValueType.BOOLEAN;
+			case INT32:   return ValueType.INT32;
+			case INT64:   return ValueType.INT64;
+			case FLOAT:   return ValueType.FP32;
+			case DOUBLE:  return ValueType.FP64;
+			default:      return ValueType.STRING;
+		}
+	}
+
+	/**
+	 * Creates a flat parquet schema of optional columns for the given value
+	 * types and column names.
+	 *
+	 * @param schema value types
+	 * @param names column names
+	 * @return parquet schema
+	 */
+	public static MessageType createSchema(ValueType[] schema, String[] names) {
+		Types.MessageTypeBuilder builder = Types.buildMessage();
+		for( int j=0; j<schema.length; j++ ) {
+			switch( schema[j] ) {
+				case BOOLEAN: builder.optional(PrimitiveTypeName.BOOLEAN).named(names[j]); break;
+				case INT32:   builder.optional(PrimitiveTypeName.INT32).named(names[j]); break;
+				case INT64:   builder.optional(PrimitiveTypeName.INT64).named(names[j]); break;
+				case FP32:    builder.optional(PrimitiveTypeName.FLOAT).named(names[j]); break;
+				case FP64:    builder.optional(PrimitiveTypeName.DOUBLE).named(names[j]); break;
+				default:      builder.optional(PrimitiveTypeName.BINARY).as(OriginalType.UTF8).named(names[j]);
+			}
+		}
+		return builder.named("frame");
+	}
+
+	/**
+	 * Creates a flat parquet schema of required double columns.
+	 *
+	 * @param ncol number of columns
+	 * @return parquet schema
+	 */
+	public static MessageType createSchema(int ncol) {
+		Types.MessageTypeBuilder builder = Types.buildMessage();
+		for( String name : FrameBlock.createColNames(ncol) )
+			builder.required(PrimitiveTypeName.DOUBLE).named(name);
+		return builder.named("matrix");
+	}
+
+	/**
+	 * Reads the given row groups (of potentially multiple files) column by
+	 * column and passes the column readers of the projected columns to the
+	 * given consumer. Consecutive row groups of the same file are read with
+	 * a single file reader, which only fetches the column chunks of the
+	 * projected columns.
+	 *
+	 * @param job job configuration
+	 * @param groups row groups in order
+	 * @param names column names of the projected columns
+	 * @param consumer consumer of column readers
+	 * @throws IOException if the row groups cannot be read
+	 */
+	public static void readRowGroups(Configuration job, List<RowGroup> groups, String[] names, ColumnConsumer consumer)
+		throws IOException
+	{
+		for( int i=0; i<groups.size(); ) {
+			//collect consecutive row groups of the same file
+			Path path = groups.get(i).path;
+			MessageType schema = groups.get(i).footer.getFileMetaData().getSchema();
+			List<BlockMetaData> blocks = new ArrayList<>();
+			int beg = i;
+			for( ; i<groups.size() && groups.get(i).path.equals(path); i++ )
+				blocks.add(groups.get(i).block);
+			List<ColumnDescriptor> columns = new ArrayList<>();
+			for( String name : names )
+				columns.add(schema.getColumnDescription(new String[]{name}));
+
+			//read row groups and projected columns
+			ParquetFileReader reader = new ParquetFileReader(job,
+				groups.get(beg).footer.getFileMetaData(), path, blocks, columns);
+			try {
+				for( int g=beg; g<i; g++ ) {
+					PageReadStore pages = reader.readNextRowGroup();
+					ColumnReadStore store = new ColumnReadStoreImpl(pages,
+						new NoopGroupConverter(schema.getFieldCount()), schema, CREATED_BY);
+					RowGroup group = groups.get(g);
+					for( int j=0; j<columns.size(); j++ ) {
+						ColumnDescriptor desc = columns.get(j);
+						consumer.accept(j, store.getColumnReader(desc), desc.getMaxDefinitionLevel(),
+							(int)group.offset, (int)group.getNumRows());
+					}
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+
+	/**
+	 * Consumer of the column reader of a projected column within a row group.
+	 */
+	public interface ColumnConsumer {
+		/**
+		 * @param col position of the projected column
+		 * @param reader column reader, positioned at the first row of the row group
+		 * @param maxDef max definition level of the column (for null handling)
+		 * @param rl global row offset of the row group
+		 * @param nrow number of rows of the row group
+		 * @throws IOException if the values cannot be consumed
+		 */
+		public void accept(int col, ColumnReader reader, int maxDef, int rl, int nrow) throws IOException;
+	}
+
+	/**
+	 * Reads the next value of the given column reader as double, where
+	 * null values are mapped to NaN.
+	 *
+	 * @param reader column reader
+	 * @param maxDef max definition level of the column
+	 * @return double value
+	 */
+	public static double readDouble(ColumnReader reader, int maxDef) {
+		double ret = Double.NaN;
+		if( reader.getCurrentDefinitionLevel() >= maxDef ) {
+			switch( reader.getDescriptor().getType() ) {
+				case DOUBLE:  ret = reader.getDouble(); break;
+				case FLOAT:   ret = reader.getFloat(); break;
+				case INT32:   ret = reader.getInteger(); break;
+				case INT64:   ret = reader.getLong(); break;
+				case BOOLEAN: ret = reader.getBoolean() ? 1 : 0; break;
+				case BINARY:  ret = Double.parseDouble(reader.getBinary().toStringUsingUTF8()); break;
+				default: throw new RuntimeException("Unsupported parquet type: "+reader.getDescriptor().getType());
+			}
+		}
+		reader.consume();
+		return ret;
+	}
+
+	/**
+	 * Reads the next value of the given column reader as boxed object
+	 * of its native type, where null values are returned as null.
+	 *
+	 * @param reader column reader
+	 * @param maxDef max definition level of the column
+	 * @return object or null
+	 */
+	public static Object readObject(ColumnReader reader, int maxDef) {
+		Object ret = null;
+		if( reader.getCurrentDefinitionLevel() >= maxDef ) {
+			switch( reader.getDescriptor().getType() ) {
+				case DOUBLE:  ret = reader.getDouble(); break;
+				case FLOAT:   ret = reader.getFloat(); break;
+				case INT32:   ret = reader.getInteger(); break;
+				case INT64:   ret = reader.getLong(); break;
+				case BOOLEAN: ret = reader.getBoolean(); break;
+				case BINARY:
+				case FIXED_LEN_BYTE_ARRAY: ret = reader.getBinary().toStringUsingUTF8(); break;
+				default: throw new RuntimeException("Unsupported parquet type: "+reader.getDescriptor().getType());
+			}
+		}
+		reader.consume();
+		return ret;
+	}
+
+	/**
+	 * Write support for rows [rl, ru) of a frame block, where the records
+	 * are the row indexes of the source frame.
+	 */
+	public static class FrameWriteSupport extends WriteSupport<Integer> {
+		private final FrameBlock _src;
+		private final MessageType _schema;
+		private RecordConsumer _consumer;
+
+		public FrameWriteSupport(FrameBlock src, MessageType schema) {
+			_src = src;
+			_schema = schema;
+		}
+
+		@Override
+		public WriteContext init(Configuration configuration) {
+			return new WriteContext(_schema, new HashMap<String, String>());
+		}
+
+		@Override
+		public void prepareForWrite(RecordConsumer recordConsumer) {
+			_consumer = recordConsumer;
+		}
+
+		@Override
+		public void write(Integer row) {
+			ValueType[] schema = _src.getSchema();
+			_consumer.startMessage();
+			for( int j=0; j<schema.length; j++ ) {
+				Object val = _src.get(row, j);
+				if( val == null )
+					continue;
+				String name = _schema.getFieldName(j);
+				_consumer.startField(name, j);
+				switch( schema[j] ) {
+					case BOOLEAN: _consumer.addBoolean((Boolean)val); break;
+					case INT32:   _consumer.addInteger((Integer)val); break;
+					case INT64:   _consumer.addLong((Long)val); break;
+					case FP32:    _consumer.addFloat((Float)val); break;
+					case FP64:    _consumer.addDouble((Double)val); break;
+					default:      _consumer.addBinary(Binary.fromString(val.toString()));
+				}
+				_consumer.endField(name, j);
+			}
+			_consumer.endMessage();
+		}
+	}
+
+	/**
+	 * Write support for rows of a matrix block, where the records are
+	 * the row indexes of the source matrix.
+	 */
+	public static class MatrixWriteSupport extends WriteSupport<Integer> {
+		private final MatrixBlock _src;
+		private final MessageType _schema;
+		private RecordConsumer _consumer;
+
+		public MatrixWriteSupport(MatrixBlock src, MessageType schema) {
+			_src = src;
+			_schema = schema;
+		}
+
+		@Override
+		public WriteContext init(Configuration configuration) {
+			return new WriteContext(_schema, new HashMap<String, String>());
+		}
+
+		@Override
+		public void prepareForWrite(RecordConsumer recordConsumer) {
+			_consumer = recordConsumer;
+		}
+
+		@Override
+		public void write(Integer row) {
+			int ncol = _src.getNumColumns();
+			_consumer.startMessage();
+			if( _src.isEmptyBlock(false) ) {
+				for( int j=0; j<ncol; j++ )
+					writeValue(j, 0);
+			}
+			else if( _src.isInSparseFormat() ) {
+				SparseBlock sblock = _src.getSparseBlock();
+				int apos = sblock.isEmpty(row) ? 0 : sblock.pos(row);
+				int alen = sblock.isEmpty(row) ? 0 : sblock.size(row);
+				int[] aix = sblock.isEmpty(row) ? null : sblock.indexes(row);
+				double[] avals = sblock.isEmpty(row) ? null : sblock.values(row);
+				for( int j=0, k=apos; j<ncol; j++ )
+					writeValue(j, (k<apos+alen && aix[k]==j) ? avals[k++] : 0);
+			}
+			else {
+				DenseBlock dblock = _src.getDenseBlock();
+				double[] avals = dblock.values(row);
+				int apos = dblock.pos(row);
+				for( int j=0; j<ncol; j++ )
+					writeValue(j, avals[apos+j]);
+			}
+			_consumer.endMessage();
+		}
+
+		private void writeValue(int j, double val) {
+			String name = _schema.getFieldName(j);
+			_consumer.startField(name, j);
+			_consumer.addDouble(val);
+			_consumer.endField(name, j);
+		}
+	}
+
+	/**
+	 * Group converter without materialization, which is only required
+	 * for creating column readers of flat schemas.
+	 */
+	private static class NoopGroupConverter extends GroupConverter {
+		private final PrimitiveConverter[] _converters;
+
+		public NoopGroupConverter(int ncol) {
+			_converters = new PrimitiveConverter[ncol];
+			for( int i=0; i<ncol; i++ )
+				_converters[i] = new PrimitiveConverter() {};
+		}
+
+		@Override
+		public Converter getConverter(int fieldIndex) {
+			return _converters[fieldIndex];
+		}
+
+		@Override
+		public void start() {}
+
+		@Override
+		public void end() {}
+	}
+}
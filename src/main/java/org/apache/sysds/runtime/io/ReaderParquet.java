@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.io.ParquetIOUtils.RowGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Single-threaded parquet matrix reader. All (or the first clen) columns of
+ * the parquet input are read as double columns, where null values are read
+ * as NaN. Unknown dimensions are obtained from the parquet footers, which
+ * renders an additional pass over the data unnecessary.
+ */
+public class ReaderParquet extends MatrixReader
+{
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//obtain row groups, dimensions, and column projection from footers
+		List<RowGroup> groups = ParquetIOUtils.getRowGroups(path, job, fs);
+		MessageType schema = ParquetIOUtils.getSchema(path, job, fs, groups);
+		int[] cols = ParquetIOUtils.getProjection(schema, null, clen);
+		String[] names = ParquetIOUtils.getColumnNames(schema, cols);
+		long nrow = ParquetIOUtils.getNumRows(groups);
+		if( rlen >= 0 && rlen != nrow )
+			throw new IOException("Number of rows mismatch with metadata: "+nrow+" vs "+rlen+".");
+
+		//allocate output matrix block (incl rows for parallel reads)
+		long lestnnz = (estnnz < 0) ? nrow * cols.length : estnnz;
+		MatrixBlock ret = createOutputMatrixBlock(nrow, cols.length, blen, lestnnz, true, true);
+		if( ret.isInSparseFormat() )
+			for( int i=0; i<nrow; i++ )
+				ret.getSparseBlock().allocate(i);
+
+		//core read (sequential/parallel)
+		readParquetMatrixFromHDFS(job, groups, names, ret);
+
+		//finally check if change of sparse/dense block representation required
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		throw new DMLRuntimeException("Parquet read from input streams not supported.");
+	}
+
+	protected void readParquetMatrixFromHDFS(JobConf job, List<RowGroup> groups, String[] names, MatrixBlock dest)
+		throws IOException
+	{
+		readParquetRowGroups(job, groups, names, dest);
+	}
+
+	protected static void readParquetRowGroups(JobConf job, List<RowGroup> groups, String[] names, MatrixBlock dest)
+		throws IOException
+	{
+		if( dest.isInSparseFormat() ) {
+			//note: columns are consumed in order, which yields sorted sparse rows
+			SparseBlock sblock = dest.getSparseBlock();
+			ParquetIOUtils.readRowGroups(job, groups, names, (col, reader, maxDef, rl, nrow) -> {
+				for( int i=rl; i<rl+nrow; i++ ) {
+					double val = ParquetIOUtils.readDouble(reader, maxDef);
+					if( val != 0 )
+						sblock.append(i, col, val);
+				}
+			});
+		}
+		else {
+			DenseBlock dblock = dest.getDenseBlock();
+			ParquetIOUtils.readRowGroups(job, groups, names, (col, reader, maxDef, rl, nrow) -> {
+				for( int i=rl; i<rl+nrow; i++ )
+					dblock.set(i, col, ParquetIOUtils.readDouble(reader, maxDef));
+			});
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.io.ParquetIOUtils.RowGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Multi-threaded parquet matrix reader, which reads individual row groups
+ * in parallel into disjoint row ranges of the pre-allocated output.
+ */
+public class ReaderParquetParallel extends ReaderParquet
+{
+	private final int _numThreads;
+
+	public ReaderParquetParallel() {
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+
+	@Override
+	protected void readParquetMatrixFromHDFS(JobConf job, List<RowGroup> groups, String[] names, MatrixBlock dest)
+		throws IOException
+	{
+		//sequential read of single row groups
+		if( _numThreads <= 1 || groups.size() <= 1 ) {
+			super.readParquetMatrixFromHDFS(job, groups, names, dest);
+			return;
+		}
+
+		try {
+			//create and execute read tasks for all row groups
+			List<ReadRowGroupTask> tasks = new ArrayList<>();
+			for( RowGroup group : groups )
+				tasks.add(new ReadRowGroupTask(job, group, names, dest));
+			CommonThreadPool.invokeAndShutdown(CommonThreadPool.get(_numThreads), tasks);
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of parquet input.", ex);
+		}
+	}
+
+	private static class ReadRowGroupTask implements Callable<Object>
+	{
+		private final JobConf _job;
+		private final RowGroup _group;
+		private final String[] _names;
+		private final MatrixBlock _dest;
+
+		public ReadRowGroupTask(JobConf job, RowGroup group, String[] names, MatrixBlock dest) {
+			_job = job;
+			_group = group;
+			_names = names;
+			_dest = dest;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			readParquetRowGroups(_job, Collections.singletonList(_group), _names, _dest);
+			return null;
+		}
+	}
+}
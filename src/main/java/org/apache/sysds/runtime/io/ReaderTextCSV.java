@@ -33,12 +33,13 @@ import org.apache.commons.lang.mutable.MutableInt;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.LineReader;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
-import org.apache.sysds.runtime.util.UtilFunctions;
 
 public class ReaderTextCSV extends MatrixReader
 {
@@ -133,81 +134,24 @@ public class ReaderTextCSV extends MatrixReader
 			long rlen, long clen, int blen, boolean hasHeader, String delim, boolean fill, double fillValue, boolean first, HashSet<String> naStrings )
 		throws IOException
 	{
-		boolean sparse = dest.isInSparseFormat();
-		String value = null;
 		int row = rowPos.intValue();
-		double cellValue = 0;
 		long lnnz = 0;
 		
-		BufferedReader br = new BufferedReader(new InputStreamReader(is));
-		if(first && hasHeader ) 
-			br.readLine(); //ignore header
+		//byte-level line reader and tokenizer (no string per line or field)
+		LineReader br = new LineReader(is);
+		CSVByteTokenizer tok = new CSVByteTokenizer(delim, naStrings);
+		Text value = new Text();
 		
-		// Read the data
-		boolean emptyValuesFound = false;
 		try
 		{
-			if( sparse ) //SPARSE<-value
-			{
-				while( (value=br.readLine())!=null ) //foreach line
-				{
-					String cellStr = value.toString().trim();
-					emptyValuesFound = false;
-					String[] parts = IOUtilFunctions.split(cellStr, delim);
-					int col = 0;
-					
-					for(String part : parts) //foreach cell
-					{
-						part = part.trim();
-						if ( part.isEmpty() ) {
-							emptyValuesFound = true;
-							cellValue = fillValue;
-						}
-						else {
-							cellValue = UtilFunctions.parseToDouble(part, naStrings);
-						}
-						if ( cellValue != 0 ) {
-							dest.appendValue(row, col, cellValue);
-							lnnz++;
-						}
-						col++;
-					}
-					
-					//sanity checks for empty values and number of columns
-					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
-					row++;
-				}
-			} 
-			else //DENSE<-value
-			{
-				DenseBlock a = dest.getDenseBlock();
-				while( (value=br.readLine())!=null ) { //foreach line
-					String cellStr = value.toString().trim();
-					emptyValuesFound = false;
-					String[] parts = IOUtilFunctions.split(cellStr, delim);
-					int col = 0;
-					for( String part : parts ) { //foreach cell
-						part = part.trim();
-						if ( part.isEmpty() ) {
-							emptyValuesFound = true;
-							cellValue = fillValue;
-						}
-						else {
-							cellValue = UtilFunctions.parseToDouble(part, naStrings);
-						}
-						if ( cellValue != 0 ) {
-							a.set(row, col, cellValue);
-							lnnz++;
-						}
-						col++;
-					}
-					
-					//sanity checks for empty values and number of columns
-					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
-					row++;
-				}
+			if(first && hasHeader ) 
+				br.readLine(value); //ignore header
+			
+			// Read the data
+			while( br.readLine(value) > 0 ) { //foreach line
+				tok.tokenize(value);
+				lnnz += parseCSVRow(tok, srcInfo, dest, row, clen, fill, fillValue);
+				row++;
 			}
 		}
 		finally {
@@ -217,6 +161,64 @@ public class ReaderTextCSV extends MatrixReader
 		rowPos.setValue(row);
 		return lnnz;
 	}
+	
+	/**
+	 * Parses the values of a tokenized csv line into the given row of the
+	 * output matrix block, directly from the bytes of the line. For dense 
+	 * outputs, all values are written in place, while for sparse outputs 
+	 * only non-zeros are appended (lock-free for disjoint rows).
+	 * 
+	 * @param tok tokenizer of the current line
+	 * @param srcInfo source information for error messages
+	 * @param dest output matrix block
+	 * @param row row index in the output matrix block
+	 * @param clen expected number of columns
+	 * @param fill flag for filling empty fields
+	 * @param fillValue fill value for empty fields
+	 * @return number of non-zeros in the row
+	 * @throws IOException if the line has empty fields without fill or an invalid number of columns
+	 */
+	protected static long parseCSVRow(CSVByteTokenizer tok, String srcInfo, MatrixBlock dest, 
+		int row, long clen, boolean fill, double fillValue) throws IOException
+	{
+		//sanity check for number of columns (empty lines have no fields)
+		int ncol = tok.isEmptyLine() ? 0 : tok.getNumTokens();
+		IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, tok, ncol, clen);
+		
+		boolean emptyValuesFound = false;
+		long lnnz = 0;
+		if( dest.isInSparseFormat() ) { //SPARSE<-value
+			for( int col=0; col<ncol; col++ ) { //foreach cell
+				double cellValue = fillValue;
+				if( tok.isEmpty(col) )
+					emptyValuesFound = true;
+				else
+					cellValue = tok.getDouble(col);
+				if( cellValue != 0 ) {
+					dest.appendValue(row, col, cellValue);
+					lnnz++;
+				}
+			}
+		}
+		else { //DENSE<-value
+			DenseBlock a = dest.getDenseBlock();
+			double[] avals = a.values(row);
+			int apos = a.pos(row);
+			for( int col=0; col<ncol; col++ ) { //foreach cell
+				double cellValue = fillValue;
+				if( tok.isEmpty(col) )
+					emptyValuesFound = true;
+				else
+					cellValue = tok.getDouble(col);
+				avals[apos+col] = cellValue;
+				lnnz += (cellValue != 0) ? 1 : 0;
+			}
+		}
+		
+		//sanity check for empty values
+		IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(tok, fill, emptyValuesFound);
+		return lnnz;
+	}
 
 	private static MatrixBlock computeCSVSize( List<Path> files, JobConf job, FileSystem fs, boolean hasHeader, String delim, boolean fill, double fillValue) 
 		throws IOException, DMLRuntimeException 
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
@@ -43,15 +44,21 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
-import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
- * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
- * order to compute row offsets and the actual read. We accordingly create count
- * and read tasks and use fixed-size thread pools to execute these tasks. If the
+ * Parallel version of ReaderTextCSV.java. To summarize, if the dimensions are
+ * known, we do two passes in order to compute row offsets and the actual read.
+ * Otherwise, we read all splits in a single pass into per-split row buffers,
+ * and subsequently copy these buffers into the allocated output (which avoids
+ * reading the input twice). The buffers are bounded by a fraction of the local
+ * memory budget; splits that exceed this budget are only counted in the first
+ * pass and read directly into the output in a second pass, which bounds the
+ * peak memory for large inputs. We accordingly create count, read, and buffer
+ * tasks and use fixed-size thread pools to execute these tasks. If the
  * target matrix is dense, the inserts are done lock-free. In contrast to
  * textcell parallel read, we also do lock-free inserts. If the matrix is
  * sparse, because splits contain row partitioned lines and hence there is no
@@ -61,6 +68,9 @@ import org.apache.sysds.runtime.util.UtilFunctions;
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
+	//fraction of the local memory budget for row buffers of single-pass reads
+	public static double BUFFER_MEM_FRACTION = 0.1;
+	
 	private FileFormatPropertiesCSV _props = null;
 	private int _numThreads = 1;
 
@@ -91,17 +101,29 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, job,
-			_props.hasHeader(), _props.getDelim(), rlen, clen, estnnz);
-		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, blen,
+		MatrixBlock ret = null;
+		if( rlen < 0 || clen < 0 ) {
+			// Single Read Pass for unknown dimensions (read, parse and buffer
+			// rows per split, allocate and stitch into matrix block)
+			ret = readCSVMatrixFromHDFSUnknownDims(splits, path, job, rlen, clen, estnnz,
 				_props.hasHeader(), _props.getDelim(), _props.isFill(),
 				_props.getFillValue(), _props.getNAStrings());
+			rlen = ret.getNumRows();
+			clen = ret.getNumColumns();
+		}
+		else {
+			// allocate output matrix block
+			// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
+			ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, job,
+				_props.hasHeader(), _props.getDelim(), rlen, clen, estnnz);
+			rlen = ret.getNumRows();
+			clen = ret.getNumColumns();
+	
+			// Second Read Pass (read, parse strings, append to matrix block)
+			readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, blen,
+					_props.hasHeader(), _props.getDelim(), _props.isFill(),
+					_props.getFillValue(), _props.getNAStrings());
+		}
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -216,6 +238,92 @@ public class ReaderTextCSVParallel extends MatrixReader
 			throw new IOException("Threadpool Error " + e.getMessage(), e);
 		}
 		
+		return createOutputMatrixBlock(nrow, ncol, rlen, clen, estnnz);
+	}
+	
+	private MatrixBlock readCSVMatrixFromHDFSUnknownDims(InputSplit[] splits, Path path, JobConf job,
+			long rlen, long clen, long estnnz, boolean hasHeader, String delim, boolean fill, 
+			double fillValue, HashSet<String> naStrings) 
+		throws IOException 
+	{
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			// read and buffer all splits in parallel (record readers start
+			// at the first line start after the split boundary), where splits
+			// exceeding the shared buffer budget fall back to counting rows
+			AtomicLong budget = new AtomicLong(
+				(long)(BUFFER_MEM_FRACTION * OptimizerUtils.getLocalMemBudget()));
+			ArrayList<CSVReadBufferTask> tasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new CSVReadBufferTask(splits[i], informat, job,
+					hasHeader && i==0, delim, fill, fillValue, naStrings, budget));
+			for( Future<Object> rt : pool.invokeAll(tasks) )
+				rt.get(); //error handling
+			
+			// compute row offsets and check consistent number of columns
+			int nrow = 0, ncol = -1;
+			long nnz = 0;
+			boolean buffered = true;
+			SplitOffsetInfos offsets = new SplitOffsetInfos(tasks.size());
+			for( int i=0; i<tasks.size(); i++ ) {
+				CSVReadBufferTask rt = tasks.get(i);
+				offsets.setOffsetPerSplit(i, nrow);
+				offsets.setLenghtPerSplit(i, rt.getNumRows());
+				nrow += rt.getNumRows();
+				nnz += rt.getPartialNnz();
+				buffered &= rt.isBuffered();
+				if( rt.getNumRows() > 0 ) {
+					if( ncol >= 0 && ncol != rt.getNumColumns() )
+						throw new IOException("Invalid number of columns ("+rt.getNumColumns()+", expected="
+							+ncol+") found in delimited file ("+splits[i].toString()+").");
+					ncol = rt.getNumColumns();
+				}
+			}
+			
+			// allocate output, and copy buffered rows or read unbuffered
+			// splits in parallel (disjoint rows)
+			MatrixBlock ret = createOutputMatrixBlock(nrow, Math.max(ncol, 0),
+				rlen, clen, buffered ? nnz : estnnz);
+			ArrayList<Callable<Object>> tasks2 = new ArrayList<>();
+			ArrayList<CSVReadTask> tasks3 = new ArrayList<>();
+			for( int i=0; i<tasks.size(); i++ ) {
+				CSVReadBufferTask rt = tasks.get(i);
+				if( rt.isBuffered() ) {
+					int rl = offsets.getOffsetPerSplit(i);
+					tasks2.add(() -> rt.copyRowsTo(ret, rl));
+				}
+				else {
+					CSVReadTask rt2 = new CSVReadTask(splits[i], offsets, informat, job, ret,
+						nrow, ret.getNumColumns(), hasHeader, delim, fill, fillValue, i, naStrings);
+					tasks2.add(rt2);
+					tasks3.add(rt2);
+				}
+			}
+			for( Future<Object> rt : pool.invokeAll(tasks2) )
+				rt.get(); //error handling
+			for( CSVReadTask rt : tasks3 )
+				nnz += rt.getPartialNnz();
+			ret.setNonZeros(nnz);
+			return ret;
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel single-pass read of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static MatrixBlock createOutputMatrixBlock(int nrow, int ncol, long rlen, long clen, long estnnz)
+		throws IOException
+	{
 		//robustness for wrong dimensions which are already compiled into the plan
 		if( (rlen != -1 && nrow != rlen) || (clen != -1 && ncol != clen) ) {
 			String msg = "Read matrix dimensions differ from meta data: ["+nrow+"x"+ncol+"] vs. ["+rlen+"x"+clen+"].";
@@ -326,8 +434,6 @@ public class ReaderTextCSVParallel extends MatrixReader
 			throws Exception 
 		{
 			int row = 0;
-			int col = 0;
-			double cellValue = 0;
 			long lnnz = 0;
 			
 			try 
@@ -341,72 +447,15 @@ public class ReaderTextCSVParallel extends MatrixReader
 					reader.next(key, value);
 				}
 
-				boolean noFillEmpty = false;
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
+				CSVByteTokenizer tok = new CSVByteTokenizer(_delim, _naStrings);
+				String srcInfo = _split.toString();
 
 				try {
-					if (_sparse) // SPARSE<-value
-					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = UtilFunctions.parseToDouble(part,_naStrings);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
-					} 
-					else // DENSE<-value
-					{
-						DenseBlock a = _dest.getDenseBlock();
-						while (reader.next(key, value)) { // foreach line
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-							for (String part : parts) { // foreach cell
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = UtilFunctions.parseToDouble(part,_naStrings);
-								}
-								if( cellValue != 0 ) {
-									a.set(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
-						}
+					while (reader.next(key, value)) { // foreach line
+						tok.tokenize(value);
+						lnnz += ReaderTextCSV.parseCSVRow(tok, srcInfo, _dest, row, _clen, _fill, _fillValue);
+						row++;
 					}
 
 					// sanity checks (number of rows)
@@ -427,8 +476,8 @@ public class ReaderTextCSVParallel extends MatrixReader
 				_exception = ex;
 
 				// post-mortem error handling and bounds checking
-				if (row < 0 || row + 1 > _rlen || col < 0 || col + 1 > _clen) {
-					String errMsg = "CSV cell [" + (row + 1) + "," + (col + 1)+ "] " + 
+				if (row < 0 || row + 1 > _rlen) {
+					String errMsg = "CSV row [" + (row + 1) + "] " + 
 							"out of overall matrix range [1:" + _rlen+ ",1:" + _clen + "]. " + ex.getMessage();
 					throw new IOException(errMsg, _exception);
 				} 
@@ -444,4 +493,185 @@ public class ReaderTextCSVParallel extends MatrixReader
 			return null;
 		}
 	}
+
+	/**
+	 * Read task for single-pass reads with unknown dimensions, which parses
+	 * all lines of a split into a list of row buffers (chunks of rows, in
+	 * dense or sparse representation depending on their sparsity), which are
+	 * later copied into the allocated output at the split's row offset. If
+	 * the buffers exceed the shared budget, they are released and the task
+	 * only counts the remaining rows (with a later re-read of the split).
+	 */
+	private static class CSVReadBufferTask implements Callable<Object> 
+	{
+		//max number of cells of a dense row buffer
+		private static final int BUFFER_CELLS = 1024 * 1024;
+		
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final boolean _hasHeader;
+		private final String _delim;
+		private final boolean _fill;
+		private final double _fillValue;
+		private final HashSet<String> _naStrings;
+		private final AtomicLong _budget;
+		
+		private final ArrayList<MatrixBlock> _buffers = new ArrayList<>();
+		private boolean _buffered = true;
+		private long _size = 0;
+		private int _nrow = 0;
+		private int _ncol = -1;
+		private long _nnz = 0;
+		
+		public CSVReadBufferTask(InputSplit split, TextInputFormat informat, JobConf job, boolean hasHeader,
+			String delim, boolean fill, double fillValue, HashSet<String> naStrings, AtomicLong budget)
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_hasHeader = hasHeader;
+			_delim = delim;
+			_fill = fill;
+			_fillValue = fillValue;
+			_naStrings = naStrings;
+			_budget = budget;
+		}
+		
+		public boolean isBuffered() {
+			return _buffered;
+		}
+		
+		public int getNumRows() {
+			return _nrow;
+		}
+		
+		public int getNumColumns() {
+			return _ncol;
+		}
+		
+		public long getPartialNnz() {
+			return _nnz;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			CSVByteTokenizer tok = new CSVByteTokenizer(_delim, _naStrings);
+			String srcInfo = _split.toString();
+			
+			try {
+				// skip the header line
+				if( _hasHeader )
+					reader.next(key, value);
+				
+				MatrixBlock buff = null;
+				int brow = 0, blen = 0;
+				long bnnz = 0;
+				while( reader.next(key, value) ) { // foreach line
+					if( !_buffered ) { //count only
+						_nrow++;
+						continue;
+					}
+					tok.tokenize(value);
+					if( _ncol < 0 ) { //first line determines number of columns
+						_ncol = tok.isEmptyLine() ? 0 : tok.getNumTokens();
+						blen = Math.max(Math.min(1024, BUFFER_CELLS / Math.max(_ncol, 1)), 1);
+					}
+					if( buff == null ) {
+						buff = new MatrixBlock(blen, _ncol, false);
+						buff.allocateDenseBlock();
+					}
+					bnnz += ReaderTextCSV.parseCSVRow(tok, srcInfo, buff, brow++, _ncol, _fill, _fillValue);
+					if( brow == blen ) {
+						appendBuffer(buff, brow, bnnz);
+						buff = null;
+						brow = 0;
+						bnnz = 0;
+					}
+				}
+				if( buff != null )
+					appendBuffer(buff, brow, bnnz);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+		
+		private void appendBuffer(MatrixBlock buff, int nrow, long nnz) {
+			buff.setNonZeros(nnz);
+			if( nrow < buff.getNumRows() )
+				buff = buff.slice(0, nrow-1);
+			buff.examSparsity();
+			_nrow += nrow;
+			_nnz += nnz;
+			
+			//reserve memory from the shared budget, or release all buffers
+			long size = buff.getInMemorySize();
+			if( _budget.addAndGet(-size) >= 0 ) {
+				_buffers.add(buff);
+				_size += size;
+			}
+			else {
+				_budget.addAndGet(size + _size);
+				_buffers.clear();
+				_buffered = false;
+				_size = 0;
+				_nnz = 0;
+			}
+		}
+		
+		public Object copyRowsTo(MatrixBlock dest, int rl) {
+			for( int i=0; i<_buffers.size(); i++ ) {
+				MatrixBlock buff = _buffers.set(i, null); //release buffer
+				copyRows(buff, dest, rl);
+				rl += buff.getNumRows();
+			}
+			_buffers.clear();
+			return null;
+		}
+		
+		private static void copyRows(MatrixBlock src, MatrixBlock dest, int rl) {
+			if( src.isEmptyBlock(false) )
+				return;
+			int m = src.getNumRows(), n = src.getNumColumns();
+			if( src.isInSparseFormat() ) {
+				SparseBlock a = src.getSparseBlock();
+				DenseBlock c = dest.isInSparseFormat() ? null : dest.getDenseBlock();
+				for( int i=0; i<m; i++ ) {
+					if( a.isEmpty(i) ) continue;
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int k=apos; k<apos+alen; k++ ) {
+						if( c != null )
+							c.set(rl+i, aix[k], avals[k]);
+						else
+							dest.appendValue(rl+i, aix[k], avals[k]);
+					}
+				}
+			}
+			else {
+				DenseBlock a = src.getDenseBlock();
+				if( dest.isInSparseFormat() ) {
+					for( int i=0; i<m; i++ ) {
+						double[] avals = a.values(i);
+						int apos = a.pos(i);
+						for( int j=0; j<n; j++ )
+							if( avals[apos+j] != 0 )
+								dest.appendValue(rl+i, j, avals[apos+j]);
+					}
+				}
+				else {
+					DenseBlock c = dest.getDenseBlock();
+					for( int i=0; i<m; i++ )
+						System.arraycopy(a.values(i), a.pos(i), c.values(rl+i), c.pos(rl+i), n);
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Single-threaded parquet matrix writer, which writes a single snappy-compressed
+ * parquet file with a flat schema of required double columns C1, ..., Cn.
+ */
+public class WriterParquet extends MatrixWriter
+{
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int blen, long nnz, boolean diag)
+		throws IOException, DMLRuntimeException
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"
+				+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		if( diag )
+			throw new IOException("Parquet writer does not support diagonal matrices.");
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		//core write
+		writeParquetMatrixToFile(path, job, src, 0, (int)rlen);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int blen)
+		throws IOException, DMLRuntimeException
+	{
+		writeMatrixToHDFS(new MatrixBlock((int)rlen, (int)clen, true), fname, rlen, clen, blen, 0);
+	}
+
+	protected static void writeParquetMatrixToFile(Path path, JobConf job, MatrixBlock src, int rl, int ru)
+		throws IOException
+	{
+		MessageType schema = ParquetIOUtils.createSchema(src.getNumColumns());
+		ParquetWriter<Integer> writer = new ParquetWriter<>(path,
+			new ParquetIOUtils.MatrixWriteSupport(src, schema), ParquetIOUtils.CODEC,
+			ParquetIOUtils.ROW_GROUP_SIZE, ParquetIOUtils.PAGE_SIZE, ParquetIOUtils.PAGE_SIZE,
+			true, false, WriterVersion.PARQUET_1_0, job);
+		try {
+			for( int i=rl; i<ru; i++ )
+				writer.write(i);
+		}
+		catch(IOException | RuntimeException ex) {
+			IOUtilFunctions.closeSilently(writer);
+			throw ex;
+		}
+		//close on success path, which writes the footer (errors propagate)
+		writer.close();
+	}
+}
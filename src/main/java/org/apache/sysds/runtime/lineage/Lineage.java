@@ -32,8 +32,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
-import static org.apache.sysds.utils.Explain.explain;
-
 public class Lineage {
 	//thread-/function-local lineage DAG
 	private final LineageMap _map;
@@ -45,7 +43,11 @@ public class Lineage {
 	private LineageDedupBlock _initDedupBlock = null;   //used during dedup init
 	
 	public Lineage() {
-		_map = new LineageMap();
+		this(false);
+	}
+	
+	public Lineage(boolean concurrent) {
+		_map = new LineageMap(concurrent);
 	}
 	
 	public Lineage(Lineage that) {
@@ -101,6 +103,10 @@ public class Lineage {
 		_map.set(varName, li);
 	}
 	
+	public void remove(String varName) {
+		_map.remove(varName);
+	}
+	
 	public void setLiteral(String varName, LineageItem li) {
 		_map.setLiteral(varName, li);
 	}
@@ -150,19 +156,14 @@ public class Lineage {
 		_map.resetLineageMaps();
 	}
 	
-	public Map<String,String> serialize() {
-		Map<String,String> ret = new HashMap<>();
-		for (Map.Entry<String,LineageItem> e : _map.getTraces().entrySet()) {
-			ret.put(e.getKey(), explain(e.getValue()));
-		}
-		return ret;
+	public byte[] serialize() {
+		return LineageSerializer.serialize(_map.getTraces());
 	}
 	
-	public static Lineage deserialize(Map<String,String> serialLineage) {
+	public static Lineage deserialize(byte[] serialLineage) {
 		Lineage ret = new Lineage();
-		for (Map.Entry<String,String> e : serialLineage.entrySet()) {
-			ret.set(e.getKey(), LineageParser.parseLineageTrace(e.getValue()));
-		}
+		for (Map.Entry<String,LineageItem> e : LineageSerializer.deserialize(serialLineage).entrySet())
+			ret.set(e.getKey(), e.getValue());
 		return ret;
 	}
 	
@@ -36,6 +36,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysds.runtime.instructions.CPInstructionParser;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.MMTSJCPInstruction;
@@ -86,6 +87,8 @@ public class LineageCache
 		if (LineageCacheConfig.isReusable(inst, ec)) {
 			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
 			LineageItem instLI = cinst.getLineageItem(ec).getValue();
+			if (LineageItem.isInterningEnabled())
+				instLI = LineageItem.intern(instLI);
 			List<MutablePair<LineageItem, LineageCacheEntry>> liList = null;
 			if (inst instanceof MultiReturnBuiltinCPInstruction) {
 				liList = new ArrayList<>();
@@ -98,15 +101,24 @@ public class LineageCache
 			else
 				liList = Arrays.asList(MutablePair.of(instLI, null));
 			
+			//read intermediates of previous script executions outside the
+			//critical section, if not available in memory (disk I/O)
+			LineageCacheEntry[] persisted = LineageCacheConfig.getCacheType().isFullReuse()
+				&& LineagePersistentStore.isEnabled() ? readPersistent(liList) : null;
+			
 			//atomic try reuse full/partial and set placeholder, without
 			//obtaining value to avoid blocking in critical section
 			LineageCacheEntry e = null;
 			boolean reuseAll = true;
 			synchronized( _cache ) {
 				//try to reuse full or partial intermediates
-				for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
+				for (int i=0; i<liList.size(); i++) {
+					MutablePair<LineageItem,LineageCacheEntry> item = liList.get(i);
 					if (LineageCacheConfig.getCacheType().isFullReuse())
 						e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
+					//reuse intermediates of previous script executions
+					if (e == null && persisted != null && persisted[i] != null)
+						e = putPersistentIntern(item.getKey(), persisted[i]);
 					//TODO need to also move execution of compensation plan out of here
 					//(create lazily evaluated entry)
 					if (e == null && LineageCacheConfig.getCacheType().isPartialReuse())
@@ -137,13 +149,19 @@ public class LineageCache
 					else
 						outName = cinst.output.getName();
 
-					if (e.isMatrixValue())
-						ec.setMatrixOutput(outName, e.getMBValue());
+					//fall back to computation if the placeholder was removed meanwhile
+					MatrixBlock mb = e.isMatrixValue() ? e.getMBValue() : null;
+					ScalarObject so = e.isMatrixValue() ? null : e.getSOValue();
+					if (mb == null && so == null) {
+						reuse = false;
+						break;
+					}
+					if (mb != null)
+						ec.setMatrixOutput(outName, mb);
 					else
-						ec.setScalarOutput(outName, e.getSOValue());
-					reuse = true;
+						ec.setScalarOutput(outName, so);
 				}
-				if (DMLScript.STATISTICS)
+				if (reuse && DMLScript.STATISTICS)
 					LineageCacheStatistics.incrementInstHits();
 			}
 		}
@@ -179,19 +197,22 @@ public class LineageCache
 			}
 			//TODO: handling of recursive calls
 			
-			if (e != null) {
+			//obtain the value (w/ blocking on placeholders of concurrent threads)
+			MatrixBlock mb = (e != null && e.isMatrixValue()) ? e.getMBValue() : null;
+			ScalarObject so = (e != null && !e.isMatrixValue()) ? e.getSOValue() : null;
+			if (mb != null || so != null) {
 				String boundVarName = outNames.get(i);
 				Data boundValue = null;
 				//convert to matrix object
-				if (e.isMatrixValue()) {
+				if (mb != null) {
 					MetaDataFormat md = new MetaDataFormat(
-						e.getMBValue().getDataCharacteristics(),FileFormat.BINARY);
+						mb.getDataCharacteristics(),FileFormat.BINARY);
 					boundValue = new MatrixObject(ValueType.FP64, boundVarName, md);
-					((MatrixObject)boundValue).acquireModify(e.getMBValue());
+					((MatrixObject)boundValue).acquireModify(mb);
 					((MatrixObject)boundValue).release();
 				}
 				else {
-					boundValue = e.getSOValue();
+					boundValue = so;
 				}
 
 				funcOutputs.put(boundVarName, boundValue);
@@ -199,9 +220,9 @@ public class LineageCache
 				funcLIs.put(boundVarName, orig);
 			}
 			else {
-				// if one output cannot be reused, we need to execute the function
-				// NOTE: all outputs need to be prepared for caching and hence,
-				// we cannot directly return here
+				// if one output cannot be reused (incl removed placeholders), we need to
+				// execute the function. NOTE: all outputs need to be prepared for caching
+				// and hence, we cannot directly return here
 				reuse = false;
 			}
 		}
@@ -234,9 +255,12 @@ public class LineageCache
 	public static MatrixBlock getMatrix(LineageItem key) {
 		LineageCacheEntry e = null;
 		synchronized( _cache ) {
-			e = getIntern(key);
+			if( _cache.containsKey(key) )
+				e = getIntern(key);
 		}
-		return e.getMBValue();
+		//null if removed after the probe (e.g., failed placeholder of
+		//another thread), which callers need to check before use
+		return (e != null) ? e.getMBValue() : null;
 	}
 	
 	//NOTE: safe to pin the object in memory as coming from CPInstruction
@@ -272,15 +296,18 @@ public class LineageCache
 			}
 			else
 				liData = Arrays.asList(Pair.of(instLI, ec.getVariable(((ComputationCPInstruction) inst).output)));
+			List<LineageCacheEntry> persist = new ArrayList<>();
 			synchronized( _cache ) {
 				for (Pair<LineageItem, Data> entry : liData) {
 					LineageItem item = entry.getKey();
 					Data data = entry.getValue();
 					LineageCacheEntry centry = _cache.get(item);
 
+					if (centry == null) //placeholder removed meanwhile
+						continue;
 					if (!(data instanceof MatrixObject) && !(data instanceof ScalarObject)) {
 						// Reusable instructions can return a frame (rightIndex). Remove placeholders.
-						_cache.remove(item);
+						removePlaceholder(item);
 						continue;
 					}
 
@@ -288,11 +315,10 @@ public class LineageCache
 							((MatrixObject)data).acquireReadAndRelease() : null;
 					long size = mb != null ? mb.getInMemorySize() : ((ScalarObject)data).getSize();
 
-					//remove the placeholder if the entry is bigger than the cache.
-					//FIXME: the resumed threads will enter into infinite wait as the entry
-					//is removed. Need to add support for graceful remove (placeholder) and resume.
+					//remove the placeholder if the entry is bigger than the cache
+					//(resumed threads fall back to computing the value)
 					if (size > LineageCacheEviction.getCacheLimit()) {
-						_cache.remove(item);
+						removePlaceholder(item);
 						continue; 
 					}
 
@@ -309,9 +335,15 @@ public class LineageCache
 
 					//maintain order for eviction
 					LineageCacheEviction.addEntry(centry);
-
+					
+					if (LineagePersistentStore.isEnabled())
+						persist.add(new LineageCacheEntry(item, centry._dt, mb,
+							(mb == null) ? (ScalarObject)data : null, computetime));
 				}
 			}
+			//write expensive entries to the persistent store (outside critical section)
+			for (LineageCacheEntry e : persist)
+				LineagePersistentStore.write(e._key, e._MBval, e._SOval, e._computeTime);
 		}
 	}
 	
@@ -343,7 +375,7 @@ public class LineageCache
 			if(AllOutputsCacheable)
 				FuncLIMap.forEach((Li, boundLI) -> mvIntern(Li, boundLI, computetime));
 			else
-				FuncLIMap.forEach((Li, boundLI) -> _cache.remove(Li));
+				FuncLIMap.forEach((Li, boundLI) -> removePlaceholder(Li));
 		}
 		
 		return;
@@ -353,6 +385,8 @@ public class LineageCache
 		synchronized (_cache) {
 			_cache.clear();
 			LineageCacheEviction.resetEviction();
+			LineagePersistentStore.resetStore();
+			LineageItem.resetInterned();
 		}
 	}
 	
@@ -398,6 +432,26 @@ public class LineageCache
 			return LineageCacheEviction.readFromLocalFS(_cache, key);
 	}
 	
+	private static LineageCacheEntry[] readPersistent(List<MutablePair<LineageItem, LineageCacheEntry>> liList) {
+		LineageCacheEntry[] ret = new LineageCacheEntry[liList.size()];
+		for (int i=0; i<liList.size(); i++) {
+			LineageItem key = liList.get(i).getKey();
+			boolean cached = false;
+			synchronized( _cache ) {
+				cached = LineageCache.probe(key);
+			}
+			if (!cached)
+				ret[i] = LineagePersistentStore.read(key);
+		}
+		return ret;
+	}
+	
+	private static LineageCacheEntry putPersistentIntern(LineageItem key, LineageCacheEntry e) {
+		//place the read value in memory for subsequent reuse
+		putIntern(key, e._dt, e._MBval, e._SOval, e._computeTime);
+		return _cache.containsKey(key) ? _cache.get(key) : e;
+	}
+	
 	private static void mvIntern(LineageItem item, LineageItem probeItem, long computetime) {
 		if (ReuseCacheType.isNone())
 			return;
@@ -427,15 +481,28 @@ public class LineageCache
 			LineageCacheEviction.addEntry(e);
 		}
 		else
-			_cache.remove(item);    //remove the placeholder
+			removePlaceholder(item);
+	}
+	
+	private static void removePlaceholder(LineageItem item) {
+		//remove the placeholder and resume threads waiting for its value
+		LineageCacheEntry e = _cache.remove(item);
+		if (e != null && e.isNullVal())
+			e.setRemoved();
 	}
 	
 	private static boolean isMarkedForCaching (Instruction inst, ExecutionContext ec) {
 		if (!LineageCacheConfig.getCompAssRW())
 			return true;
 
-		if (((ComputationCPInstruction)inst).output.isMatrix()) {
-			MatrixObject mo = ec.getMatrixObject(((ComputationCPInstruction)inst).output);
+		CPOperand output = ((ComputationCPInstruction)inst).output;
+		//w/o createvar (e.g., at federated workers), there are no compiler
+		//marks for loop-independent operations, so we cache unconditionally
+		if (ec.isAutoCreateVars() && !ec.containsVariable(output))
+			return true;
+		
+		if (output.isMatrix()) {
+			MatrixObject mo = ec.getMatrixObject(output);
 			//limit this to full reuse as partial reuse is applicable even for loop dependent operation
 			return !(LineageCacheConfig.getCacheType() == ReuseCacheType.REUSE_FULL  
 				&& !mo.isMarked());
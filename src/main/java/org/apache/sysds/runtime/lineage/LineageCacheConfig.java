@@ -62,11 +62,15 @@ public class LineageCacheConfig
 		}
 		public static boolean isNone() {
 			return DMLScript.LINEAGE_REUSE == null
-				|| DMLScript.LINEAGE_REUSE == NONE;
+				|| DMLScript.LINEAGE_REUSE == NONE
+				|| _reuseSuspended.get();
 		}
 	}
 
 	private static ReuseCacheType _cacheType = null;
+	//thread-local suspension of reuse, for code that does not maintain the lineage
+	//of its outputs (not inherited, to not affect lazily created pool threads)
+	private static final ThreadLocal<Boolean> _reuseSuspended = ThreadLocal.withInitial(() -> false);
 	private static CachedItemHead _itemH = null;
 	private static CachedItemTail _itemT = null;
 	private static boolean _compilerAssistedRW = false;
@@ -237,6 +241,15 @@ public class LineageCacheConfig
 		return _cacheType;
 	}
 	
+	/**
+	 * Suspends or resumes reuse (probing and caching) for the calling thread.
+	 * 
+	 * @param flag true to suspend reuse, false to resume
+	 */
+	public static void setReuseSuspended(boolean flag) {
+		_reuseSuspended.set(flag);
+	}
+
 	public static boolean isMultiLevelReuse() {
 		return !ReuseCacheType.isNone()
 			&& _cacheType.isMultilevelReuse();
@@ -19,6 +19,9 @@
 
 package org.apache.sysds.runtime.lineage;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
@@ -36,6 +39,9 @@ public class LineageCacheEntry {
 	protected LineageCacheEntry _nextEntry;
 	protected LineageItem _origItem;
 	private String _outfile = null;
+	private long _spillSize = 0; //in-memory size of spilled value
+	private Future<MatrixBlock> _reload = null; //async reload from disk
+	private boolean _removed = false; //removed placeholder
 	protected double score;
 	
 	public LineageCacheEntry(LineageItem key, DataType dt, MatrixBlock Mval, ScalarObject Sval, long computetime) {
@@ -55,14 +61,19 @@ public class LineageCacheEntry {
 
 	public synchronized MatrixBlock getMBValue() {
 		try {
+			//obtain the value of a pending reload from disk
+			if( _MBval == null && _reload != null ) {
+				_MBval = _reload.get();
+				_reload = null;
+			}
 			//wait until other thread completes operation
 			//in order to avoid redundant computation
-			while( _MBval == null ) {
+			while( _MBval == null && !_removed ) {
 				wait();
 			}
 			return _MBval;
 		}
-		catch( InterruptedException ex ) {
+		catch( InterruptedException | ExecutionException ex ) {
 			throw new DMLRuntimeException(ex);
 		}
 	}
@@ -71,7 +82,7 @@ public class LineageCacheEntry {
 		try {
 			//wait until other thread completes operation
 			//in order to avoid redundant computation
-			while( _SOval == null ) {
+			while( _SOval == null && !_removed ) {
 				wait();
 			}
 			return _SOval;
@@ -90,7 +101,7 @@ public class LineageCacheEntry {
 	}
 	
 	public boolean isNullVal() {
-		return(_MBval == null && _SOval == null);
+		return(_MBval == null && _SOval == null && _reload == null);
 	}
 	
 	public boolean isMatrixValue() {
@@ -117,16 +128,37 @@ public class LineageCacheEntry {
 		notifyAll();
 	}
 	
+	protected synchronized void setRemoved() {
+		//resume all threads waiting for the value of a removed
+		//placeholder, which then compute the value themselves
+		_removed = true;
+		notifyAll();
+	}
+	
 	protected synchronized void setNullValues() {
 		_MBval = null;
 		_SOval = null;
+		_reload = null;
 		_status = LineageCacheStatus.EMPTY;
 	}
 	
+	protected synchronized void setReload(Future<MatrixBlock> reload) {
+		_reload = reload;
+		_status = LineageCacheStatus.RELOADED;
+	}
+	
 	protected synchronized void setOutfile(String outfile) {
 		_outfile = outfile;
 	}
 	
+	protected synchronized void setSpillSize(long size) {
+		_spillSize = size;
+	}
+	
+	protected synchronized long getSpillSize() {
+		return _spillSize;
+	}
+	
 	protected synchronized String getOutfile() {
 		return _outfile;
 	}
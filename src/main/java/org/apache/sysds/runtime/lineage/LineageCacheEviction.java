@@ -19,21 +19,45 @@
 
 package org.apache.sysds.runtime.lineage;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 public class LineageCacheEviction
 {
+	private static final Log LOG = LogFactory.getLog(LineageCacheEviction.class.getName());
 	private static long _cachesize = 0;
 	private static long CACHE_LIMIT; //limit in bytes
 	private static long _startTimestamp = 0;
@@ -41,12 +65,30 @@ public class LineageCacheEviction
 	private static String _outdir = null;
 	private static TreeSet<LineageCacheEntry> weightedQueue = new TreeSet<>(LineageCacheConfig.LineageCacheComparator);
 	
+	//------------- ASYNCHRONOUS SPILLING --------------//
+	private static final int MAX_PENDING_WRITES = 4;
+	private static final String COMPRESSED_SUFFIX = ".z";
+	private static boolean _spillConfigured = false;
+	private static boolean _asyncSpill = false;
+	private static boolean _compress = false;
+	// Adaptive ratio of compressed and uncompressed size on disk
+	private static double _compressRatio = 0.5;
+	private static ExecutorService _writer = null;
+	private static ExecutorService _reader = null;
+	// Spills in flight by file name
+	private static final Map<String, MatrixBlock> _pending = new ConcurrentHashMap<>();
+	// Spilled entries by item ID, for prefetching
+	private static final TreeMap<Long, LineageCacheEntry> _spilled = new TreeMap<>();
+	
 	protected static void resetEviction() {
 		// reset cache size, otherwise the cache clear leads to unusable 
 		// space which means evictions could run into endless loops
 		_cachesize = 0;
 		weightedQueue.clear();
 		_outdir = null;
+		_spilled.clear();
+		_pending.clear();
+		_spillConfigured = false;
 		if (DMLScript.STATISTICS)
 			_removelist.clear();
 	}
@@ -162,6 +204,11 @@ public class LineageCacheEviction
 	protected static void setCacheLimit(long limit) {
 		CACHE_LIMIT = limit;
 	}
+	
+	//Note: public for spilling tests
+	public static void setTestCacheLimit(long limit) {
+		setCacheLimit(limit);
+	}
 
 	//Note: public for spilling tests
 	public static long getCacheLimit() {
@@ -180,6 +227,7 @@ public class LineageCacheEviction
 	}
 
 	protected static void makeSpace(Map<LineageItem, LineageCacheEntry> cache, long spaceNeeded) {
+		initSpillConfig();
 		//Cost based eviction
 		while ((spaceNeeded + _cachesize) > CACHE_LIMIT)
 		{
@@ -217,7 +265,7 @@ public class LineageCacheEviction
 				System.out.print(" exec time = " + ((double) e._computeTime) / 1000000);
 				System.out.println(" spill time = " + getDiskSpillEstimate(e) * 1000);
 				System.out.print("dim = " + e.getMBValue().getNumRows() + " " + e.getMBValue().getNumColumns());
-				System.out.print(" size = " + getDiskSizeEstimate(e));
+				System.out.print(" size = " + getDiskSizeEstimate(e.getMBValue()));
 				System.out.println(" DAG height = " + e._key.getDistLeaf2Node());
 			}
 
@@ -248,17 +296,17 @@ public class LineageCacheEviction
 	private static double getDiskSpillEstimate(LineageCacheEntry e) {
 		if (!e.isMatrixValue() || e.isNullVal())
 			return 0;
-		// This includes sum of writing to and reading from disk
-		double size = getDiskSizeEstimate(e);
-		double loadtime = isSparse(e) ? size/LineageCacheConfig.FSREAD_SPARSE : size/LineageCacheConfig.FSREAD_DENSE;
-		double writetime = isSparse(e) ? size/LineageCacheConfig.FSWRITE_SPARSE : size/LineageCacheConfig.FSWRITE_DENSE;
+		// This includes sum of writing to and reading from disk, where
+		// the size on disk is scaled by the observed compression ratio
+		MatrixBlock mb = e.getMBValue();
+		double size = getDiskSizeEstimate(mb) * (_compress ? _compressRatio : 1);
+		boolean sparse = mb.isInSparseFormat();
+		double loadtime = sparse ? size/LineageCacheConfig.FSREAD_SPARSE : size/LineageCacheConfig.FSREAD_DENSE;
+		double writetime = sparse ? size/LineageCacheConfig.FSWRITE_SPARSE : size/LineageCacheConfig.FSWRITE_DENSE;
 		return loadtime + writetime;
 	}
 
-	private static double getDiskSizeEstimate(LineageCacheEntry e) {
-		if (!e.isMatrixValue() || e.isNullVal())
-			return 0;
-		MatrixBlock mb = e.getMBValue();
+	private static double getDiskSizeEstimate(MatrixBlock mb) {
 		long r = mb.getNumRows();
 		long c = mb.getNumColumns();
 		long nnz = mb.getNonZeros();
@@ -267,37 +315,71 @@ public class LineageCacheEviction
 		return disksize;
 	}
 	
-	private static void adjustReadWriteSpeed(LineageCacheEntry e, double IOtime, boolean read) {
-		double size = getDiskSizeEstimate(e);
-		if (!e.isMatrixValue() || size < LineageCacheConfig.MIN_SPILL_DATA)
-			// Scalar or too small
+	private static void adjustReadWriteSpeed(MatrixBlock mb, double IOtime, boolean read, String outfile) {
+		double size = getDiskSizeEstimate(mb);
+		if (size < LineageCacheConfig.MIN_SPILL_DATA)
+			// Too small
 			return; 
 		
+		// For compressed spill files, maintain the compression ratio and 
+		// adjust the speed w.r.t. the actual, compressed size on disk
+		if (outfile.endsWith(COMPRESSED_SUFFIX)) {
+			double disksize = ((double)new File(outfile).length()) / (1024*1024);
+			if (!read)
+				_compressRatio = (_compressRatio + disksize / size) / 2;
+			size = disksize;
+		}
+		
 		double newIOSpeed = size / IOtime; // MB per second 
 		// Adjust the read/write speed taking into account the last read/write.
 		// These constants will eventually converge to the real speed.
 		if (read) {
-			if (isSparse(e))
+			if (mb.isInSparseFormat())
 				LineageCacheConfig.FSREAD_SPARSE = (LineageCacheConfig.FSREAD_SPARSE + newIOSpeed) / 2;
 			else
 				LineageCacheConfig.FSREAD_DENSE= (LineageCacheConfig.FSREAD_DENSE+ newIOSpeed) / 2;
 		}
 		else {
-			if (isSparse(e))
+			if (mb.isInSparseFormat())
 				LineageCacheConfig.FSWRITE_SPARSE = (LineageCacheConfig.FSWRITE_SPARSE + newIOSpeed) / 2;
 			else
 				LineageCacheConfig.FSWRITE_DENSE= (LineageCacheConfig.FSWRITE_DENSE+ newIOSpeed) / 2;
 		}
 	}
-	
-	private static boolean isSparse(LineageCacheEntry e) {
-		if (!e.isMatrixValue() || e.isNullVal())
-			return false;
-		return e.getMBValue().isInSparseFormat();
-	}
 
 	// ---------------- I/O METHODS TO LOCAL FS -----------------
 	
+	private static void initSpillConfig() {
+		if (_spillConfigured)
+			return;
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_asyncSpill = conf.getBooleanValue(DMLConfig.LINEAGE_SPILL_ASYNC);
+		_compress = conf.getBooleanValue(DMLConfig.LINEAGE_SPILL_COMPRESS);
+		_spillConfigured = true;
+	}
+	
+	private static synchronized ExecutorService getWriter() {
+		// Single background writer with bounded queue, where the evicting 
+		// thread writes itself if too many spills are in flight (backpressure)
+		if (_writer == null)
+			_writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(MAX_PENDING_WRITES), LineageCacheEviction::newDaemonThread,
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		return _writer;
+	}
+	
+	private static synchronized ExecutorService getReader() {
+		if (_reader == null)
+			_reader = Executors.newSingleThreadExecutor(LineageCacheEviction::newDaemonThread);
+		return _reader;
+	}
+	
+	private static Thread newDaemonThread(Runnable r) {
+		Thread t = new Thread(r, "lineage-spill");
+		t.setDaemon(true);
+		return t;
+	}
+	
 	private static void spillToLocalFS(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry entry) {
 		if (!entry.isMatrixValue())
 			throw new DMLRuntimeException ("Spilling scalar objects to disk is not allowd. Key: "+entry._key);
@@ -313,37 +395,104 @@ public class LineageCacheEviction
 				return;
 		}
 		
-		long t0 = System.nanoTime();
 		if (_outdir == null) {
 			_outdir = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_LINEAGE);
 			LocalFileUtils.createLocalFileIfNotExist(_outdir);
 		}
-		String outfile = _outdir+"/"+entry._key.getId();
-		try {
-			LocalFileUtils.writeMatrixBlockToLocal(outfile, entry.getMBValue());
-		} catch (IOException e) {
-			throw new DMLRuntimeException ("Write to " + outfile + " failed.", e);
+		String outfile = _outdir+"/"+entry._key.getId() + (_compress ? COMPRESSED_SUFFIX : "");
+		MatrixBlock mb = entry.getMBValue();
+		long size = entry.getSize();
+		if (_asyncSpill) {
+			// Write in the background, where spills in flight are served from memory
+			_pending.put(outfile, mb);
+			getWriter().execute(() -> writeToLocalFSAsync(cache, entry, outfile, mb));
 		}
-		long t1 = System.nanoTime();
-		// Adjust disk writing speed
-		adjustReadWriteSpeed(entry, ((double)(t1-t0))/1000000000, false);
+		else
+			writeToLocalFS(outfile, mb);
 		
 		// Add all the entries associated with this matrix to spillList.
-		if (entry._origItem == null) {
-			entry.setOutfile(outfile);
+		for (LineageCacheEntry h : getEntries(cache, entry)) {
+			h.setOutfile(outfile);
+			h.setSpillSize(size);
 		}
-		else {
-			LineageCacheEntry h = cache.get(entry._origItem); //head
-			while (h != null) {
-				h.setOutfile(outfile);
-				h = h._nextEntry;
+		_spilled.put(entry._key.getId(), entry);
+
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementFSWrites();
+	}
+	
+	private static void writeToLocalFSAsync(Map<LineageItem, LineageCacheEntry> cache,
+		LineageCacheEntry entry, String outfile, MatrixBlock mb)
+	{
+		try {
+			writeToLocalFS(outfile, mb);
+		}
+		catch(RuntimeException ex) {
+			// There is no caller to report to, hence we drop the spilled
+			// entries from the cache (which leads to recomputation), and let
+			// entries that are already reloaded spill again on eviction
+			LOG.error("Asynchronous lineage cache spill failed.", ex);
+			synchronized( cache ) {
+				for (LineageCacheEntry h : getEntries(cache, entry)) {
+					if (h.getCacheStatus() == LineageCacheStatus.SPILLED) {
+						cache.remove(h._key);
+						_spilled.remove(h._key.getId());
+					}
+					else
+						h.setOutfile(null);
+				}
+				_pending.remove(outfile);
 			}
+			LocalFileUtils.deleteFileIfExists(outfile);
 		}
-
-		if (DMLScript.STATISTICS) {
+	}
+	
+	private static void writeToLocalFS(String outfile, MatrixBlock mb) {
+		long t0 = System.nanoTime();
+		try {
+			if (outfile.endsWith(COMPRESSED_SUFFIX)) {
+				Deflater def = new Deflater(Deflater.BEST_SPEED);
+				try (FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(
+					new DeflaterOutputStream(new FileOutputStream(outfile), def), LocalFileUtils.BUFFER_SIZE)) {
+					mb.write(out);
+				}
+				finally {
+					def.end();
+				}
+			}
+			else
+				LocalFileUtils.writeMatrixBlockToLocal(outfile, mb);
+		} catch (IOException e) {
+			throw new DMLRuntimeException ("Write to " + outfile + " failed.", e);
+		}
+		_pending.remove(outfile);
+		long t1 = System.nanoTime();
+		// Adjust disk writing speed
+		adjustReadWriteSpeed(mb, ((double)(t1-t0))/1000000000, false, outfile);
+		if (DMLScript.STATISTICS)
 			LineageCacheStatistics.incrementFSWriteTime(t1-t0);
-			LineageCacheStatistics.incrementFSWrites();
+	}
+
+	private static MatrixBlock readFromLocalFS(String outfile) {
+		// Serve spills in flight from memory
+		MatrixBlock mb = _pending.get(outfile);
+		if (mb != null)
+			return mb;
+		
+		long t0 = System.nanoTime();
+		try {
+			mb = outfile.endsWith(COMPRESSED_SUFFIX) ?
+				LocalFileUtils.readMatrixBlockFromStream(new InflaterInputStream(new FileInputStream(outfile))) :
+				LocalFileUtils.readMatrixBlockFromLocal(outfile);
+		} catch (IOException exp) {
+			throw new DMLRuntimeException ("Read from " + outfile + " failed.", exp);
 		}
+		long t1 = System.nanoTime();
+		// Adjust disk reading speed
+		adjustReadWriteSpeed(mb, ((double)(t1-t0))/1000000000, true, outfile);
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementFSReadTime(t1-t0);
+		return mb;
 	}
 
 	protected static LineageCacheEntry readFromLocalFS(Map<LineageItem, LineageCacheEntry> cache, LineageItem key) {
@@ -351,39 +500,61 @@ public class LineageCacheEviction
 			throw new DMLRuntimeException ("Spilled item should present in cache. Key: "+key);
 
 		LineageCacheEntry e = cache.get(key);
-		long t0 = System.nanoTime();
-		MatrixBlock mb = null;
-		// Read from local FS
-		try {
-			mb = LocalFileUtils.readMatrixBlockFromLocal(e.getOutfile());
-		} catch (IOException exp) {
-			throw new DMLRuntimeException ("Read from " + e.getOutfile() + " failed.", exp);
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementFSHits();
+		
+		if (_asyncSpill) {
+			// Lazy reload in the background, which is obtained on first access
+			// of the value (outside the critical section of the cache). Spilled
+			// entries tend to be hit in the order of their creation (e.g., in loops),
+			// hence we also prefetch the next spilled entry if it fits into the cache.
+			reload(cache, e);
+			Map.Entry<Long, LineageCacheEntry> next = _spilled.higherEntry(key.getId());
+			if (next != null && isBelowThreshold(next.getValue().getSpillSize()))
+				reload(cache, next.getValue());
+			return e;
 		}
+		
+		// Read from local FS
 		// Keep the entry in disk to save re-spilling.
-		//LocalFileUtils.deleteFileIfExists(_spillList.get(key)._outfile, true);
-		long t1 = System.nanoTime();
+		MatrixBlock mb = readFromLocalFS(e.getOutfile());
 
-		// Restore to cache
-		e.setValue(mb);
-		if (e._origItem != null) {
-			// Restore to all the entries having the same data.
-			LineageCacheEntry h = cache.get(e._origItem); //head
-			while (h != null) {
-				h.setValue(mb);
-				h = h._nextEntry;
-			}
+		// Restore to all the entries having the same data.
+		for (LineageCacheEntry h : getEntries(cache, e)) {
+			h.setValue(mb);
+			_spilled.remove(h._key.getId());
 		}
 
 		// Increase cachesize once for all the entries.
 		updateSize(e.getSize(), true);
-
-		// Adjust disk reading speed
-		adjustReadWriteSpeed(e, ((double)(t1-t0))/1000000000, true);
 		// TODO: set cache status as RELOADED for this entry
-		if (DMLScript.STATISTICS) {
-			LineageCacheStatistics.incrementFSReadTime(t1-t0);
-			LineageCacheStatistics.incrementFSHits();
+		return e;
+	}
+	
+	private static void reload(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry e) {
+		// Make space before the reloaded value is accounted
+		makeSpace(cache, e.getSpillSize());
+		String outfile = e.getOutfile();
+		// Spills in flight are served from memory right away, which also
+		// avoids reading the files of failed spills
+		MatrixBlock mb = _pending.get(outfile);
+		Future<MatrixBlock> f = (mb != null) ? CompletableFuture.completedFuture(mb) :
+			getReader().submit(() -> readFromLocalFS(outfile));
+		for (LineageCacheEntry h : getEntries(cache, e)) {
+			h.setReload(f);
+			_spilled.remove(h._key.getId());
 		}
-		return cache.get(key);
+		// Increase cachesize once for all the entries.
+		updateSize(e.getSpillSize(), true);
+	}
+	
+	private static List<LineageCacheEntry> getEntries(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry e) {
+		if (e._origItem == null)
+			return Collections.singletonList(e);
+		// All the entries having the same data
+		List<LineageCacheEntry> ret = new ArrayList<>();
+		for (LineageCacheEntry h = cache.get(e._origItem); h != null; h = h._nextEntry)
+			ret.add(h);
+		return ret;
 	}
 }
@@ -36,6 +36,8 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numMemDel       = new LongAdder();
 	private static final LongAdder _numRewrites     = new LongAdder();
+	private static final LongAdder _numHitsPersist  = new LongAdder();
+	private static final LongAdder _numWritesPersist= new LongAdder();
 	private static final LongAdder _ctimeFSRead     = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeFSWrite    = new LongAdder(); //in nano sec
 
@@ -50,6 +52,8 @@ public class LineageCacheStatistics {
 		_numWritesFS.reset();
 		_numMemDel.reset();
 		_numRewrites.reset();
+		_numHitsPersist.reset();
+		_numWritesPersist.reset();
 		_ctimeFSRead.reset();
 		_ctimeFSWrite.reset();
 	}
@@ -63,6 +67,10 @@ public class LineageCacheStatistics {
 		// Number of times found in local FS.
 		_numHitsFS.increment();
 	}
+	
+	public static long getFSHits() {
+		return _numHitsFS.longValue();
+	}
 
 	public static void incrementDelHits() {
 		// Number of times entry is removed from cache but sought again later.
@@ -98,11 +106,37 @@ public class LineageCacheStatistics {
 		_numRewrites.increment();
 	}
 
+	public static long getPRewrites() {
+		return _numRewrites.longValue();
+	}
+
 	public static void incrementFSWrites() {
 		// Number of times written in local FS.
 		_numWritesFS.increment();
 	}
 	
+	public static long getFSWrites() {
+		return _numWritesFS.longValue();
+	}
+	
+	public static void incrementPersistHits() {
+		// Number of times found in the persistent store.
+		_numHitsPersist.increment();
+	}
+	
+	public static long getPersistHits() {
+		return _numHitsPersist.longValue();
+	}
+	
+	public static void incrementPersistWrites() {
+		// Number of times written to the persistent store.
+		_numWritesPersist.increment();
+	}
+	
+	public static long getPersistWrites() {
+		return _numWritesPersist.longValue();
+	}
+	
 	public static void incrementMemDeletes() {
 		// Number of deletions from cache (including spilling).
 		_numMemDel.increment();
@@ -160,6 +194,14 @@ public class LineageCacheStatistics {
 		return sb.toString();
 	}
 
+	public static String displayPersist() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsPersist.longValue());
+		sb.append("/");
+		sb.append(_numWritesPersist.longValue());
+		return sb.toString();
+	}
+
 	public static String displayRewrites() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numRewrites.longValue());
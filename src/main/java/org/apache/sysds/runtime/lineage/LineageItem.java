@@ -19,20 +19,29 @@
 
 package org.apache.sysds.runtime.lineage;
 
+import java.lang.ref.WeakReference;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Stack;
+import java.util.WeakHashMap;
 
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 public class LineageItem {
 	private static IDSequence _idSeq = new IDSequence();
+	//global table for hash-consing of structurally equal items
+	private static final Map<LineageItem, WeakReference<LineageItem>> _interned = new WeakHashMap<>();
 	
 	private final long _id;
 	private final String _opcode;
 	private final String _data;
 	private final LineageItem[] _inputs;
 	private int _hash = 0;
+	private long _hash64 = 0; //64-bit structural hash
+	private byte[] _digest = null; //stable hash, computed on demand
 	private long _distLeaf2Node;
 	// init visited to true to ensure visited items are
 	// not hidden when used as inputs to new items
@@ -85,6 +94,7 @@ public class LineageItem {
 		// materialize hash on construction 
 		// (constant time operation if input hashes constructed)
 		_hash = hashCode();
+		_hash64 = getHash64();
 		// store the distance of this node from the leaves. (O(#inputs)) operation
 		_distLeaf2Node = distLeaf2Node();
 	}
@@ -96,15 +106,27 @@ public class LineageItem {
 	public void setInput(int i, LineageItem item) {
 		_inputs[i] = item;
 		_hash = 0; //reset hash
+		_hash64 = 0;
+		_digest = null;
 	}
 	
 	public String getData() {
 		return _data;
 	}
 	
+	protected byte[] getDigest() {
+		return _digest;
+	}
+	
+	protected void setDigest(byte[] digest) {
+		_digest = digest;
+	}
+	
 	public void fixHash() {
 		_hash = 0;
 		_hash = hashCode();
+		_hash64 = 0;
+		_hash64 = getHash64();
 	}
 
 	public boolean isVisited() {
@@ -174,28 +196,115 @@ public class LineageItem {
 	
 	@Override
 	public boolean equals(Object o) {
+		if (this == o)
+			return true;
 		if (!(o instanceof LineageItem))
 			return false;
 		
-		resetVisitStatusNR();
-		boolean ret = equalsLI((LineageItem) o);
-		resetVisitStatusNR();
-		return ret;
+		LineageItem that = (LineageItem) o;
+		if (getHash64() != that.getHash64())
+			return false;
+		return equalsNR(that);
 	}
 	
-	private boolean equalsLI(LineageItem that) {
-		if (isVisited() || this == that)
-			return true;
-		
-		boolean ret = _opcode.equals(that._opcode);
-		ret &= _data.equals(that._data);
-		ret &= (hashCode() == that.hashCode());
-		if( ret && _inputs != null && _inputs.length == that._inputs.length )
-			for (int i = 0; i < _inputs.length; i++)
-				ret &= _inputs[i].equalsLI(that._inputs[i]);
-		
-		setVisited();
-		return ret;
+	/**
+	 * Non-recursive structural comparison of two lineage DAGs, which
+	 * prunes identical (e.g., hash-consed) and already compared sub-DAGs
+	 * and aborts early on mismatching structural hashes. In contrast to
+	 * the visit status, the pairs of compared items are tracked locally,
+	 * which makes concurrent comparisons over shared sub-DAGs safe.
+	 * 
+	 * @param that other lineage item
+	 * @return true if both lineage DAGs are structurally equal
+	 */
+	private boolean equalsNR(LineageItem that) {
+		Map<LineageItem, LineageItem> compared = new IdentityHashMap<>();
+		Stack<LineageItem> q = new Stack<>();
+		q.push(this); q.push(that);
+		while( !q.empty() ) {
+			LineageItem li2 = q.pop();
+			LineageItem li1 = q.pop();
+			if( li1 == li2 || compared.get(li1) == li2 )
+				continue;
+			if( li1.hashCode() != li2.hashCode() || li1.getHash64() != li2.getHash64()
+				|| !li1._opcode.equals(li2._opcode) || !li1._data.equals(li2._data) )
+				return false;
+			int len1 = li1.isLeaf() ? 0 : li1._inputs.length;
+			int len2 = li2.isLeaf() ? 0 : li2._inputs.length;
+			if( len1 != len2 )
+				return false;
+			for( int i = 0; i < len1; i++ ) {
+				q.push(li1._inputs[i]); q.push(li2._inputs[i]);
+			}
+			compared.put(li1, li2);
+		}
+		return true;
+	}
+	
+	/**
+	 * Obtains the 64-bit structural hash over opcode, data, and the
+	 * structural hashes of all inputs, which is used for early aborts
+	 * on unequal items with colliding 32-bit hash codes.
+	 * 
+	 * @return 64-bit structural hash
+	 */
+	public long getHash64() {
+		if (_hash64 == 0) {
+			long h = hash64(hash64(0xcbf29ce484222325L, _opcode), _data);
+			if (_inputs != null)
+				for (LineageItem li : _inputs)
+					h = mix64(h * 0x9e3779b97f4a7c15L + li.getHash64());
+			_hash64 = (h != 0) ? h : 1;
+		}
+		return _hash64;
+	}
+	
+	private static long hash64(long h, String str) {
+		//FNV-1a over all characters, incl terminator
+		for (int i = 0; i < str.length(); i++)
+			h = (h ^ str.charAt(i)) * 0x100000001b3L;
+		return h * 0x100000001b3L;
+	}
+	
+	private static long mix64(long h) {
+		//murmur3 finalization mix
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		return h ^ (h >>> 33);
+	}
+	
+	/**
+	 * Obtains the canonical instance of the given lineage item from the
+	 * global interning table (hash-consing), or registers the given item
+	 * as canonical instance. If all items of a DAG are interned bottom-up,
+	 * equality checks of structurally equal items reduce to identity
+	 * checks. Unreferenced items are removed from the table by the GC.
+	 * 
+	 * @param li lineage item
+	 * @return canonical lineage item
+	 */
+	public static LineageItem intern(LineageItem li) {
+		if (li == null || li.isDedup())
+			return li;
+		synchronized (_interned) {
+			WeakReference<LineageItem> ref = _interned.get(li);
+			LineageItem ret = (ref != null) ? ref.get() : null;
+			if (ret == null)
+				_interned.put(ret = li, new WeakReference<>(li));
+			return ret;
+		}
+	}
+	
+	public static boolean isInterningEnabled() {
+		return !LineageCacheConfig.ReuseCacheType.isNone() && !DMLScript.LINEAGE_DEDUP;
+	}
+	
+	public static void resetInterned() {
+		synchronized (_interned) {
+			_interned.clear();
+		}
 	}
 	
 	@Override
@@ -61,6 +61,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -309,6 +310,9 @@ public class LineageItemUtils {
 	public static LineageItem replace(LineageItem root, LineageItem liOld, LineageItem liNew) {
 		if( liNew == null )
 			throw new DMLRuntimeException("Invalid null lineage item for "+liOld.getId());
+		//hash-consed items might be shared across DAGs, hence copy-on-write
+		if( LineageItem.isInterningEnabled() )
+			return replaceCopyNR(root, liOld, liNew);
 		root.resetVisitStatusNR();
 		rReplaceNR(root, liOld, liNew);
 		root.resetVisitStatusNR();
@@ -342,6 +346,55 @@ public class LineageItemUtils {
 		}
 	}
 	
+	/**
+	 * Copy-on-write equivalent of {@link #rReplaceNR(LineageItem, LineageItem, LineageItem)},
+	 * which leaves the given DAG untouched and only recreates the items on paths 
+	 * from the root to replaced items.
+	 * 
+	 * @param root Root lineage item
+	 * @param liOld Old lineage item
+	 * @param liNew New Lineage item.
+	 * @return root of the new lineage DAG
+	 */
+	public static LineageItem replaceCopyNR(LineageItem root, LineageItem liOld, LineageItem liNew) {
+		Map<LineageItem, LineageItem> memo = new IdentityHashMap<>();
+		Stack<LineageItem> q = new Stack<>();
+		q.push(root);
+		while( !q.empty() ) {
+			LineageItem tmp = q.peek();
+			if( memo.containsKey(tmp) ) {
+				q.pop();
+				continue;
+			}
+			if( tmp != root && liOld.getId() == tmp.getId() && liOld.equals(tmp) ) {
+				memo.put(q.pop(), liNew);
+				continue;
+			}
+			//process children first, then recreate item if inputs changed
+			boolean ready = true;
+			if( !tmp.isLeaf() )
+				for( LineageItem in : tmp.getInputs() )
+					if( !memo.containsKey(in) ) {
+						q.push(in);
+						ready = false;
+					}
+			if( !ready )
+				continue;
+			q.pop();
+			LineageItem[] inputs = null;
+			for( int i=0; !tmp.isLeaf() && i<tmp.getInputs().length; i++ ) {
+				LineageItem in = memo.get(tmp.getInputs()[i]);
+				if( in != tmp.getInputs()[i] ) {
+					inputs = (inputs == null) ? tmp.getInputs().clone() : inputs;
+					inputs[i] = in;
+				}
+			}
+			memo.put(tmp, (inputs == null) ? tmp :
+				new LineageItem(tmp.getData(), tmp.getOpcode(), inputs));
+		}
+		return memo.get(root);
+	}
+	
 	@Deprecated
 	@SuppressWarnings("unused")
 	private static void rReplace(LineageItem current, LineageItem liOld, LineageItem liNew) {
@@ -485,6 +538,16 @@ public class LineageItemUtils {
 			CPOpInputs.toArray(new CPOperand[CPOpInputs.size()])) : null);
 	}
 	
+	public static LineageItem[] getLineageItemInputstoFn(CPOperand[] inputs, ExecutionContext ec) {
+		//similar to statement blocks, scalar inputs are represented by their values,
+		//which allows reusing calls with identical but differently computed scalars
+		//(e.g., hyper-parameters passed through eval, lists, or parfor iterations)
+		CPOperand[] ops = Arrays.stream(inputs).map(in -> (in != null && in.isScalar() 
+			&& !in.isLiteral() && ec.containsVariable(in)) ? new CPOperand(ec.getScalarInput(in)) : in)
+			.toArray(CPOperand[]::new);
+		return getLineage(ec, ops);
+	}
+	
 	public static void addAllDataLineage(ExecutionContext ec) {
 		for( Entry<String, Data> e : ec.getVariables().entrySet() ) {
 			if( e.getValue() instanceof CacheableData<?> ) {
@@ -35,6 +35,7 @@ import org.apache.sysds.utils.Explain;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LineageMap {
 	
@@ -42,8 +43,19 @@ public class LineageMap {
 	private final Map<String, LineageItem> _literals;
 	
 	public LineageMap() {
-		_traces = new HashMap<>();
-		_literals = new HashMap<>();
+		this(false);
+	}
+	
+	/**
+	 * Creates an empty lineage map, which optionally allows concurrent
+	 * tracing (e.g., for lineage shared by concurrently executing requests
+	 * at federated workers).
+	 * 
+	 * @param concurrent true if thread-safe maps required
+	 */
+	public LineageMap(boolean concurrent) {
+		_traces = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+		_literals = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
 	}
 	
 	public LineageMap(LineageMap that) {
@@ -109,6 +121,10 @@ public class LineageMap {
 		return _traces.put(varName, li);
 	}
 	
+	public LineageItem remove(String varName) {
+		return removeLineageItem(varName);
+	}
+	
 	public LineageItem setLiteral(String varName, LineageItem li) {
 		return _literals.put(varName, li);
 	}
@@ -220,8 +236,13 @@ public class LineageMap {
 	
 	private void moveLineageItem(String keyFrom, String keyTo) {
 		LineageItem input = removeLineageItem(keyFrom);
-		if (!keyTo.equals("__pred"))
+		if (keyTo.equals("__pred"))
+			return;
+		//note: concurrent maps do not support null values
+		if (input != null)
 			_traces.put(keyTo, input);
+		else
+			_traces.remove(keyTo);
 	}
 	
 	private LineageItem removeLineageItem(String key) {
@@ -230,8 +251,12 @@ public class LineageMap {
 	}
 	
 	private void addLineageItem(Pair<String, LineageItem> li) {
-		//add item or overwrite existing item
-		_traces.put(li.getKey(), li.getValue());
+		//add item or overwrite existing item, where items are hash-consed
+		//for reuse in order to turn cache probes into identity checks
+		LineageItem item = li.getValue();
+		if (LineageItem.isInterningEnabled())
+			item = LineageItem.intern(item);
+		_traces.put(li.getKey(), item);
 	}
 	
 	private void processWriteLI(CPOperand input1, CPOperand input2, ExecutionContext ec) {
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.lineage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.TreeMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObjectFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.lineage.LineageItem.LineageItemType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Optional persistent store of lineage cache entries, which is shared across
+ * script executions (and JVMs) and consulted by the lineage cache on misses.
+ * 
+ * Entries are content-addressed by a stable hash of the lineage DAG (which,
+ * in contrast to the in-memory hash, is independent of item IDs and JVM runs),
+ * and validated on access against the modification times of all input files
+ * of the lineage DAG. The store is bounded in size, where least recently used
+ * entries are evicted first. Entries are written to temporary files and moved
+ * in place, which makes the store safe for concurrent processes.
+ */
+public class LineagePersistentStore
+{
+	private static final Log LOG = LogFactory.getLog(LineagePersistentStore.class.getName());
+	
+	//minimum compute time in ms of entries to persist (cheap ones are recomputed)
+	public static double MIN_COMPUTE_TIME = LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE;
+	
+	private static final String FILE_SUFFIX = ".lin";
+	private static final int FORMAT_VERSION = 1;
+	private static final ThreadLocal<MessageDigest> _md = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	});
+	
+	private static String _dir = null; //initialized store directory
+	private static long _size = 0;      //size of the store in bytes
+	
+	public static boolean isEnabled() {
+		return getDir() != null;
+	}
+	
+	/**
+	 * Reads the entry of the given lineage item from the persistent store.
+	 * 
+	 * @param key lineage item
+	 * @return cache entry with value, or null if not existing or outdated
+	 */
+	public static LineageCacheEntry read(LineageItem key) {
+		String fname = getFileName(key);
+		if( fname == null || !new File(fname).exists() )
+			return null;
+		long t0 = System.nanoTime();
+		LineageCacheEntry ret = null;
+		FileInputStream fis = null;
+		FastBufferedDataInputStream in = null;
+		try {
+			fis = new FileInputStream(fname);
+			in = new FastBufferedDataInputStream(fis);
+			//validate format and input files, and read value
+			boolean valid = (in.readInt() == FORMAT_VERSION);
+			long computetime = in.readLong();
+			int numFiles = in.readInt();
+			for( int i=0; i<numFiles && valid; i++ )
+				valid = (getModificationTime(in.readUTF()) == in.readLong());
+			if( valid ) {
+				if( in.readBoolean() ) {
+					MatrixBlock mb = new MatrixBlock();
+					mb.readFields(in);
+					ret = new LineageCacheEntry(key, DataType.MATRIX, mb, null, computetime);
+				}
+				else {
+					ValueType vt = ValueType.valueOf(in.readUTF());
+					ScalarObject so = ScalarObjectFactory.createScalarObject(vt, in.readUTF());
+					ret = new LineageCacheEntry(key, DataType.SCALAR, null, so, computetime);
+				}
+			}
+		}
+		catch(IOException ex) {
+			//e.g., deleted input files
+			LOG.debug("Failed to read persistent lineage cache entry "+fname+".", ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+			IOUtilFunctions.closeSilently(fis);
+		}
+		
+		if( ret == null ) //outdated or corrupted entry
+			delete(new File(fname));
+		else //maintain order for eviction
+			new File(fname).setLastModified(System.currentTimeMillis());
+		
+		if( ret != null && DMLScript.STATISTICS ) {
+			LineageCacheStatistics.incrementPersistHits();
+			LineageCacheStatistics.incrementFSReadTime(System.nanoTime()-t0);
+		}
+		return ret;
+	}
+	
+	/**
+	 * Writes the given value of the lineage item to the persistent store, if
+	 * the computation is expensive enough and the lineage DAG is stable across
+	 * script executions.
+	 * 
+	 * @param key lineage item
+	 * @param mb matrix value, or null
+	 * @param so scalar value, or null
+	 * @param computetime compute time in ns
+	 */
+	public static void write(LineageItem key, MatrixBlock mb, ScalarObject so, long computetime) {
+		if( computetime < MIN_COMPUTE_TIME * 1000000 )
+			return;
+		String fname = getFileName(key);
+		if( fname == null || new File(fname).exists() )
+			return;
+		long t0 = System.nanoTime();
+		File tmp = null;
+		FileOutputStream fos = null;
+		FastBufferedDataOutputStream out = null;
+		try {
+			//collect input files and their modification times
+			Map<String, Long> files = new TreeMap<>();
+			for( String file : getInputFiles(key) )
+				files.put(file, getModificationTime(file));
+			
+			tmp = File.createTempFile("tmp", ".tmp", new File(fname).getParentFile());
+			fos = new FileOutputStream(tmp);
+			out = new FastBufferedDataOutputStream(fos);
+			out.writeInt(FORMAT_VERSION);
+			out.writeLong(computetime);
+			out.writeInt(files.size());
+			for( Map.Entry<String, Long> e : files.entrySet() ) {
+				out.writeUTF(e.getKey());
+				out.writeLong(e.getValue());
+			}
+			out.writeBoolean(mb != null);
+			if( mb != null )
+				mb.write(out);
+			else {
+				out.writeUTF(so.getValueType().name());
+				out.writeUTF(so.getStringValue());
+			}
+			IOUtilFunctions.closeSilently(out);
+			Files.move(tmp.toPath(), new File(fname).toPath(),
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(IOException ex) {
+			//e.g., deleted input files
+			LOG.debug("Failed to write persistent lineage cache entry "+fname+".", ex);
+			if( tmp != null )
+				delete(tmp);
+			return;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+		}
+		
+		makeSpace(new File(fname).length());
+		if( DMLScript.STATISTICS ) {
+			LineageCacheStatistics.incrementPersistWrites();
+			LineageCacheStatistics.incrementFSWriteTime(System.nanoTime()-t0);
+		}
+	}
+	
+	/**
+	 * Computes a stable hash of the given lineage DAG over opcodes, data, and
+	 * the hashes of inputs, which is memoized per lineage item. Only lineage
+	 * DAGs whose leaves are value literals or file reads (validated by their
+	 * modification times) are supported, because other leaves (e.g., variables
+	 * traced by name, or deduplication items) are not stable across script
+	 * executions.
+	 * 
+	 * @param root lineage item
+	 * @return hex string of the hash, or null if not supported
+	 */
+	//Note: public for testing
+	public static String getDigest(LineageItem root) {
+		//non-recursive post-order traversal to handle deep lineage DAGs
+		Stack<LineageItem> stack = new Stack<>();
+		stack.push(root);
+		while( !stack.isEmpty() ) {
+			LineageItem li = stack.peek();
+			if( li.getDigest() != null ) {
+				stack.pop();
+				continue;
+			}
+			if( li.getType() == LineageItemType.Dedup
+				|| (li.isLeaf() && !isFileRead(li) && !isValueLiteral(li)) )
+				return null;
+			boolean ready = true;
+			if( li.getInputs() != null )
+				for( LineageItem in : li.getInputs() )
+					if( in.getDigest() == null ) {
+						stack.push(in);
+						ready = false;
+					}
+			if( !ready )
+				continue;
+			stack.pop();
+			MessageDigest md = _md.get();
+			md.update(li.getOpcode().getBytes(StandardCharsets.UTF_8));
+			md.update((byte)0);
+			md.update(li.getData().getBytes(StandardCharsets.UTF_8));
+			md.update((byte)0);
+			if( li.getInputs() != null )
+				for( LineageItem in : li.getInputs() )
+					md.update(in.getDigest());
+			li.setDigest(md.digest());
+		}
+		
+		StringBuilder sb = new StringBuilder();
+		for( byte b : root.getDigest() )
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+	
+	private static List<String> getInputFiles(LineageItem root) {
+		//collect file names of all persistent reads (non-recursive)
+		List<String> ret = new ArrayList<>();
+		Map<LineageItem, Boolean> visited = new IdentityHashMap<>();
+		Stack<LineageItem> stack = new Stack<>();
+		stack.push(root);
+		while( !stack.isEmpty() ) {
+			LineageItem li = stack.pop();
+			if( visited.put(li, true) != null )
+				continue;
+			if( isFileRead(li) )
+				ret.add(InstructionUtils.getInstructionPartsWithValueType(li.getData())[2]);
+			if( li.getInputs() != null )
+				stack.addAll(Arrays.asList(li.getInputs()));
+		}
+		return ret;
+	}
+	
+	private static boolean isFileRead(LineageItem li) {
+		return li.getType() == LineageItemType.Creation
+			&& li.getOpcode().equals("createvar");
+	}
+	
+	private static boolean isValueLiteral(LineageItem li) {
+		//literal operands (as opposed to variables traced by name)
+		return li.getType() == LineageItemType.Literal
+			&& li.getData().endsWith(Lop.VALUETYPE_PREFIX + "true");
+	}
+	
+	private static long getModificationTime(String fname) throws IOException {
+		Path path = new Path(fname);
+		return IOUtilFunctions.getFileSystem(path).getFileStatus(path).getModificationTime();
+	}
+	
+	private static String getFileName(LineageItem key) {
+		String dir = initDir();
+		String digest = (dir != null) ? getDigest(key) : null;
+		return (digest != null) ? dir + "/" + digest + FILE_SUFFIX : null;
+	}
+	
+	private static String getDir() {
+		String dir = ConfigurationManager.getDMLConfig().getTextValue(DMLConfig.LINEAGE_PERSIST_DIR);
+		return (dir == null || dir.isEmpty() || dir.equalsIgnoreCase("none")) ? null : dir;
+	}
+	
+	private static synchronized String initDir() {
+		String dir = getDir();
+		if( dir != null && !dir.equals(_dir) ) {
+			//create directory and obtain size of existing entries
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+			_size = listEntries(dir).stream().mapToLong(f -> f.length()).sum();
+			_dir = dir;
+		}
+		return dir;
+	}
+	
+	private static synchronized void makeSpace(long size) {
+		_size += size;
+		long limit = (long) ConfigurationManager.getDMLConfig()
+			.getDoubleValue(DMLConfig.LINEAGE_PERSIST_SIZE) * 1024 * 1024;
+		if( _size <= limit )
+			return;
+		//evict least recently used entries (by last access or write)
+		List<File> entries = listEntries(_dir);
+		Collections.sort(entries, Comparator.comparingLong(File::lastModified));
+		_size = entries.stream().mapToLong(f -> f.length()).sum();
+		for( int i=0; i<entries.size() && _size > limit; i++ ) {
+			_size -= entries.get(i).length();
+			delete(entries.get(i));
+		}
+	}
+	
+	private static List<File> listEntries(String dir) {
+		File[] files = new File(dir).listFiles((d, name) -> name.endsWith(FILE_SUFFIX));
+		return (files != null) ? new ArrayList<>(Arrays.asList(files)) : new ArrayList<>();
+	}
+	
+	private static void delete(File file) {
+		if( !file.delete() && file.exists() )
+			LOG.warn("Failed to delete persistent lineage cache entry "+file+".");
+	}
+	
+	protected static synchronized void resetStore() {
+		_dir = null;
+		_size = 0;
+	}
+}
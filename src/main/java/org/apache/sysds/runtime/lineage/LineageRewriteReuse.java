@@ -57,6 +57,7 @@ import org.apache.sysds.runtime.instructions.InstructionParser;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.DataGenCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.MMTSJCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.ParameterizedBuiltinCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
@@ -69,6 +70,9 @@ import org.apache.sysds.utils.Explain.ExplainType;
 public class LineageRewriteReuse
 {
 	private static final String LR_VAR = "__lrwrt";
+	//max number of incremental window aggregates before a full recompute
+	//(bounds the accumulated rounding errors of sliding window aggregates)
+	public static final int MAX_WINDOW_CHAIN = 32;
 	private static BasicProgramBlock _lrPB = null;
 	private static ExecutionContext _lrEC = null;
 	private static boolean _disableReuse = true;
@@ -107,6 +111,12 @@ public class LineageRewriteReuse
 		newInst = (newInst == null) ? rewriteAggregateCbind(curr, ec, lrwec) : newInst;
 		//A %*% B[,1:k] = (A %*% B)[,1:k];
 		newInst = (newInst == null) ? rewriteIndexingMatMul(curr, ec, lrwec) : newInst;
+		//colSums(rbind(X, deltaX)) -> colSums(X) + colSums(deltaX)
+		newInst = (newInst == null) ? rewriteColAggRbind(curr, ec, lrwec) : newInst;
+		//t(rbind(X, deltaX)) %*% rbind(Y, deltaY) -> t(X) %*% Y + t(deltaX) %*% deltaY
+		newInst = (newInst == null) ? rewriteMatMulTransposeRbind(curr, ec, lrwec) : newInst;
+		//colSums(X[i:j,]) -> colSums(X[i-1:j-1,]) + colSums(X[j,]) - colSums(X[i-1,]), same for tsmm and t(X) %*% Y
+		newInst = (newInst == null) ? rewriteSlidingWindowAgg(curr, ec, lrwec) : newInst;
 		//PCA --> lmDS pipeline
 		newInst = (newInst == null) ? rewritePcaTsmm(curr, ec, lrwec) : newInst;
 		
@@ -135,7 +145,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if(!isTsmmCbind(curr, ec, inCache))
+		if (!isTsmmCbind(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 		
 		// Create a transient read op over the cached tsmm result
@@ -181,7 +191,7 @@ public class LineageRewriteReuse
 		// the appended matrix is a column matrix of 1s (deltaX = 1s). 
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if(!isTsmmCbindOnes(curr, ec, inCache))
+		if (!isTsmmCbindOnes(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 		
 		// Create a transient read op over the cached tsmm result
@@ -222,7 +232,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isTsmmRbind(curr, ec, inCache))
+		if (!isTsmmRbind(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 		
 		// Create a transient read op over the last tsmm result
@@ -267,7 +277,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isTsmm2Cbind(curr, ec, inCache))
+		if (!isTsmm2Cbind(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last tsmm result
@@ -335,7 +345,7 @@ public class LineageRewriteReuse
 		 */
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isTsmm2CbindSameLeft(curr, ec, inCache))
+		if (!isTsmm2CbindSameLeft(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last tsmm result
@@ -402,7 +412,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isMatMulRbindLeft(curr, ec, inCache))
+		if (!isMatMulRbindLeft(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last ba+* result
@@ -448,7 +458,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isMatMulCbindRight(curr, ec, inCache))
+		if (!isMatMulCbindRight(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last ba+* result
@@ -496,7 +506,7 @@ public class LineageRewriteReuse
 		// if the right matrix is appended with a matrix of 1s (deltaY == 1s).
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isMatMulCbindRightOnes(curr, ec, inCache))
+		if (!isMatMulCbindRightOnes(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last ba+* result
@@ -529,7 +539,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isElementMulRbind(curr, ec, inCache))
+		if (!isElementMulRbind(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last * result
@@ -586,7 +596,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isElementMulCbind(curr, ec, inCache))
+		if (!isElementMulCbind(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last * result
@@ -643,7 +653,7 @@ public class LineageRewriteReuse
 	{
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isAggCbind (curr, ec, inCache))
+		if (!isAggCbind(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 		
 		// Create a transient read op over the last * result
@@ -708,7 +718,7 @@ public class LineageRewriteReuse
 		 */
 		// Check the applicability of this rewrite.
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isIndexingMatMul (curr, ec, inCache))
+		if (!isIndexingMatMul(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 		
 		// Create a transient read op over the input to rightIndex
@@ -750,10 +760,169 @@ public class LineageRewriteReuse
 		return inst;
 	}
 
+	private static ArrayList<Instruction> rewriteColAggRbind (Instruction curr, ExecutionContext ec, ExecutionContext lrwec)
+	{
+		// Check the applicability of this rewrite.
+		Map<String, MatrixBlock> inCache = new HashMap<>();
+		if (!isColAggRbind(curr, ec, inCache) || !isAllCached(inCache))
+			return null;
+		
+		// Create a transient read op over the last column aggregate
+		MatrixBlock cachedEntry = inCache.get("lastMatrix");
+		lrwec.setVariable("cachedEntry", toMatrixObject(cachedEntry));
+		DataOp lastRes = HopRewriteUtils.createTransientRead("cachedEntry", cachedEntry);
+		MatrixObject mo = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		lrwec.setVariable("oldMatrix", mo);
+		DataOp newMatrix = HopRewriteUtils.createTransientRead("oldMatrix", mo);
+		// Index out the appended rows (block of rows)
+		long nOld = getNumOldRows(inCache, mo.getNumRows());
+		IndexingOp lastRows = HopRewriteUtils.createIndexingOp(newMatrix, 
+			nOld+1, mo.getNumRows(), 1, mo.getNumColumns());
+		// colAgg(rbind(X, deltaX)) = colAgg(X) + colAgg(deltaX)
+		AggUnaryOp aggDelta = createColAgg(lastRows, curr.getOpcode());
+		BinaryOp lrwHop = HopRewriteUtils.createBinary(lastRes, aggDelta, OpOp2.PLUS);
+		DataOp lrwWrite = HopRewriteUtils.createTransientWrite(LR_VAR, lrwHop);
+
+		// generate runtime instructions
+		if (LOG.isDebugEnabled())
+			LOG.debug("LINEAGE REWRITE rewriteColAggRbind APPLIED");
+		ArrayList<Instruction> inst = genInst(lrwWrite, lrwec);
+		_disableReuse = true;
+
+		// cleanup buffer pool
+		addRmvarInstructions(inst, lrwec, "cachedEntry");
+		
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementPRewrites();
+		return inst;
+	}
+
+	private static ArrayList<Instruction> rewriteMatMulTransposeRbind (Instruction curr, ExecutionContext ec, ExecutionContext lrwec)
+	{
+		// Check the applicability of this rewrite.
+		Map<String, MatrixBlock> inCache = new HashMap<>();
+		if (!isMatMulTransposeRbind(curr, ec, inCache) || !isAllCached(inCache))
+			return null;
+		
+		// Create a transient read op over the last ba+* result
+		MatrixBlock cachedEntry = inCache.get("lastMatrix");
+		lrwec.setVariable("cachedEntry", toMatrixObject(cachedEntry));
+		DataOp lastRes = HopRewriteUtils.createTransientRead("cachedEntry", cachedEntry);
+		// Left input is the already transposed rbind(X, deltaX)
+		MatrixObject moL = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		lrwec.setVariable("leftMatrix", moL);
+		DataOp leftMatrix = HopRewriteUtils.createTransientRead("leftMatrix", moL);
+		MatrixObject moR = ec.getMatrixObject(((ComputationCPInstruction)curr).input2);
+		lrwec.setVariable("rightMatrix", moR);
+		DataOp rightMatrix = HopRewriteUtils.createTransientRead("rightMatrix", moR);
+		// Index out the appended columns of t(deltaX) and rows of deltaY
+		long nOld = getNumOldRows(inCache, moR.getNumRows());
+		IndexingOp lastColsL = HopRewriteUtils.createIndexingOp(leftMatrix, 
+			1, moL.getNumRows(), nOld+1, moL.getNumColumns());
+		IndexingOp lastRowsR = HopRewriteUtils.createIndexingOp(rightMatrix, 
+			nOld+1, moR.getNumRows(), 1, moR.getNumColumns());
+		// t(rbind(X, deltaX)) %*% rbind(Y, deltaY) = t(X) %*% Y + t(deltaX) %*% deltaY
+		AggBinaryOp mmDelta = HopRewriteUtils.createMatrixMultiply(lastColsL, lastRowsR);
+		BinaryOp lrwHop = HopRewriteUtils.createBinary(lastRes, mmDelta, OpOp2.PLUS);
+		DataOp lrwWrite = HopRewriteUtils.createTransientWrite(LR_VAR, lrwHop);
+
+		// generate runtime instructions
+		if (LOG.isDebugEnabled())
+			LOG.debug("LINEAGE REWRITE rewriteMatMulTransposeRbind APPLIED");
+		ArrayList<Instruction> inst = genInst(lrwWrite, lrwec);
+		_disableReuse = true;
+
+		// cleanup buffer pool
+		addRmvarInstructions(inst, lrwec, "cachedEntry");
+		
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementPRewrites();
+		return inst;
+	}
+
+	private static ArrayList<Instruction> rewriteSlidingWindowAgg (Instruction curr, ExecutionContext ec, ExecutionContext lrwec)
+	{
+		/* This rewrite computes aggregates over a window of rows X[i:j,] 
+		 * incrementally from the aggregate of the previous iteration's 
+		 * window. For sliding windows, the previous window is X[i-1:j-1,]
+		 * (add the new last row, subtract the dropped first row), and for
+		 * expanding windows, it is X[i:j-1,] (add the new last row).
+		 * Supported are colSums, colSums of squares, tsmm and t(X) %*% Y.
+		 * Sliding windows are only updated if the dropped rows are finite
+		 * (NaN/Inf cannot be subtracted), and every MAX_WINDOW_CHAIN windows
+		 * the aggregate is fully recomputed to bound the rounding errors.
+		 * TODO: support strides larger than one row
+		 */
+		// Check the applicability of this rewrite.
+		Map<String, MatrixBlock> inCache = new HashMap<>();
+		if (!isSlidingWindowAgg(curr, ec, inCache) || !isAllCached(inCache))
+			return null;
+		
+		// Create a transient read op over the last aggregate
+		MatrixBlock cachedEntry = inCache.get("lastMatrix");
+		lrwec.setVariable("cachedEntry", toMatrixObject(cachedEntry));
+		DataOp lastRes = HopRewriteUtils.createTransientRead("cachedEntry", cachedEntry);
+		MatrixObject mo = ec.getMatrixObject(((ComputationCPInstruction)curr).input1);
+		lrwec.setVariable("window", mo);
+		DataOp window = HopRewriteUtils.createTransientRead("window", mo);
+		boolean sliding = inCache.containsKey("lastWindow");
+		DataOp lastWindow = sliding ? setupTReadCachedInput("lastWindow", inCache, lrwec) : null;
+		
+		Hop added, dropped = null;
+		String opcode = curr.getOpcode();
+		if (opcode.equalsIgnoreCase("ba+*")) {
+			// t(X[i:j,]) %*% Y[i:j,] = t(X[i-1:j-1,]) %*% Y[i-1:j-1,] + t(X[j,]) %*% Y[j,] - t(X[i-1,]) %*% Y[i-1,]
+			MatrixObject moR = ec.getMatrixObject(((ComputationCPInstruction)curr).input2);
+			lrwec.setVariable("window2", moR);
+			DataOp window2 = HopRewriteUtils.createTransientRead("window2", moR);
+			added = HopRewriteUtils.createMatrixMultiply(
+				HopRewriteUtils.createIndexingOp(window, 1, mo.getNumRows(), mo.getNumColumns(), mo.getNumColumns()),
+				HopRewriteUtils.createIndexingOp(window2, moR.getNumRows(), moR.getNumRows(), 1, moR.getNumColumns()));
+			if (sliding) {
+				DataOp lastWindow2 = setupTReadCachedInput("lastWindow2", inCache, lrwec);
+				dropped = HopRewriteUtils.createMatrixMultiply(
+					HopRewriteUtils.createTranspose(createFirstRow(lastWindow)), createFirstRow(lastWindow2));
+			}
+		}
+		else if (opcode.equalsIgnoreCase("tsmm")) {
+			// tsmm(X[i:j,]) = tsmm(X[i-1:j-1,]) + tsmm(X[j,]) - tsmm(X[i-1,])
+			Hop lastRow = HopRewriteUtils.createIndexingOp(window, mo.getNumRows(), mo.getNumRows(), 1, mo.getNumColumns());
+			added = HopRewriteUtils.createMatrixMultiply(HopRewriteUtils.createTranspose(lastRow), lastRow);
+			if (sliding) {
+				Hop firstRow = createFirstRow(lastWindow);
+				dropped = HopRewriteUtils.createMatrixMultiply(HopRewriteUtils.createTranspose(firstRow), firstRow);
+			}
+		}
+		else {
+			// colAgg(X[i:j,]) = colAgg(X[i-1:j-1,]) + colAgg(X[j,]) - colAgg(X[i-1,])
+			added = createColAgg(HopRewriteUtils.createIndexingOp(window, 
+				mo.getNumRows(), mo.getNumRows(), 1, mo.getNumColumns()), opcode);
+			if (sliding)
+				dropped = createColAgg(createFirstRow(lastWindow), opcode);
+		}
+		Hop lrwHop = HopRewriteUtils.createBinary(lastRes, added, OpOp2.PLUS);
+		if (sliding)
+			lrwHop = HopRewriteUtils.createBinary(lrwHop, dropped, OpOp2.MINUS);
+		DataOp lrwWrite = HopRewriteUtils.createTransientWrite(LR_VAR, lrwHop);
+
+		// generate runtime instructions
+		if (LOG.isDebugEnabled())
+			LOG.debug("LINEAGE REWRITE rewriteSlidingWindowAgg APPLIED");
+		ArrayList<Instruction> inst = genInst(lrwWrite, lrwec);
+		_disableReuse = true;
+
+		// cleanup buffer pool
+		addRmvarInstructions(inst, lrwec, "cachedEntry", "lastWindow", "lastWindow2");
+		
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementPRewrites();
+		return inst;
+	}
+
 	private static ArrayList<Instruction> rewritePcaTsmm(Instruction curr, ExecutionContext ec, ExecutionContext lrwec)
 	{
 		Map<String, MatrixBlock> inCache = new HashMap<>();
-		if (!isPcaTsmm(curr, ec, inCache))
+		if (!isPcaTsmm(curr, ec, inCache) || !isAllCached(inCache))
 			return null;
 
 		// Create a transient read op over the last tsmm result
@@ -1148,6 +1317,115 @@ public class LineageRewriteReuse
 		return inCache.containsKey("indexSource") ? true : false;
 	}
 
+	private static boolean isColAggRbind(Instruction curr, ExecutionContext ec, Map<String, MatrixBlock> inCache)
+	{
+		if (!LineageCacheConfig.isReusable(curr, ec))
+			return false;
+
+		// If the input to the column aggregate came from rbind, look for the last aggregate in cache.
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		if (isColAgg(curr.getOpcode())) {
+			LineageItem source = item.getInputs()[0];
+			if (source.getOpcode().equalsIgnoreCase("rbind") && source.getInputs().length == 2) {
+				// create colAgg lineage on top of the input of last append
+				LineageItem tmp = new LineageItem(curr.getOpcode(), new LineageItem[] {source.getInputs()[0]});
+				if (LineageCache.probe(tmp))
+					inCache.put("lastMatrix", LineageCache.getMatrix(tmp));
+				// look for the inputs of the append to derive the number of appended rows
+				probeAppendInputs(source, "X", "deltaX", inCache);
+			}
+		}
+		// return true only if the last aggregate and the appended rows are found
+		return inCache.containsKey("lastMatrix") && (inCache.containsKey("X") || inCache.containsKey("deltaX"));
+	}
+
+	private static boolean isMatMulTransposeRbind(Instruction curr, ExecutionContext ec, Map<String, MatrixBlock> inCache)
+	{
+		if (!LineageCacheConfig.isReusable(curr, ec))
+			return false;
+
+		// If the inputs to ba+* came from t(rbind) and rbind, look for the last ba+* in cache.
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		if (curr.getOpcode().equalsIgnoreCase("ba+*")) {
+			LineageItem left = item.getInputs()[0];
+			LineageItem right = item.getInputs()[1];
+			if (left.getOpcode().equalsIgnoreCase("r'") && left.getInputs()[0].getOpcode().equalsIgnoreCase("rbind")
+				&& right.getOpcode().equalsIgnoreCase("rbind") && left.getInputs()[0].getInputs().length == 2
+				&& right.getInputs().length == 2) {
+				LineageItem leftSource = left.getInputs()[0];
+				// create ba+* lineage on top of the inputs of last appends
+				LineageItem tleft = new LineageItem("r'", new LineageItem[] {leftSource.getInputs()[0]});
+				LineageItem tmp = new LineageItem(curr.getOpcode(), new LineageItem[] {tleft, right.getInputs()[0]});
+				// note: a valid cached product implies same number of old rows on both sides
+				if (LineageCache.probe(tmp))
+					inCache.put("lastMatrix", LineageCache.getMatrix(tmp));
+				// look for the inputs of the appends to derive the number of appended rows
+				probeAppendInputs(leftSource, "X", "deltaX", inCache);
+				probeAppendInputs(right, "Y", "deltaY", inCache);
+			}
+		}
+		// return true only if the last ba+* and the appended rows are found
+		return inCache.containsKey("lastMatrix") && (inCache.containsKey("X") || inCache.containsKey("deltaX")
+			|| inCache.containsKey("Y") || inCache.containsKey("deltaY"));
+	}
+
+	private static boolean isSlidingWindowAgg(Instruction curr, ExecutionContext ec, Map<String, MatrixBlock> inCache)
+	{
+		if (!LineageCacheConfig.isReusable(curr, ec))
+			return false;
+
+		// Find the row windows X[i:j,] (and Y[i:j,] for ba+*) the aggregate is computed over.
+		LineageItem item = ((ComputationCPInstruction) curr).getLineageItem(ec).getValue();
+		String opcode = curr.getOpcode();
+		LineageItem window = null, window2 = null;
+		if (isColAgg(opcode) || (opcode.equalsIgnoreCase("tsmm") 
+			&& ((MMTSJCPInstruction)curr).getMMTSJType().isLeft()))
+			window = item.getInputs()[0];
+		else if (opcode.equalsIgnoreCase("ba+*") && item.getInputs()[0].getOpcode().equalsIgnoreCase("r'")) {
+			window = item.getInputs()[0].getInputs()[0];
+			window2 = item.getInputs()[1];
+		}
+		if (!isRowWindow(window) || (window2 != null && (!isRowWindow(window2)
+			|| !window.getInputs()[1].equals(window2.getInputs()[1])
+			|| !window.getInputs()[2].equals(window2.getInputs()[2]))))
+			return false;
+		
+		LineageItem rl = window.getInputs()[1];
+		LineageItem ru = window.getInputs()[2];
+		LineageItem prevRl = shiftByOne(rl);
+		LineageItem prevRu = shiftByOne(ru);
+		if (prevRu == null)
+			return false;
+		
+		// bound the chain of incremental aggregates by a periodic full recompute
+		if (getBaseIndex(ru) % MAX_WINDOW_CHAIN == 0)
+			return false;
+		
+		// sliding window: look for the last aggregate over X[i-1:j-1,] and the last window
+		if (prevRl != null) {
+			LineageItem prevWindow = createRowWindow(window, prevRl, prevRu);
+			LineageItem prevWindow2 = window2 != null ? createRowWindow(window2, prevRl, prevRu) : null;
+			LineageItem tmp = createWindowAgg(opcode, prevWindow, prevWindow2);
+			if (LineageCache.probe(tmp) && LineageCache.probe(prevWindow)
+				&& (prevWindow2 == null || LineageCache.probe(prevWindow2))) {
+				inCache.put("lastMatrix", LineageCache.getMatrix(tmp));
+				inCache.put("lastWindow", LineageCache.getMatrix(prevWindow));
+				if (prevWindow2 != null)
+					inCache.put("lastWindow2", LineageCache.getMatrix(prevWindow2));
+				// the dropped rows must be finite to be subtracted
+				return isFirstRowFinite(inCache.get("lastWindow"))
+					&& (prevWindow2 == null || isFirstRowFinite(inCache.get("lastWindow2")));
+			}
+		}
+		// expanding window: look for the last aggregate over X[i:j-1,]
+		LineageItem tmp = createWindowAgg(opcode, createRowWindow(window, rl, prevRu),
+			window2 != null ? createRowWindow(window2, rl, prevRu) : null);
+		if (LineageCache.probe(tmp))
+			inCache.put("lastMatrix", LineageCache.getMatrix(tmp));
+		// return true only if the last aggregate is found
+		return inCache.containsKey("lastMatrix") ? true : false;
+	}
+
 	private static boolean isPcaTsmm(Instruction curr, ExecutionContext ec, Map<String, MatrixBlock> inCache) {
 		if (!LineageCacheConfig.isReusable(curr, ec)) {
 			return false;
@@ -1242,6 +1520,96 @@ public class LineageRewriteReuse
 		inst.add(VariableCPInstruction.prepareRemoveInstruction(tmp.toArray(new String[0])));
 	}
 	
+	private static boolean isColAgg(String opcode) {
+		return opcode.equalsIgnoreCase("uack+") || opcode.equalsIgnoreCase("uacsqk+");
+	}
+	
+	private static AggUnaryOp createColAgg(Hop input, String opcode) {
+		return HopRewriteUtils.createAggUnaryOp(input, opcode.equalsIgnoreCase("uacsqk+") ?
+			AggOp.SUM_SQ : AggOp.SUM, Direction.Col);
+	}
+	
+	private static IndexingOp createFirstRow(Hop input) {
+		return HopRewriteUtils.createIndexingOp(input, 1, 1, 1, input.getDim2());
+	}
+	
+	private static void probeAppendInputs(LineageItem rbind, String left, String right, Map<String, MatrixBlock> inCache) {
+		if (LineageCache.probe(rbind.getInputs()[0]))
+			inCache.put(left, LineageCache.getMatrix(rbind.getInputs()[0]));
+		if (LineageCache.probe(rbind.getInputs()[1]))
+			inCache.put(right, LineageCache.getMatrix(rbind.getInputs()[1]));
+	}
+	
+	private static long getNumOldRows(Map<String, MatrixBlock> inCache, long nrow) {
+		//number of rows before the append, derived from any cached append input
+		if (inCache.containsKey("X"))
+			return inCache.get("X").getNumRows();
+		if (inCache.containsKey("Y"))
+			return inCache.get("Y").getNumRows();
+		if (inCache.containsKey("deltaX"))
+			return nrow - inCache.get("deltaX").getNumRows();
+		return nrow - inCache.get("deltaY").getNumRows();
+	}
+	
+	private static boolean isRowWindow(LineageItem li) {
+		return li != null && li.getOpcode().equalsIgnoreCase("rightIndex") && li.getInputs().length == 5;
+	}
+	
+	private static LineageItem createRowWindow(LineageItem window, LineageItem rl, LineageItem ru) {
+		LineageItem[] in = window.getInputs();
+		return new LineageItem("rightIndex", new LineageItem[] {in[0], rl, ru, in[3], in[4]});
+	}
+	
+	private static LineageItem createWindowAgg(String opcode, LineageItem window, LineageItem window2) {
+		return window2 == null ? new LineageItem(opcode, new LineageItem[] {window}) :
+			new LineageItem(opcode, new LineageItem[] {new LineageItem("r'", new LineageItem[] {window}), window2});
+	}
+	
+	private static LineageItem shiftByOne(LineageItem li) {
+		//create the lineage of the index expression of the previous iteration,
+		//i.e., i -> i-1 and i+k -> (i-1)+k, or null if not a simple index
+		if (li.getType() == LineageItemType.Literal) {
+			String[] parts = li.getData().split(Instruction.VALUETYPE_PREFIX);
+			if (parts.length < 3 || !parts[2].equals(ValueType.INT64.name()))
+				return null;
+			try {
+				parts[0] = String.valueOf(Long.parseLong(parts[0])-1);
+			}
+			catch (NumberFormatException e) {
+				return null;
+			}
+			return new LineageItem(InstructionUtils.concatOperandParts(parts));
+		}
+		if ((li.getOpcode().equals("+") || li.getOpcode().equals("-")) && li.getInputs() != null 
+			&& li.getInputs().length == 2) {
+			LineageItem left = shiftByOne(li.getInputs()[0]);
+			return (left == null) ? null :
+				new LineageItem(li.getOpcode(), new LineageItem[] {left, li.getInputs()[1]});
+		}
+		return null;
+	}
+	
+	private static boolean isAllCached(Map<String, MatrixBlock> inCache) {
+		//probed entries might be removed before their values are obtained
+		return !inCache.containsValue(null);
+	}
+	
+	private static long getBaseIndex(LineageItem li) {
+		//value of the innermost literal of a simple index (see shiftByOne)
+		while (li.getType() != LineageItemType.Literal)
+			li = li.getInputs()[0];
+		return Long.parseLong(li.getData().split(Instruction.VALUETYPE_PREFIX)[0]);
+	}
+	
+	private static boolean isFirstRowFinite(MatrixBlock mb) {
+		if (mb == null) //removed from cache
+			return false;
+		for (int j = 0; j < mb.getNumColumns(); j++)
+			if (!Double.isFinite(mb.quickGetValue(0, j)))
+				return false;
+		return true;
+	}
+	
 	private static LineageItem reduceColByOne(LineageItem cu) {
 		String old_data = null;
 		try {
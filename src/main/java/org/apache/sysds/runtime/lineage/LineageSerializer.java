@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.lineage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Stack;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.WritableUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Compact binary representation of lineage traces, used for exchanging
+ * traces between processes (e.g., remote parfor workers) without the 
+ * overhead of explaining and re-parsing textual traces.
+ * 
+ * All items reachable from the given named roots are written once in 
+ * topological order (inputs before consumers), where opcodes, data and 
+ * variable names are encoded as references into a string dictionary 
+ * that is built on the fly, and inputs are encoded as variable-length
+ * back-references to already written items. Deserialization directly 
+ * reconstructs the items, w/o parsing instructions, and preserves item 
+ * IDs and shared sub-DAGs.
+ */
+public class LineageSerializer
+{
+	private static final int FORMAT_VERSION = 1;
+	
+	public static byte[] serialize(Map<String, LineageItem> traces) {
+		try( ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos) ) {
+			write(dos, traces);
+			dos.flush();
+			return bos.toByteArray();
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	public static Map<String, LineageItem> deserialize(byte[] data) {
+		try( DataInputStream dis = new DataInputStream(new ByteArrayInputStream(data)) ) {
+			return read(dis);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	public static void writeToHDFS(Map<String, LineageItem> traces, String fname) throws IOException {
+		try( DataOutputStream dos = HDFSTool.getHDFSDataOutputStream(fname, true) ) {
+			write(dos, traces);
+		}
+	}
+	
+	public static Map<String, LineageItem> readFromHDFS(String fname) throws IOException {
+		Path path = new Path(fname);
+		try( DataInputStream dis = IOUtilFunctions.getFileSystem(path).open(path) ) {
+			return read(dis);
+		}
+	}
+	
+	public static void write(DataOutput out, Map<String, LineageItem> traces) throws IOException {
+		Map<String, Integer> dict = new HashMap<>();
+		Map<LineageItem, Integer> pos = new IdentityHashMap<>();
+		
+		//collect all items in topological order (non-recursive)
+		ArrayList<LineageItem> items = new ArrayList<>();
+		Stack<LineageItem> q = new Stack<>();
+		for( LineageItem root : traces.values() ) {
+			q.push(root);
+			while( !q.empty() ) {
+				LineageItem tmp = q.peek();
+				if( pos.containsKey(tmp) ) {
+					q.pop();
+					continue;
+				}
+				boolean ready = true;
+				if( !tmp.isLeaf() )
+					for( LineageItem in : tmp.getInputs() )
+						if( !pos.containsKey(in) ) {
+							q.push(in);
+							ready = false;
+						}
+				if( ready ) {
+					pos.put(q.pop(), items.size());
+					items.add(tmp);
+				}
+			}
+		}
+		
+		//write header, items, and named roots
+		out.writeInt(FORMAT_VERSION);
+		WritableUtils.writeVInt(out, items.size());
+		long lastId = 0;
+		for( int i=0; i<items.size(); i++ ) {
+			LineageItem li = items.get(i);
+			WritableUtils.writeVLong(out, li.getId() - lastId);
+			lastId = li.getId();
+			writeString(out, li.getOpcode(), dict);
+			writeString(out, li.getData(), dict);
+			int len = li.isLeaf() ? 0 : li.getInputs().length;
+			WritableUtils.writeVInt(out, len);
+			for( int j=0; j<len; j++ )
+				WritableUtils.writeVInt(out, i - pos.get(li.getInputs()[j]));
+		}
+		WritableUtils.writeVInt(out, traces.size());
+		for( Entry<String, LineageItem> e : traces.entrySet() ) {
+			writeString(out, e.getKey(), dict);
+			WritableUtils.writeVInt(out, pos.get(e.getValue()));
+		}
+	}
+	
+	public static Map<String, LineageItem> read(DataInput in) throws IOException {
+		int version = in.readInt();
+		if( version != FORMAT_VERSION )
+			throw new DMLRuntimeException("Unsupported lineage format version: "+version);
+		ArrayList<String> dict = new ArrayList<>();
+		
+		//read items, whose inputs always precede the item itself
+		LineageItem[] items = new LineageItem[WritableUtils.readVInt(in)];
+		long lastId = 0;
+		for( int i=0; i<items.length; i++ ) {
+			long id = lastId + WritableUtils.readVLong(in);
+			lastId = id;
+			String opcode = readString(in, dict);
+			String data = readString(in, dict);
+			int len = WritableUtils.readVInt(in);
+			LineageItem[] inputs = (len > 0) ? new LineageItem[len] : null;
+			for( int j=0; j<len; j++ )
+				inputs[j] = items[i - WritableUtils.readVInt(in)];
+			items[i] = new LineageItem(id, data, opcode, inputs);
+		}
+		
+		//read named roots
+		int numRoots = WritableUtils.readVInt(in);
+		Map<String, LineageItem> ret = new LinkedHashMap<>();
+		for( int i=0; i<numRoots; i++ ) {
+			String name = readString(in, dict);
+			ret.put(name, items[WritableUtils.readVInt(in)]);
+		}
+		return ret;
+	}
+	
+	private static void writeString(DataOutput out, String str, Map<String, Integer> dict) throws IOException {
+		//reference to existing dictionary entry (1-based), or 0 and new entry
+		Integer ref = dict.get(str);
+		if( ref != null ) {
+			WritableUtils.writeVInt(out, ref);
+			return;
+		}
+		dict.put(str, dict.size()+1);
+		WritableUtils.writeVInt(out, 0);
+		byte[] b = str.getBytes(StandardCharsets.UTF_8);
+		WritableUtils.writeVInt(out, b.length);
+		out.write(b);
+	}
+	
+	private static String readString(DataInput in, ArrayList<String> dict) throws IOException {
+		int ref = WritableUtils.readVInt(in);
+		if( ref > 0 )
+			return dict.get(ref-1);
+		byte[] b = new byte[WritableUtils.readVInt(in)];
+		in.readFully(b);
+		String str = new String(b, StandardCharsets.UTF_8);
+		dict.add(str);
+		return str;
+	}
+}
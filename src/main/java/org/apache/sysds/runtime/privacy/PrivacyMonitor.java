@@ -27,36 +27,39 @@ import org.apache.sysds.runtime.privacy.PrivacyConstraint.PrivacyLevel;
 
 public class PrivacyMonitor 
 { 
-	private static EnumMap<PrivacyLevel,LongAdder> checkedConstraints;
+	//thread-local state for concurrently executed federated requests
+	private static final ThreadLocal<EnumMap<PrivacyLevel,LongAdder>> checkedConstraints =
+		ThreadLocal.withInitial(PrivacyMonitor::createCheckedConstraints);
 
-	static {
-		checkedConstraints = new EnumMap<>(PrivacyLevel.class);
+	private static final ThreadLocal<Boolean> checkPrivacy = ThreadLocal.withInitial(() -> false);
+
+	private static EnumMap<PrivacyLevel,LongAdder> createCheckedConstraints(){
+		EnumMap<PrivacyLevel,LongAdder> ret = new EnumMap<>(PrivacyLevel.class);
 		for ( PrivacyLevel level : PrivacyLevel.values() ){
-			checkedConstraints.put(level, new LongAdder());
+			ret.put(level, new LongAdder());
 		}
+		return ret;
 	}
 
-	private static boolean checkPrivacy = false;
-
 	public static EnumMap<PrivacyLevel,LongAdder> getCheckedConstraints(){
-		return checkedConstraints;
+		return checkedConstraints.get();
 	}
 
 	private static void incrementCheckedConstraints(PrivacyLevel privacyLevel){
-		if ( checkPrivacy ){
+		if ( checkPrivacy.get() ){
 			if ( privacyLevel == null )
 				throw new NullPointerException("Cannot increment checked constraints log: Privacy level is null.");
-			checkedConstraints.get(privacyLevel).increment();
+			checkedConstraints.get().get(privacyLevel).increment();
 		}
 			
 	}
 
 	public static void clearCheckedConstraints(){
-		checkedConstraints.replaceAll((k,v)->new LongAdder());
+		checkedConstraints.get().replaceAll((k,v)->new LongAdder());
 	}
 
 	public static void setCheckPrivacy(boolean checkPrivacyParam){
-		checkPrivacy = checkPrivacyParam;
+		checkPrivacy.set(checkPrivacyParam);
 	}
 
 	/**
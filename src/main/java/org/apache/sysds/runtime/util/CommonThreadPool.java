@@ -27,10 +27,12 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang.NotImplementedException;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 
@@ -39,6 +41,10 @@ import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
  * thread pool, specifically the ForkJoinPool.commonPool, for all requests
  * of the maximum degree of parallelism. If pools of different size are
  * requested, we create new pool instances of FixedThreadPool.
+ * 
+ * Blocking tasks (e.g., I/O, federated requests) can optionally run on
+ * virtual threads (if enabled via sysds.cp.virtual.threads and supported
+ * by the JVM), while compute kernels remain on the shared ForkJoinPool.
  */
 public class CommonThreadPool implements ExecutorService
 {
@@ -48,6 +54,11 @@ public class CommonThreadPool implements ExecutorService
 	//resulted in better performance than a dedicated fixed thread pool.
 	private static final int size = InfrastructureAnalyzer.getLocalParallelism();
 	private static final ExecutorService shared = ForkJoinPool.commonPool();
+	//factory of virtual threads (JDK 21+), obtained via reflection for java 8 compatibility
+	private static final ThreadFactory virtual = createVirtualThreadFactory();
+	//shared pools for blocking tasks (lazily created, reused across requests)
+	private static ExecutorService sharedBlocking = null;
+	private static ExecutorService sharedBlockingVirtual = null;
 	private final ExecutorService _pool;
 
 	public CommonThreadPool(ExecutorService pool) {
@@ -59,6 +70,80 @@ public class CommonThreadPool implements ExecutorService
 			shared : Executors.newFixedThreadPool(k));
 	}
 	
+	/**
+	 * Obtains a thread pool for blocking tasks such as I/O or federated
+	 * requests. All callers share a cached pool of (virtual or daemon platform)
+	 * threads, i.e., there is no bound on the number of concurrently blocked
+	 * tasks and threads are reused across requests. Blocking tasks never occupy
+	 * the shared compute pool, because compute kernels they wait for (e.g., of
+	 * a collocated federated worker) might otherwise starve.
+	 * 
+	 * @param k degree of parallelism of the caller (unused by the shared pool)
+	 * @return thread pool
+	 */
+	public static ExecutorService getBlocking(int k) {
+		return new CommonThreadPool(getSharedBlocking(isVirtualThreads()));
+	}
+	
+	private static synchronized ExecutorService getSharedBlocking(boolean virtualThreads) {
+		if( virtualThreads ) {
+			if( sharedBlockingVirtual == null )
+				sharedBlockingVirtual = Executors.newCachedThreadPool(virtual);
+			return sharedBlockingVirtual;
+		}
+		if( sharedBlocking == null ) {
+			sharedBlocking = Executors.newCachedThreadPool(r -> {
+				Thread t = new Thread(r);
+				t.setDaemon(true); //no blocking of JVM shutdown
+				return t;
+			});
+		}
+		return sharedBlocking;
+	}
+	
+	/**
+	 * Creates a new cached thread pool for blocking background tasks,
+	 * which uses virtual threads if enabled and platform threads otherwise.
+	 * 
+	 * @return unbounded cached thread pool
+	 */
+	public static ExecutorService newCachedThreadPool() {
+		return isVirtualThreads() ?
+			Executors.newCachedThreadPool(virtual) : Executors.newCachedThreadPool();
+	}
+	
+	/**
+	 * Creates a new unstarted thread for driving blocking tasks (e.g.,
+	 * local parfor workers), which is virtual if enabled.
+	 * 
+	 * @param task runnable task
+	 * @return unstarted thread
+	 */
+	public static Thread newThread(Runnable task) {
+		return isVirtualThreads() ?
+			virtual.newThread(task) : new Thread(task);
+	}
+	
+	public static boolean isVirtualThreadsSupported() {
+		return virtual != null;
+	}
+	
+	public static boolean isVirtualThreads() {
+		return virtual != null && ConfigurationManager.isVirtualThreads();
+	}
+	
+	private static ThreadFactory createVirtualThreadFactory() {
+		try {
+			//Thread.ofVirtual().factory(), fails on JDK<21 (or w/o enabled preview)
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+				.getMethod("factory").invoke(builder);
+		}
+		catch(Throwable ex) {
+			return null;
+		}
+	}
+	
 	public static <T> void invokeAndShutdown(ExecutorService pool, Collection<? extends Callable<T>> tasks) {
 		try {
 			//execute tasks
@@ -80,15 +165,20 @@ public class CommonThreadPool implements ExecutorService
 
 	@Override
 	public void shutdown() {
-		if( _pool != shared )
+		if( !isShared() )
 			_pool.shutdown();
 	}
 
 	@Override
 	public List<Runnable> shutdownNow() {
-		return ( _pool != shared ) ?
+		return !isShared() ?
 			_pool.shutdownNow() : null;
 	}
+	
+	private boolean isShared() {
+		return _pool == shared || _pool == sharedBlocking
+			|| _pool == sharedBlockingVirtual;
+	}
 
 	@Override
 	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
@@ -381,8 +381,12 @@ public class HDFSTool
 	{
 		Path path = new Path(mtdfile);
 		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		//record the codec the binary file was actually written with (if any),
+		//which is independent of the current configuration (e.g., spark writes)
+		String codec = (fmt == FileFormat.BINARY && mtdfile.endsWith(".mtd")) ? IOUtilFunctions
+			.getBinaryBlockCodecName(mtdfile.substring(0, mtdfile.length()-4)) : null;
 		try( BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true))) ) {
-			String mtd = metaDataToString(vt, schema, dt, dc, fmt, formatProperties, privacyConstraint);
+			String mtd = metaDataToString(vt, schema, dt, dc, fmt, formatProperties, privacyConstraint, codec);
 			br.write(mtd);
 		} catch (Exception e) {
 			throw new IOException("Error creating and writing metadata JSON file", e);
@@ -411,6 +415,12 @@ public class HDFSTool
 
 	public static String metaDataToString(ValueType vt, ValueType[] schema, DataType dt, DataCharacteristics dc,
 			FileFormat fmt, FileFormatProperties formatProperties, PrivacyConstraint privacyConstraint) throws JSONException, DMLRuntimeException
+	{
+		return metaDataToString(vt, schema, dt, dc, fmt, formatProperties, privacyConstraint, null);
+	}
+
+	public static String metaDataToString(ValueType vt, ValueType[] schema, DataType dt, DataCharacteristics dc,
+			FileFormat fmt, FileFormatProperties formatProperties, PrivacyConstraint privacyConstraint, String codec) throws JSONException, DMLRuntimeException
 	{
 		OrderedJSONObject mtd = new OrderedJSONObject(); // maintain order in output file
 
@@ -447,6 +457,8 @@ public class HDFSTool
 			
 		//handle format type and additional arguments
 		mtd.put(DataExpression.FORMAT_TYPE, fmt.toString());
+		if( fmt == FileFormat.BINARY && codec != null )
+			mtd.put(DataExpression.COMPRESSIONPARAM, codec);
 		
 		if (formatProperties != null) {
 			String description = formatProperties.getDescription();
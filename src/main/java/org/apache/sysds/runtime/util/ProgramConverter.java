@@ -93,14 +93,28 @@ import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Program converter functionalities for 
@@ -207,6 +221,7 @@ public class ProgramConverter
 					moNew.acquireModify(new MatrixBlock((int)mo.getNumRows(), (int)mo.getNumColumns(), false));
 				}
 				moNew.release();
+				moNew.setWriteRanges(mo.getWriteRanges()); //deep copy
 				cpec.setVariable(var, moNew);
 			}
 		}
@@ -1238,6 +1253,137 @@ public class ProgramConverter
 	}
 
 	
+	////////////////////////////////
+	// COMPRESSED FORMAT
+	////////////////////////////////
+	
+	//cache of parsed parfor bodies per thread (e.g., spark executor threads that
+	//process multiple tasks of the same parfor program), keyed by program hash and
+	//worker id because parsed program blocks may carry worker-specific state
+	private static final int PROG_CACHE_SIZE = 4;
+	private static final ThreadLocal<Map<String, CachedParForBody>> _bodyCache = ThreadLocal.withInitial(
+		() -> new LinkedHashMap<String, CachedParForBody>(16, 0.75f, true) {
+			private static final long serialVersionUID = -2617321493209213557L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedParForBody> eldest) {
+				return size() > PROG_CACHE_SIZE;
+			}
+		});
+	
+	/**
+	 * Encodes a serialized program (e.g., parfor or paramserv body) as a deflated
+	 * string serialization (scheme: hash|length|deflated utf-8), which reduces the
+	 * size of spark closures and allows parsing the program once per executor thread.
+	 * Note that this is not a binary serialization of the program blocks itself.
+	 * 
+	 * @param prog serialized program
+	 * @return compressed program
+	 */
+	public static byte[] compressProgram(String prog) {
+		try {
+			byte[] raw = prog.getBytes(StandardCharsets.UTF_8);
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw);
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(raw.length / 8 + 64);
+			DataOutputStream dos = new DataOutputStream(bos);
+			dos.writeInt(hash.length);
+			dos.write(hash);
+			dos.writeInt(raw.length);
+			DeflaterOutputStream zos = new DeflaterOutputStream(dos, new Deflater(Deflater.BEST_SPEED));
+			zos.write(raw);
+			zos.close();
+			return bos.toByteArray();
+		}
+		catch(IOException | NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException("Failed to compress program.", ex);
+		}
+	}
+	
+	/**
+	 * Decodes a compressed program and verifies the decoded program
+	 * against the stored hash.
+	 * 
+	 * @param data compressed program
+	 * @return serialized program
+	 */
+	public static String decompressProgram(byte[] data) {
+		try {
+			DataInputStream dis = new DataInputStream(new ByteArrayInputStream(data));
+			byte[] hash = new byte[dis.readInt()];
+			dis.readFully(hash);
+			byte[] raw = new byte[dis.readInt()];
+			new DataInputStream(new InflaterInputStream(dis)).readFully(raw);
+			if( !MessageDigest.isEqual(hash, MessageDigest.getInstance("SHA-256").digest(raw)) )
+				throw new DMLRuntimeException("Failed to decompress program: hash mismatch.");
+			return new String(raw, StandardCharsets.UTF_8);
+		}
+		catch(IOException | NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException("Failed to decompress program.", ex);
+		}
+	}
+	
+	/**
+	 * Parses a compressed parfor body, where repeated parsing of the same program
+	 * (by hash and worker id) in the same thread is served from a small thread-local
+	 * cache.
+	 * The program blocks are reused (as for multiple tasks of one worker) but
+	 * every call obtains its own execution context.
+	 * 
+	 * @param data compressed program
+	 * @param id worker id
+	 * @return parfor body
+	 */
+	public static ParForBody parseParForBody(byte[] data, int id) {
+		Map<String, CachedParForBody> cache = _bodyCache.get();
+		String key = getProgramHash(data) + "_" + id;
+		CachedParForBody entry = cache.get(key);
+		if( entry == null ) {
+			ParForBody body = parseParForBody(decompressProgram(data), id, true);
+			entry = new CachedParForBody(body, DMLScript.getUUID(),
+				ConfigurationManager.getDMLConfig(), ConfigurationManager.getCompilerConfig());
+			cache.put(key, entry);
+		}
+		else {
+			//re-apply uuid and (thread-local) configurations of this program
+			DMLScript.setUUID(entry._uuid);
+			ConfigurationManager.setLocalConfig(entry._dmlconf);
+			ConfigurationManager.setLocalConfig(entry._cconf);
+		}
+		try {
+			ParForBody body = entry._body;
+			return new ParForBody(body.getChildBlocks(), body.getResultVariables(),
+				createDeepCopyExecutionContext(body.getEc()));
+		}
+		catch(CloneNotSupportedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static String getProgramHash(byte[] data) {
+		try {
+			DataInputStream dis = new DataInputStream(new ByteArrayInputStream(data));
+			byte[] hash = new byte[dis.readInt()];
+			dis.readFully(hash);
+			return Base64.getEncoder().encodeToString(hash);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to read program hash.", ex);
+		}
+	}
+	
+	private static class CachedParForBody {
+		private final ParForBody _body;
+		private final String _uuid;
+		private final DMLConfig _dmlconf;
+		private final CompilerConfig _cconf;
+		
+		public CachedParForBody(ParForBody body, String uuid, DMLConfig dmlconf, CompilerConfig cconf) {
+			_body = body;
+			_uuid = uuid;
+			_dmlconf = dmlconf;
+			_cconf = cconf;
+		}
+	}
+	
 	////////////////////////////////
 	// PARSING 
 	////////////////////////////////
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedChunk;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class FederatedChunkAssemblerTest
+{
+	private static final long CHUNK_SIZE = FederatedChunk.CHUNK_SIZE;
+
+	@After
+	public void cleanup() {
+		FederatedChunk.CHUNK_SIZE = CHUNK_SIZE;
+	}
+
+	@Test
+	public void testAssemble() {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 10, 0.7, -1, 1, "uniform", 7);
+		List<FederatedChunk> chunks = createChunks(mb, 1);
+		FederatedChunk.Assembler asm = new FederatedChunk.Assembler();
+		for( int i=0; i<chunks.size()-1; i++ )
+			assertNull(asm.add(chunks.get(i)));
+		assertEquals(1, asm.size());
+		CacheBlock ret = asm.add(chunks.get(chunks.size()-1));
+		assertEquals(0, asm.size());
+		TestUtils.compareMatrices(mb, (MatrixBlock) ret, 0);
+	}
+
+	@Test
+	public void testClear() {
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 10, 0.7, -1, 1, "uniform", 7);
+		List<FederatedChunk> chunks = createChunks(mb, 1);
+		FederatedChunk.Assembler asm = new FederatedChunk.Assembler();
+		asm.add(chunks.get(0));
+		asm.clear(); //e.g., on closed connection
+		assertEquals(0, asm.size());
+	}
+
+	@Test
+	public void testDropOnError() {
+		//chunks of the same request with inconsistent block types
+		MatrixBlock mb = MatrixBlock.randOperations(1000, 10, 0.7, -1, 1, "uniform", 7);
+		FrameBlock fb = DataConverter.convertToFrameBlock(mb);
+		FederatedChunk.Assembler asm = new FederatedChunk.Assembler();
+		asm.add(createChunks(mb, 1).get(0));
+		try {
+			asm.add(createChunks(fb, 1).get(1));
+			fail("Expected error on inconsistent chunk.");
+		}
+		catch(RuntimeException ex) {
+			assertEquals(0, asm.size());
+		}
+	}
+
+	private static List<FederatedChunk> createChunks(CacheBlock mb, long rid) {
+		FederatedChunk.CHUNK_SIZE = mb.getInMemorySize() / 4;
+		EmbeddedChannel channel = new EmbeddedChannel();
+		List<FederatedChunk> ret = new ArrayList<>();
+		FederatedChunk last = FederatedChunk.writeChunks(channel, rid, 0, mb);
+		for( Object o = channel.readOutbound(); o != null; o = channel.readOutbound() )
+			ret.add((FederatedChunk) o);
+		ret.add(last);
+		channel.finishAndReleaseAll();
+		return ret;
+	}
+}
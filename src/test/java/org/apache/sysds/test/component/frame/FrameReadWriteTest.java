@@ -149,6 +149,36 @@ public class FrameReadWriteTest extends AutomatedTestBase
 		runFrameReadWriteTest(FileFormat.CSV, schemaMixed, schemaMixed, true);
 	}
 	
+	@Test
+	public void testFrameStringsStringsParquet()  {
+		runFrameReadWriteTest(FileFormat.PARQUET, schemaStrings, schemaStrings, false);
+	}
+	
+	@Test
+	public void testFrameStringsStringsParquetParallel()  {
+		runFrameReadWriteTest(FileFormat.PARQUET, schemaStrings, schemaStrings, true);
+	}
+	
+	@Test
+	public void testFrameMixedStringsParquet()  {
+		runFrameReadWriteTest(FileFormat.PARQUET, schemaMixed, schemaStrings, false);
+	}
+	
+	@Test
+	public void testFrameStringsMixedParquetParallel()  {
+		runFrameReadWriteTest(FileFormat.PARQUET, schemaStrings, schemaMixed, true);
+	}
+	
+	@Test
+	public void testFrameMixedMixedParquet()  {
+		runFrameReadWriteTest(FileFormat.PARQUET, schemaMixed, schemaMixed, false);
+	}
+	
+	@Test
+	public void testFrameMixedMixedParquetParallel()  {
+		runFrameReadWriteTest(FileFormat.PARQUET, schemaMixed, schemaMixed, true);
+	}
+	
 	private void runFrameReadWriteTest( FileFormat fmt, ValueType[] schema1, ValueType[] schema2, boolean parallel)
 	{
 		boolean oldParText = CompilerConfig.FLAG_PARREADWRITE_TEXT;
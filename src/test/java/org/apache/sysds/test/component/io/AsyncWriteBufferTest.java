@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import java.io.IOException;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncWriteBufferTest {
+	private static final String FNAME = "target/testTemp/component/io/AsyncWriteBufferTest/";
+	private static final int rows = 1234;
+	private static final int cols = 345;
+	private static final int blen = 1000;
+
+	@Test
+	public void testAsyncWriteAwaitAll() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 0.7, -1, 1, "uniform", 7);
+		MatrixObject mo = createMatrixObject(mb, FNAME+"A");
+		mo.exportDataAsync(FNAME+"B", FileFormat.BINARY.toString(), null);
+		AsyncWriteBuffer.awaitAll();
+		Assert.assertFalse(mo.hasPendingAsyncExport());
+		Assert.assertEquals(0, AsyncWriteBuffer.getNumPending());
+		checkFile(mb, FNAME+"B", FileFormat.BINARY);
+		mo.clearData();
+	}
+
+	@Test
+	public void testAsyncWriteAwaitModify() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 0.1, -1, 1, "uniform", 3);
+		MatrixObject mo = createMatrixObject(mb, FNAME+"C");
+		mo.exportDataAsync(FNAME+"D", FileFormat.TEXT.toString(), null);
+		//conflicting modify waits for the write and unpins the data
+		mo.acquireModify(new MatrixBlock(rows, cols, true));
+		mo.release();
+		Assert.assertFalse(mo.hasPendingAsyncExport());
+		checkFile(mb, FNAME+"D", FileFormat.TEXT);
+		mo.clearData();
+	}
+
+	@Test
+	public void testAsyncWriteSameFile() throws IOException {
+		MatrixBlock mb1 = MatrixBlock.randOperations(rows, cols, 0.7, -1, 1, "uniform", 1);
+		MatrixBlock mb2 = MatrixBlock.randOperations(rows, cols, 0.7, -1, 1, "uniform", 2);
+		MatrixObject mo1 = createMatrixObject(mb1, FNAME+"E");
+		MatrixObject mo2 = createMatrixObject(mb2, FNAME+"F");
+		//second write to the same file awaits the first one
+		mo1.exportDataAsync(FNAME+"G", FileFormat.BINARY.toString(), null);
+		mo2.exportDataAsync(FNAME+"G", FileFormat.BINARY.toString(), null);
+		Assert.assertFalse(mo1.hasPendingAsyncExport());
+		AsyncWriteBuffer.awaitAll();
+		checkFile(mb2, FNAME+"G", FileFormat.BINARY);
+		mo1.clearData();
+		mo2.clearData();
+	}
+
+	private static MatrixObject createMatrixObject(MatrixBlock mb, String fname) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, -1);
+		MatrixObject mo = new MatrixObject(ValueType.FP64, fname, new MetaDataFormat(mc, FileFormat.BINARY));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+
+	private static void checkFile(MatrixBlock mb, String fname, FileFormat fmt) throws IOException {
+		Assert.assertTrue(HDFSTool.existsFileOnHDFS(fname+".mtd"));
+		MatrixBlock mb2 = MatrixReaderFactory.createMatrixReader(fmt)
+			.readMatrixFromHDFS(fname, rows, cols, blen, -1);
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+			DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		HDFSTool.deleteFileIfExistOnHDFS(fname+".mtd");
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinaryBlockCompressionTest {
+	private static final String FNAME = "target/testTemp/component/io/BinaryBlockCompressionTest/";
+	private static final int rows = 2345;
+	private static final int cols = 1234;
+	private static final int blen = 1000;
+
+	@After
+	public void cleanup() {
+		ConfigurationManager.clearLocalConfigs();
+	}
+
+	@Test
+	public void testDenseLZ4() throws IOException {
+		runMatrixTest("lz4", 0.9, false);
+	}
+
+	@Test
+	public void testSparseLZ4Parallel() throws IOException {
+		runMatrixTest("lz4", 0.05, true);
+	}
+
+	@Test
+	public void testDenseSnappyParallel() throws IOException {
+		runMatrixTest("snappy", 0.9, true);
+	}
+
+	@Test
+	public void testSparseSnappy() throws IOException {
+		runMatrixTest("snappy", 0.05, false);
+	}
+
+	@Test
+	public void testFrameLZ4() throws IOException {
+		runFrameTest("lz4");
+	}
+
+	@Test
+	public void testFrameSnappy() throws IOException {
+		runFrameTest("snappy");
+	}
+
+	@Test
+	public void testMetaDataCodec() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(100, 10, 0.5, 0, 10, "uniform", 7);
+		String fname = FNAME + "mtd";
+		MatrixCharacteristics mc = new MatrixCharacteristics(100, 10, blen, mb.getNonZeros());
+		
+		//compressed file records its codec
+		setConfig("lz4", false);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+			.writeMatrixToHDFS(mb, fname, 100, 10, blen, mb.getNonZeros());
+		HDFSTool.writeMetaDataFile(fname + ".mtd", ValueType.FP64, mc, FileFormat.BINARY);
+		Assert.assertTrue(HDFSTool.readStringFromHDFSFile(fname + ".mtd").contains("\"compression\": \"lz4\""));
+		
+		//uncompressed file does not, independent of the current configuration
+		setConfig("none", false);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+			.writeMatrixToHDFS(mb, fname, 100, 10, blen, mb.getNonZeros());
+		setConfig("snappy", false);
+		HDFSTool.writeMetaDataFile(fname + ".mtd", ValueType.FP64, mc, FileFormat.BINARY);
+		Assert.assertFalse(HDFSTool.readStringFromHDFSFile(fname + ".mtd").contains("compression"));
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		HDFSTool.deleteFileIfExistOnHDFS(fname + ".mtd");
+	}
+
+	private static void runMatrixTest(String codec, double sparsity, boolean parallel) throws IOException {
+		setConfig(codec, parallel);
+		//low-entropy data to ensure compressibility
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, 0, 10, "uniform", 7);
+		mb = mb.unaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject("round")), new MatrixBlock());
+		String fname = FNAME + codec + "_" + sparsity;
+		String fnameRaw = fname + "_raw";
+
+		MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+			.writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+		MatrixBlock ret = MatrixReaderFactory.createMatrixReader(FileFormat.BINARY)
+			.readMatrixFromHDFS(fname, rows, cols, blen, mb.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+			DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+
+		//compare against uncompressed file size
+		setConfig("none", parallel);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+			.writeMatrixToHDFS(mb, fnameRaw, rows, cols, blen, mb.getNonZeros());
+		Assert.assertTrue(HDFSTool.getFilesizeOnHDFS(new Path(fname))
+			< HDFSTool.getFilesizeOnHDFS(new Path(fnameRaw)));
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		HDFSTool.deleteFileIfExistOnHDFS(fnameRaw);
+	}
+
+	private static void runFrameTest(String codec) throws IOException {
+		setConfig(codec, false);
+		ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64};
+		FrameBlock fb = new FrameBlock(schema);
+		for( int i=0; i<rows; i++ )
+			fb.appendRow(new Object[] {"s" + (i % 17), (double) (i % 3), (long) i});
+		String fname = FNAME + codec + "_frame";
+		FrameWriterFactory.createFrameWriter(FileFormat.BINARY)
+			.writeFrameToHDFS(fb, fname, rows, schema.length);
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.BINARY)
+			.readFrameFromHDFS(fname, schema, rows, schema.length);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<schema.length; j++ )
+				Assert.assertEquals(fb.get(i, j), ret.get(i, j));
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+	}
+
+	private static void setConfig(String codec, boolean parallel) {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_COMPRESSION_CODEC, codec);
+		ConfigurationManager.setLocalConfig(conf);
+		CompilerConfig cconf = new CompilerConfig();
+		cconf.set(CompilerConfig.ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS, parallel);
+		cconf.set(CompilerConfig.ConfigType.PARALLEL_CP_READ_BINARYFORMATS, parallel);
+		ConfigurationManager.setLocalConfig(cconf);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysds.runtime.io.CSVByteTokenizer;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSVByteTokenizerTest {
+
+	@Test
+	public void testTokenizeSimple() {
+		checkTokens("1,2,3", ",");
+	}
+
+	@Test
+	public void testTokenizeEmptyFields() {
+		checkTokens(",a,,b,", ",");
+	}
+
+	@Test
+	public void testTokenizeWhitespace() {
+		checkTokens("  1 , 2\t,3  ", ",");
+	}
+
+	@Test
+	public void testTokenizeQuotes() {
+		checkTokens("\"a,b\",\"c\"\"d\",e", ",");
+	}
+
+	@Test
+	public void testTokenizeMultiCharDelim() {
+		checkTokens("1||2||||3", "||");
+	}
+
+	@Test
+	public void testTokenizeEmptyLine() {
+		checkTokens("", ",");
+	}
+
+	@Test
+	public void testParseDoubleSpecial() {
+		String[] vals = new String[] {"0", "-0", "-0.0", "1.", ".5", "+7", "1e3", "1E-3",
+			"-2.5e+10", "123456789012345678901234", "1e300", "4.9e-324", "NaN", "Infinity",
+			"-Infinity", "1d", "0x1p3", "0.1", "0.30000000000000004", "9007199254740993"};
+		for( String val : vals )
+			checkDouble(val);
+	}
+
+	@Test
+	public void testParseDoubleRandom() {
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			checkDouble(Double.toString(rand.nextDouble()));
+			checkDouble(Double.toString(rand.nextGaussian() * Math.pow(10, rand.nextInt(40)-20)));
+			checkDouble(String.valueOf(rand.nextInt()));
+			checkDouble(Double.toString(Math.round(rand.nextDouble()*1e6)/1e3));
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseDoubleInvalid() {
+		checkDouble("1.2.3");
+	}
+
+	@Test
+	public void testParseLong() {
+		String[] vals = new String[] {"0", "-1", "+17", "9223372036854775807", "-9223372036854775808"};
+		for( String val : vals ) {
+			byte[] b = val.getBytes(StandardCharsets.UTF_8);
+			Assert.assertEquals(Long.parseLong(val), CSVByteTokenizer.parseLong(b, 0, b.length));
+		}
+	}
+
+	@Test
+	public void testNAStrings() {
+		CSVByteTokenizer tok = new CSVByteTokenizer(",", UtilFunctions.defaultNaString);
+		Assert.assertEquals(3, tok.tokenize(new Text("1,NA,3")));
+		Assert.assertEquals(1, tok.getDouble(0), 0);
+		Assert.assertTrue(Double.isNaN(tok.getDouble(1)));
+		Assert.assertEquals(3, tok.getDouble(2), 0);
+	}
+
+	private static void checkTokens(String line, String delim) {
+		CSVByteTokenizer tok = new CSVByteTokenizer(delim);
+		String[] expected = IOUtilFunctions.splitCSV(line.trim(), delim);
+		int num = tok.tokenize(new Text(line));
+		Assert.assertEquals(expected.length, num);
+		for( int i=0; i<num; i++ )
+			Assert.assertEquals(expected[i].trim(), tok.getString(i));
+	}
+
+	private static void checkDouble(String val) {
+		byte[] b = val.getBytes(StandardCharsets.UTF_8);
+		double expected = Double.parseDouble(val);
+		double actual = CSVByteTokenizer.parseDouble(b, 0, b.length);
+		Assert.assertEquals("Wrong value for "+val, Double.doubleToRawLongBits(expected),
+			Double.doubleToRawLongBits(actual));
+	}
+}
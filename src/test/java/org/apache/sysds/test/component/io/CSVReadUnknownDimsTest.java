@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CSVReadUnknownDimsTest {
+	private static final String FNAME = "target/testTemp/component/io/CSVReadUnknownDimsTest/";
+	private static final int rows = 3456;
+	private static final int cols = 123;
+	
+	private final double _fraction = ReaderTextCSVParallel.BUFFER_MEM_FRACTION;
+	
+	@After
+	public void cleanup() {
+		ReaderTextCSVParallel.BUFFER_MEM_FRACTION = _fraction;
+	}
+
+	@Test
+	public void testMatrixDense() throws IOException {
+		runMatrixTest(0.9, false, _fraction);
+	}
+
+	@Test
+	public void testMatrixSparse() throws IOException {
+		runMatrixTest(0.02, false, _fraction);
+	}
+
+	@Test
+	public void testMatrixDenseHeader() throws IOException {
+		runMatrixTest(0.9, true, _fraction);
+	}
+
+	@Test
+	public void testMatrixDenseNoBuffer() throws IOException {
+		runMatrixTest(0.9, false, 0);
+	}
+
+	@Test
+	public void testMatrixSparseNoBufferHeader() throws IOException {
+		runMatrixTest(0.02, true, 0);
+	}
+
+	@Test
+	public void testMatrixDensePartialBuffer() throws IOException {
+		//budget of a few row buffers, remaining splits are re-read
+		runMatrixTest(0.9, true, 4e6 / Runtime.getRuntime().maxMemory());
+	}
+
+	@Test
+	public void testFrame() throws Exception {
+		runFrameTest(false);
+	}
+
+	@Test
+	public void testFrameHeader() throws Exception {
+		runFrameTest(true);
+	}
+
+	private static void runMatrixTest(double sparsity, boolean header, double fraction) throws IOException {
+		ReaderTextCSVParallel.BUFFER_MEM_FRACTION = fraction;
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		String fname = FNAME + "matrix_" + sparsity + "_" + header;
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(header, ",", true);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.CSV, 1, props)
+			.writeMatrixToHDFS(mb, fname, rows, cols, -1, mb.getNonZeros());
+		
+		MatrixBlock ret = new ReaderTextCSVParallel(props)
+			.readMatrixFromHDFS(fname, -1, -1, -1, -1);
+		Assert.assertEquals(rows, ret.getNumRows());
+		Assert.assertEquals(cols, ret.getNumColumns());
+		Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+			DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+	}
+
+	private static void runFrameTest(boolean header) throws Exception {
+		ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64};
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(header, ",", false);
+		FrameReaderTextCSVParallel reader = new FrameReaderTextCSVParallel(props);
+		
+		//concurrent reads of different files with the same reader
+		int k = 4;
+		List<FrameBlock> fbs = new ArrayList<>();
+		for( int i=0; i<k; i++ ) {
+			FrameBlock fb = new FrameBlock(schema);
+			for( int r=0; r<rows+i*101; r++ )
+				fb.appendRow(new Object[] {"s" + (r % 17), (double) (r % 3), (long) (r+i)});
+			FrameWriterFactory.createFrameWriter(FileFormat.CSV, props)
+				.writeFrameToHDFS(fb, FNAME + "frame_" + i, fb.getNumRows(), schema.length);
+			fbs.add(fb);
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			List<Future<FrameBlock>> rets = new ArrayList<>();
+			for( int i=0; i<k; i++ ) {
+				String fname = FNAME + "frame_" + i;
+				rets.add(pool.submit(() -> reader.readFrameFromHDFS(fname, schema, -1, -1)));
+			}
+			for( int i=0; i<k; i++ ) {
+				FrameBlock fb = fbs.get(i);
+				FrameBlock ret = rets.get(i).get();
+				Assert.assertEquals(fb.getNumRows(), ret.getNumRows());
+				Assert.assertEquals(schema.length, ret.getNumColumns());
+				for( int r=0; r<fb.getNumRows(); r++ )
+					for( int j=0; j<schema.length; j++ )
+						Assert.assertEquals(fb.get(r, j), ret.get(r, j));
+				HDFSTool.deleteFileIfExistOnHDFS(FNAME + "frame_" + i);
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.lineage;
+
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.lineage.LineageItemUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineageItemEqualsTest {
+	private static final int DEPTH = 100000;
+
+	@Test
+	public void testEqualsDeepDAG() {
+		LineageItem a = createChain("X", DEPTH);
+		LineageItem b = createChain("X", DEPTH);
+		Assert.assertNotSame(a, b);
+		Assert.assertEquals(a.hashCode(), b.hashCode());
+		Assert.assertEquals(a.getHash64(), b.getHash64());
+		Assert.assertTrue(a.equals(b));
+		Assert.assertTrue(b.equals(a));
+	}
+
+	@Test
+	public void testNotEqualsDeepDAG() {
+		LineageItem a = createChain("X", DEPTH);
+		LineageItem b = createChain("Y", DEPTH);
+		Assert.assertNotEquals(a.getHash64(), b.getHash64());
+		Assert.assertFalse(a.equals(b));
+	}
+
+	@Test
+	public void testEqualsSharedInputs() {
+		//diamond-shaped DAG with exponentially many paths
+		LineageItem a = createDiamond("X", 200);
+		LineageItem b = createDiamond("X", 200);
+		Assert.assertTrue(a.equals(b));
+		Assert.assertFalse(a.equals(createDiamond("Y", 200)));
+	}
+
+	@Test
+	public void testIntern() {
+		LineageItem.resetInterned();
+		LineageItem leaf1 = LineageItem.intern(new LineageItem("X"));
+		LineageItem leaf2 = LineageItem.intern(new LineageItem("X"));
+		Assert.assertSame(leaf1, leaf2);
+		LineageItem a = LineageItem.intern(new LineageItem("tsmm", new LineageItem[]{leaf1}));
+		LineageItem b = LineageItem.intern(new LineageItem("tsmm", new LineageItem[]{leaf2}));
+		Assert.assertSame(a, b);
+		LineageItem c = LineageItem.intern(new LineageItem("t", new LineageItem[]{leaf1}));
+		Assert.assertNotSame(a, c);
+		LineageItem.resetInterned();
+	}
+
+	@Test
+	public void testReplaceCopy() {
+		LineageItem leaf = new LineageItem("X");
+		LineageItem other = new LineageItem("Y");
+		LineageItem a = new LineageItem("t", new LineageItem[]{leaf});
+		LineageItem root = new LineageItem("+", new LineageItem[]{a, other});
+		LineageItem root2 = LineageItemUtils.replaceCopyNR(root, leaf, other);
+		Assert.assertSame(leaf, a.getInputs()[0]);
+		Assert.assertNotSame(root, root2);
+		Assert.assertSame(other, root2.getInputs()[0].getInputs()[0]);
+		Assert.assertSame(other, root2.getInputs()[1]);
+		Assert.assertFalse(root.equals(root2));
+	}
+
+	private static LineageItem createChain(String data, int depth) {
+		LineageItem li = new LineageItem(data);
+		for( int i=0; i<depth; i++ )
+			li = new LineageItem("+", new LineageItem[]{li, new LineageItem(String.valueOf(i % 7))});
+		return li;
+	}
+
+	private static LineageItem createDiamond(String data, int depth) {
+		LineageItem li = new LineageItem(data);
+		for( int i=0; i<depth; i++ ) {
+			LineageItem l = new LineageItem("t", new LineageItem[]{li});
+			LineageItem r = new LineageItem("exp", new LineageItem[]{li});
+			li = new LineageItem("*", new LineageItem[]{l, r});
+		}
+		return li;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.lineage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.lineage.LineageSerializer;
+import org.apache.sysds.utils.Explain;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineageSerializerTest {
+
+	@Test
+	public void testRoundTripSingle() {
+		Map<String, LineageItem> traces = new LinkedHashMap<>();
+		traces.put("R", createLoop(10));
+		checkRoundTrip(traces);
+	}
+
+	@Test
+	public void testRoundTripSharedDAGs() {
+		LineageItem X = new LineageItem("CP\u00b0createvar\u00b0pREADX\u00b0target/X\u00b0false\u00b0MATRIX\u00b0binary\u00b010\u00b010\u00b01000\u00b0-1\u00b0copy", "createvar");
+		LineageItem XtX = new LineageItem("tsmm", new LineageItem[]{X});
+		Map<String, LineageItem> traces = new LinkedHashMap<>();
+		traces.put("A", new LineageItem("+", new LineageItem[]{XtX, new LineageItem("7\u00b7SCALAR\u00b7INT64\u00b7true")}));
+		traces.put("B", new LineageItem("*", new LineageItem[]{XtX, XtX}));
+		traces.put("X", X);
+		Map<String, LineageItem> ret = checkRoundTrip(traces);
+		//shared sub-DAGs are preserved
+		Assert.assertSame(ret.get("X"), ret.get("A").getInputs()[0].getInputs()[0]);
+		Assert.assertSame(ret.get("B").getInputs()[0], ret.get("B").getInputs()[1]);
+	}
+
+	@Test
+	public void testRoundTripDeep() {
+		Map<String, LineageItem> traces = new LinkedHashMap<>();
+		traces.put("R", createLoop(100000));
+		checkRoundTrip(traces);
+	}
+
+	@Test
+	public void testCompactSize() {
+		LineageItem root = createLoop(1000);
+		Map<String, LineageItem> traces = new LinkedHashMap<>();
+		traces.put("R", root);
+		byte[] data = LineageSerializer.serialize(traces);
+		Assert.assertTrue(data.length < Explain.explain(root).length() / 2);
+	}
+
+	private static Map<String, LineageItem> checkRoundTrip(Map<String, LineageItem> traces) {
+		Map<String, LineageItem> ret = LineageSerializer.deserialize(LineageSerializer.serialize(traces));
+		Assert.assertEquals(traces.keySet(), ret.keySet());
+		for( String name : traces.keySet() ) {
+			LineageItem li1 = traces.get(name);
+			LineageItem li2 = ret.get(name);
+			Assert.assertNotSame(li1, li2);
+			Assert.assertEquals(li1.getId(), li2.getId());
+			Assert.assertEquals(li1.hashCode(), li2.hashCode());
+			Assert.assertTrue(li1.equals(li2));
+		}
+		return ret;
+	}
+
+	private static LineageItem createLoop(int iterations) {
+		LineageItem X = new LineageItem("CP\u00b0createvar\u00b0pREADX\u00b0target/X\u00b0false\u00b0MATRIX\u00b0binary\u00b010\u00b010\u00b01000\u00b0-1\u00b0copy", "createvar");
+		LineageItem w = new LineageItem("CP\u00b0rand\u00b010\u00b01\u00b01000\u00b00\u00b00\u00b01.0\u00b07\u00b0uniform\u00b01.0\u00b01\u00b0_mVar1\u00b0MATRIX\u00b0FP64", "rand");
+		LineageItem step = new LineageItem("0.01\u00b7SCALAR\u00b7FP64\u00b7true");
+		for( int i=0; i<iterations; i++ ) {
+			LineageItem g = new LineageItem("ba+*", new LineageItem[]{X, w});
+			w = new LineageItem("-*", new LineageItem[]{w, step, g});
+		}
+		return w;
+	}
+}
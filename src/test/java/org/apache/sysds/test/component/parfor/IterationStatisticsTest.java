@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.parfor;
+
+import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaData;
+import org.apache.sysds.common.Types.ValueType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IterationStatisticsTest {
+
+	@Test
+	public void testUniformTimes() {
+		IterationStatistics stats = new IterationStatistics(null);
+		for( int i=0; i<10; i++ )
+			stats.add(5, 0);
+		Assert.assertEquals(10, stats.getCount());
+		Assert.assertEquals(5, stats.getMeanTime(), 1e-10);
+		Assert.assertEquals(0, stats.getCoefficientOfVariation(), 1e-10);
+	}
+
+	@Test
+	public void testSkewedTimes() {
+		IterationStatistics stats = new IterationStatistics(null);
+		stats.add(1, 0);
+		stats.add(3, 0);
+		Assert.assertEquals(2, stats.getMeanTime(), 1e-10);
+		Assert.assertEquals(0.5, stats.getCoefficientOfVariation(), 1e-10);
+	}
+
+	@Test
+	public void testMemoryExcludesShared() {
+		MatrixObject shared = createMatrixObject(100, 100);
+		MatrixObject local = createMatrixObject(10, 10);
+		LocalVariableMap parent = new LocalVariableMap();
+		parent.put("X", shared);
+		IterationStatistics stats = new IterationStatistics(parent);
+		
+		LocalVariableMap vars = new LocalVariableMap();
+		vars.put("X", shared);
+		vars.put("Y", local);
+		stats.add(1, vars);
+		Assert.assertEquals(local.getDataSize(), stats.getMaxMemory());
+		Assert.assertTrue(stats.getMaxMemory() > 0);
+	}
+
+	private static MatrixObject createMatrixObject(int rows, int cols) {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 1.0, 0, 1, "uniform", 7);
+		MatrixObject mo = new MatrixObject(ValueType.FP64, null,
+			new MetaData(new MatrixCharacteristics(rows, cols, 1000, rows*cols)));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
+import org.apache.sysds.runtime.controlprogram.parfor.Task;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueWorkStealingTest {
+
+	@Test
+	public void testAllIterations() throws Exception {
+		runQueueTest(1, 1000, 1, 4, 1, 0);
+	}
+
+	@Test
+	public void testAllIterationsTaskSize() throws Exception {
+		runQueueTest(1, 1000, 1, 4, 13, 0);
+	}
+
+	@Test
+	public void testAllIterationsIncrement() throws Exception {
+		runQueueTest(3, 997, 7, 3, 2, 0);
+	}
+
+	@Test
+	public void testAllIterationsNegativeIncrement() throws Exception {
+		runQueueTest(100, 1, -3, 4, 1, 0);
+	}
+
+	@Test
+	public void testFewerIterationsThanWorkers() throws Exception {
+		runQueueTest(1, 2, 1, 8, 1, 0);
+	}
+
+	@Test
+	public void testSkewedIterations() throws Exception {
+		//the first 12 of 48 iterations are expensive
+		Set<Long> slow = runQueueTest(1, 48, 1, 4, 1, 12);
+		//without stealing all expensive iterations would run on one worker
+		Assert.assertTrue(slow.size() > 1);
+	}
+
+	private static Set<Long> runQueueTest(long from, long to, long incr, int k, long tasksize, long numSlow) throws Exception {
+		LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(tasksize, k, "i",
+			new IntObject(from), new IntObject(to), new IntObject(incr));
+		Set<Long> iters = ConcurrentHashMap.newKeySet();
+		Set<Long> slowWorkers = ConcurrentHashMap.newKeySet();
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		List<Future<Long>> tasks = new ArrayList<>();
+		for( int w=0; w<k; w++ ) {
+			tasks.add(pool.submit(() -> {
+				long count = 0;
+				Task t = null;
+				while( (t = queue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS ) {
+					List<IntObject> it = t.getIterations();
+					for( long i=it.get(0).getLongValue(); i<=it.get(1).getLongValue(); i+=it.get(2).getLongValue() ) {
+						Assert.assertTrue("Duplicate iteration "+i, iters.add(i));
+						if( i <= numSlow ) {
+							slowWorkers.add(Thread.currentThread().getId());
+							Thread.sleep(20);
+						}
+					}
+					count++;
+				}
+				return count;
+			}));
+		}
+		long numTasks = 0;
+		for( Future<Long> task : tasks )
+			numTasks += task.get();
+		pool.shutdown();
+
+		//every iteration is executed exactly once
+		long lfrom = Math.min(from, to), lto = Math.max(from, to), lincr = Math.abs(incr);
+		long expected = 0;
+		for( long i=(incr>0 ? from : lto - (lto-lfrom)/lincr*lincr); i<=lto; i+=lincr, expected++ )
+			Assert.assertTrue("Missing iteration "+i, iters.contains(i));
+		Assert.assertEquals(expected, iters.size());
+		Assert.assertEquals(queue.getNumCreatedTasks(), numTasks);
+		return slowWorkers;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.BasicProgramBlock;
+import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.ProgramBlock;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.controlprogram.parfor.ParForBody;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.util.ProgramConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProgramCompressionTest {
+
+	@Test
+	public void testRoundtripSmall() {
+		checkRoundtrip("PROG{x=1}");
+	}
+
+	@Test
+	public void testRoundtripEmpty() {
+		checkRoundtrip("");
+	}
+
+	@Test
+	public void testRoundtripUnicode() {
+		checkRoundtrip("PROG{s=\"äöü €\"}");
+	}
+
+	@Test
+	public void testCompressionRatio() {
+		String prog = createProgram(2000);
+		byte[] data = ProgramConverter.compressProgram(prog);
+		Assert.assertTrue("Insufficient compression: "+data.length,
+			data.length < prog.length() / 10);
+		Assert.assertEquals(prog, ProgramConverter.decompressProgram(data));
+	}
+
+	@Test
+	public void testParseCached() {
+		byte[] data = ProgramConverter.compressProgram(createParForBody());
+		ParForBody b1 = ProgramConverter.parseParForBody(data, 1);
+		ParForBody b2 = ProgramConverter.parseParForBody(Arrays.copyOf(data, data.length), 1);
+		//shared program blocks, but independent execution contexts
+		Assert.assertSame(b1.getChildBlocks(), b2.getChildBlocks());
+		Assert.assertNotSame(b1.getEc(), b2.getEc());
+		b1.getVariables().remove("a");
+		Assert.assertEquals(7, ((IntObject)b2.getVariables().get("a")).getLongValue());
+		//no sharing of program blocks across worker ids
+		ParForBody b3 = ProgramConverter.parseParForBody(data, 2);
+		Assert.assertNotSame(b1.getChildBlocks(), b3.getChildBlocks());
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testHashMismatch() {
+		byte[] data = ProgramConverter.compressProgram(createProgram(10));
+		data[4] ^= 1; //first byte of hash
+		ProgramConverter.decompressProgram(data);
+	}
+
+	@Test
+	public void testDistinctPrograms() {
+		String p1 = createProgram(50) + "a";
+		String p2 = createProgram(50) + "b";
+		Assert.assertEquals(p1, ProgramConverter.decompressProgram(ProgramConverter.compressProgram(p1)));
+		Assert.assertEquals(p2, ProgramConverter.decompressProgram(ProgramConverter.compressProgram(p2)));
+	}
+
+	private static void checkRoundtrip(String prog) {
+		Assert.assertEquals(prog, ProgramConverter.decompressProgram(
+			ProgramConverter.compressProgram(prog)));
+	}
+
+	private static String createParForBody() {
+		Program prog = new Program();
+		ArrayList<ProgramBlock> pbs = new ArrayList<>();
+		pbs.add(new BasicProgramBlock(prog));
+		ExecutionContext ec = ExecutionContextFactory.createContext(prog);
+		ec.setVariable("a", new IntObject(7));
+		ec.setVariable("u", new IntObject(System.nanoTime()));
+		return ProgramConverter.serializeParForBody(new ParForBody(pbs, new ArrayList<>(), ec));
+	}
+
+	private static String createProgram(int n) {
+		StringBuilder sb = new StringBuilder("PROG{");
+		for( int i=0; i<n; i++ )
+			sb.append("CP°+·X"+(i%7)+"·MATRIX·FP64·Y·MATRIX·FP64·_mVar"+i+"·MATRIX·FP64·1\n");
+		return sb.append("}").toString();
+	}
+}
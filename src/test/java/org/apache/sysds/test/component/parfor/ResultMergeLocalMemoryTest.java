@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.parfor.ResultMerge;
+import org.apache.sysds.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import org.apache.sysds.runtime.controlprogram.parfor.WriteRanges;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResultMergeLocalMemoryTest {
+	private static final String FNAME = "target/testTemp/component/parfor/ResultMergeLocalMemoryTest/";
+	private static final int rows = 300;
+	private static final int cols = 257;
+	private static final int workers = 4;
+
+	@Test
+	public void testDenseCompareSerial() {
+		runResultMergeTest(0.9, 0.9, false, false, false);
+	}
+
+	@Test
+	public void testDenseCompareParallel() {
+		runResultMergeTest(0.9, 0.9, false, false, true);
+	}
+
+	@Test
+	public void testSparseCompareSerial() {
+		runResultMergeTest(0.05, 0.05, false, false, false);
+	}
+
+	@Test
+	public void testSparseCompareParallel() {
+		runResultMergeTest(0.05, 0.05, false, false, true);
+	}
+
+	@Test
+	public void testSparseDenseCompare() {
+		runResultMergeTest(0.05, 0.9, false, false, false);
+	}
+
+	@Test
+	public void testDenseSparseCompare() {
+		runResultMergeTest(0.9, 0.01, false, false, true);
+	}
+
+	@Test
+	public void testDenseDisjointRanges() {
+		runResultMergeTest(0.9, 0.9, true, true, false);
+	}
+
+	@Test
+	public void testSparseDisjointRanges() {
+		runResultMergeTest(0.05, 0.05, true, true, true);
+	}
+
+	@Test
+	public void testDenseOverlappingRanges() {
+		runResultMergeTest(0.9, 0.9, true, false, true);
+	}
+
+	@Test
+	public void testSparseOverlappingRanges() {
+		runResultMergeTest(0.05, 0.5, true, false, false);
+	}
+
+	@Test
+	public void testWriteRangesCoalesce() {
+		WriteRanges wr = new WriteRanges(7);
+		for( int i=0; i<100; i++ )
+			wr = wr.add(new IndexRange(i, i, 0, 9));
+		Assert.assertEquals(1, wr.getNumRanges());
+		Assert.assertEquals(99, wr.getRange(0).rowEnd);
+		wr = wr.add(new IndexRange(3, 3, 2, 2)); //contained
+		Assert.assertEquals(1, wr.getNumRanges());
+		Assert.assertEquals(7, wr.getBaseID());
+	}
+
+	@Test
+	public void testWriteRangesCollapse() {
+		WriteRanges wr = new WriteRanges(1);
+		for( int i=0; i<128; i+=2 )
+			wr = wr.add(new IndexRange(i, i, 0, 0));
+		Assert.assertEquals(64, wr.getNumRanges());
+		wr = wr.add(new IndexRange(128, 128, 0, 0));
+		Assert.assertEquals(1, wr.getNumRanges());
+		Assert.assertEquals(0, wr.getRange(0).rowStart);
+		Assert.assertEquals(128, wr.getRange(0).rowEnd);
+	}
+
+	@Test
+	public void testWriteRangesDisjoint() {
+		WriteRanges wr1 = new WriteRanges(1).add(new IndexRange(0, 9, 0, 4));
+		WriteRanges wr2 = new WriteRanges(1).add(new IndexRange(0, 9, 5, 9));
+		WriteRanges wr3 = new WriteRanges(1).add(new IndexRange(5, 5, 3, 7));
+		Assert.assertTrue(WriteRanges.isDisjoint(Arrays.asList(wr1, wr2)));
+		Assert.assertFalse(WriteRanges.isDisjoint(Arrays.asList(wr1, wr2, wr3)));
+		Assert.assertTrue(new WriteRanges(1).isEmpty());
+	}
+
+	private static void runResultMergeTest(double spOut, double spIn, boolean ranges, boolean disjoint, boolean par) {
+		Random rand = new Random(7);
+		MatrixBlock base = MatrixBlock.randOperations(rows, cols, spOut, -1, 1, "uniform", 3);
+		base.quickSetValue(1, 1, Double.NaN);
+		MatrixObject out = createMatrixObject(base, FNAME+"out");
+		if( ranges )
+			out.setWriteRanges(new WriteRanges(out.getUniqueID()));
+		
+		//simulate workers that update rows (w/ blocked or cyclic assignment)
+		MatrixBlock ret = new MatrixBlock(base);
+		MatrixObject[] in = new MatrixObject[workers];
+		for( int w=0; w<workers; w++ ) {
+			MatrixBlock mb = new MatrixBlock(base);
+			WriteRanges wr = out.getWriteRanges();
+			for( int i=0; i<rows; i++ ) {
+				if( (disjoint ? i*workers/rows : i%workers) != w || i == 1 )
+					continue; //row 1 unchanged (incl NaN)
+				MatrixBlock row = MatrixBlock.randOperations(1, cols, spIn, -1, 1, "uniform", rand.nextInt());
+				mb = mb.leftIndexingOperations(row, i, i, 0, cols-1, new MatrixBlock(), MatrixObject.UpdateType.COPY);
+				ret = ret.leftIndexingOperations(row, i, i, 0, cols-1, new MatrixBlock(), MatrixObject.UpdateType.COPY);
+				if( wr != null )
+					wr = wr.add(new IndexRange(i, i, 0, cols-1));
+			}
+			in[w] = createMatrixObject(mb, FNAME+"in"+w);
+			in[w].setWriteRanges(wr);
+		}
+		
+		ResultMerge rm = new ResultMergeLocalMemory(out, in, FNAME+"ret", false);
+		MatrixObject moNew = par ? rm.executeParallelMerge(workers) : rm.executeSerialMerge();
+		MatrixBlock mbNew = moNew.acquireRead();
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals(ret.quickGetValue(i, j), mbNew.quickGetValue(i, j), 0);
+		Assert.assertEquals(ret.recomputeNonZeros(), mbNew.getNonZeros());
+		moNew.release();
+	}
+
+	private static MatrixObject createMatrixObject(MatrixBlock mb, String fname) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, mb.getNonZeros());
+		MatrixObject mo = new MatrixObject(ValueType.FP64, fname, new MetaDataFormat(mc, FileFormat.BINARY));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VirtualThreadPoolTest {
+
+	@After
+	public void resetConfig() {
+		ConfigurationManager.setLocalConfig(new DMLConfig());
+	}
+
+	@Test
+	public void testDefaultPlatformThreads() throws Exception {
+		ConfigurationManager.setLocalConfig(new DMLConfig());
+		Assert.assertFalse(CommonThreadPool.isVirtualThreads());
+		checkBlockingPool(4, 64, false);
+		checkThread();
+	}
+
+	@Test
+	public void testVirtualThreads() throws Exception {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.CP_VIRTUAL_THREADS, "true");
+		ConfigurationManager.setLocalConfig(conf);
+		//falls back to platform threads on JVMs w/o virtual threads
+		boolean virtual = CommonThreadPool.isVirtualThreadsSupported();
+		Assert.assertEquals(virtual, CommonThreadPool.isVirtualThreads());
+		checkBlockingPool(2, 64, virtual);
+		checkThread();
+	}
+
+	@Test
+	public void testCachedThreadPool() throws Exception {
+		ExecutorService pool = CommonThreadPool.newCachedThreadPool();
+		Assert.assertEquals(Integer.valueOf(7), pool.submit(() -> 7).get());
+		pool.shutdown();
+	}
+
+	private static void checkBlockingPool(int k, int n, boolean unbounded) throws Exception {
+		//with unbounded blocking, all tasks wait for each other (more tasks than threads)
+		CountDownLatch latch = new CountDownLatch(unbounded ? n : 0);
+		ExecutorService pool = CommonThreadPool.getBlocking(k);
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for( int i=0; i<n; i++ ) {
+			final int ix = i;
+			tasks.add(() -> {
+				latch.countDown();
+				if( !latch.await(30, TimeUnit.SECONDS) )
+					throw new RuntimeException("Blocking tasks did not run concurrently.");
+				return ix;
+			});
+		}
+		List<Future<Integer>> ret = pool.invokeAll(tasks);
+		for( int i=0; i<n; i++ )
+			Assert.assertEquals(Integer.valueOf(i), ret.get(i).get());
+		pool.shutdown();
+	}
+
+	private static void checkThread() throws Exception {
+		int[] ret = new int[1];
+		Thread t = CommonThreadPool.newThread(() -> ret[0] = 1);
+		t.start();
+		t.join();
+		Assert.assertEquals(1, ret[0]);
+	}
+}
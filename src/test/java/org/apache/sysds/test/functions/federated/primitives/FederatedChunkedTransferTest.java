@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.federated.primitives;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedChunk;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedChunkedTransferTest extends AutomatedTestBase {
+
+	private final static String TEST_DIR = "functions/federated/";
+	private final static String TEST_NAME = "FederatedChunkedTransferTest";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FederatedChunkedTransferTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1000;
+	private final static int cols = 20;
+	private final static int k = 100;
+	private final static long chunkSize = 4 * 1024;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"Z"}));
+	}
+
+	@Test
+	public void federatedChunkedTransferDense() {
+		runChunkedTransferTest(1.0);
+	}
+
+	@Test
+	public void federatedChunkedTransferSparse() {
+		runChunkedTransferTest(0.05);
+	}
+
+	private void runChunkedTransferTest(double sparsity) {
+		getAndLoadTestConfiguration(TEST_NAME);
+		String HOME = SCRIPT_DIR + TEST_DIR;
+
+		// write inputs, where both the broadcast Y (PUT_VAR) and the federated
+		// partitions of the result Z (GET_VAR) exceed the chunk size
+		int halfRows = rows / 2;
+		double[][] X1 = getRandomMatrix(halfRows, cols, 0, 1, sparsity, 3);
+		double[][] X2 = getRandomMatrix(halfRows, cols, 0, 1, sparsity, 7);
+		double[][] Y = getRandomMatrix(cols, k, 0, 1, sparsity, 11);
+		writeInputMatrixWithMTD("X1", X1, false);
+		writeInputMatrixWithMTD("X2", X2, false);
+		writeInputMatrixWithMTD("Y", Y, false);
+
+		int port1 = getRandomAvailablePort();
+		int port2 = getRandomAvailablePort();
+		Thread t1 = startLocalFedWorkerThread(port1, FED_WORKER_WAIT_S);
+		Thread t2 = startLocalFedWorkerThread(port2);
+		long chunkSizeOld = FederatedChunk.CHUNK_SIZE;
+		FederatedChunk.CHUNK_SIZE = chunkSize;
+
+		try {
+			fullDMLScriptName = HOME + TEST_NAME + "Reference.dml";
+			programArgs = new String[] {"-nvargs", "X1=" + input("X1"), "X2=" + input("X2"),
+				"Y=" + input("Y"), "Z=" + expected("Z")};
+			runTest(true, false, null, -1);
+
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[] {"-nvargs", "X1=" + TestUtils.federatedAddress(port1, input("X1")),
+				"X2=" + TestUtils.federatedAddress(port2, input("X2")), "Y=" + input("Y"),
+				"r=" + rows, "c=" + cols, "Z=" + output("Z")};
+			runTest(true, false, null, -1);
+
+			compareResults(1e-9);
+		}
+		finally {
+			FederatedChunk.CHUNK_SIZE = chunkSizeOld;
+			TestUtils.shutdownThreads(t1, t2);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.federated.primitives;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.apache.sysds.common.Types;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedConnectionPool;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedConnectionPoolTest {
+	private static final int THREADS = 8;
+	private static final int REQUESTS = 50;
+
+	@Test
+	public void testMultiplexedRequests() throws Exception {
+		int port = AutomatedTestBase.getRandomAvailablePort();
+		Thread t = AutomatedTestBase.startLocalFedWorkerWithArgs(new String[] {"-w", Integer.toString(port)});
+		Thread.sleep(1000);
+		FederatedData d = new FederatedData(Types.DataType.MATRIX,
+			new InetSocketAddress("localhost", port), "Nowhere");
+		try {
+			//concurrent threads w/ many in-flight requests each
+			IntStream.range(0, THREADS).parallel().forEach(i -> runRequests(d, i));
+			int open = FederatedConnectionPool.getNumOpenChannels();
+			assertTrue(open >= 1 && open <= FederatedConnectionPool.CHANNELS_PER_SITE);
+			
+			//releasing other sites keeps the channels of this site open
+			FederatedConnectionPool.close(Collections.singletonList(
+				new InetSocketAddress("localhost", port + 1)));
+			assertEquals(open, FederatedConnectionPool.getNumOpenChannels());
+			
+			//reconnect after closed connections
+			FederatedConnectionPool.close();
+			assertEquals(0, FederatedConnectionPool.getNumOpenChannels());
+			assertEquals(7, getValue(d.executeFederatedOperation(
+				new FederatedRequest(RequestType.GET_VAR, 7)).get()), 0);
+			assertEquals(1, FederatedConnectionPool.getNumOpenChannels());
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+		assertEquals(0, FederatedConnectionPool.getNumOpenChannels());
+	}
+
+	private static void runRequests(FederatedData d, int tid) {
+		try {
+			List<Future<FederatedResponse>> ret = new ArrayList<>();
+			for( int i=0; i<REQUESTS; i++ ) {
+				long id = tid * REQUESTS + i;
+				ret.add(d.executeFederatedOperation(
+					new FederatedRequest(RequestType.PUT_VAR, id, new DoubleObject(id)),
+					new FederatedRequest(RequestType.GET_VAR, id)));
+			}
+			for( int i=0; i<REQUESTS; i++ )
+				assertEquals(tid * REQUESTS + i, getValue(ret.get(i).get()), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static double getValue(FederatedResponse response) throws Exception {
+		return ((ScalarObject) response.getData()[0]).getDoubleValue();
+	}
+}
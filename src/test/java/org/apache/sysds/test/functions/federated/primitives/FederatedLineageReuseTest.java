@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.federated.primitives;
+
+import java.net.InetSocketAddress;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedUDF;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedLineageReuseTest extends AutomatedTestBase {
+
+	private final static String TEST_DIR = "functions/federated/";
+	private final static String TEST_NAME = "FederatedLineageReuseTest";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FederatedLineageReuseTest.class.getSimpleName() + "/";
+
+	private final static int rows = 200;
+	private final static int cols = 20;
+	private final static int iters = 3;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+
+	@Test
+	public void federatedTsmmReuse() {
+		getAndLoadTestConfiguration(TEST_NAME);
+		String HOME = SCRIPT_DIR + TEST_DIR;
+
+		double[][] X = getRandomMatrix(rows / 2, cols, -1, 1, 1, 7);
+		writeInputMatrixWithMTD("X", X, false, new MatrixCharacteristics(rows / 2, cols, 1000, rows / 2 * cols));
+
+		// keep worker statistics (lineage cache hits) for assertions
+		Statistics.allowWorkerStatistics = false;
+		int port = getRandomAvailablePort();
+		Thread t = startLocalFedWorkerWithArgs(new String[] {"-w", Integer.toString(port),
+			"-lineage", ReuseCacheType.REUSE_FULL.name().toLowerCase()});
+
+		try {
+			// run reference script w/o lineage-based reuse
+			fullDMLScriptName = HOME + TEST_NAME + "Reference.dml";
+			programArgs = new String[] {"-args", input("X"), String.valueOf(iters), expected("R")};
+			runTest(true, false, null, -1);
+
+			// run federated script twice, where the worker reuses tsmm results
+			// across both federated partitions, iterations, and coordinator sessions
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[] {"-stats", "-lineage", ReuseCacheType.REUSE_FULL.name().toLowerCase(),
+				"-nvargs", "in=" + TestUtils.federatedAddress(port, input("X")), "rows=" + rows,
+				"cols=" + cols, "iters=" + iters, "out=" + output("R")};
+			Lineage.resetInternalState();
+			runTest(true, false, null, -1);
+			compareResults(1e-9);
+			Assert.assertTrue(LineageCacheStatistics.getInstHits() >= 2 * iters - 1);
+
+			runTest(true, false, null, -1);
+			compareResults(1e-9);
+			Assert.assertTrue(LineageCacheStatistics.getInstHits() >= 2 * iters);
+		}
+		finally {
+			Lineage.resetInternalState();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void federatedUDFOverwriteNoReuse() throws Exception {
+		int port = getRandomAvailablePort();
+		Thread t = startLocalFedWorkerWithArgs(new String[] {"-w", Integer.toString(port),
+			"-lineage", ReuseCacheType.REUSE_FULL.name().toLowerCase()});
+		FederatedData d = new FederatedData(DataType.MATRIX,
+			new InetSocketAddress("localhost", port), "Nowhere");
+		try {
+			MatrixBlock X1 = MatrixBlock.randOperations(rows, cols, 1, -1, 1, "uniform", 7);
+			MatrixBlock X2 = MatrixBlock.randOperations(rows, cols, 1, -1, 1, "uniform", 3);
+			String tsmm = "CP" + Lop.OPERAND_DELIMITOR + "tsmm" + Lop.OPERAND_DELIMITOR
+				+ "1" + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "FP64" + Lop.OPERAND_DELIMITOR
+				+ "%d" + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "FP64" + Lop.OPERAND_DELIMITOR
+				+ "LEFT" + Lop.OPERAND_DELIMITOR + "1";
+			
+			// tsmm of the put variable, then overwrite the input by a UDF
+			Assert.assertTrue(d.executeFederatedOperation(
+				new FederatedRequest(RequestType.PUT_VAR, 1, X1)).get().isSuccessful());
+			Assert.assertTrue(d.executeFederatedOperation(
+				new FederatedRequest(RequestType.EXEC_INST, -1, String.format(tsmm, 2))).get().isSuccessful());
+			Assert.assertTrue(d.executeFederatedOperation(
+				new FederatedRequest(RequestType.EXEC_UDF, -1, new OverwriteUDF(1, X2))).get().isSuccessful());
+			
+			// tsmm of the overwritten variable must not reuse the first tsmm
+			Assert.assertTrue(d.executeFederatedOperation(
+				new FederatedRequest(RequestType.EXEC_INST, -1, String.format(tsmm, 3))).get().isSuccessful());
+			MatrixBlock R = (MatrixBlock) d.executeFederatedOperation(
+				new FederatedRequest(RequestType.GET_VAR, 3)).get().getData()[0];
+			MatrixBlock E = X2.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+			TestUtils.compareMatrices(E, R, 1e-9);
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			Lineage.resetInternalState();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	private static class OverwriteUDF extends FederatedUDF {
+		private static final long serialVersionUID = 5106453474553416123L;
+		private final long _id;
+		private final MatrixBlock _mb;
+
+		protected OverwriteUDF(long id, MatrixBlock mb) {
+			super(new long[0]);
+			_id = id;
+			_mb = mb;
+		}
+
+		@Override
+		public FederatedResponse execute(ExecutionContext ec, Data... data) {
+			ec.setVariable(String.valueOf(_id), ExecutionContext.createMatrixObject(_mb));
+			return new FederatedResponse(ResponseType.SUCCESS_EMPTY);
+		}
+	}
+}
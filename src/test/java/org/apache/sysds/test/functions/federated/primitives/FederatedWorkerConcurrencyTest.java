@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.federated.primitives;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.common.Types;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedUDF;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedWorkerConcurrencyTest {
+
+	@Test
+	public void testConcurrentExecutionContexts() throws Exception {
+		int port = AutomatedTestBase.getRandomAvailablePort();
+		Thread t = startWorker(port);
+		FederatedData d = new FederatedData(Types.DataType.MATRIX,
+			new InetSocketAddress("localhost", port), "Nowhere");
+		try {
+			//long-running request of one context does not block other contexts
+			Future<FederatedResponse> slow = d.executeFederatedOperation(createSleepRequest(1, 5000, 1));
+			Future<FederatedResponse> fast = d.executeFederatedOperation(createSleepRequest(2, 0, 2));
+			assertEquals(2, getValue(fast.get()), 0);
+			assertFalse(slow.isDone());
+			assertEquals(1, getValue(slow.get()), 0);
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testOrderedExecutionContext() throws Exception {
+		int port = AutomatedTestBase.getRandomAvailablePort();
+		Thread t = startWorker(port);
+		FederatedData d = new FederatedData(Types.DataType.MATRIX,
+			new InetSocketAddress("localhost", port), "Nowhere");
+		try {
+			//requests of the same context are executed in order
+			long id = 1234;
+			Future<FederatedResponse> put = d.executeFederatedOperation(createSleepRequest(3, 1000, id));
+			FederatedRequest get = new FederatedRequest(RequestType.GET_VAR, id);
+			get.setTID(3);
+			Future<FederatedResponse> ret = d.executeFederatedOperation(get);
+			assertTrue(put.get().isSuccessful());
+			assertEquals(id, getValue(ret.get()), 0);
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testClearExecutionContexts() throws Exception {
+		int port = AutomatedTestBase.getRandomAvailablePort();
+		Thread t = startWorker(port);
+		FederatedData d = new FederatedData(Types.DataType.MATRIX,
+			new InetSocketAddress("localhost", port), "Nowhere");
+		try {
+			//requests after a clear are executed in order as well
+			for( long id : new long[] {4321, 4322} ) {
+				Future<FederatedResponse> put = d.executeFederatedOperation(createSleepRequest(4, 500, id));
+				FederatedRequest get = new FederatedRequest(RequestType.GET_VAR, id);
+				get.setTID(4);
+				Future<FederatedResponse> ret = d.executeFederatedOperation(get);
+				assertTrue(put.get().isSuccessful());
+				assertEquals(id, getValue(ret.get()), 0);
+				assertTrue(d.executeFederatedOperation(
+					new FederatedRequest(RequestType.CLEAR)).get().isSuccessful());
+				//cleared variables are no longer available
+				get = new FederatedRequest(RequestType.GET_VAR, id);
+				get.setTID(4);
+				assertFalse(d.executeFederatedOperation(get).get().isSuccessful());
+			}
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+		private static Thread startWorker(int port) throws Exception {
+		Thread t = AutomatedTestBase.startLocalFedWorkerWithArgs(new String[] {"-w", Integer.toString(port)});
+		//wait until the worker accepts connections
+		for( int i=0; i<100; i++ ) {
+			try( Socket s = new Socket("localhost", port) ) {
+				return t;
+			}
+			catch(IOException ex) {
+				Thread.sleep(100);
+			}
+		}
+		return t;
+	}
+
+	private static FederatedRequest createSleepRequest(long tid, long ms, long id) {
+		FederatedRequest fr = new FederatedRequest(RequestType.EXEC_UDF, -1, new SleepUDF(ms, id));
+		fr.setTID(tid);
+		return fr;
+	}
+
+	private static double getValue(FederatedResponse response) throws Exception {
+		return ((ScalarObject) response.getData()[0]).getDoubleValue();
+	}
+
+	private static class SleepUDF extends FederatedUDF {
+		private static final long serialVersionUID = 1850457632154717441L;
+		private final long _ms;
+		private final long _id;
+
+		protected SleepUDF(long ms, long id) {
+			super(new long[0]);
+			_ms = ms;
+			_id = id;
+		}
+
+		@Override
+		public FederatedResponse execute(ExecutionContext ec, Data... data) {
+			try {
+				Thread.sleep(_ms);
+			}
+			catch(InterruptedException e) {
+				return new FederatedResponse(ResponseType.ERROR, e);
+			}
+			DoubleObject ret = new DoubleObject(_id);
+			ec.setVariable(String.valueOf(_id), ret);
+			return new FederatedResponse(ResponseType.SUCCESS, ret);
+		}
+	}
+}
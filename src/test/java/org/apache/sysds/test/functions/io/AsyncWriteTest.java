@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteBuffer;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncWriteTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "AsyncWrite";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + AsyncWriteTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-async-write.xml");
+	
+	private final static int rows = 1200;
+	private final static int cols = 35;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+	
+	@Test
+	public void testAsyncWriteJMLC() throws IOException {
+		getAndLoadTestConfiguration(TEST_NAME);
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_ASYNC_WRITE, "true");
+		String script = "X = matrix(seq(1, "+rows+"*"+cols+"), rows="+rows+", cols="+cols+");\n"
+			+ "write(X, \"" + output("R") + "\", format=\"binary\");";
+		try( Connection conn = new Connection(conf) ) {
+			PreparedScript pscript = conn.prepareScript(script, new String[]{}, new String[]{});
+			pscript.executeScript();
+			
+			//executeScript returns only after all pending writes completed
+			Assert.assertEquals(0, AsyncWriteBuffer.getNumPending());
+			double[][] R = conn.readDoubleMatrix(output("R"));
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(i*cols+j+1, R[i][j], 0);
+		}
+	}
+	
+	@Test
+	public void testAsyncWriteParForRemote() {
+		ExecMode platformOld = setExecMode(ExecMode.HYBRID);
+		try {
+			getAndLoadTestConfiguration(TEST_NAME);
+			fullDMLScriptName = getScript();
+			programArgs = new String[] {"-args",
+				String.valueOf(rows), String.valueOf(cols), output("R")};
+			runTest(true, false, null, -1);
+			
+			Assert.assertEquals(0, AsyncWriteBuffer.getNumPending());
+			for( int k=1; k<=4; k++ ) {
+				HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R"+k);
+				HashMap<CellIndex, Double> E = new HashMap<>();
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						E.put(new CellIndex(i+1, j+1), (double)(i*cols+j+1)*k);
+				TestUtils.compareMatrices(E, R, 0, "Expected", "R"+k);
+			}
+		}
+		finally {
+			resetExecMode(platformOld);
+		}
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.io.parquet;
+
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ReadWriteParquetTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadWriteParquetTest";
+	private final static String TEST_DIR = "functions/io/parquet/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteParquetTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1234;
+	private final static int cols = 56;
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "Y" }) );
+	}
+	
+	@Test
+	public void testDenseCP() {
+		runParquetTest(ExecMode.SINGLE_NODE, 0.9, false, false);
+	}
+	
+	@Test
+	public void testSparseCP() {
+		runParquetTest(ExecMode.SINGLE_NODE, 0.05, false, false);
+	}
+	
+	@Test
+	public void testDenseParallelCP() {
+		runParquetTest(ExecMode.SINGLE_NODE, 0.9, true, false);
+	}
+	
+	@Test
+	public void testSparseParallelCP() {
+		runParquetTest(ExecMode.SINGLE_NODE, 0.05, true, false);
+	}
+	
+	@Test
+	public void testDenseHybrid() {
+		runParquetTest(ExecMode.HYBRID, 0.9, true, false);
+	}
+	
+	@Test
+	public void testDenseHybridSparkOps() {
+		runParquetTest(ExecMode.HYBRID, 0.9, true, true);
+	}
+	
+	@Test
+	public void testDenseSpark() {
+		runParquetTest(ExecMode.SPARK, 0.9, true, false);
+	}
+	
+	@Test
+	public void testSparseSpark() {
+		runParquetTest(ExecMode.SPARK, 0.05, false, false);
+	}
+
+	private void runParquetTest(ExecMode mode, double sparsity, boolean parallel, boolean lowMem) {
+		ExecMode oldMode = setExecMode(mode);
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_TEXT;
+		long oldmem = InfrastructureAnalyzer.getLocalMaxMemory();
+		
+		try {
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = parallel;
+			if( lowMem ) //force spark operations on the parquet input
+				InfrastructureAnalyzer.setLocalMaxMemory(1024*1024);
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), output("Y")};
+			
+			//write input in parquet format
+			MatrixBlock X = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, X.getNonZeros());
+			DataConverter.writeMatrixToHDFS(X, input("X"), FileFormat.PARQUET, mc);
+			HDFSTool.writeMetaDataFile(input("X.mtd"), ValueType.FP64, mc, FileFormat.PARQUET);
+			
+			runTest(true, false, null, -1);
+			
+			//compare with expected result
+			MatrixBlock Y = DataConverter.readMatrixFromHDFS(output("Y"), FileFormat.PARQUET, rows, cols, -1, -1);
+			double[][] dX = DataConverter.convertToDoubleMatrix(X);
+			double[][] expected = new double[rows][cols];
+			for( int i=0; i<rows; i++ ) {
+				double rowSum = sumRow(dX[i]);
+				for( int j=0; j<cols; j++ )
+					expected[i][j] = 7 * dX[i][j] + rowSum;
+			}
+			TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(Y), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			resetExecMode(oldMode);
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = oldpar;
+			InfrastructureAnalyzer.setLocalMaxMemory(oldmem);
+			OptimizerUtils.resetDefaultSize();
+		}
+	}
+	
+	private static double sumRow(double[] row) {
+		double sum = 0;
+		for( double v : row )
+			sum += v;
+		return sum;
+	}
+}
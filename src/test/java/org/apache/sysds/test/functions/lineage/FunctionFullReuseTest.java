@@ -40,7 +40,7 @@ public class FunctionFullReuseTest extends LineageBase {
 
 	protected static final String TEST_DIR = "functions/lineage/";
 	protected static final String TEST_NAME = "FunctionFullReuse";
-	protected static final int TEST_VARIANTS = 8;
+	protected static final int TEST_VARIANTS = 10;
 	
 	protected String TEST_CLASS_DIR = TEST_DIR + FunctionFullReuseTest.class.getSimpleName() + "/";
 	
@@ -86,6 +86,16 @@ public class FunctionFullReuseTest extends LineageBase {
 		testLineageTrace(TEST_NAME+"8");
 	}
 	
+	@Test
+	public void testEvalListArguments() {
+		testLineageTrace(TEST_NAME+"9");
+	}
+	
+	@Test
+	public void testEvalListLeftIndexing() {
+		testLineageTrace(TEST_NAME+"10");
+	}
+	
 	public void testLineageTrace(String testname) {
 		boolean old_simplification = OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION;
 		boolean old_sum_product = OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES;
@@ -132,6 +142,12 @@ public class FunctionFullReuseTest extends LineageBase {
 				Assert.assertEquals(9L, LineageCacheStatistics.getMultiLevelFnHits() 
 					+ LineageCacheStatistics.getMultiLevelSBHits());
 			}
+			if( testname.endsWith("9") ) { // eval fn reuse, 2 distinct configs
+				Assert.assertEquals(12L, LineageCacheStatistics.getMultiLevelFnHits());
+			}
+			if( testname.endsWith("10") ) { // eval fn reuse, left-indexed lists
+				Assert.assertEquals(3L, LineageCacheStatistics.getMultiLevelFnHits());
+			}
 		}
 		finally {
 			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = old_simplification;
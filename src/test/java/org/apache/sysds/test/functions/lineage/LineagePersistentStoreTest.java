@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.lineage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.lineage.LineagePersistentStore;
+import org.junit.Test;
+
+/**
+ * Tests of the stable lineage digest of the persistent store.
+ */
+public class LineagePersistentStoreTest
+{
+	@Test
+	public void testDigestValueLiterals() {
+		LineageItem li1 = createOp(createLiteral(7), createLiteral(3));
+		LineageItem li2 = createOp(createLiteral(7), createLiteral(3));
+		assertNotNull(LineagePersistentStore.getDigest(li1));
+		assertEquals(LineagePersistentStore.getDigest(li1), LineagePersistentStore.getDigest(li2));
+	}
+
+	@Test
+	public void testDigestFileRead() {
+		LineageItem read = new LineageItem("X·MATRIX·FP64·false°./in/X°false°MATRIX°text", "createvar");
+		assertNotNull(LineagePersistentStore.getDigest(createOp(read, createLiteral(3))));
+	}
+
+	@Test
+	public void testNoDigestNamedVariable() {
+		//variables w/o trace are traced by name, which is not stable across executions
+		LineageItem name = new LineageItem(new CPOperand("X", ValueType.FP64, DataType.MATRIX).getLineageLiteral());
+		assertNull(LineagePersistentStore.getDigest(createOp(name, createLiteral(3))));
+	}
+
+	@Test
+	public void testNoDigestOtherCreation() {
+		//e.g., variables put by a federated coordinator
+		LineageItem put = new LineageItem("5c3f", "PUT_VAR");
+		assertNull(LineagePersistentStore.getDigest(createOp(createLiteral(3), put)));
+	}
+
+	private static LineageItem createLiteral(long val) {
+		return new LineageItem(new CPOperand(new IntObject(val)).getLineageLiteral());
+	}
+
+	private static LineageItem createOp(LineageItem in1, LineageItem in2) {
+		return new LineageItem("+", new LineageItem[] {in1, in2});
+	}
+}
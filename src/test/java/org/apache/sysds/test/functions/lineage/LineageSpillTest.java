@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheEviction;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class LineageSpillTest extends LineageBase {
+	
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "LineageSpill1";
+	protected String TEST_CLASS_DIR = TEST_DIR + LineageSpillTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_COMPRESS = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-spill-compress.xml");
+	private final static File TEST_CONF_ASYNC = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-spill-async.xml");
+	private static final long CACHE_LIMIT = 10 * 1024 * 1024; //10MB
+	
+	private File _conf = null;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+	}
+	
+	@Test
+	public void testSpillSync() {
+		runLineageSpill(null);
+	}
+	
+	@Test
+	public void testSpillAsync() {
+		runLineageSpill(TEST_CONF_ASYNC);
+	}
+	
+	@Test
+	public void testSpillAsyncCompressed() {
+		runLineageSpill(TEST_CONF_COMPRESS);
+	}
+	
+	private void runLineageSpill(File conf) {
+		long limitOld = LineageCacheEviction.getCacheLimit();
+		try {
+			getAndLoadTestConfiguration(TEST_NAME1);
+			fullDMLScriptName = getScript();
+			_conf = conf;
+			
+			// w/o lineage
+			programArgs = new String[] {"-stats", "-args", output("R1")};
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			
+			// w/ reuse and spilling of evicted matrix multiplications
+			LineageCacheEviction.setTestCacheLimit(CACHE_LIMIT);
+			LineageCacheConfig.setReusableOpcodes("ba+*");
+			programArgs = new String[] {"-stats", "-lineage",
+				ReuseCacheType.REUSE_FULL.name().toLowerCase(), "-args", output("R2")};
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			Assert.assertTrue(LineageCacheStatistics.getFSWrites() > 0);
+			Assert.assertTrue(LineageCacheStatistics.getFSHits() > 0);
+			
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R1");
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R2");
+			TestUtils.compareMatrices(R1, R2, 1e-8, "R1", "R2");
+		}
+		finally {
+			LineageCacheEviction.setTestCacheLimit(limitOld);
+			LineageCacheConfig.resetReusableOpcodes();
+			Lineage.resetInternalState();
+			_conf = null;
+		}
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return (_conf != null) ? _conf : super.getConfigTemplateFile();
+	}
+}
@@ -27,6 +27,7 @@ import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixValue;
 import org.apache.sysds.test.TestConfiguration;
@@ -39,12 +40,16 @@ public class PartialReuseTest extends LineageBase {
 	
 	protected static final String TEST_DIR = "functions/lineage/";
 	protected static final String TEST_NAME1 = "PartialReuse1";
+	protected static final String TEST_NAME2 = "PartialReuse2";
+	protected static final String TEST_NAME3 = "PartialReuse3";
 	protected String TEST_CLASS_DIR = TEST_DIR + PartialReuseTest.class.getSimpleName() + "/";
 	
 	@Override
 	public void setUp() {
 		TestUtils.clearAssertionInformation();
 		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2));
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3));
 	}
 	
 	@Test
@@ -58,6 +63,18 @@ public class PartialReuseTest extends LineageBase {
 		//test partial reuse in Hybrid (i.e., w/ reuse-aware recompilation)
 		testLineageTraceReuse(TEST_NAME1, ExecMode.HYBRID);
 	}
+	
+	@Test
+	public void testLineageTrace2CP() {
+		//test incremental reuse of sliding, expanding and appended windows
+		testLineageTraceReuse(TEST_NAME2, ExecMode.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testLineageTrace3CP() {
+		//test sliding windows w/ non-finite values in dropped rows
+		testLineageTraceReuse(TEST_NAME3, ExecMode.SINGLE_NODE);
+	}
 
 	
 	public void testLineageTraceReuse(String testname, ExecMode et) {
@@ -90,6 +107,7 @@ public class PartialReuseTest extends LineageBase {
 			Lineage.setLinReuseFull();
 			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
 			HashMap<MatrixValue.CellIndex, Double> X_reused = readDMLMatrixFromOutputDir("X");
+			long numRewrites = LineageCacheStatistics.getPRewrites();
 			Lineage.setLinReuseNone();
 			
 			//compare matrices
@@ -100,6 +118,12 @@ public class PartialReuseTest extends LineageBase {
 			//if compiler assisted reuse check for the introduced appends (3x per iteration)
 			if( et == ExecMode.HYBRID )
 				Assert.assertEquals(900, Statistics.getCPHeavyHitterCount("append"));
+			//check the incremental rewrites (4x per sliding, 2x per appended window)
+			if( testname.equals(TEST_NAME2) )
+				Assert.assertEquals(19*4 + 19*2, numRewrites);
+			//check the skipped rewrites (dropped NaN/Inf rows, full recompute at i=32)
+			if( testname.equals(TEST_NAME3) )
+				Assert.assertEquals((39-3)*2, numRewrites);
 		}
 		finally {
 			resetExecMode(execModeOld);
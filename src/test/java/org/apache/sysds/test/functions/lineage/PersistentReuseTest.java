@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.lineage.LineagePersistentStore;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PersistentReuseTest extends LineageBase {
+	
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "PersistentReuse1";
+	protected String TEST_CLASS_DIR = TEST_DIR + PersistentReuseTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-persist.xml");
+	private final static String STORE_DIR = "target/testTemp/" + TEST_DIR + "PersistentReuseTest/store";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+	}
+	
+	@Test
+	public void testPersistentReuse() throws Exception {
+		double minTimeOld = LineagePersistentStore.MIN_COMPUTE_TIME;
+		try {
+			getAndLoadTestConfiguration(TEST_NAME1);
+			fullDMLScriptName = getScript();
+			FileUtils.deleteDirectory(new File(STORE_DIR));
+			LineagePersistentStore.MIN_COMPUTE_TIME = 0;
+			writeInputMatrixWithMTD("X", getRandomMatrix(200, 50, -1, 1, 0.9, 7), false);
+			
+			// first execution, which populates the persistent store
+			runPersistentReuse("Z1", ReuseCacheType.REUSE_FULL);
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistHits());
+			Assert.assertTrue(LineageCacheStatistics.getPersistWrites() > 0);
+			
+			// second execution w/ empty in-memory cache, which reuses from the store
+			runPersistentReuse("Z2", ReuseCacheType.REUSE_FULL);
+			Assert.assertTrue(LineageCacheStatistics.getPersistHits() > 0);
+			compareOutputs("Z1", "Z2");
+			
+			// third execution after input modification, which invalidates the store
+			writeInputMatrixWithMTD("X", getRandomMatrix(200, 50, -1, 1, 0.9, 8), false);
+			File fX = new File(input("X"));
+			fX.setLastModified(fX.lastModified() + 10000);
+			runPersistentReuse("Z3", ReuseCacheType.REUSE_FULL);
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistHits());
+			runPersistentReuse("Z4", ReuseCacheType.NONE);
+			compareOutputs("Z3", "Z4");
+		}
+		finally {
+			LineagePersistentStore.MIN_COMPUTE_TIME = minTimeOld;
+			Lineage.resetInternalState();
+		}
+	}
+	
+	private void runPersistentReuse(String out, ReuseCacheType type) {
+		programArgs = new String[] {"-stats", "-lineage", type.name().toLowerCase(),
+			"-args", input("X"), output(out)};
+		Lineage.resetInternalState();
+		runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+	}
+	
+	private void compareOutputs(String name1, String name2) {
+		HashMap<CellIndex, Double> Z1 = readDMLMatrixFromOutputDir(name1);
+		HashMap<CellIndex, Double> Z2 = readDMLMatrixFromOutputDir(name2);
+		TestUtils.compareMatrices(Z1, Z2, 1e-10, name1, name2);
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.paramserv;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.PSBatchPrefetcher;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParamservBatchPrefetchTest {
+
+	private static final int ROWS = 1000;
+	private static final int COLS = 30;
+
+	@Test
+	public void testPrefetchDense() {
+		runPrefetchTest(1.0, 64, 2, 2);
+	}
+
+	@Test
+	public void testPrefetchSparse() {
+		runPrefetchTest(0.05, 100, 3, 1);
+	}
+
+	@Test
+	public void testPrefetchDeepQueue() {
+		runPrefetchTest(0.7, 128, 2, 20);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testPrefetchExhausted() {
+		MatrixObject X = ParamservUtils.newMatrixObject(rand(ROWS, COLS, 1.0, 1), false);
+		try( PSBatchPrefetcher prefetcher = new PSBatchPrefetcher(X, X, ROWS, 1, 2) ) {
+			prefetcher.next();
+			prefetcher.next();
+		}
+	}
+
+	private static void runPrefetchTest(double sparsity, long batchSize, int epochs, int depth) {
+		MatrixBlock X = rand(ROWS, COLS, sparsity, 7);
+		MatrixBlock y = rand(ROWS, 1, 1.0, 3);
+		MatrixObject mX = ParamservUtils.newMatrixObject(X, false);
+		MatrixObject my = ParamservUtils.newMatrixObject(y, false);
+		int batchIter = (int) Math.ceil((double) ROWS / batchSize);
+		try( PSBatchPrefetcher prefetcher = new PSBatchPrefetcher(mX, my, batchSize, epochs, depth) ) {
+			for( int i=0; i<epochs; i++ ) {
+				for( int j=0; j<batchIter; j++ ) {
+					long begin = j * batchSize + 1;
+					long end = Math.min((j + 1) * batchSize, ROWS);
+					MatrixObject[] batch = prefetcher.next();
+					TestUtils.compareMatrices(ParamservUtils.sliceMatrixBlock(X, begin, end),
+						batch[0].acquireReadAndRelease(), 0);
+					TestUtils.compareMatrices(ParamservUtils.sliceMatrixBlock(y, begin, end),
+						batch[1].acquireReadAndRelease(), 0);
+				}
+			}
+		}
+		//inputs remain unchanged
+		Assert.assertEquals(ROWS, mX.getNumRows());
+	}
+
+	private static MatrixBlock rand(int rows, int cols, double sp, long seed) {
+		return MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", seed);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.paramserv;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysds.parser.Statement.PSCompression;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.PSCompressor;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcResponse;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParamservCompressionTest {
+
+	private static final int ROWS = 100;
+	private static final int COLS = 50;
+
+	@Test
+	public void testTopKSparsity() {
+		PSCompressor compressor = new PSCompressor(PSCompression.TOPK, 0.05, false);
+		MatrixBlock out = getBlock(compressor.compress(createGradients(7)), 0);
+		Assert.assertTrue(out.getNonZeros() > 0);
+		Assert.assertTrue(out.getNonZeros() <= 0.05 * ROWS * COLS);
+	}
+
+	@Test
+	public void testErrorFeedbackTopK() {
+		runErrorFeedbackTest(PSCompression.TOPK);
+	}
+
+	@Test
+	public void testErrorFeedbackInt8() {
+		runErrorFeedbackTest(PSCompression.INT8);
+	}
+
+	@Test
+	public void testErrorFeedbackTopKInt8() {
+		runErrorFeedbackTest(PSCompression.TOPK_INT8);
+	}
+
+	@Test
+	public void testCodecInt8() {
+		PSCompressor compressor = new PSCompressor(PSCompression.INT8, 1, false);
+		ListObject sent = compressor.compress(createGradients(3));
+		ListObject read = PSCompressor.deserialize(PSCompressor.serialize(sent, true));
+		TestUtils.compareMatrices(getBlock(sent, 0), getBlock(read, 0), 1e-12);
+	}
+
+	@Test
+	public void testSerializedSize() {
+		ListObject grads = createGradients(5);
+		long dense = PSCompressor.getExactSerializedSize(grads, false);
+		ListObject sent = new PSCompressor(PSCompression.TOPK_INT8, 0.01, false).compress(grads);
+		byte[] data = PSCompressor.serialize(sent, true);
+		Assert.assertEquals(PSCompressor.getExactSerializedSize(sent, true), data.length);
+		Assert.assertTrue(data.length * 10 < dense);
+	}
+
+	@Test
+	public void testRpcPushCompressed() throws IOException {
+		ListObject sent = new PSCompressor(PSCompression.TOPK, 0.1, false).compress(createGradients(11));
+		MatrixBlock expected = getBlock(sent, 0);
+		PSRpcCall call = new PSRpcCall(PSRpcObject.PUSH, 2, sent, PSCompression.TOPK, 0.1);
+		PSRpcCall call2 = new PSRpcCall(call.serialize());
+		Assert.assertEquals(2, call2.getWorkerID());
+		Assert.assertEquals(PSCompression.TOPK, call2.getCompression());
+		Assert.assertEquals(0.1, call2.getTopKRatio(), 0);
+		TestUtils.compareMatrices(expected, getBlock(call2.getData(), 0), 0);
+	}
+
+	@Test
+	public void testRpcPullDelta() throws IOException {
+		ListObject sent = new PSCompressor(PSCompression.TOPK_INT8, 0.1, false).compress(createGradients(13));
+		MatrixBlock expected = getBlock(sent, 0);
+		PSRpcResponse response = new PSRpcResponse(PSRpcResponse.Type.SUCCESS_DELTA, sent, true);
+		PSRpcResponse response2 = new PSRpcResponse(response.serialize());
+		Assert.assertTrue(response2.isSuccessful());
+		Assert.assertTrue(response2.isDelta());
+		TestUtils.compareMatrices(expected, getBlock(response2.getResultModel(), 0), 1e-12);
+	}
+
+	private static void runErrorFeedbackTest(PSCompression type) {
+		PSCompressor compressor = new PSCompressor(type, 0.05, true);
+		double[] sumIn = new double[ROWS * COLS];
+		double[] sumOut = new double[ROWS * COLS];
+		for( int i=0; i<5; i++ ) {
+			ListObject grads = createGradients(i);
+			add(sumIn, getBlock(grads, 0));
+			add(sumOut, getBlock(compressor.compress(grads), 0));
+		}
+		//all inputs are either sent or retained as residuals
+		add(sumOut, getBlock(compressor.getResiduals(), 0));
+		TestUtils.compareMatrices(sumIn, sumOut, 1e-9);
+	}
+
+	private static ListObject createGradients(long seed) {
+		MatrixBlock mb = MatrixBlock.randOperations(ROWS, COLS, 1.0, -1, 1, "uniform", seed);
+		return new ListObject(Arrays.asList(ParamservUtils.newMatrixObject(mb, false)));
+	}
+
+	private static MatrixBlock getBlock(ListObject lo, int pos) {
+		return ((MatrixObject) lo.getData(pos)).acquireReadAndRelease();
+	}
+
+	private static void add(double[] sum, MatrixBlock mb) {
+		double[] vals = DataConverter.convertToDoubleVector(mb, false);
+		for( int j=0; j<sum.length; j++ )
+			sum[j] += vals[j];
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.paramserv;
+
+import java.util.HashMap;
+
+import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSAggregationType;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class ParamservNativeAggregationDMLTest extends AutomatedTestBase {
+
+	private static final String TEST_NAME = "paramserv-native-agg";
+	private static final String TEST_DIR = "functions/paramserv/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + ParamservNativeAggregationDMLTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R1", "R2"}));
+	}
+
+	@Test
+	public void testNativeAdam() {
+		runDMLTest(PSAggregationType.ADAM, Statement.PSFrequency.BATCH, 0, true);
+	}
+
+	@Test
+	public void testNativeAdamPrefetch() {
+		runDMLTest(PSAggregationType.ADAM, Statement.PSFrequency.BATCH, 2, true);
+	}
+
+	@Test
+	public void testNativeSGDMomentum() {
+		runDMLTest(PSAggregationType.SGD_MOMENTUM, Statement.PSFrequency.BATCH, 0, true);
+	}
+
+	@Test
+	public void testNativeAdamEpochUnsupported() {
+		runDMLTest(PSAggregationType.ADAM, Statement.PSFrequency.EPOCH, 0, false);
+	}
+
+	private void runDMLTest(PSAggregationType agg, Statement.PSFrequency freq, int prefetch, boolean valid) {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+		programArgs = new String[] {"-nvargs", "rows=500", "cols=10", "epochs=3", "batchsize=50",
+			"agg=" + agg.name(), "freq=" + freq.name(), "prefetch=" + prefetch, "out1=" + output("R1"), "out2=" + output("R2")};
+		runTest(true, !valid, null, -1);
+		if( valid ) {
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R1");
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R2");
+			TestUtils.compareMatrices(R1, R2, 1e-10, "Native", "Reference");
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSAggregationType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.PSNativeAggregator;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParamservNativeAggregationTest {
+
+	private static final int ROWS = 17;
+	private static final int COLS = 13;
+	private static final double LR = 0.5;
+	private static final double MU = 0.9;
+
+	@Test
+	public void testSGD() {
+		runAggregatorTest(PSAggregationType.SGD);
+	}
+
+	@Test
+	public void testSGDMomentum() {
+		runAggregatorTest(PSAggregationType.SGD_MOMENTUM);
+	}
+
+	@Test
+	public void testSGDNesterov() {
+		runAggregatorTest(PSAggregationType.SGD_NESTEROV);
+	}
+
+	@Test
+	public void testAdam() {
+		runAggregatorTest(PSAggregationType.ADAM);
+	}
+
+	@Test
+	public void testIsNative() {
+		Assert.assertTrue(PSAggregationType.isNative("ADAM"));
+		Assert.assertFalse(PSAggregationType.isNative("aggregation"));
+		Assert.assertFalse(PSAggregationType.isNative(null));
+	}
+
+	@Test
+	public void testLocalUpdateInPlace() {
+		PSNativeAggregator agg = new PSNativeAggregator(PSAggregationType.SGD, createContext());
+		MatrixBlock w = rand(ROWS, COLS, 1.0, 7);
+		agg.init(createList(new MatrixBlock[] {w}));
+		ListObject model = agg.getModel();
+		MatrixBlock g = new MatrixBlock(ROWS, COLS, 1d);
+
+		//first local update copies the broadcast snapshot
+		ListObject local1 = agg.updateLocal(model, createList(new MatrixBlock[] {g}));
+		compare(w, 0, getBlock(agg.getModel(), 0));
+		compare(w, -LR, getBlock(local1, 0));
+
+		//subsequent local updates modify the worker-owned model in-place
+		ListObject local2 = agg.updateLocal(local1, createList(new MatrixBlock[] {g}));
+		Assert.assertSame(local1.getData(0), local2.getData(0));
+		compare(w, -2 * LR, getBlock(local2, 0));
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testLocalUpdateStatefulOptimizer() {
+		PSNativeAggregator agg = new PSNativeAggregator(PSAggregationType.ADAM, createContext());
+		agg.init(createList(new MatrixBlock[] {rand(ROWS, COLS, 1.0, 7)}));
+		agg.updateLocal(agg.getModel(), createList(new MatrixBlock[] {new MatrixBlock(ROWS, COLS, 1d)}));
+	}
+
+	@Test
+	public void testConcurrentASPUpdates() throws Exception {
+		int workers = 8, iters = 50;
+		ExecutionContext ec = createContext();
+		MatrixBlock[] init = new MatrixBlock[] {rand(ROWS, COLS, 1.0, 1), rand(1, COLS, 1.0, 2)};
+		LocalParamServer ps = LocalParamServer.create(createList(init), PSAggregationType.SGD.name(),
+			Statement.PSUpdateType.ASP, ec, workers);
+
+		//integer gradients and lr=0.5 for exact results independent of the order
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		List<Future<?>> tasks = new ArrayList<>();
+		for( int w=0; w<workers; w++ ) {
+			final int wid = w;
+			tasks.add(pool.submit(() -> {
+				for( int i=0; i<iters; i++ ) {
+					ParamservUtils.cleanupListObject(ps.pull(wid));
+					ps.push(wid, createList(new MatrixBlock[] {
+						new MatrixBlock(ROWS, COLS, (double) wid), new MatrixBlock(1, COLS, 1d)}));
+				}
+				ps.finish(wid);
+			}));
+		}
+		for( Future<?> task : tasks )
+			task.get();
+		pool.shutdown();
+
+		ListObject result = ps.getResult();
+		double sumw = iters * (workers * (workers - 1) / 2);
+		compare(init[0], -LR * sumw, getBlock(result, 0));
+		compare(init[1], -LR * iters * workers, getBlock(result, 1));
+	}
+
+	private static void runAggregatorTest(PSAggregationType type) {
+		PSNativeAggregator agg = new PSNativeAggregator(type, createContext());
+		MatrixBlock w = rand(ROWS, COLS, 1.0, 7);
+		MatrixBlock b = rand(1, COLS, 0.0, 8); //empty
+		agg.init(createList(new MatrixBlock[] {w, b}));
+
+		double[] x = DataConverter.convertToDoubleVector(w, true);
+		double[] s1 = new double[x.length], s2 = new double[x.length];
+		for( int t=1; t<=5; t++ ) {
+			MatrixBlock g = rand(ROWS, COLS, t%2==0 ? 0.1 : 0.9, 10+t);
+			double[] gv = DataConverter.convertToDoubleVector(g, false);
+			agg.update(createList(new MatrixBlock[] {g, new MatrixBlock(1, COLS, 1d)}), t%2==0);
+			//reference implementation (see scripts/nn/optim)
+			double lrt = LR * Math.sqrt(1-Math.pow(0.999, t)) / (1-Math.pow(0.9, t));
+			for( int j=0; j<x.length; j++ ) {
+				switch( type ) {
+					case SGD:
+						x[j] -= LR * gv[j]; break;
+					case SGD_MOMENTUM:
+						s1[j] = MU * s1[j] - LR * gv[j];
+						x[j] += s1[j]; break;
+					case SGD_NESTEROV:
+						double vprev = s1[j];
+						s1[j] = MU * s1[j] - LR * gv[j];
+						x[j] += -MU * vprev + (1 + MU) * s1[j]; break;
+					case ADAM:
+						s1[j] = 0.9 * s1[j] + 0.1 * gv[j];
+						s2[j] = 0.999 * s2[j] + 0.001 * gv[j] * gv[j];
+						x[j] -= lrt * s1[j] / (Math.sqrt(s2[j]) + 1e-8); break;
+				}
+			}
+		}
+		//original model remains unchanged (out-of-place updates)
+		Assert.assertArrayEquals(DataConverter.convertToDoubleVector(rand(ROWS, COLS, 1.0, 7), false),
+			DataConverter.convertToDoubleVector(w, false), 0);
+		TestUtils.compareMatrices(x, DataConverter.convertToDoubleVector(
+			getBlock(agg.getModel(), 0), false), 1e-10);
+	}
+
+	private static ExecutionContext createContext() {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		ec.setVariable(Statement.PS_HYPER_PARAMS, new ListObject(
+			Arrays.asList(new DoubleObject(LR), new DoubleObject(MU)), Arrays.asList("lr", "mu")));
+		return ec;
+	}
+
+	private static MatrixBlock rand(int rows, int cols, double sp, long seed) {
+		return MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", seed);
+	}
+
+	private static ListObject createList(MatrixBlock[] blocks) {
+		List<Data> data = new ArrayList<>();
+		for( MatrixBlock mb : blocks )
+			data.add(ParamservUtils.newMatrixObject(mb, false));
+		return new ListObject(data);
+	}
+
+	private static MatrixBlock getBlock(ListObject lo, int ix) {
+		return ((MatrixObject) lo.getData(ix)).acquireReadAndRelease();
+	}
+
+	private static void compare(MatrixBlock init, double delta, MatrixBlock actual) {
+		double[] expected = DataConverter.convertToDoubleVector(init, true);
+		for( int j=0; j<expected.length; j++ )
+			expected[j] += delta;
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleVector(actual, false), 1e-10);
+	}
+}
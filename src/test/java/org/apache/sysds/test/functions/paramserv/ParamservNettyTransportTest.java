@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSAggregationType;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSNettyClient;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSNettyServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcFactory;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParamservNettyTransportTest {
+
+	private static final String HOST = "localhost";
+	private static final long TIMEOUT = 60000;
+	private static final double LR = 0.5;
+
+	@Test
+	public void testConcurrentPushPull() throws Exception {
+		runTransportTest(8, 20, 17, 13);
+	}
+
+	@Test
+	public void testLargeModelChunked() throws Exception {
+		//model of ~10MB, split into multiple chunks
+		runTransportTest(2, 3, 1100, 1100);
+	}
+
+	private static void runTransportTest(int workers, int iters, int rows, int cols) throws Exception {
+		MatrixBlock init = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		LocalParamServer ps = LocalParamServer.create(createList(init), PSAggregationType.SGD.name(),
+			Statement.PSUpdateType.ASP, createContext(), workers);
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		try( PSNettyServer server = PSRpcFactory.createServer(ps, HOST) ) {
+			//connection reuse across workers
+			Assert.assertSame(PSNettyClient.getClient(HOST, server.getPort()),
+				PSNettyClient.getClient(HOST, server.getPort()));
+
+			//integer gradients and lr=0.5 for exact results independent of the order
+			List<Future<?>> tasks = new ArrayList<>();
+			for( int w=0; w<workers; w++ ) {
+				final int wid = w;
+				tasks.add(pool.submit(() -> {
+					ParamServer proxy = PSRpcFactory.createPSProxy(HOST, server.getPort(), TIMEOUT, null);
+					for( int i=0; i<iters; i++ ) {
+						ListObject model = proxy.pull(wid);
+						Assert.assertEquals(rows, getBlock(model, 0).getNumRows());
+						ParamservUtils.cleanupListObject(model);
+						proxy.push(wid, createList(new MatrixBlock(rows, cols, (double) wid)));
+					}
+					proxy.finish(wid);
+					return null;
+				}));
+			}
+			for( Future<?> task : tasks )
+				task.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		double[] expected = DataConverter.convertToDoubleVector(init, false);
+		double sumw = iters * (workers * (workers - 1) / 2);
+		for( int j=0; j<expected.length; j++ )
+			expected[j] -= LR * sumw;
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleVector(
+			getBlock(ps.getResult(), 0), false), 1e-10);
+	}
+
+	private static ExecutionContext createContext() {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		ec.setVariable(Statement.PS_HYPER_PARAMS, new ListObject(
+			Arrays.asList(new DoubleObject(LR)), Arrays.asList("lr")));
+		return ec;
+	}
+
+	private static ListObject createList(MatrixBlock mb) {
+		List<Data> data = new ArrayList<>();
+		data.add(ParamservUtils.newMatrixObject(mb, false));
+		return new ListObject(data);
+	}
+
+	private static MatrixBlock getBlock(ListObject lo, int ix) {
+		return ((MatrixObject) lo.getData(ix)).acquireReadAndRelease();
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+
+public class ParForAdaptiveOptimizerTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_adaptive";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForAdaptiveOptimizerTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForAdaptiveUniform() {
+		runAdaptiveTest(TEST_NAME1, 200, false);
+	}
+	
+	@Test
+	public void testParForAdaptiveSkewed() {
+		runAdaptiveTest(TEST_NAME1, 200, true);
+	}
+	
+	@Test
+	public void testParForAdaptiveFewIterations() {
+		runAdaptiveTest(TEST_NAME1, 5, true);
+	}
+	
+	private void runAdaptiveTest(String testName, int n, boolean skewed) {
+		loadTestConfiguration(getTestConfiguration(testName));
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testName + ".dml";
+		programArgs = new String[]{"-args",
+			String.valueOf(n), String.valueOf(skewed).toUpperCase(), output("R") };
+
+		runTest(true, false, null, -1);
+		HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R");
+		for( int i=1; i<=n; i++ )
+			Assert.assertEquals(Double.valueOf(10d*i*i), R.get(new CellIndex(i,1)));
+	}
+}
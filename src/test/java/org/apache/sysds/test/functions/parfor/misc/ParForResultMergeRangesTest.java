@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+
+public class ParForResultMergeRangesTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_result_merge_ranges";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForResultMergeRangesTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 200;
+	private final static int cols = 70;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testResultMergeDisjointRangesDense() {
+		runResultMergeTest(0.9, PTaskPartitioner.STATIC);
+	}
+	
+	@Test
+	public void testResultMergeDisjointRangesSparse() {
+		runResultMergeTest(0.05, PTaskPartitioner.STATIC);
+	}
+	
+	@Test
+	public void testResultMergeOverlappingRangesDense() {
+		runResultMergeTest(0.9, PTaskPartitioner.FIXED);
+	}
+	
+	@Test
+	public void testResultMergeOverlappingRangesSparse() {
+		runResultMergeTest(0.05, PTaskPartitioner.FIXED);
+	}
+	
+	private void runResultMergeTest(double sparsity, PTaskPartitioner partitioner) {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME1));
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+		programArgs = new String[]{"-args", String.valueOf(rows), String.valueOf(cols),
+			String.valueOf(sparsity), partitioner.name(), output("R") };
+
+		runTest(true, false, null, -1);
+		Double ret = readDMLScalarFromOutputDir("R").get(new CellIndex(1,1));
+		Assert.assertEquals(Double.valueOf(0), ret);
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+
+public class ParForWorkStealingTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_work_stealing";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForWorkStealingTaskSize1() {
+		runWorkStealingTest(TEST_NAME1, 100, 1);
+	}
+	
+	@Test
+	public void testParForWorkStealingTaskSize7() {
+		runWorkStealingTest(TEST_NAME1, 100, 7);
+	}
+	
+	@Test
+	public void testParForWorkStealingFewIterations() {
+		runWorkStealingTest(TEST_NAME1, 3, 1);
+	}
+	
+	private void runWorkStealingTest(String testName, int n, int tasksize) {
+		loadTestConfiguration(getTestConfiguration(testName));
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testName + ".dml";
+		programArgs = new String[]{"-args",
+			String.valueOf(n), String.valueOf(tasksize), output("R") };
+
+		runTest(true, false, null, -1);
+		HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R");
+		for( int i=1; i<=n; i++ )
+			Assert.assertEquals(Double.valueOf(10d*i*i), R.get(new CellIndex(i,1)));
+	}
+}